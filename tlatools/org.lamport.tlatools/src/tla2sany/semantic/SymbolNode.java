@@ -33,6 +33,15 @@ public abstract class SymbolNode extends LevelNode {
 
   protected final UniqueString name;    // the name of this symbol
 
+  /**
+   * The index of this symbol among the symbols bound together by an
+   * operator definition (its parameters), a quantifier (its bound
+   * identifiers, flattened), or a LET (its definitions); -1 if no tool
+   * assigned one.  TLC uses it to look the symbol up in an array-indexed
+   * frame (see tlc2.util.Context#frame).
+   */
+  private int slot = -1;
+
   protected SymbolNode(int kind, TreeNode stn, UniqueString name) {
     super(kind, stn);
     this.name = name;
@@ -49,6 +58,10 @@ public abstract class SymbolNode extends LevelNode {
    */
   public final UniqueString getName() { return this.name; }
 
+  public final int getSlot() { return this.slot; }
+
+  public final void setSlot(int slot) { this.slot = slot; }
+
   /* Returns the arity of the operator named by the symbol.  */
   public abstract int getArity();
 
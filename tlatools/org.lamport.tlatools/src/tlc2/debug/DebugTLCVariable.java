@@ -34,6 +34,8 @@ import com.google.gson.annotations.SerializedName;
 
 import tlc2.value.impl.Enumerable;
 import tlc2.value.impl.FcnRcdValue;
+import tlc2.value.impl.IntFcnRcdValue;
+import tlc2.value.impl.IntTupleValue;
 import tlc2.value.impl.RecordValue;
 import tlc2.value.impl.TLCVariable;
 import tlc2.value.impl.TupleValue;
@@ -82,7 +84,8 @@ public class DebugTLCVariable extends Variable implements tlc2.value.impl.TLCVar
 	public TLCVariable newInstance(final String name, Value v, Random rnd) {
 		DebugTLCVariable variable = new DebugTLCVariable(name);
 		variable.setInstance(v);
-		if (v instanceof Enumerable || v instanceof FcnRcdValue || v instanceof RecordValue || v instanceof TupleValue) {
+		if (v instanceof Enumerable || v instanceof FcnRcdValue || v instanceof RecordValue || v instanceof TupleValue
+				|| v instanceof IntFcnRcdValue || v instanceof IntTupleValue) {
 			variable.setVariablesReference(rnd.nextInt(Integer.MAX_VALUE-1)+ 1);
 		}
 		return v.toTLCVariable(variable, rnd);
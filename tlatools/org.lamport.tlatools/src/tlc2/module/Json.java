@@ -63,6 +63,8 @@ import tlc2.value.impl.BoolValue;
 import tlc2.value.impl.EnumerableValue;
 import tlc2.value.impl.FcnLambdaValue;
 import tlc2.value.impl.FcnRcdValue;
+import tlc2.value.impl.IntFcnRcdValue;
+import tlc2.value.impl.IntTupleValue;
 import tlc2.value.impl.IntValue;
 import tlc2.value.impl.ModelValue;
 import tlc2.value.impl.RecordValue;
@@ -277,6 +279,10 @@ public class Json {
       return getObjectNode((FcnRcdValue) value);
     } else if (value instanceof FcnLambdaValue) {
       return getObjectNode((FcnRcdValue) ((FcnLambdaValue) value).toFcnRcd());
+    } else if (value instanceof IntTupleValue) {
+      return getArrayNode((TupleValue) ((IntTupleValue) value).toTuple());
+    } else if (value instanceof IntFcnRcdValue) {
+      return getObjectNode((FcnRcdValue) ((IntFcnRcdValue) value).toFcnRcd());
     } else if (value instanceof SetEnumValue) {
       return getArrayNode((SetEnumValue) value);
     } else if (value instanceof EnumerableValue) {
@@ -323,6 +329,10 @@ public class Json {
       return getObjectNode((FcnRcdValue) value);
     } else if (value instanceof FcnLambdaValue) {
       return getObjectNode((FcnRcdValue) ((FcnLambdaValue) value).toFcnRcd());
+    } else if (value instanceof IntTupleValue) {
+      return getObjectNode((TupleValue) ((IntTupleValue) value).toTuple());
+    } else if (value instanceof IntFcnRcdValue) {
+      return getObjectNode((FcnRcdValue) ((IntFcnRcdValue) value).toFcnRcd());
     } else {
       throw new IOException("Cannot convert value: unsupported value type " + value.getClass().getName());
     }
@@ -393,6 +403,10 @@ public class Json {
       return getArrayNode((FcnRcdValue) value);
     } else if (value instanceof FcnLambdaValue) {
       return getArrayNode((FcnRcdValue) ((FcnLambdaValue) value).toFcnRcd());
+    } else if (value instanceof IntTupleValue) {
+      return getArrayNode((TupleValue) ((IntTupleValue) value).toTuple());
+    } else if (value instanceof IntFcnRcdValue) {
+      return getArrayNode((FcnRcdValue) ((IntFcnRcdValue) value).toFcnRcd());
     } else if (value instanceof SetEnumValue) {
       return getArrayNode((SetEnumValue) value);
     } else if (value instanceof EnumerableValue) {
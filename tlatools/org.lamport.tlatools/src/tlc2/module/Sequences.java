@@ -16,6 +16,7 @@ import tlc2.value.ValueConstants;
 import tlc2.value.Values;
 import tlc2.value.impl.BoolValue;
 import tlc2.value.impl.FunctionValue;
+import tlc2.value.impl.IntTupleValue;
 import tlc2.value.impl.IntValue;
 import tlc2.value.impl.ModelValue;
 import tlc2.value.impl.OpValue;
@@ -62,6 +63,10 @@ public class Sequences extends UserObj implements ValueConstants
         {
             return IntValue.gen(((StringValue) s).length());
         }
+        if (s instanceof IntTupleValue)
+        {
+            return IntValue.gen(((IntTupleValue) s).size());
+        }
 
         TupleValue seq = (TupleValue) s.toTuple();
         if (seq != null)
@@ -74,6 +79,10 @@ public class Sequences extends UserObj implements ValueConstants
 
     public static Value Head(Value s)
     {
+        if (s instanceof IntTupleValue)
+        {
+            return IntValue.gen(((IntTupleValue) s).intAt(0));
+        }
         TupleValue seq = (TupleValue) s.toTuple();
         if (seq != null)
         {
@@ -97,6 +106,11 @@ public class Sequences extends UserObj implements ValueConstants
     		}
     		return new StringValue(str.substring(1));
     	}
+        if (s instanceof IntTupleValue)
+        {
+            IntTupleValue seq = (IntTupleValue) s;
+            return seq.size() == 1 ? TupleValue.EmptyTuple : seq.subTuple(1, seq.size());
+        }
     	
         TupleValue seq = (TupleValue) s.toTuple();
         if (seq != null)
@@ -116,6 +130,10 @@ public class Sequences extends UserObj implements ValueConstants
 
     public static Value Cons(Value v, Value s)
     {
+        if (s instanceof IntTupleValue && v instanceof IntValue)
+        {
+            return ((IntTupleValue) s).prepend(((IntValue) v).val);
+        }
         TupleValue seq = (TupleValue) s.toTuple();
         if (seq == null)
         {
@@ -126,11 +144,15 @@ public class Sequences extends UserObj implements ValueConstants
         Value[] values = new Value[len + 1];
         values[0] = v;
         System.arraycopy(seq.elems, 0, values, 1, len);
-        return new TupleValue(values);
+        return IntTupleValue.create(values);
     }
 
     public static Value Append(Value s, Value v)
     {
+        if (s instanceof IntTupleValue && v instanceof IntValue)
+        {
+            return ((IntTupleValue) s).append(((IntValue) v).val);
+        }
         TupleValue seq = (TupleValue) s.toTuple();
         if (seq == null)
         {
@@ -141,7 +163,7 @@ public class Sequences extends UserObj implements ValueConstants
         Value[] values = new Value[len + 1];
         System.arraycopy(seq.elems, 0, values, 0, len);
         values[len] = v;
-        return new TupleValue(values);
+        return IntTupleValue.create(values);
     }
 
     public static Value Concat(Value s1, Value s2)
@@ -157,6 +179,10 @@ public class Sequences extends UserObj implements ValueConstants
             UniqueString u2 = ((StringValue) s2).val;
             return new StringValue(u1.concat(u2));
         }
+        if (s1 instanceof IntTupleValue && s2 instanceof IntTupleValue)
+        {
+            return ((IntTupleValue) s1).concat((IntTupleValue) s2);
+        }
 
         TupleValue seq1 = (TupleValue) s1.toTuple();
         if (seq1 == null)
@@ -185,7 +211,7 @@ public class Sequences extends UserObj implements ValueConstants
         {
             values[i + len1] = seq2.elems[i];
         }
-        return new TupleValue(values);
+        return IntTupleValue.create(values);
     }
 
     /**
@@ -270,7 +296,7 @@ public class Sequences extends UserObj implements ValueConstants
     		isString = true ;
     	}
     	
-    	if (! isString) {
+    	if (! isString && !(s instanceof IntTupleValue)) {
           seq = (TupleValue) s.toTuple();
           if (seq == null)
           {
@@ -300,7 +326,7 @@ public class Sequences extends UserObj implements ValueConstants
         	}
         }
         
-        int len = isString ? str.length() : seq.size();
+        int len = isString ? str.length() : seq != null ? seq.size() : ((IntTupleValue) s).size();
         int sublen = end - beg + 1;
         if (beg < 1 || beg > len)
         {
@@ -317,6 +343,9 @@ public class Sequences extends UserObj implements ValueConstants
         if (isString) {
         	return new StringValue(str.substring(beg-1,end));
         }
+        if (s instanceof IntTupleValue) {
+        	return ((IntTupleValue) s).subTuple(beg - 1, end);
+        }
         Value[] elems = new Value[sublen];
         for (int i = 0; i < sublen; i++)
         {
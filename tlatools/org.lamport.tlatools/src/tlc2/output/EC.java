@@ -234,6 +234,7 @@ public interface EC
     public static final int TLC_SUCCESS = 2193;
     public static final int TLC_SEARCH_DEPTH = 2194;
     public static final int TLC_STATE_GRAPH_OUTDEGREE = 2268;
+    public static final int TLC_STATS_REDUCTION = 2285;
     public static final int TLC_CHECKPOINT_START = 2195;
     public static final int TLC_CHECKPOINT_END = 2196;
     public static final int TLC_CHECKPOINT_RECOVER_START = 2197;
@@ -297,6 +298,8 @@ public interface EC
     public static final int TLC_COVERAGE_CONSTRAINT = 2778;
     public static final int TLC_COVERAGE_END_OVERHEAD = 2777;
     public static final int TLC_COVERAGE_VAR = 2779;
+    public static final int TLC_COVERAGE_MEMO = 2780;
+    public static final int TLC_COVERAGE_DISABLED_ACTIONS = 2781;
    
     // config file errors
     public static final int TLC_CONFIG_VALUE_NOT_ASSIGNED_TO_CONSTANT_PARAM = 2222;
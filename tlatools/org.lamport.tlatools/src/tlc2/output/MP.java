@@ -1122,6 +1122,9 @@ public class MP
         case EC.TLC_STATE_GRAPH_OUTDEGREE:
 			b.append("The average outdegree of the complete state graph is %2% (minimum is %1%, the maximum %4% and the 95th percentile is %3%).");
             break;
+        case EC.TLC_STATS_REDUCTION:
+			b.append("Partial-order reduction: %1% of %2% states were expanded with an ample set of their enabled actions (%3%), which saved %4% action evaluations.");
+            break;
        case EC.TLC_CHECKPOINT_START:
             b.append("Checkpointing of run %1%");
             break;
@@ -1196,6 +1199,12 @@ public class MP
         case EC.TLC_COVERAGE_VAR:
        		b.append("<%1% %2%>: %3%");
             break;
+        case EC.TLC_COVERAGE_MEMO:
+       		b.append("Memoized state-level operators: %1% of %2% applications served from the per-state memo (hit rate %3%).");
+            break;
+        case EC.TLC_COVERAGE_DISABLED_ACTIONS:
+       		b.append("Disabled actions: %1% of %2% action evaluations skipped because the action was disabled in the predecessor (%3%).");
+            break;
         case EC.TLC_COVERAGE_INIT:
        		b.append("%1%: %2%:%3%");
             break;
@@ -11,6 +11,8 @@ import java.util.Timer;
 import java.util.TimerTask;
 import java.util.stream.Collectors;
 
+import javax.management.NotCompliantMBeanException;
+
 import tlc2.TLC;
 import tlc2.TLCGlobals;
 import tlc2.module.TLCGetSet;
@@ -28,6 +30,7 @@ import tlc2.util.IdThread;
 import tlc2.util.statistics.ConcurrentBucketStatistics;
 import tlc2.util.statistics.DummyBucketStatistics;
 import tlc2.util.statistics.IBucketStatistics;
+import tlc2.util.statistics.management.NodePtrTableMXWrapper;
 import tlc2.value.IValue;
 import tlc2.value.RandomEnumerableValues;
 import tlc2.value.impl.BoolValue;
@@ -138,6 +141,15 @@ public abstract class AbstractChecker
 			} else {
 				this.liveCheck = new LiveCheck(this.tool, this.metadir, stats, stateWriter);
 			}
+			if (LIVENESS_STATS) {
+				try {
+					new NodePtrTableMXWrapper(this.liveCheck, "DiskGraphsNodePtrTables",
+							LiveCheck.class.getPackage().getName());
+				} catch (NotCompliantMBeanException e) {
+					MP.printWarning(EC.GENERAL,
+							"Failed to create MBean wrapper for the behavior graphs' node tables.", e);
+				}
+			}
             report("liveness checking initialized");
         } else {
         	this.liveCheck = new NoOpLiveCheck(this.tool, this.metadir);
@@ -0,0 +1,91 @@
+/*******************************************************************************
+ * Copyright (c) 2026 The Linux Foundation. All rights reserved.
+ *
+ * The MIT License (MIT)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ * of the Software, and to permit persons to whom the Software is furnished to do
+ * so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN
+ * AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ ******************************************************************************/
+package tlc2.tool;
+
+import tlc2.util.BitVector;
+
+/**
+ * The state variables that the evaluation of an {@link Action} in a state s
+ * depends on (its reads) and the variables it (potentially) assigns in a
+ * successor of s (its writes). Variables are identified by their location (see
+ * UniqueString#getVarLoc). Both sets over-approximate the actual dependencies:
+ * <ul>
+ * <li>An unprimed occurrence of a variable is a read, including the
+ * occurrences in the action's context (e.g. arguments passed to the action's
+ * definition).</li>
+ * <li>A primed occurrence of a variable is a write.</li>
+ * <li>A variable x in UNCHANGED x (or UNCHANGED &lt;&lt;x, y&gt;&gt;,
+ * UNCHANGED vars, ...) is neither, because Tool#processUnchanged simply assigns
+ * x the value of x in s, which cannot disable the action. However, x is a read
+ * if x is also a write, because the action then compares the value of x in s
+ * with the value assigned elsewhere.</li>
+ * </ul>
+ * An action has no footprint (see {@link #of(Action)}) if its evaluation might
+ * depend on something else than the values of its reads, e.g. because it
+ * applies TLCGet or RandomElement.
+ * 
+ * @see tlc2.tool.impl.ActionFootprints
+ * @see PartialOrderReduction
+ */
+public final class ActionFootprint {
+
+	private final BitVector reads;
+	private final BitVector writes;
+
+	public ActionFootprint(final BitVector reads, final BitVector writes) {
+		this.reads = reads;
+		this.writes = writes;
+	}
+
+	/**
+	 * @return The footprint of the given action or null if the action has not
+	 *         been analyzed or the analysis failed.
+	 */
+	public static ActionFootprint of(final Action action) {
+		return (ActionFootprint) action.getAuxiliary().get(ActionFootprint.class);
+	}
+
+	public void attach(final Action action) {
+		action.getAuxiliary().put(ActionFootprint.class, this);
+	}
+
+	public boolean reads(final int varLoc) {
+		return this.reads.get(varLoc);
+	}
+
+	public boolean writes(final int varLoc) {
+		return this.writes.get(varLoc);
+	}
+
+	/**
+	 * @return true iff this action reads one of the given variables.
+	 */
+	public boolean readsAny(final BitVector vars) {
+		return this.reads.intersects(vars);
+	}
+
+	@Override
+	public String toString() {
+		return "reads: " + this.reads + ", writes: " + this.writes;
+	}
+}
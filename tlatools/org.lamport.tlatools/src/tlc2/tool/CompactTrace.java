@@ -0,0 +1,209 @@
+/*******************************************************************************
+ * Copyright (c) 2026 The Linux Foundation. All rights reserved.
+ *
+ * The MIT License (MIT)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ * of the Software, and to permit persons to whom the Software is furnished to do
+ * so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN
+ * AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ ******************************************************************************/
+package tlc2.tool;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+import tlc2.util.BufferedRandomAccessFile;
+
+/**
+ * The compact encoding of the records in a {@link Worker}'s trace file (see
+ * {@link ConcurrentTLCTrace#COMPACT}). A record is
+ * <ul>
+ * <li>the id of the predecessor's worker plus one as a variable-length
+ * integer,</li>
+ * <li>the zig-zag encoded difference between the predecessor pointer and the
+ * previous predecessor pointer into the same worker's file within the current
+ * block as a variable-length integer,</li>
+ * <li>the lower {@link #fpBytes} bytes of the fingerprint or, for an initial
+ * state, the complete fingerprint.</li>
+ * </ul>
+ * A worker writes the new successors of a state consecutively and dequeues
+ * states in (roughly) the order they were written, which is why most
+ * differences fit into one or two bytes.
+ * <p>
+ * The file is divided into blocks of {@link #BLOCK_SIZE} bytes. The first
+ * record of a worker in a block stores the absolute predecessor pointer. Thus,
+ * a record can be decoded by reading its block from the start rather than the
+ * file. A record does not cross a block boundary; the remainder of a block that
+ * is too short for a record is padded with zeros.
+ */
+final class CompactTrace {
+
+	static final int BLOCK_SIZE = 4096;
+
+	/**
+	 * A worker id (< 2^21) takes at most three bytes, a pointer at most ten.
+	 */
+	private static final int MAX_RECORD_SIZE = 3 + 10 + Long.BYTES;
+
+	private static final int PADDING = 0;
+
+	private final int fpBytes;
+
+	private final long[] writePreds;
+
+	private final long[] readPreds;
+
+	CompactTrace(final int workers, final int fpBytes) {
+		this.fpBytes = fpBytes;
+		this.writePreds = new long[workers];
+		this.readPreds = new long[workers];
+	}
+
+	/**
+	 * @return The position of the record in the file.
+	 */
+	long write(final BufferedRandomAccessFile raf, final long pred, final int worker, final long fp)
+			throws IOException {
+		long pos = raf.getFilePointer();
+		final long blockEnd = blockStart(pos) + BLOCK_SIZE;
+		if (blockEnd - pos < MAX_RECORD_SIZE) {
+			while (pos++ < blockEnd) {
+				raf.writeByte(PADDING);
+			}
+			pos = blockEnd;
+		}
+		if (pos == blockStart(pos)) {
+			Arrays.fill(this.writePreds, 0L);
+		}
+		writeVarLong(raf, worker + 1L);
+		writeVarLong(raf, zigzag(pred - this.writePreds[worker]));
+		this.writePreds[worker] = pred;
+		for (int i = fpLength(pred) - 1; i >= 0; i--) {
+			raf.writeByte((int) (fp >>> (i * Byte.SIZE)));
+		}
+		return pos;
+	}
+
+	/**
+	 * Reads the record at the given position, which leaves the file pointer of
+	 * raf at an unspecified position.
+	 */
+	ConcurrentTLCTrace.Record read(final BufferedRandomAccessFile raf, final long ptr) throws IOException {
+		raf.seek(blockStart(ptr));
+		Arrays.fill(this.readPreds, 0L);
+		while (true) {
+			final long pos = raf.getFilePointer();
+			assert pos <= ptr;
+			final int worker = readWorker(raf);
+			final long pred = this.readPreds[worker] + unzigzag(readVarLong(raf));
+			this.readPreds[worker] = pred;
+			if (pos == ptr) {
+				return new ConcurrentTLCTrace.Record(pred, worker, readFP(raf, fpLength(pred)));
+			}
+			raf.seek(raf.getFilePointer() + fpLength(pred));
+		}
+	}
+
+	/**
+	 * Re-establishes the state of the writer after raf has been positioned at the
+	 * end of the records (e.g. after a checkpoint has been recovered).
+	 */
+	void recover(final BufferedRandomAccessFile raf) throws IOException {
+		final long end = raf.getFilePointer();
+		raf.seek(blockStart(end));
+		Arrays.fill(this.writePreds, 0L);
+		while (raf.getFilePointer() < end) {
+			final int worker = readWorker(raf);
+			this.writePreds[worker] += unzigzag(readVarLong(raf));
+			raf.seek(raf.getFilePointer() + fpLength(this.writePreds[worker]));
+		}
+		assert raf.getFilePointer() == end;
+	}
+
+	/**
+	 * @return true iff raf, which is positioned at the start of a record or at
+	 *         padding, has another record before len. Skips the padding.
+	 */
+	boolean hasNext(final BufferedRandomAccessFile raf, final long len) throws IOException {
+		long pos = raf.getFilePointer();
+		if (pos < len && raf.readByte() == PADDING) {
+			pos = blockStart(pos) + BLOCK_SIZE;
+		}
+		raf.seek(pos);
+		return pos < len;
+	}
+
+	/**
+	 * @return The fingerprint of the record at raf's position, after which raf is
+	 *         positioned at the next record. Only defined if fingerprints are not
+	 *         truncated.
+	 */
+	long nextFP(final BufferedRandomAccessFile raf) throws IOException {
+		assert this.fpBytes == Long.BYTES;
+		readWorker(raf);
+		readVarLong(raf);
+		return readFP(raf, Long.BYTES);
+	}
+
+	private final int fpLength(final long pred) {
+		return pred == 1L ? Long.BYTES : this.fpBytes;
+	}
+
+	private final int readWorker(final BufferedRandomAccessFile raf) throws IOException {
+		final int worker = (int) readVarLong(raf) - 1;
+		assert 0 <= worker && worker < this.readPreds.length : "Not a record: " + worker;
+		return worker;
+	}
+
+	private static final long readFP(final BufferedRandomAccessFile raf, final int length) throws IOException {
+		long fp = 0L;
+		for (int i = 0; i < length; i++) {
+			fp = (fp << Byte.SIZE) | (raf.readByte() & 0xFFL);
+		}
+		return fp;
+	}
+
+	private static final long blockStart(final long pos) {
+		return pos & ~(BLOCK_SIZE - 1L);
+	}
+
+	private static final long zigzag(final long l) {
+		return (l << 1) ^ (l >> 63);
+	}
+
+	private static final long unzigzag(final long l) {
+		return (l >>> 1) ^ -(l & 1L);
+	}
+
+	private static final void writeVarLong(final BufferedRandomAccessFile raf, long l) throws IOException {
+		while ((l & ~0x7FL) != 0L) {
+			raf.writeByte((int) ((l & 0x7FL) | 0x80L));
+			l >>>= 7;
+		}
+		raf.writeByte((int) l);
+	}
+
+	private static final long readVarLong(final BufferedRandomAccessFile raf) throws IOException {
+		long l = 0L;
+		for (int shift = 0;; shift += 7) {
+			final byte b = raf.readByte();
+			l |= (b & 0x7FL) << shift;
+			if (b >= 0) {
+				return l;
+			}
+		}
+	}
+}
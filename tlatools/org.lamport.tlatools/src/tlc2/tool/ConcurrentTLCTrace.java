@@ -29,6 +29,7 @@ package tlc2.tool;
 import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Random;
 
@@ -49,14 +50,52 @@ import tlc2.value.RandomEnumerableValues;
  * adds/appends an entry to its (dedicate) file. When a counter-example has to be
  * created, the actual error-trace gets created from the union of all (partial)
  * trace files.
+ * <p>
+ * With {@link #COMPACT}, the workers write their trace files in the format of
+ * {@link CompactTrace}, and {@link #FP_BYTES} optionally truncates the
+ * fingerprints in the records. A truncated fingerprint identifies a state only
+ * among the successors of its predecessor, which is why the reconstruction of
+ * a trace backtracks if more than one successor matches. Trace files with
+ * truncated fingerprints cannot be used to recover the fingerprint set from a
+ * checkpoint.
  */
 public class ConcurrentTLCTrace extends TLCTrace {
 	
+	public static final String COMPACT = ConcurrentTLCTrace.class.getName() + ".compact";
+
+	public static final String FP_BYTES = ConcurrentTLCTrace.class.getName() + ".fpBytes";
+
 	private final Worker workers[];
 
+	private final boolean compact;
+
+	/**
+	 * The (lower) bits of the fingerprints in the trace files.
+	 */
+	private final long fpMask;
+
+	private final int fpBytes;
+
 	public ConcurrentTLCTrace(String metadir, String specFile, TraceApp tool) throws IOException {
 		super(metadir, specFile, tool);
 		this.workers = new Worker[TLCGlobals.getNumWorkers()];
+		this.compact = Boolean.getBoolean(COMPACT);
+		// Fewer than four bytes make collisions among the successors of a state likely.
+		this.fpBytes = this.compact ? Math.max(4, Math.min(Long.BYTES, Integer.getInteger(FP_BYTES, Long.BYTES)))
+				: Long.BYTES;
+		this.fpMask = this.fpBytes == Long.BYTES ? -1L : (1L << (Byte.SIZE * this.fpBytes)) - 1L;
+	}
+
+	/**
+	 * @return The codec of a worker's trace file or null if the worker writes the
+	 *         original format.
+	 */
+	CompactTrace newCompactTrace() {
+		return this.compact ? new CompactTrace(this.workers.length, this.fpBytes) : null;
+	}
+
+	boolean hasFullFingerprints() {
+		return this.fpMask == -1L;
 	}
 
 	public Worker addWorker(Worker worker) {
@@ -105,7 +144,7 @@ public class ConcurrentTLCTrace extends TLCTrace {
 			// The fp of the final initial state.
 			records.add(record);
 			assert 0 <= records.size() && records.size() <= getLevel();
-			return getTrace(null, records);
+			return getTrace(null, records, state);
 		}
 	}
 	
@@ -122,20 +161,35 @@ public class ConcurrentTLCTrace extends TLCTrace {
 		// predecessors fingerprints are reconstructed from the trace files up to
 		// an initial state.
 		synchronized (this) {
-			Record record = Record.getPredecessor(to, this.workers);
-			while (record.fp != from.fingerPrint()) {
+			Record successor = records.get(0);
+			Record record = successor.getPredecessor();
+			while (!isRecordOf(from, record, successor)) {
 				records.add(record);
+				successor = record;
 				record = record.getPredecessor();
 			}
 			// The fp of the final initial state.
 			records.add(record);
 			assert 0 <= records.size() && records.size() <= getLevel();
 
-			return getTrace(new TLCStateInfo(from), records);
+			return getTrace(new TLCStateInfo(from), records, to);
+		}
+	}
+
+	/**
+	 * @return true iff record, which successor points to, is the record of state.
+	 *         A truncated fingerprint might match the one of an unrelated
+	 *         predecessor, which is why the record's position in the trace files
+	 *         has to match the position of state then.
+	 */
+	private final boolean isRecordOf(final TLCState state, final Record record, final Record successor) {
+		if ((record.fp & this.fpMask) != (state.fingerPrint() & this.fpMask)) {
+			return false;
 		}
+		return hasFullFingerprints() || (successor.worker == state.workerId && successor.ptr == state.uid);
 	}
 
-	protected final TLCStateInfo[] getTrace(TLCStateInfo sinfo, final List<Record> records) {
+	protected final TLCStateInfo[] getTrace(TLCStateInfo sinfo, final List<Record> records, final TLCState target) {
 		// Re-Initialize the rng with the seed value recorded and used during the model
 		// checking phase. Otherwise, we won't be able to reconstruct the error trace
 		// because the set of initial states is likely to be different.
@@ -169,6 +223,15 @@ public class ConcurrentTLCTrace extends TLCTrace {
 			}
 			// Recover successor states from its predecessor and its fingerprint.
 			res[stateNum++] = sinfo;
+			if (!hasFullFingerprints()) {
+				if (!reconstruct(res, records, target)) {
+					MP.printError(EC.TLC_FAILED_TO_RECOVER_INIT);
+					MP.printError(EC.TLC_BUG, "2 " + Long.toString(records.get(1).fp));
+					System.exit(1);
+				}
+				RandomEnumerableValues.set(snapshot);
+				return res;
+			}
 			for (int i = len-2; i >= 0; i--) {
 				Record record = records.get(i+1);
 				long fp = record.fp;
@@ -194,6 +257,48 @@ public class ConcurrentTLCTrace extends TLCTrace {
 		return res;
 	}
 
+	/**
+	 * Recovers res[1..] from res[0] and the truncated fingerprints in records by
+	 * a depth-first search over the successors whose fingerprints match. A path
+	 * is accepted iff target is a successor of its last state.
+	 */
+	private final boolean reconstruct(final TLCStateInfo[] res, final List<Record> records, final TLCState target) {
+		final int len = res.length;
+		final List<Iterator<TLCStateInfo>> candidates = new ArrayList<>(len);
+		candidates.add(null);
+		int n = 1;
+		if (len > 1) {
+			candidates.add(getStates(records.get(len - 1), res[0]));
+		}
+		while (n > 0) {
+			if (n == len) {
+				if (this.tool.getState(target.fingerPrint(), res[len - 1].state) != null) {
+					return true;
+				}
+				n--;
+				continue;
+			}
+			final Iterator<TLCStateInfo> itr = candidates.get(n);
+			if (!itr.hasNext()) {
+				candidates.remove(n--);
+				continue;
+			}
+			final TLCStateInfo sinfo = itr.next();
+			final Record prev = records.get(len - 1 - n);
+			sinfo.state.workerId = (short) prev.worker;
+			sinfo.state.uid = prev.ptr;
+			res[n++] = sinfo;
+			if (n < len) {
+				candidates.add(getStates(records.get(len - n), sinfo));
+			}
+		}
+		return false;
+	}
+
+	private final Iterator<TLCStateInfo> getStates(final Record record, final TLCStateInfo predecessor) {
+		return this.tool.getStates(record.fp, this.fpMask, predecessor.state).iterator();
+	}
+
 	/**
 	 * Write out a sequence of states that reaches s2 from an initial state,
 	 * according to the spec. s2 is a next state of s1.
@@ -332,6 +437,10 @@ public class ConcurrentTLCTrace extends TLCTrace {
 			return ptr == 1L;
 		}
 
+		long getFP() {
+			return fp;
+		}
+
 		@Override
 		public String toString() {
 			return "Record [ptr=" + ptr + ", worker=" + worker + ", fp=" + fp + ", initial=" + isInitial() + "]";
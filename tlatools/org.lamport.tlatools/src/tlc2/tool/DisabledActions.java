@@ -0,0 +1,168 @@
+/*******************************************************************************
+ * Copyright (c) 2026 The Linux Foundation. All rights reserved.
+ *
+ * The MIT License (MIT)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ * of the Software, and to permit persons to whom the Software is furnished to do
+ * so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN
+ * AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ ******************************************************************************/
+package tlc2.tool;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.LongAdder;
+
+import tla2sany.semantic.OpDeclNode;
+import tlc2.util.BitVector;
+import tlc2.value.IValueInputStream;
+import tlc2.value.IValueOutputStream;
+
+/**
+ * The next-state actions that are disabled in a state s, i.e. that generated no
+ * successor of s. Most actions of a large spec are disabled in most states.
+ * If action A is disabled in s and the evaluation of A depends only on
+ * variables (see {@link ActionFootprint}) whose values are the same in s and
+ * its successor t, A is also disabled in t and the worker does not have to
+ * evaluate A in t (see Worker#getNextStates).
+ * <p>
+ * The actions disabled in s are recorded by the worker that expands s, while
+ * other workers may already expand the successors of s. Thus, the disabled
+ * actions are only consulted after s has been expanded completely (see
+ * {@link #complete()}). A hint that the state queue writes to disk carries a
+ * snapshot of the disabled actions instead (see {@link #write(Hint, IValueOutputStream)}).
+ */
+public final class DisabledActions {
+
+	public static final boolean ENABLED = Boolean.getBoolean(DisabledActions.class.getName() + ".enabled");
+
+	// Aggregated over all workers and reported as part of the coverage
+	// statistics (see CostModelCreator#report).
+	private static final LongAdder EVALUATED = new LongAdder();
+	private static final LongAdder SKIPPED = new LongAdder();
+
+	private final BitVector disabled;
+	private volatile boolean complete = false;
+
+	public DisabledActions(final int actions) {
+		this.disabled = new BitVector(actions);
+	}
+
+	private DisabledActions(final BitVector disabled) {
+		this.disabled = disabled;
+		this.complete = true;
+	}
+
+	public void disable(final int action) {
+		this.disabled.set(action);
+	}
+
+	/**
+	 * Marks the expansion of the state as complete. Must be called after all
+	 * actions have been evaluated or skipped.
+	 */
+	public void complete() {
+		this.complete = true;
+	}
+
+	/**
+	 * @return The hint that lets the worker expanding succState skip the
+	 *         disabled actions of curState, which is the state whose disabled
+	 *         actions this instance records.
+	 */
+	public Hint hint(final TLCState curState, final TLCState succState) {
+		final OpDeclNode[] vars = curState.getVars();
+		final BitVector changed = new BitVector(vars.length);
+		for (int i = 0; i < vars.length; i++) {
+			// Comparing the values by identity misses equal values, which only causes
+			// the worker to evaluate an action unnecessarily.
+			if (curState.lookup(vars[i].getName()) != succState.lookup(vars[i].getName())) {
+				changed.set(vars[i].getName().getVarLoc());
+			}
+		}
+		return new Hint(this, changed);
+	}
+
+	public static void evaluated() {
+		EVALUATED.increment();
+	}
+
+	public static void skipped() {
+		SKIPPED.increment();
+	}
+
+	public static long getEvaluated() {
+		return EVALUATED.sum();
+	}
+
+	public static long getSkipped() {
+		return SKIPPED.sum();
+	}
+
+	/**
+	 * Writes the given hint, which may be null, as part of a state (see
+	 * TLCState#write). The disabled actions of the predecessor are written even if
+	 * its expansion is not complete yet: An action is only marked disabled after
+	 * the worker evaluated (or skipped) it, thus the snapshot is a subset of the
+	 * actions that are eventually disabled in the predecessor.
+	 */
+	public static void write(final Hint hint, final IValueOutputStream vos) throws IOException {
+		if (hint == null) {
+			vos.writeBoolean(false);
+			return;
+		}
+		vos.writeBoolean(true);
+		hint.predecessor.disabled.write(vos);
+		hint.changed.write(vos);
+	}
+
+	/**
+	 * @return The hint written by {@link #write(Hint, IValueOutputStream)} or
+	 *         null.
+	 */
+	public static Hint read(final IValueInputStream vis) throws IOException {
+		if (vis.readByte() == 0) {
+			return null;
+		}
+		final BitVector disabled = new BitVector();
+		disabled.read(vis);
+		final BitVector changed = new BitVector();
+		changed.read(vis);
+		return new Hint(new DisabledActions(disabled), changed);
+	}
+
+	/**
+	 * The disabled actions of a state's predecessor and the variables whose values
+	 * differ between the two states (see {@link TLCState#getHint()}).
+	 */
+	public static final class Hint {
+		private final DisabledActions predecessor;
+		private final BitVector changed;
+
+		private Hint(final DisabledActions predecessor, final BitVector changed) {
+			this.predecessor = predecessor;
+			this.changed = changed;
+		}
+
+		/**
+		 * @return true if the action with the given index and footprint is known to
+		 *         be disabled in the state of this hint.
+		 */
+		public boolean isDisabled(final int action, final ActionFootprint footprint) {
+			return footprint != null && this.predecessor.complete && this.predecessor.disabled.get(action)
+					&& !footprint.readsAny(this.changed);
+		}
+	}
+}
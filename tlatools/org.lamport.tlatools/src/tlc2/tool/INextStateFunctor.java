@@ -33,6 +33,15 @@ public interface INextStateFunctor extends IStateFunctor {
 		}
 	}
 
+	/**
+	 * Returned by {@link #addElement(TLCState, Action, TLCState)} to signal that
+	 * the functor has not retained a reference to the successor state t, e.g.
+	 * because t has been seen before. The caller is thus free to reuse (and
+	 * mutate) t instead of allocating a copy of it to generate the next successor
+	 * state.
+	 */
+	public static final Object DISCARDED = new Object();
+
 	Object addElement(final TLCState s, final Action a, final TLCState t);
 
 	default Object addElement(final TLCState state) {
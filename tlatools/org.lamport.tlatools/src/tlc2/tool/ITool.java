@@ -155,6 +155,12 @@ public interface ITool extends TraceApp, OpDefEvaluator {
 	/* Reconstruct the next state of state s whose fingerprint is fp. */
 	TLCStateInfo getState(long fp, TLCState s);
 
+	/*
+	 * Reconstruct the next states of state s whose fingerprints equal fp in the
+	 * bits of mask.
+	 */
+	List<TLCStateInfo> getStates(long fp, long mask, TLCState s);
+
 	/* Reconstruct the info for s1.   */
 	TLCStateInfo getState(TLCState s1, TLCState s);
 
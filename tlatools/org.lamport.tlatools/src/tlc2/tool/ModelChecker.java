@@ -31,6 +31,7 @@ import tlc2.util.SetOfStates;
 import tlc2.util.statistics.BucketStatistics;
 import tlc2.value.impl.BoolValue;
 import tlc2.value.impl.CounterExample;
+import tlc2.value.impl.ValueInternTable;
 import util.Assert;
 import util.DebugPrinter;
 import util.FileUtil;
@@ -49,6 +50,7 @@ public class ModelChecker extends AbstractChecker
 {
 
 	protected static final boolean ActionCoverage = TLCGlobals.Coverage.isActionEnabled();
+	private static final ValueInternTable INTERN = ValueInternTable.getInstance();
 	/**
 	 * If the state/ dir should be cleaned up after a successful model run
 	 */
@@ -69,6 +71,11 @@ public class ModelChecker extends AbstractChecker
 	 * Flag set via JMX if liveness checking should be triggered.
 	 */
 	private boolean forceLiveCheck = false;
+	/**
+	 * Non-null iff the workers explore a reduced state graph (see
+	 * PartialOrderReduction).
+	 */
+	final PartialOrderReduction reduction;
 
     /* Constructors  */
     public ModelChecker(ITool tool, String metadir, final IStateWriter stateWriter, boolean deadlock, String fromChkpt,
@@ -112,6 +119,8 @@ public class ModelChecker extends AbstractChecker
 
         this.theStateQueue = IStateQueue.get(this.metadir);
 
+        this.reduction = PartialOrderReduction.ENABLED ? PartialOrderReduction.create(this.tool, this.checkLiveness) : null;
+
         // Finally, initialize the trace file:
         this.trace = new ConcurrentTLCTrace(this.metadir, this.tool.getRootName(), this.tool);
     }
@@ -447,6 +456,9 @@ public class ModelChecker extends AbstractChecker
 						// The state is inModel, unseen and neither invariants
 						// nor implied actions are violated. It is thus eligible
 						// for further processing by other workers.
+						if (INTERN != null) {
+							succState.intern(INTERN);
+						}
 						this.theStateQueue.sEnqueue(succState);
                     }
 				}
@@ -733,6 +745,10 @@ public class ModelChecker extends AbstractChecker
 	protected void checkpoint() throws IOException {
 		// start checkpointing:
        	MP.printMessage(EC.TLC_CHECKPOINT_START, this.metadir);
+		// The workers are suspended until resumeAll. Thus, beginChkpt only records
+		// the position of the queue and the trace (the fingerprint set is recovered
+		// from the trace). The expensive part of writing the checkpoint happens in
+		// commitChkpt while the workers continue to explore the state space.
 		this.theStateQueue.beginChkpt();
 		this.trace.beginChkpt();
 		this.theFPSet.beginChkpt();
@@ -873,6 +889,9 @@ public class ModelChecker extends AbstractChecker
 
         MP.printMessage(EC.TLC_STATS, new String[] { String.valueOf(getStatesGenerated()),
                 String.valueOf(this.theFPSet.size()), String.valueOf(this.theStateQueue.size()) });
+        if (this.reduction != null) {
+        	this.reduction.report();
+        }
         // The depth used to only be reported on success, but this seems bogus since TLC reports
         // the number states above.
 		MP.printMessage(EC.TLC_SEARCH_DEPTH,
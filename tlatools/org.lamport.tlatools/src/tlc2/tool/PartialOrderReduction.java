@@ -0,0 +1,286 @@
+/*******************************************************************************
+ * Copyright (c) 2026 The Linux Foundation. All rights reserved.
+ *
+ * The MIT License (MIT)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ * of the Software, and to permit persons to whom the Software is furnished to do
+ * so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN
+ * AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ ******************************************************************************/
+package tlc2.tool;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+import tla2sany.semantic.ExprNode;
+import tla2sany.semantic.OpDeclNode;
+import tlc2.output.EC;
+import tlc2.output.MP;
+import tlc2.tool.impl.Tool;
+import tlc2.tool.impl.Tool.Mode;
+import tlc2.util.BitVector;
+import tlc2.util.Context;
+
+/**
+ * Partial-order reduction of the state graph explored by the BFS model checker
+ * (see Worker#getNextStates): Instead of all enabled actions, a worker
+ * evaluates only the actions of a single cluster if they generate at least one
+ * successor (the ample set). Two next-state actions are dependent if one
+ * writes a variable that the other reads or writes (see
+ * {@link ActionFootprint}), and a cluster is a connected component of the
+ * dependency relation. Thus, the actions outside of a cluster neither enable,
+ * disable, nor change the effect of the actions in the cluster. Additionally,
+ * the actions of an ample set
+ * <ul>
+ * <li>must not write a variable that is read by an invariant or a state
+ * constraint (the visible variables), and</li>
+ * <li>must not generate a successor that has been seen before (the cycle
+ * proviso of a breadth-first search), which guarantees that every cycle of
+ * the reduced state graph contains a completely expanded state.</li>
+ * </ul>
+ * Otherwise, the worker evaluates all actions. The reduced state graph has
+ * the same deadlocks and violates an invariant iff the complete one does.
+ * However, TLC does not report evaluation errors of actions that are not part
+ * of an ample set, and the number of states and the error traces differ from
+ * a run without reduction.
+ * <p>
+ * The reduction is only sound for safety checking. It is turned off (with a
+ * warning) when TLC checks liveness or implied actions or the configuration
+ * declares action constraints, symmetry, or a view.
+ */
+public final class PartialOrderReduction {
+
+	public static final boolean ENABLED = Boolean.getBoolean(PartialOrderReduction.class.getName() + ".enabled");
+
+	private final LongAdder reduced = new LongAdder();
+	private final LongAdder expanded = new LongAdder();
+	private final LongAdder saved = new LongAdder();
+
+	/**
+	 * The indices (see ITool#getActions()) of the actions of the clusters that
+	 * may be ample sets, ordered by size.
+	 */
+	private final int[][] clusters;
+	/**
+	 * cluster[i] is the index into clusters of the cluster of the i-th action or
+	 * -1 if the action's cluster cannot be an ample set.
+	 */
+	private final int[] cluster;
+
+	private PartialOrderReduction(final int[][] clusters, final int[] cluster) {
+		this.clusters = clusters;
+		this.cluster = cluster;
+	}
+
+	/**
+	 * @return A new instance or null if the reduction is not supported for or
+	 *         ineffective with the given spec and configuration.
+	 */
+	public static PartialOrderReduction create(final ITool itool, final boolean checkLiveness) {
+		final String unsupported = getUnsupported(itool, checkLiveness);
+		if (unsupported != null) {
+			MP.printWarning(EC.TLC_FEATURE_UNSUPPORTED,
+					String.format("Partial-order reduction is turned off because %s.", unsupported));
+			return null;
+		}
+		final Tool tool = (Tool) itool;
+		final Action[] actions = tool.getActions();
+		final OpDeclNode[] vars = tool.getSpecProcessor().getVariablesNodes();
+
+		final ActionFootprint[] footprints = new ActionFootprint[actions.length];
+		for (int i = 0; i < actions.length; i++) {
+			footprints[i] = ActionFootprint.of(actions[i]);
+			if (footprints[i] == null) {
+				// The action depends on every other action.
+				MP.printWarning(EC.TLC_FEATURE_UNSUPPORTED,
+						String.format("Partial-order reduction is turned off because the variables "
+								+ "of action %s cannot be determined.", actions[i].getLocation()));
+				return null;
+			}
+		}
+
+		// Union-find of the dependent actions: All actions that read or write a
+		// variable depend on the actions that write it.
+		final int[] parent = new int[actions.length];
+		for (int i = 0; i < parent.length; i++) {
+			parent[i] = i;
+		}
+		for (final OpDeclNode var : vars) {
+			final int loc = var.getName().getVarLoc();
+			int writer = -1;
+			for (int i = 0; i < actions.length && writer == -1; i++) {
+				if (footprints[i].writes(loc)) {
+					writer = i;
+				}
+			}
+			if (writer == -1) {
+				continue;
+			}
+			for (int i = 0; i < actions.length; i++) {
+				if (footprints[i].reads(loc) || footprints[i].writes(loc)) {
+					union(parent, writer, i);
+				}
+			}
+		}
+
+		final BitVector visible = getVisible(tool, vars);
+		final int[] root = new int[actions.length];
+		final boolean[] eligible = new boolean[actions.length];
+		Arrays.fill(eligible, true);
+		for (int i = 0; i < actions.length; i++) {
+			root[i] = find(parent, i);
+			for (final OpDeclNode var : vars) {
+				if (footprints[i].writes(var.getName().getVarLoc()) && visible.get(var.getName().getVarLoc())) {
+					eligible[root[i]] = false;
+				}
+			}
+		}
+
+		final List<int[]> res = new ArrayList<>();
+		for (int r = 0; r < actions.length; r++) {
+			if (root[r] != r || !eligible[r]) {
+				continue;
+			}
+			final List<Integer> members = new ArrayList<>();
+			for (int i = 0; i < actions.length; i++) {
+				if (root[i] == r) {
+					members.add(i);
+				}
+			}
+			if (members.size() < actions.length) {
+				res.add(members.stream().mapToInt(Integer::intValue).toArray());
+			}
+		}
+		if (res.isEmpty()) {
+			MP.printWarning(EC.TLC_FEATURE_UNSUPPORTED,
+					"Partial-order reduction is turned off because the next-state actions are either "
+							+ "mutually dependent or change variables read by invariants or state constraints.");
+			return null;
+		}
+		// Try the smallest clusters first, which promise the largest reduction.
+		res.sort(Comparator.comparingInt(c -> c.length));
+
+		final int[][] clusters = res.toArray(new int[res.size()][]);
+		final int[] cluster = new int[actions.length];
+		Arrays.fill(cluster, -1);
+		for (int c = 0; c < clusters.length; c++) {
+			for (final int i : clusters[c]) {
+				cluster[i] = c;
+			}
+		}
+		return new PartialOrderReduction(clusters, cluster);
+	}
+
+	private static String getUnsupported(final ITool tool, final boolean checkLiveness) {
+		if (tool.getMode() == Mode.MC_DEBUG) {
+			return "the debugger is attached";
+		}
+		if (checkLiveness) {
+			return "TLC checks temporal properties";
+		}
+		if (tool.getImpliedActions().length > 0) {
+			return "TLC checks action properties";
+		}
+		if (tool.getActionConstraints().length > 0) {
+			return "the model declares action constraints";
+		}
+		if (tool.hasSymmetry()) {
+			return "the model declares symmetry";
+		}
+		if (tool.getViewSpec() != null) {
+			return "the model declares a view";
+		}
+		return null;
+	}
+
+	/*
+	 * The variables read by an invariant or a state constraint. All variables are
+	 * visible if one of them cannot be analyzed.
+	 */
+	private static BitVector getVisible(final Tool tool, final OpDeclNode[] vars) {
+		final List<Action> preds = new ArrayList<>(Arrays.asList(tool.getInvariants()));
+		for (final ExprNode constraint : tool.getModelConstraints()) {
+			preds.add(new Action(constraint, Context.Empty));
+		}
+		final BitVector visible = new BitVector(vars.length);
+		for (final Action pred : preds) {
+			final ActionFootprint footprint = tool.getFootprint(pred);
+			for (final OpDeclNode var : vars) {
+				final int loc = var.getName().getVarLoc();
+				if (footprint == null || footprint.reads(loc)) {
+					visible.set(loc);
+				}
+			}
+		}
+		return visible;
+	}
+
+	private static int find(final int[] parent, int i) {
+		while (parent[i] != i) {
+			parent[i] = parent[parent[i]];
+			i = parent[i];
+		}
+		return i;
+	}
+
+	private static void union(final int[] parent, final int i, final int j) {
+		parent[find(parent, i)] = find(parent, j);
+	}
+
+	/**
+	 * @return The clusters (the indices of their actions) in the order in which
+	 *         a worker should try them as ample sets.
+	 */
+	public int[][] getClusters() {
+		return this.clusters;
+	}
+
+	/**
+	 * @return The index into {@link #getClusters()} of the cluster of the given
+	 *         action or -1 if the action's cluster cannot be an ample set.
+	 */
+	public int getCluster(final int action) {
+		return this.cluster[action];
+	}
+
+	/**
+	 * A state has been expanded with an ample set, which saved the evaluation of
+	 * the given number of actions.
+	 */
+	public void reduced(final int saved) {
+		this.reduced.increment();
+		this.saved.add(saved);
+	}
+
+	/**
+	 * A state has been expanded with all actions.
+	 */
+	public void expanded() {
+		this.expanded.increment();
+	}
+
+	public void report() {
+		final long reduced = this.reduced.sum();
+		final long total = reduced + this.expanded.sum();
+		MP.printMessage(EC.TLC_STATS_REDUCTION,
+				new String[] { String.valueOf(reduced), String.valueOf(total),
+						total == 0 ? "n/a" : String.format("%.1f%%", (100d * reduced) / total),
+						String.valueOf(this.saved.sum()) });
+	}
+}
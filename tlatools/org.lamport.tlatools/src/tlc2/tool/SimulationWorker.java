@@ -57,6 +57,7 @@ import tlc2.value.impl.CounterExample;
 import tlc2.value.impl.IntValue;
 import tlc2.value.impl.RecordValue;
 import tlc2.value.impl.Value;
+import tlc2.value.impl.ValueInternTable;
 import util.FileUtil;
 import util.UniqueString;
 
@@ -84,6 +85,8 @@ public class SimulationWorker extends IdThread implements INextStateFunctor {
 
 	protected static final boolean coverage = TLCGlobals.Coverage.isActionEnabled();
 
+	private static final ValueInternTable INTERN = ValueInternTable.getInstance();
+
 	// This worker's local source of randomness.
 	protected final RandomGenerator localRng;
 
@@ -708,6 +711,11 @@ public class SimulationWorker extends IdThread implements INextStateFunctor {
 			// states.  See TLCExt!TLCDefer operator for context.
 			s1.execCallable();
 			
+			// The trace keeps s1 alive (predecessor chain) until the trace is done.
+			if (INTERN != null) {
+				s1.intern(INTERN);
+			}
+			
 			statistics.collectPostSuccessor(curState, actions[index], s1);
 			
 			curState = s1;
@@ -0,0 +1,186 @@
+/*******************************************************************************
+ * Copyright (c) 2026 The Linux Foundation. All rights reserved.
+ *
+ * The MIT License (MIT)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ * of the Software, and to permit persons to whom the Software is furnished to do
+ * so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN
+ * AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ ******************************************************************************/
+package tlc2.tool;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import tlc2.value.impl.Value;
+
+/**
+ * A worker's cache of the values of state-level operator applications (see
+ * Tool#evalMemoized). Next-state actions, state constraints, and invariants often
+ * refer to the same definitions (e.g. Quorums or Leader) that would otherwise
+ * be evaluated by each of them.
+ * <p>
+ * The memo only answers lookups for the two states registered with it, i.e.
+ * the state a worker expands (see {@link #expand(TLCState)}) and the successor
+ * it currently checks (see {@link #check(TLCState)}). Both are complete states
+ * that do not change. A state is compared by identity, which is why entries of
+ * a state are dropped as soon as another state is registered in its place.
+ * <p>
+ * A memo is owned by a single worker and thus not thread-safe.
+ */
+public final class StateMemo {
+
+	public static final boolean ENABLED = Boolean.getBoolean(StateMemo.class.getName() + ".enabled");
+
+	// Aggregated over all workers and reported as part of the coverage
+	// statistics (see CostModelCreator#report).
+	private static final LongAdder LOOKUPS = new LongAdder();
+	private static final LongAdder HITS = new LongAdder();
+
+	private final Slot current = new Slot();
+	private final Slot successor = new Slot();
+	private final boolean statistics;
+
+	public StateMemo(final boolean statistics) {
+		this.statistics = statistics;
+	}
+
+	/**
+	 * Registers the state that the worker expands next and drops all entries.
+	 */
+	public void expand(final TLCState state) {
+		this.current.reset(state);
+		this.successor.reset(null);
+	}
+
+	/**
+	 * Registers a successor of the expanded state whose invariants (and state
+	 * constraints...) the worker is about to check. Drops the entries of the
+	 * previous successor.
+	 */
+	public void check(final TLCState state) {
+		this.successor.reset(state);
+	}
+
+	/**
+	 * @return the memo's entries for state or null if state has not been
+	 *         registered with this memo.
+	 */
+	private Map<Object, Value> entries(final TLCState state) {
+		if (state == this.current.state) {
+			return this.current.entries;
+		}
+		if (state == this.successor.state) {
+			return this.successor.entries;
+		}
+		return null;
+	}
+
+	/**
+	 * @return true iff values for state may be looked up and stored.
+	 */
+	public boolean isMemoized(final TLCState state) {
+		return state != null && entries(state) != null;
+	}
+
+	/**
+	 * @return The value of op applied to args in state or null if the memo has no
+	 *         such value.
+	 */
+	public Value get(final TLCState state, final Object op, final Value[] args) {
+		final Map<Object, Value> entries = entries(state);
+		if (entries == null) {
+			return null;
+		}
+		final Value value = entries.get(args.length == 0 ? op : new Key(op, args));
+		if (this.statistics) {
+			LOOKUPS.increment();
+			if (value != null) {
+				HITS.increment();
+			}
+		}
+		return value;
+	}
+
+	public Value put(final TLCState state, final Object op, final Value[] args, final Value value) {
+		final Map<Object, Value> entries = entries(state);
+		if (entries != null) {
+			entries.put(args.length == 0 ? op : new Key(op, args), value);
+		}
+		return value;
+	}
+
+	public static long getLookups() {
+		return LOOKUPS.sum();
+	}
+
+	public static long getHits() {
+		return HITS.sum();
+	}
+
+	private static final class Slot {
+		private TLCState state;
+		private Map<Object, Value> entries = new HashMap<>();
+
+		void reset(final TLCState state) {
+			this.state = state;
+			if (this.entries.size() > 1024) {
+				// Do not hold on to the table of an unusually large state forever.
+				this.entries = new HashMap<>();
+			} else {
+				this.entries.clear();
+			}
+		}
+	}
+
+	private static final class Key {
+		private final Object op;
+		private final Value[] args;
+		private final int hash;
+
+		Key(final Object op, final Value[] args) {
+			this.op = op;
+			this.args = args;
+			this.hash = 31 * System.identityHashCode(op) + Arrays.hashCode(args);
+		}
+
+		@Override
+		public int hashCode() {
+			return this.hash;
+		}
+
+		@Override
+		public boolean equals(final Object obj) {
+			if (!(obj instanceof Key)) {
+				return false;
+			}
+			final Key other = (Key) obj;
+			if (this.op != other.op || this.args.length != other.args.length) {
+				return false;
+			}
+			for (int i = 0; i < this.args.length; i++) {
+				// Value#equals fails (Assert.fail) for values of incompatible
+				// kinds, e.g. an IntValue and a StringValue with the same hash.
+				if (this.args[i].getClass() != other.args[i].getClass() || !this.args[i].equals(other.args[i])) {
+					return false;
+				}
+			}
+			return true;
+		}
+	}
+}
@@ -22,6 +22,7 @@ import tlc2.value.IValue;
 import tlc2.value.IValueInputStream;
 import tlc2.value.IValueOutputStream;
 import tlc2.value.impl.Value;
+import tlc2.value.impl.ValueInternTable;
 import util.Assert;
 import util.UniqueString;
 
@@ -36,6 +37,10 @@ public abstract class TLCState implements Serializable {
   // is defined to be zero.
   public static final int INIT_LEVEL = 1;
   private int level = INIT_LEVEL;
+  // Set by the worker that enqueues this state iff it skips disabled actions
+  // (see DisabledActions). The state queue writes the hint with the state (see
+  // write), whereas the distributed TLC does not send it to its workers.
+  private transient DisabledActions.Hint hint;
   
   // Set by subclasses. Cannot set until we know what the variables are.
   public static final TLCState Null = null;
@@ -53,6 +58,9 @@ public abstract class TLCState implements Serializable {
 	this.uid = vis.readLongNat();
     this.level = vis.readShortNat();
     assert this.level >= 0; // Should never overflow.
+    if (DisabledActions.ENABLED) {
+    	this.hint = DisabledActions.read(vis);
+    }
   }
   
 	public void write(IValueOutputStream vos) throws IOException {
@@ -68,6 +76,11 @@ public abstract class TLCState implements Serializable {
 		vos.writeShortNat(this.workerId);
 		vos.writeLongNat(this.uid);
 		vos.writeShortNat((short) this.level);
+		// The format of the states (and thus of checkpoints) only changes if disabled
+		// actions are skipped.
+		if (DisabledActions.ENABLED) {
+			DisabledActions.write(this.hint, vos);
+		}
 	}
 
   public abstract TLCState bind(UniqueString name, IValue value);
@@ -85,6 +98,14 @@ public abstract class TLCState implements Serializable {
   public abstract TLCState deepCopy();
   public abstract StateVec addToVec(StateVec states);
   public abstract void deepNormalize();
+  /**
+   * Replaces the (normalized) values of this state with their canonical
+   * instances in the given {@link ValueInternTable}. States that do not
+   * support interning are left unchanged.
+   */
+  public TLCState intern(final ValueInternTable table) {
+	  return this;
+  }
   public abstract long fingerPrint();
   public long fingerPrint(ITool tool) {
 		return fingerPrint();
@@ -167,6 +188,14 @@ public abstract class TLCState implements Serializable {
   public final boolean isInitial() {
 	return this.level == INIT_LEVEL;
   }
+
+  public final DisabledActions.Hint getHint() {
+	return this.hint;
+  }
+
+  public final void setHint(final DisabledActions.Hint hint) {
+	this.hint = hint;
+  }
   
   /* Returns a string representation of this state.  */
   public abstract String toString();
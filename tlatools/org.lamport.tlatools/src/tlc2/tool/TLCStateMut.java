@@ -25,6 +25,7 @@ import tlc2.value.IValue;
 import tlc2.value.IValueInputStream;
 import tlc2.value.IValueOutputStream;
 import tlc2.value.Values;
+import tlc2.value.impl.ValueInternTable;
 import util.UniqueString;
 import util.WrongInvocationException;
 
@@ -159,6 +160,17 @@ public final class TLCStateMut extends TLCState implements Serializable {
     }
   }
 
+  @Override
+  public final TLCState intern(final ValueInternTable table) {
+    for (int i = 0; i < this.values.length; i++) {
+      IValue val = this.values[i];
+      if (val != null) {
+	this.values[i] = table.intern(val);
+      }
+    }
+    return this;
+  }
+
   /**
    * This method returns the fingerprint of this state. We fingerprint
    * the values in the state according to the order given by vars.
@@ -20,6 +20,12 @@ public interface TraceApp extends SymbolNodeValueLookupProvider {
   /* Reconstruct the next state of state s whose fingerprint is fp. */
   public TLCStateInfo getState(long fp, TLCState s);
 
+  /*
+   * Reconstruct the next states of state s whose fingerprints equal fp in the
+   * bits of mask.
+   */
+  public List<TLCStateInfo> getStates(long fp, long mask, TLCState s);
+
   /* Reconstruct the info for the transition from s to s1. */
   public TLCStateInfo getState(TLCState s1, TLCState s);
 
@@ -24,14 +24,17 @@ import tlc2.tool.impl.CallStackTool;
 import tlc2.tool.impl.Tool;
 import tlc2.tool.impl.Tool.Mode;
 import tlc2.tool.queue.IStateQueue;
+import tlc2.util.BitVector;
 import tlc2.util.BufferedRandomAccessFile;
 import tlc2.util.Context;
 import tlc2.util.IStateWriter;
 import tlc2.util.IdThread;
+import tlc2.util.LongVec;
 import tlc2.util.SetOfStates;
 import tlc2.util.statistics.FixedSizedBucketStatistics;
 import tlc2.util.statistics.IBucketStatistics;
 import tlc2.value.impl.CounterExample;
+import tlc2.value.impl.ValueInternTable;
 import util.Assert;
 import util.Assert.TLCRuntimeException;
 import util.FileUtil;
@@ -42,6 +45,8 @@ public final class Worker extends IdThread implements IWorker, INextStateFunctor
 	protected static final boolean coverage = TLCGlobals.Coverage.isActionEnabled();
 	protected static final boolean variableCoverage = TLCGlobals.Coverage.isVariableEnabled();
 	private static final int INITIAL_CAPACITY = 16;
+	private static final boolean BATCH = Boolean.getBoolean(Worker.class.getName() + ".batch");
+	private static final ValueInternTable INTERN = ValueInternTable.getInstance();
 	
 	/**
 	 * Multi-threading helps only when running on multiprocessors. TLC can
@@ -57,7 +62,38 @@ public final class Worker extends IdThread implements IWorker, INextStateFunctor
 	private final IBucketStatistics outDegree;
 	private final String filename;
 	private final BufferedRandomAccessFile raf;
+	/**
+	 * Non-null iff the trace file is written in the compact format (see
+	 * ConcurrentTLCTrace#COMPACT).
+	 */
+	private final CompactTrace compact;
 	private final boolean checkDeadlock;
+	/**
+	 * Non-null iff the fingerprints of all successors of a state are submitted to
+	 * the fingerprint set in a single batch (see FPSet#putBlock).
+	 */
+	private final Batch batch;
+	/**
+	 * Non-null iff the worker skips the actions that are known to be disabled in
+	 * the state it expands (see DisabledActions). footprints[i] is the footprint
+	 * of the i-th action of the tool or null if it has none.
+	 */
+	private final ActionFootprint[] footprints;
+	/**
+	 * The actions disabled in the state that this worker expands (non-null iff
+	 * footprints is).
+	 */
+	private DisabledActions disabledActions;
+	/**
+	 * Non-null iff the worker expands a state with an ample set of actions if
+	 * possible (see PartialOrderReduction).
+	 */
+	private final PartialOrderReduction reduction;
+	/**
+	 * Non-null iff the worker memoizes the values of state-level operator
+	 * applications (see StateMemo and Tool#evalMemoized).
+	 */
+	private final StateMemo stateMemo;
 
 	private long lastPtr;
 	private long statesGenerated;
@@ -82,6 +118,27 @@ public final class Worker extends IdThread implements IWorker, INextStateFunctor
 
 		this.filename = metadir + FileUtil.separator + specFile + "-" + myGetId();
 		this.raf = new BufferedRandomAccessFile(filename + TLCTrace.EXT, "rw");
+		this.compact = this.tlc.trace.newCompactTrace();
+		
+		// The debugger expects to see each successor state right after it has been generated.
+		this.batch = BATCH && this.mode != Mode.MC_DEBUG ? new Batch() : null;
+
+		// The debugger expects to see each evaluation of an operator.
+		this.stateMemo = StateMemo.ENABLED && this.mode != Mode.MC_DEBUG ? new StateMemo(coverage) : null;
+		
+		// The debugger expects to see each evaluation of an action.
+		if (DisabledActions.ENABLED && this.mode != Mode.MC_DEBUG) {
+			final Action[] actions = this.tool.getActions();
+			this.footprints = new ActionFootprint[actions.length];
+			for (int i = 0; i < actions.length; i++) {
+				this.footprints[i] = ActionFootprint.of(actions[i]);
+			}
+		} else {
+			this.footprints = null;
+		}
+		
+		// PartialOrderReduction#create returns null if the debugger is attached.
+		this.reduction = this.tlc.reduction;
 	}
 
 	/**
@@ -105,6 +162,9 @@ public final class Worker extends IdThread implements IWorker, INextStateFunctor
 					return;
 				}
 				setCurrentState(curState);
+				if (this.stateMemo != null) {
+					this.stateMemo.expand(curState);
+				}
 				
 				if (this.checkLiveness || mode == Mode.MC_DEBUG) {
 					// Allocate iff liveness is checked.
@@ -113,7 +173,14 @@ public final class Worker extends IdThread implements IWorker, INextStateFunctor
 				
 				final long preNext = this.statesGenerated;
 				try {
-					this.tool.getNextStates(this, curState);
+					if (this.footprints != null || this.reduction != null) {
+						this.getNextStates(curState);
+					} else {
+						this.tool.getNextStates(this, curState);
+					}
+					if (this.batch != null) {
+						flushBatch(curState);
+					}
 				} catch (final WrappingRuntimeException e) {
 					// The next-state relation couldn't be evaluated. If doNextFailed itself throws
 					// a Throwable, the catch block below will handle it.
@@ -157,6 +224,92 @@ public final class Worker extends IdThread implements IWorker, INextStateFunctor
 		}
 	}
 	
+	/**
+	 * Evaluates the actions of the next-state relation in curState like
+	 * Tool#getNextStates(INextStateFunctor, TLCState) except for the actions that
+	 * the hint of curState declares disabled. Records the actions disabled in
+	 * curState for the successors of curState (see doNextCheckAndEnqueue). With
+	 * partial-order reduction, only the actions of the first cluster that
+	 * qualifies as an ample set are evaluated.
+	 */
+	private final void getNextStates(final TLCState curState) {
+		final Action[] actions = this.tool.getActions();
+		DisabledActions.Hint hint = null;
+		if (this.footprints != null) {
+			hint = curState.getHint();
+			// Let the disabled actions of the predecessor be garbage collected.
+			curState.setHint(null);
+			this.disabledActions = new DisabledActions(actions.length);
+		}
+
+		// The number of clusters whose actions have been evaluated.
+		int evaluated = 0;
+		if (this.reduction != null) {
+			final int[][] clusters = this.reduction.getClusters();
+			// The number of actions of the evaluated clusters.
+			int evaluatedActions = 0;
+			while (evaluated < clusters.length) {
+				final int[] cluster = clusters[evaluated++];
+				evaluatedActions += cluster.length;
+				final long preNext = this.statesGenerated;
+				final int preUnseen = this.unseenSuccessorStates;
+				for (final int i : cluster) {
+					this.getNextStates(curState, i, hint);
+				}
+				if (this.batch != null) {
+					// The cycle proviso below has to know which successors are new.
+					flushBatch(curState);
+				}
+				if (preNext != this.statesGenerated) {
+					if (this.statesGenerated - preNext == this.unseenSuccessorStates - preUnseen) {
+						// All successors are new, thus the cluster is an ample set of curState.
+						this.reduction.reduced(actions.length - evaluatedActions);
+						if (this.disabledActions != null) {
+							this.disabledActions.complete();
+						}
+						return;
+					}
+					// The cycle proviso is violated because a successor has been seen before.
+					break;
+				}
+			}
+			this.reduction.expanded();
+		}
+
+		for (int i = 0; i < actions.length; i++) {
+			if (this.reduction != null && this.reduction.getCluster(i) >= 0
+					&& this.reduction.getCluster(i) < evaluated) {
+				continue;
+			}
+			this.getNextStates(curState, i, hint);
+		}
+		if (this.disabledActions != null) {
+			this.disabledActions.complete();
+		}
+	}
+
+	/**
+	 * Evaluates the i-th action in curState unless the hint declares it disabled.
+	 */
+	private final void getNextStates(final TLCState curState, final int i, final DisabledActions.Hint hint) {
+		final Action action = this.tool.getActions()[i];
+		if (this.disabledActions == null) {
+			this.tool.getNextStates(this, curState, action);
+			return;
+		}
+		if (hint != null && hint.isDisabled(i, this.footprints[i])) {
+			this.disabledActions.disable(i);
+			if (coverage) { DisabledActions.skipped(); }
+			return;
+		}
+		if (coverage) { DisabledActions.evaluated(); }
+		final long preNext = this.statesGenerated;
+		this.tool.getNextStates(this, curState, action);
+		if (preNext == this.statesGenerated) {
+			this.disabledActions.disable(i);
+		}
+	}
+	
 	/* Liveness */
 	
 	private int multiplier = 1;
@@ -270,6 +423,14 @@ public final class Worker extends IdThread implements IWorker, INextStateFunctor
 		maxLevel = level;
 	}
 
+	/**
+	 * @return The memo of state-level values of this worker or null if it does
+	 *         not memoize them.
+	 */
+	public final StateMemo getStateMemo() {
+		return this.stateMemo;
+	}
+
 	/* Maintain trace file (to reconstruct error-trace) */
 	
 	/*
@@ -288,10 +449,14 @@ public final class Worker extends IdThread implements IWorker, INextStateFunctor
 	
 	public final synchronized void writeState(final TLCState initialState, final long fp) throws IOException {
 		// Write initial state to trace file.
-		this.lastPtr = this.raf.getFilePointer();
-		this.raf.writeLongNat(1L);
-		this.raf.writeShortNat(myGetId());
-		this.raf.writeLong(fp);
+		if (this.compact != null) {
+			this.lastPtr = this.compact.write(this.raf, 1L, myGetId(), fp);
+		} else {
+			this.lastPtr = this.raf.getFilePointer();
+			this.raf.writeLongNat(1L);
+			this.raf.writeShortNat(myGetId());
+			this.raf.writeLong(fp);
+		}
 		
 		// Add predecessor pointer to success state.
 		initialState.workerId = (short) myGetId();
@@ -303,10 +468,14 @@ public final class Worker extends IdThread implements IWorker, INextStateFunctor
 		maxLevel = Math.max(curState.getLevel() + 1, maxLevel);
 		
 		// Write to trace file.
-		this.lastPtr = this.raf.getFilePointer();
-		this.raf.writeLongNat(curState.uid);
-		this.raf.writeShortNat(curState.workerId);
-		this.raf.writeLong(sucStateFp);
+		if (this.compact != null) {
+			this.lastPtr = this.compact.write(this.raf, curState.uid, curState.workerId, sucStateFp);
+		} else {
+			this.lastPtr = this.raf.getFilePointer();
+			this.raf.writeLongNat(curState.uid);
+			this.raf.writeShortNat(curState.workerId);
+			this.raf.writeLong(sucStateFp);
+		}
 		
 		// Add predecessor pointer to success state.
 		sucState.workerId = (short) myGetId();
@@ -326,6 +495,13 @@ public final class Worker extends IdThread implements IWorker, INextStateFunctor
 		// Remember current tip of the file before we rewind.
 		this.raf.mark();
 		
+		if (this.compact != null) {
+			final ConcurrentTLCTrace.Record record = this.compact.read(this.raf, ptr);
+			assert !tlc.trace.hasFullFingerprints() || tlc.theFPSet.contains(record.getFP());
+			this.raf.seek(this.raf.getMark());
+			return record;
+		}
+		
 		// rewind to position we want to read from.
 		this.raf.seek(ptr);
 		
@@ -370,6 +546,9 @@ public final class Worker extends IdThread implements IWorker, INextStateFunctor
 		this.lastPtr = dis.readLong();
 		dis.close();
 		this.raf.seek(filePos);
+		if (this.compact != null) {
+			this.compact.recover(this.raf);
+		}
 	}
 	
 	/* Enumerator */
@@ -384,11 +563,19 @@ public final class Worker extends IdThread implements IWorker, INextStateFunctor
 		private final BufferedRandomAccessFile enumRaf;
 
 		Enumerator() throws IOException {
+			if (compact != null && !tlc.trace.hasFullFingerprints()) {
+				// The fingerprint set cannot be recovered from truncated fingerprints.
+				Assert.fail(EC.GENERAL, "Cannot enumerate the fingerprints in the trace file "
+						+ filename + TLCTrace.EXT + " because they have been truncated.");
+			}
 			this.len = raf.getFilePointer();
 			this.enumRaf = new BufferedRandomAccessFile(filename + TLCTrace.EXT, "r");
 		}
 
 		public boolean hasMoreFP() throws IOException {
+			if (compact != null) {
+				return compact.hasNext(this.enumRaf, this.len);
+			}
 			final long fpos = this.enumRaf.getFilePointer();
 			if (fpos < this.len) {
 				return true;
@@ -397,6 +584,9 @@ public final class Worker extends IdThread implements IWorker, INextStateFunctor
 		}
 
 		public long nextFP() throws IOException {
+			if (compact != null) {
+				return compact.nextFP(this.enumRaf);
+			}
 			this.enumRaf.readLongNat(); /* drop */
 			this.enumRaf.readShortNat(); /* drop */
 			return this.enumRaf.readLong();
@@ -418,6 +608,9 @@ public final class Worker extends IdThread implements IWorker, INextStateFunctor
 	public final Object addElement(final TLCState curState, final Action action, final TLCState succState) {
 	    if (coverage) { action.cm.incInvocations(); }
 		this.statesGenerated++;
+		if (this.stateMemo != null) {
+			this.stateMemo.check(succState);
+		}
 		
 		try {
 			if (!this.tool.isGoodState(succState)) {
@@ -437,6 +630,12 @@ public final class Worker extends IdThread implements IWorker, INextStateFunctor
 			// Check if state is new or has been seen earlier.
 			boolean unseen = true;
 			if (inModel) {
+				if (this.batch != null) {
+					// Defer the lookup in the fingerprint set until all successors of curState
+					// have been generated (see flushBatch).
+					this.batch.add(action, succState, succState.fingerPrint(tool));
+					return this;
+				}
 				unseen = !isSeenState(curState, succState, action);
 			} else if (allStateWriter.isConstrained()) {
 				final ExprNode[] sConstraints = this.tool.getModelConstraints();
@@ -455,31 +654,16 @@ public final class Worker extends IdThread implements IWorker, INextStateFunctor
 				}
 			}
 			
-			// Check if succState violates any invariant:
-			if (unseen) {
-				if (this.doNextCheckInvariants(curState, succState)) {
-					throw new InvariantViolatedException();
-				}
-			}
-			
-			// Check if the state violates any implied action. We need to do it
-			// even if succState is not new.
-			if (this.doNextCheckImplied(curState, succState)) {
-				throw new InvariantViolatedException();
+			doNextCheckAndEnqueue(curState, succState, inModel, unseen);
+			if (inModel && (unseen || this.checkLiveness || mode == Mode.MC_DEBUG)) {
+				// succState has been enqueued or added to setOfStates.
+				return this;
 			}
-			
-			if (inModel && unseen) {
-				// The state is inModel, unseen and neither invariants
-				// nor implied actions are violated. It is thus eligible
-				// for further processing by other workers.
-				this.squeue.sEnqueue(succState);
-				if (variableCoverage) { 
-					for (final OpDeclNode odn : TLCState.vars) {
-						odn.count(succState.lookup(odn.getName()));
-					}
-				}
+			if (this.stateMemo != null) {
+				// Tool continues to assign the discarded succState (see DISCARDED).
+				this.stateMemo.check(null);
 			}
-			return this;
+			return DISCARDED;
 		} catch (Exception e) {
 			// We can't throw Exception here because it would violate the contract of
 			// tlc2.tool.INextStateFunctor.addElement(TLCState, Action, TLCState). Thus,
@@ -490,6 +674,107 @@ public final class Worker extends IdThread implements IWorker, INextStateFunctor
 		}
 	}
 	
+	private final void doNextCheckAndEnqueue(final TLCState curState, final TLCState succState, final boolean inModel,
+			final boolean unseen) throws IOException, WorkerException, Exception {
+		if (this.batch != null && this.stateMemo != null) {
+			// A batch checks the successors only after all have been generated.
+			this.stateMemo.check(succState);
+		}
+		// Check if succState violates any invariant:
+		if (unseen) {
+			if (this.doNextCheckInvariants(curState, succState)) {
+				throw new InvariantViolatedException();
+			}
+		}
+		
+		// Check if the state violates any implied action. We need to do it
+		// even if succState is not new.
+		if (this.doNextCheckImplied(curState, succState)) {
+			throw new InvariantViolatedException();
+		}
+		
+		if (inModel && unseen) {
+			// The state is inModel, unseen and neither invariants
+			// nor implied actions are violated. It is thus eligible
+			// for further processing by other workers.
+			if (INTERN != null) {
+				succState.intern(INTERN);
+			}
+			if (this.disabledActions != null) {
+				succState.setHint(this.disabledActions.hint(curState, succState));
+			}
+			this.squeue.sEnqueue(succState);
+			if (variableCoverage) { 
+				for (final OpDeclNode odn : TLCState.vars) {
+					odn.count(succState.lookup(odn.getName()));
+				}
+			}
+		}
+	}
+	
+	/**
+	 * Submits the fingerprints of the successors of curState, which addElement
+	 * buffered, to the fingerprint set in a single {@link FPSet#putBlock(LongVec)}
+	 * and then processes the successors in the order in which they were generated.
+	 */
+	private final void flushBatch(final TLCState curState) {
+		if (this.batch.isEmpty()) {
+			return;
+		}
+		TLCState succState = null;
+		try {
+			final BitVector unseen = this.theFPSet.putBlock(this.batch.fps);
+			for (int i = 0; i < this.batch.size(); i++) {
+				succState = this.batch.states[i];
+				final boolean isUnseen = unseen.get(i);
+				seenState(curState, succState, this.batch.actions[i], this.batch.fps.elementAt(i), !isUnseen);
+				doNextCheckAndEnqueue(curState, succState, true, isUnseen);
+			}
+		} catch (Exception e) {
+			// See addElement.
+			throw new WrappingRuntimeException(e, succState);
+		} finally {
+			this.batch.reset();
+		}
+	}
+	
+	/**
+	 * The successor states of a single state, which are buffered by addElement when
+	 * TLC runs with -Dtlc2.tool.Worker.batch=true.
+	 */
+	private static final class Batch {
+		private final LongVec fps = new LongVec(INITIAL_CAPACITY);
+		private TLCState[] states = new TLCState[INITIAL_CAPACITY];
+		private Action[] actions = new Action[INITIAL_CAPACITY];
+		
+		void add(final Action action, final TLCState state, final long fp) {
+			final int size = this.fps.size();
+			if (size == this.states.length) {
+				this.states = Arrays.copyOf(this.states, size * 2);
+				this.actions = Arrays.copyOf(this.actions, size * 2);
+			}
+			this.states[size] = state;
+			this.actions[size] = action;
+			this.fps.addElement(fp);
+		}
+		
+		int size() {
+			return this.fps.size();
+		}
+		
+		boolean isEmpty() {
+			return this.fps.isEmpty();
+		}
+		
+		void reset() {
+			// Drop the references to the states to not keep them alive until the next
+			// state has been explored.
+			Arrays.fill(this.states, 0, this.fps.size(), null);
+			Arrays.fill(this.actions, 0, this.fps.size(), null);
+			this.fps.reset();
+		}
+	}
+	
 	@Override
 	public TLCState addUnsatisfiedState(final TLCState curState, final Action action, final TLCState succState,
 			final SemanticNode pred, final Context c) {
@@ -523,6 +808,12 @@ public final class Worker extends IdThread implements IWorker, INextStateFunctor
 			throws IOException {
 		final long fp = succState.fingerPrint(tool);
 		final boolean seen = this.theFPSet.put(fp);
+		seenState(curState, succState, action, fp, seen);
+		return seen;
+	}
+
+	private final void seenState(final TLCState curState, final TLCState succState, final Action action,
+			final long fp, final boolean seen) throws IOException {
 		// Write out succState when needed:
 		this.allStateWriter.writeState(curState, succState, seen ? IStateWriter.IsSeen : IStateWriter.IsUnseen, action);
 		if (!seen) {
@@ -542,7 +833,6 @@ public final class Worker extends IdThread implements IWorker, INextStateFunctor
 		{
 			this.setOfStates.put(fp, succState, tool);
 		}
-		return seen;
 	}
 
 	private final boolean doNextCheckInvariants(final TLCState curState, final TLCState succState) throws IOException, WorkerException, Exception {
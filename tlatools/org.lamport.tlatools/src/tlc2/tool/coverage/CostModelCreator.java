@@ -53,7 +53,9 @@ import tla2sany.st.Location;
 import tlc2.output.EC;
 import tlc2.output.MP;
 import tlc2.tool.Action;
+import tlc2.tool.DisabledActions;
 import tlc2.tool.ITool;
+import tlc2.tool.StateMemo;
 import tlc2.tool.coverage.ActionWrapper.Relation;
 import tlc2.util.Context;
 import tlc2.util.ObjLongTable;
@@ -528,5 +530,21 @@ public class CostModelCreator extends ExplorerVisitor {
     			impliedActions.cm.report();
     		}
         }
+
+		// Per-state memoization of state-level operators (see StateMemo).
+		if (StateMemo.ENABLED) {
+			final long lookups = StateMemo.getLookups();
+			final long hits = StateMemo.getHits();
+			MP.printMessage(EC.TLC_COVERAGE_MEMO, new String[] { String.valueOf(hits), String.valueOf(lookups),
+					lookups == 0 ? "n/a" : String.format("%.1f%%", (100d * hits) / lookups) });
+		}
+
+		// Actions skipped because they are known to be disabled (see DisabledActions).
+		if (DisabledActions.ENABLED) {
+			final long skipped = DisabledActions.getSkipped();
+			final long total = skipped + DisabledActions.getEvaluated();
+			MP.printMessage(EC.TLC_COVERAGE_DISABLED_ACTIONS, new String[] { String.valueOf(skipped),
+					String.valueOf(total), total == 0 ? "n/a" : String.format("%.1f%%", (100d * skipped) / total) });
+		}
 	}
 }
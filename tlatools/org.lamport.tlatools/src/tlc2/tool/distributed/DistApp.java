@@ -6,6 +6,7 @@
 package tlc2.tool.distributed;
 
 import java.rmi.RemoteException;
+import java.util.List;
 
 import tlc2.tool.IStateFunctor;
 import tlc2.tool.TLCState;
@@ -68,6 +69,14 @@ public abstract class DistApp implements TraceApp {
 	 */
 	public abstract TLCStateInfo getState(long fp, TLCState s);
 
+	// Reconstruct the next states of state s whose fingerprints equal fp in the
+	// bits of mask.
+	// TLCTrace
+	/* (non-Javadoc)
+	 * @see tlc2.tool.TraceApp#getStates(long, long, tlc2.tool.TLCState)
+	 */
+	public abstract List<TLCStateInfo> getStates(long fp, long mask, TLCState s);
+
 	// Reconstruct the info for the transition from s to s1. /
 	// TLCTrace
 	/* (non-Javadoc)
@@ -251,6 +251,14 @@ public class TLCApp extends DistApp {
 		return this.tool.getState(fp, s);
 	}
 
+	/* Reconstruct the next states of state s whose fingerprints equal fp in the bits of mask. */
+	/* (non-Javadoc)
+	 * @see tlc2.tool.distributed.DistApp#getStates(long, long, tlc2.tool.TLCState)
+	 */
+	public final List<TLCStateInfo> getStates(long fp, long mask, TLCState s) {
+		return this.tool.getStates(fp, mask, s);
+	}
+
 	/* Reconstruct the info for the transition from s to s1. */
 	/* (non-Javadoc)
 	 * @see tlc2.tool.distributed.DistApp#getState(tlc2.tool.TLCState, tlc2.tool.TLCState)
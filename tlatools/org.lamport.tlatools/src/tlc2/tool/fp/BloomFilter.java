@@ -0,0 +1,129 @@
+/*******************************************************************************
+ * Copyright (c) 2026 The Linux Foundation. All rights reserved.
+ *
+ * The MIT License (MIT)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ * of the Software, and to permit persons to whom the Software is furnished to do
+ * so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN
+ * AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ ******************************************************************************/
+package tlc2.tool.fp;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+/**
+ * A blocked Bloom filter of fingerprints. All bits of a fingerprint are in a
+ * single block of 512 bits (a cache line), which is why a lookup costs at most
+ * one cache miss. Fingerprints are hashes already, thus the block and the bits
+ * are taken from (mixed) fingerprint bits instead of from independent hash
+ * functions.
+ * <p>
+ * Concurrent adds are thread-safe, which is how the threads of a concurrent
+ * flusher add the fingerprints of their partitions of the disk file. Concurrent
+ * lookups are fine once the filter has been built.
+ */
+public final class BloomFilter {
+
+	private static final int LONGS_PER_BLOCK = 8;
+	private static final int BITS_PER_BLOCK = LONGS_PER_BLOCK * Long.SIZE;
+
+	/**
+	 * At most seven 9-bit bit indices fit into a 64-bit hash.
+	 */
+	private static final int MAX_HASHES = 7;
+
+	private static final VarHandle BITS = MethodHandles.arrayElementVarHandle(long[].class);
+
+	private final long[] bits;
+
+	private final int blocks;
+
+	private final int hashes;
+
+	private final boolean clamped;
+
+	/**
+	 * @param elements      The number of elements expected to be added.
+	 * @param bitsPerElement The number of bits per element, which determines the
+	 *                      false positive rate (~1% for 10 bits).
+	 */
+	public BloomFilter(final long elements, final int bitsPerElement) {
+		if (bitsPerElement <= 0) {
+			throw new IllegalArgumentException("Zero or negative bits per element");
+		}
+		final long blocks = (Math.max(1L, elements) * bitsPerElement + BITS_PER_BLOCK - 1) / BITS_PER_BLOCK;
+		this.blocks = (int) Math.min(blocks, Integer.MAX_VALUE / LONGS_PER_BLOCK);
+		this.clamped = this.blocks < blocks;
+		this.bits = new long[this.blocks * LONGS_PER_BLOCK];
+		this.hashes = (int) Math.max(1L, Math.min(MAX_HASHES, Math.round(bitsPerElement * Math.log(2d))));
+	}
+
+	public void add(final long fp) {
+		final int offset = block(fp) * LONGS_PER_BLOCK;
+		long h = hash(fp);
+		for (int i = 0; i < hashes; i++) {
+			final int bit = (int) (h & (BITS_PER_BLOCK - 1));
+			BITS.getAndBitwiseOr(bits, offset + (bit >>> 6), 1L << bit);
+			h >>>= 9;
+		}
+	}
+
+	/**
+	 * @return false iff fp has definitely not been added to this filter.
+	 */
+	public boolean mightContain(final long fp) {
+		final int offset = block(fp) * LONGS_PER_BLOCK;
+		long h = hash(fp);
+		for (int i = 0; i < hashes; i++) {
+			final int bit = (int) (h & (BITS_PER_BLOCK - 1));
+			if ((bits[offset + (bit >>> 6)] & (1L << bit)) == 0L) {
+				return false;
+			}
+			h >>>= 9;
+		}
+		return true;
+	}
+
+	private final int block(final long fp) {
+		// Multiply-shift maps the high bits of the mixed fingerprint onto [0, blocks).
+		return (int) (((fp * 0x9E3779B97F4A7C15L) >>> 32) * blocks >>> 32);
+	}
+
+	private static final long hash(final long fp) {
+		// The bits within a block must not correlate with the bits that select the
+		// block.
+		long h = fp ^ (fp >>> 31);
+		h *= 0xBF58476D1CE4E5B9L;
+		return h ^ (h >>> 29);
+	}
+
+	/**
+	 * @return true iff this filter has fewer bits per element than requested,
+	 *         because a Java array cannot hold more than Integer.MAX_VALUE longs.
+	 *         Its false positive rate is thus higher than expected.
+	 */
+	public boolean isClamped() {
+		return clamped;
+	}
+
+	/**
+	 * @return The size of this filter in bytes.
+	 */
+	public long sizeOf() {
+		return bits.length * (long) Long.BYTES;
+	}
+}
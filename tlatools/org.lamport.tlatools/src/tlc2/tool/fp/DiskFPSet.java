@@ -10,6 +10,9 @@ import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.RandomAccessFile;
 import java.net.InetAddress;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.rmi.RemoteException;
 import java.text.DecimalFormat;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -126,6 +129,32 @@ public abstract class DiskFPSet extends FPSet implements FPSetStatistic {
 	 * if <code>null</code>, no disk file exists yet
 	 */
 	protected long[] index;
+
+	/**
+	 * The number of bits per fingerprint of the {@link BloomFilter} in front of
+	 * the disk file, or zero if disabled (the default). Set with
+	 * -Dtlc2.tool.fp.DiskFPSet.bloomFilterBits=10 for a false positive rate of
+	 * about 1%.
+	 */
+	private final int bloomFilterBits;
+
+	/**
+	 * A {@link BloomFilter} of the fingerprints in the disk file that is replaced
+	 * together with {@link #index}. If the filter rejects a fingerprint, the
+	 * fingerprint is not on disk and diskLookup does not search the file. null iff
+	 * disabled or if no disk file exists yet.
+	 */
+	protected BloomFilter filter;
+
+	/**
+	 * The {@link BloomFilter} of the disk file that is being written, to which
+	 * {@link #writeFP(RandomAccessFile, long)} adds each fingerprint. It replaces
+	 * {@link #filter} once the file is complete. null iff disabled or if no disk
+	 * file is being written.
+	 */
+	protected BloomFilter nextFilter;
+
+	private boolean filterClampedReported;
 	
 	// statistics
 	protected LongAdder memHitCnt = new LongAdder();
@@ -134,6 +163,8 @@ public abstract class DiskFPSet extends FPSet implements FPSetStatistic {
 	protected LongAdder diskWriteCnt = new LongAdder();
 	private LongAdder diskSeekCnt = new LongAdder();
 	private LongAdder diskSeekCache = new LongAdder();
+	private LongAdder filterRejectCnt = new LongAdder();
+	private LongAdder filterFalsePositiveCnt = new LongAdder();
 	
 	// indicate how many cp or disk grow in put(long) has occurred
 	private int checkPointMark;
@@ -196,6 +227,7 @@ public abstract class DiskFPSet extends FPSet implements FPSetStatistic {
 		this.tblLoad = new LongAdder();
 		this.flusherChosen = new AtomicBoolean(false);
 		this.index = null;
+		this.bloomFilterBits = Integer.getInteger(DiskFPSet.class.getName() + ".bloomFilterBits", 0);
 		
 		try {
 			diskFPSetMXWrapper = new DiskFPSetMXWrapper(this);
@@ -249,7 +281,10 @@ public abstract class DiskFPSet extends FPSet implements FPSetStatistic {
 
 		
 		try {
-			// create/truncate backing file:
+			// create/truncate backing file. Delete it first, because it might be a
+			// hard link to a checkpoint (see beginChkpt(String)) that must not be
+			// truncated:
+			Files.deleteIfExists(Paths.get(this.fpFilename));
 			FileOutputStream f = new FileOutputStream(this.fpFilename);
 			f.close();
 
@@ -376,6 +411,23 @@ public abstract class DiskFPSet extends FPSet implements FPSetStatistic {
 			return false;
 		}
 		
+		// Skip the disk for (most) fingerprints that are not on disk.
+		final BloomFilter filter = this.filter;
+		if (filter != null) {
+			if (!filter.mightContain(fp)) {
+				this.filterRejectCnt.increment();
+				return false;
+			}
+			if (!diskSearch(fp)) {
+				this.filterFalsePositiveCnt.increment();
+				return false;
+			}
+			return true;
+		}
+		return diskSearch(fp);
+	}
+
+	private final boolean diskSearch(final long fp) throws IOException {
 		// Increment disk lookup counter
 		this.diskLookupCnt.increment();
 		
@@ -559,6 +611,9 @@ public abstract class DiskFPSet extends FPSet implements FPSetStatistic {
 			throws IOException {
 		outRAF.writeLong(fp);
 		diskWriteCnt.increment();
+		if (this.nextFilter != null) {
+			this.nextFilter.add(fp);
+		}
 		// update in-memory index file
 		if (this.counter == 0) {
 			this.index[this.currIndex++] = fp;
@@ -581,10 +636,30 @@ public abstract class DiskFPSet extends FPSet implements FPSetStatistic {
 		return (int) indexLen;
 	}
 
+	/**
+	 * @param cnt The number of fingerprints in the disk file that is about to be
+	 *            written.
+	 * @return An empty {@link BloomFilter} for the fingerprints of the file, or
+	 *         null iff Bloom filters are disabled.
+	 */
+	protected BloomFilter newFilter(final long cnt) {
+		if (this.bloomFilterBits <= 0) {
+			return null;
+		}
+		final BloomFilter bf = new BloomFilter(cnt, this.bloomFilterBits);
+		if (bf.isClamped() && !this.filterClampedReported) {
+			this.filterClampedReported = true;
+			MP.printWarning(EC.GENERAL, String.format(
+					"The Bloom filter of the fingerprint set is limited to %s bytes, which is less than %s bits for each of the %s fingerprints on disk. Its false positive rate is thus higher than expected.",
+					bf.sizeOf(), this.bloomFilterBits, cnt));
+		}
+		return bf;
+	}
+
 	/* (non-Javadoc)
 	 * @see tlc2.tool.fp.FPSet#close()
 	 */
-	public final void close() {
+	public void close() {
 		// close JMX stats
 		diskFPSetMXWrapper.unregister();
 		
@@ -656,9 +731,19 @@ public abstract class DiskFPSet extends FPSet implements FPSetStatistic {
 		this.flusherChosen.set(true);
 		acquireTblWriteLock();
 		
+		// Flushing writes only the fingerprints added since the previous flush.
 		flusher.flushTable();
-		FileUtil.copyFile(this.fpFilename,
-				this.getChkptName(fname, "tmp"));
+		// A flush never modifies the backing file in-place but atomically replaces it
+		// with the merged file (see mergeNewEntries). Thus, a hard link suffices to
+		// snapshot the backing file instead of copying all of its content.
+		final Path tmp = Paths.get(this.getChkptName(fname, "tmp"));
+		Files.deleteIfExists(tmp);
+		try {
+			Files.createLink(tmp, Paths.get(this.fpFilename));
+		} catch (UnsupportedOperationException | IOException e) {
+			// The file system does not support hard links.
+			FileUtil.copyFile(this.fpFilename, tmp.toString());
+		}
 		checkPointMark++;
 
 		releaseTblWriteLock();
@@ -691,6 +776,7 @@ public abstract class DiskFPSet extends FPSet implements FPSetStatistic {
 		this.index = new long[indexLen];
 		this.currIndex = 0;
 		this.counter = 0;
+		this.nextFilter = newFilter(this.fileCnt);
 
 		long fp = 0L;
 		try {
@@ -709,6 +795,8 @@ public abstract class DiskFPSet extends FPSet implements FPSetStatistic {
 
 		chkptRAF.close();
 		currRAF.close();
+		this.filter = this.nextFilter;
+		this.nextFilter = null;
 
 		// reopen a BufferedRAF for each thread
 		for (int i = 0; i < this.braf.length; i++) {
@@ -995,6 +1083,27 @@ public abstract class DiskFPSet extends FPSet implements FPSetStatistic {
 		return ((double) this.getTblCnt()) / (double) this.maxTblCnt;
 	}
 
+	/**
+	 * @return The size of the {@link BloomFilter} in front of the disk file in
+	 *         bytes, or zero if there is none.
+	 */
+	public long getBloomFilterSize() {
+		final BloomFilter filter = this.filter;
+		return filter == null ? 0L : filter.sizeOf();
+	}
+
+	/**
+	 * @return The fraction of the fingerprints not on disk that passed the
+	 *         {@link BloomFilter} and thus required a disk search in the domain [0,
+	 *         1]. If no fingerprint has been looked up with a filter,
+	 *         <code>-1d</code> is returned.
+	 */
+	public double getBloomFilterFalsePositiveRate() {
+		final long falsePositives = filterFalsePositiveCnt.sum();
+		final long negatives = falsePositives + filterRejectCnt.sum();
+		return negatives == 0L ? -1d : falsePositives / (double) negatives;
+	}
+
 	// /**
 	// *
 	// */
@@ -1107,7 +1216,8 @@ public abstract class DiskFPSet extends FPSet implements FPSetStatistic {
 			BufferedRandomAccessFile tmpRAF = new BufferedRandomAccessFile(tmpFile, "rw");
 			tmpRAF.setLength((getTblCnt() + fileCnt) * FPSet.LongSize);
 
-			// merge
+			// merge (and add each fingerprint written to the new filter)
+			nextFilter = newFilter(getTblCnt() + fileCnt);
 			mergeNewEntries(braf, tmpRAF);
 			
 			// clean up
@@ -1136,6 +1246,9 @@ public abstract class DiskFPSet extends FPSet implements FPSetStatistic {
 			assert checkFile(braf[0], index, fileCnt);
 			
 			poolIndex = 0;
+			
+			filter = nextFilter;
+			nextFilter = null;
 		}
 		
 		protected abstract void mergeNewEntries(BufferedRandomAccessFile[] inRAFs, BufferedRandomAccessFile outRAF) throws IOException;
@@ -111,6 +111,16 @@ public interface FPSetStatistic {
 	 */
 	double getLoadFactor();
 
+	/**
+	 * @return DiskFPSet#getBloomFilterSize();
+	 */
+	long getBloomFilterSize();
+
+	/**
+	 * @return DiskFPSet#getBloomFilterFalsePositiveRate();
+	 */
+	double getBloomFilterFalsePositiveRate();
+
 	/**
 	 * @return DiskFPSet#forceFlush();
 	 */
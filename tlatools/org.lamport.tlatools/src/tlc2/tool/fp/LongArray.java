@@ -61,7 +61,7 @@ public final class LongArray {
 	 */
 	private static final int logAddressSize = 3;
 
-	LongArray(final long positions) {
+	public LongArray(final long positions) {
 		this.length = positions;
 		this.unsafe = getUnsafe();
 		
@@ -135,6 +135,21 @@ public final class LongArray {
 		this.unsafe.setMemory(baseAddress, length * 8L, (byte) 0); // times 8L because it only writes a single byte.
 	}
 	
+	/**
+	 * Initializes the memory by overriding each byte with the given value, e.g.
+	 * <code>(byte) 0xFF</code> sets each position to -1.
+	 */
+	public final void fill(final byte value) {
+		this.unsafe.setMemory(baseAddress, length * 8L, value);
+	}
+
+	/**
+	 * Releases the direct memory. This array must not be accessed afterwards.
+	 */
+	public final void free() {
+		this.unsafe.freeMemory(baseAddress);
+	}
+	
 	/**
 	 * Initializes the memory by overriding each byte with zero starting at
 	 * <code>baseAddress</code> and ending when all positions have been written.
@@ -149,7 +164,7 @@ public final class LongArray {
 	public final void zeroMemory(final int numThreads)
 			throws IOException {
 
-		final long segmentSize = (long) Math.floor(length / numThreads);
+		final long segmentLength = length / numThreads;
 		
 		final ExecutorService es = Executors.newFixedThreadPool(numThreads);
 		try {
@@ -166,12 +181,10 @@ public final class LongArray {
 						// unused fingerprint position.
 						// Otherwise memory garbage wouldn't be distinguishable
 						// from a true fp.
-						final long lowerBound = segmentSize * offset;
+						final long lowerBound = segmentLength * offset;
 						// The last threads zeros up to the end.
-						final long upperBound = offset == numThreads - 1 ? length : (1 + offset) * segmentSize;
-						for (long pos = lowerBound; pos < upperBound; pos++) {
-							set(pos, 0L);
-						}
+						final long upperBound = offset == numThreads - 1 ? length : (1 + offset) * segmentLength;
+						unsafe.setMemory(log2phy(lowerBound), (upperBound - lowerBound) << logAddressSize, (byte) 0);
 						return true;
 					}
 				});
@@ -10,6 +10,7 @@ import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.rmi.RemoteException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Comparator;
 import java.util.HashSet;
@@ -25,6 +26,7 @@ import java.util.concurrent.Future;
 import java.util.concurrent.Phaser;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.function.ToLongFunction;
 import java.util.logging.Level;
 
@@ -33,8 +35,11 @@ import tlc2.output.EC;
 import tlc2.output.MP;
 import tlc2.tool.fp.LongArrays.LongComparator;
 import tlc2.tool.fp.management.DiskFPSetMXWrapper;
+import tlc2.util.BitVector;
 import tlc2.util.BufferedRandomAccessFile;
+import tlc2.util.LongVec;
 import util.Assert;
+import util.FileUtil;
 
 /**
  * see OpenAddressing.tla
@@ -124,7 +129,11 @@ public final class OffHeapDiskFPSet extends NonCheckpointableDiskFPSet implement
 		return LongArray.isSupported();
 	}
 
-	private final transient LongArray array;
+	/**
+	 * The in-memory table that accepts inserts. It only ever changes while all
+	 * workers wait on SYNC's phaser.
+	 */
+	private transient LongArray array;
 	
 	/**
 	 * The indexer maps a fingerprint to a in-memory bucket.
@@ -133,13 +142,60 @@ public final class OffHeapDiskFPSet extends NonCheckpointableDiskFPSet implement
 
 	private int numThreads;
 
+	/**
+	 * If true, eviction does not merge the in-memory table into the disk file
+	 * while the workers wait. Instead, the memory is split into two tables: The
+	 * (sorted) full table gets merged by a background thread, while the other table
+	 * accepts inserts. Workers only wait if the second table fills up before the
+	 * background merge has finished.
+	 * 
+	 * @see OpenAddressing.ConcurrentFlusher.tla
+	 */
+	private final boolean concurrentFlush;
+
+	/**
+	 * The table that does not accept inserts iff concurrentFlush is true.
+	 */
+	private transient LongArray spare;
+
+	/**
+	 * The (sorted) table that the merger thread writes to disk, or null if no merge
+	 * is in progress. Workers look up fingerprints in it, but do not insert into it.
+	 */
+	private volatile transient LongArray flushing;
+
+	/**
+	 * The number of fingerprints in flushing that are not (yet) accounted for by
+	 * fileCnt.
+	 */
+	private volatile long flushingCnt;
+
+	private transient Thread merger;
+
+	private volatile Exception mergeError;
+
+	/**
+	 * Guards the disk file, braf, brafPool, index, filter, and fileCnt, which the
+	 * merger thread replaces while workers concurrently look up fingerprints on
+	 * disk.
+	 */
+	private final ReentrantReadWriteLock diskLock = new ReentrantReadWriteLock();
+
 	protected OffHeapDiskFPSet(final FPSetConfiguration fpSetConfig) throws RemoteException {
 		super(fpSetConfig);
 		
-		final long positions = fpSetConfig.getMemoryInFingerprintCnt();
+		this.concurrentFlush = Boolean.getBoolean(OffHeapDiskFPSet.class.getName() + ".concurrentFlush");
+		
+		// With concurrent flushing, two tables share the memory.
+		final long positions = this.concurrentFlush ? fpSetConfig.getMemoryInFingerprintCnt() / 2L
+				: fpSetConfig.getMemoryInFingerprintCnt();
 		
 		// Determine base address which varies depending on machine architecture.
 		this.array = new LongArray(positions);
+		if (this.concurrentFlush) {
+			this.spare = new LongArray(positions);
+			this.maxTblCnt = positions;
+		}
 		
 		// If Hamming weight is 1, the logical index address can be calculated
 		// significantly faster by bit-shifting. However, with large memory
@@ -176,6 +232,9 @@ public final class OffHeapDiskFPSet extends NonCheckpointableDiskFPSet implement
 		this.numThreads = numThreads;
 		
 		array.zeroMemory(numThreads);
+		if (concurrentFlush) {
+			spare.zeroMemory(numThreads);
+		}
 		return this;
 	}
 	
@@ -188,6 +247,10 @@ public final class OffHeapDiskFPSet extends NonCheckpointableDiskFPSet implement
 	}
 
 	public void evict() {
+		if (concurrentFlush) {
+			evictConcurrently();
+			return;
+		}
 		// statistics
 		growDiskMark++;
 		final long timestamp = System.currentTimeMillis();
@@ -225,6 +288,127 @@ public final class OffHeapDiskFPSet extends NonCheckpointableDiskFPSet implement
 						System.currentTimeMillis(), l, insertions, lf, PROBE_LIMIT });
 	}
 
+	private void evictConcurrently() {
+		// The table of the previous eviction has to be written to disk before it can
+		// accept inserts again. This is the only time workers wait for the disk.
+		awaitMerge();
+
+		final long insertions = tblCnt.sum();
+		if (insertions == 0L) {
+			return;
+		}
+		growDiskMark++;
+		final long timestamp = System.currentTimeMillis();
+
+		assert checkInput(array, indexer, PROBE_LIMIT) : "Table violates invariants prior to eviction: "
+				+ array.toString();
+
+		// Sorting moves fingerprints around, which is why it has to happen while the
+		// workers wait. Sorting is cheap compared to merging the table into the disk
+		// file, because the disorder in the table is bounded by PROBE_LIMIT.
+		((OffHeapMSBFlusher) getFlusher(numThreads, insertions)).sortTable();
+
+		// Swap the tables. The new table still contains the (marked) fingerprints of
+		// the eviction before the previous one, which serve as a cache of the disk.
+		final LongArray frozen = array;
+		array = spare;
+		spare = frozen;
+		flusher = new OffHeapMSBFlusher(array);
+
+		flushingCnt = insertions;
+		flushing = frozen;
+		tblCnt.reset();
+		tblLoad.reset();
+		
+		merger = new Thread(() -> merge(frozen, insertions), "TLC OffHeapDiskFPSet Merger");
+		merger.setDaemon(true);
+		merger.start();
+
+		final long l = System.currentTimeMillis() - timestamp;
+		flushTime += l;
+		LOGGER.log(Level.FINE, "Swapped tables of disk {0} the {1}. time in {2} ms after {3} insertions.",
+				new Object[] { ((DiskFPSetMXWrapper) diskFPSetMXWrapper).getObjectName(), getGrowDiskMark(), l,
+						insertions });
+	}
+
+	/**
+	 * Merges the sorted table into a new disk file and, once done, replaces the
+	 * current disk file and index with the new ones. Runs concurrently with the
+	 * workers that look up fingerprints in table and in the current disk file.
+	 */
+	private void merge(final LongArray table, final long insertions) {
+		final long timestamp = System.currentTimeMillis();
+		try {
+			final File tmpFile = new File(tmpFilename);
+			tmpFile.delete();
+
+			// The merger owns fileCnt, which only it changes while a merge is in progress.
+			final long[] newIndex = new long[calculateIndexLen(insertions)];
+			final File fpFile = new File(fpFilename);
+			final BufferedRandomAccessFile inRAF = new BufferedRandomAccessFile(fpFile, "r");
+			final BufferedRandomAccessFile tmpRAF = new BufferedRandomAccessFile(tmpFile, "rw");
+			nextFilter = newFilter(fileCnt + insertions);
+			try {
+				tmpRAF.setLength((insertions + fileCnt) * FPSet.LongSize);
+				new OffHeapMSBFlusher(table).mergeNewEntries(inRAF, tmpRAF, new Iterator(table, insertions, indexer),
+						fileCnt);
+				writeIndex(newIndex, tmpRAF, (tmpRAF.length() / FPSet.LongSize) - 1L);
+			} finally {
+				inRAF.close();
+				tmpRAF.close();
+			}
+			diskLock.writeLock().lock();
+			try {
+				for (int i = 0; i < braf.length; i++) {
+					braf[i].close();
+				}
+				for (int i = 0; i < brafPool.length; i++) {
+					brafPool[i].close();
+				}
+				FileUtil.replaceFile(tmpFilename, fpFilename);
+				for (int i = 0; i < braf.length; i++) {
+					braf[i] = new BufferedRandomAccessFile(fpFile, "r");
+				}
+				for (int i = 0; i < brafPool.length; i++) {
+					brafPool[i] = new BufferedRandomAccessFile(fpFile, "r");
+				}
+				poolIndex = 0;
+				index = newIndex;
+				filter = nextFilter;
+				nextFilter = null;
+				fileCnt += insertions;
+				flushingCnt = 0L;
+			} finally {
+				diskLock.writeLock().unlock();
+			}
+		} catch (IOException | RuntimeException e) {
+			mergeError = e;
+		} finally {
+			// Publish after index. A worker that reads null has to see the new index,
+			// which is why put and contains read flushing before index.
+			flushing = null;
+		}
+		LOGGER.log(Level.FINE, "Merged table of disk {0} in {1} ms.",
+				new Object[] { ((DiskFPSetMXWrapper) diskFPSetMXWrapper).getObjectName(),
+						System.currentTimeMillis() - timestamp });
+	}
+
+	private void awaitMerge() {
+		final Thread t = merger;
+		if (t != null) {
+			try {
+				t.join();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new OffHeapRuntimeException(e);
+			}
+			merger = null;
+		}
+		if (mergeError != null) {
+			throw new OffHeapRuntimeException(mergeError);
+		}
+	}
+
 	private Flusher getFlusher(final int numThreads, final long insertions) {
 		if (array.size() >= 8192 && Math.floor(array.size() / (double) numThreads) > 2 * PROBE_LIMIT) {
 			return new ConcurrentOffHeapMSBFlusher(array, PROBE_LIMIT, numThreads, insertions);
@@ -283,6 +467,10 @@ public final class OffHeapDiskFPSet extends NonCheckpointableDiskFPSet implement
 	}
 
 	final int memLookup0(final long fp0) {
+		return memLookup0(array, fp0);
+	}
+
+	private final int memLookup0(final LongArray array, final long fp0) {
 		int free = PROBE_LIMIT;
 		for (int i = 0; i <= PROBE_LIMIT; i++) {
 			final long position = indexer.getIdx(fp0, i);
@@ -359,17 +547,24 @@ public final class OffHeapDiskFPSet extends NonCheckpointableDiskFPSet implement
 		final long fp0 = fp & FLUSHED_MASK;
 
 		// Only check primary and disk iff there exists a disk file. index is
-		// created when we wait and thus cannot race.
+		// created when we wait and thus cannot race. With concurrentFlush, the
+		// merger creates index, but only after the flushing table (see merge).
 		int start = 0;
-		if (index != null) {
+		if (flushing != null || index != null) {
 			// Lookup primary memory
 			if ((start = memLookup0(fp0)) == FOUND) {
 				this.memHitCnt.increment();
 				return true;
 			}
 			
+			// Lookup the table that is being merged into the disk file
+			if (flushingLookup(fp0)) {
+				this.memHitCnt.increment();
+				return true;
+			}
+			
 			// Lookup on disk
-			if (this.diskLookup(fp0)) {
+			if (this.diskLookup0(fp0)) {
 				this.diskHitCnt.increment();
 				return true;
 			}
@@ -379,6 +574,38 @@ public final class OffHeapDiskFPSet extends NonCheckpointableDiskFPSet implement
 		return memInsert0(fp0, start);
 	}
 
+	/**
+	 * Inserts the fingerprints in the order of their (primary) bucket in the
+	 * in-memory table rather than in the order of fpv. Thus, consecutive probes
+	 * touch neighboring (or identical) cache lines and pages of the off-heap
+	 * array. Among equal fingerprints, the first one in fpv is reported as new.
+	 * 
+	 * @see tlc2.tool.fp.FPSet#putBlock(tlc2.util.LongVec)
+	 */
+	@Override
+	public BitVector putBlock(final LongVec fpv) throws IOException {
+		final int size = fpv.size();
+		final BitVector bv = new BitVector(size);
+		if (size < 2 || array.size() > Long.MAX_VALUE / size) {
+			// Nothing to sort or pos * size below could overflow.
+			return super.putBlock(fpv);
+		}
+		// Encode the position and the index into fpv into a single long, which is
+		// stable under sorting.
+		final long[] keys = new long[size];
+		for (int i = 0; i < size; i++) {
+			keys[i] = indexer.getIdx(fpv.elementAt(i) & FLUSHED_MASK) * size + i;
+		}
+		Arrays.sort(keys);
+		for (int i = 0; i < size; i++) {
+			final int idx = (int) (keys[i] % size);
+			if (!put(fpv.elementAt(idx))) {
+				bv.set(idx);
+			}
+		}
+		return bv;
+	}
+
 	/* (non-Javadoc)
 	 * @see tlc2.tool.fp.FPSet#contains(long)
 	 */
@@ -393,12 +620,12 @@ public final class OffHeapDiskFPSet extends NonCheckpointableDiskFPSet implement
 		final long fp0 = fp & FLUSHED_MASK;
 		
 		// Lookup in primary
-		if (memLookup(fp0)) {
+		if (memLookup(fp0) || flushingLookup(fp0)) {
 			return true;
 		}
 		
 		// Lookup on secondary/disk
-		if (this.diskLookup(fp0)) {
+		if (this.diskLookup0(fp0)) {
 			diskHitCnt.increment();
 			return true;
 		}
@@ -406,6 +633,46 @@ public final class OffHeapDiskFPSet extends NonCheckpointableDiskFPSet implement
 		return false;
 	}
 	
+	private final boolean flushingLookup(final long fp0) {
+		// The merger marks the fingerprints in the flushing table concurrently, which
+		// memLookup0 masks out.
+		final LongArray table = flushing;
+		return table != null && memLookup0(table, fp0) == FOUND;
+	}
+
+	private final boolean diskLookup0(final long fp0) throws IOException {
+		if (!concurrentFlush) {
+			return diskLookup(fp0);
+		}
+		diskLock.readLock().lock();
+		try {
+			return diskLookup(fp0);
+		} finally {
+			diskLock.readLock().unlock();
+		}
+	}
+
+	/* (non-Javadoc)
+	 * @see tlc2.tool.fp.DiskFPSet#size()
+	 */
+	@Override
+	public long size() {
+		return super.size() + flushingCnt;
+	}
+
+	/* (non-Javadoc)
+	 * @see tlc2.tool.fp.DiskFPSet#close()
+	 */
+	@Override
+	public void close() {
+		// Do not close the files while the merger still reads and replaces them.
+		try {
+			awaitMerge();
+		} finally {
+			super.close();
+		}
+	}
+
 	/* (non-Javadoc)
 	 * @see tlc2.tool.fp.DiskFPSet#forceFlush()
 	 */
@@ -462,6 +729,9 @@ public final class OffHeapDiskFPSet extends NonCheckpointableDiskFPSet implement
 	 */
 	@Override
 	public long checkFPs() throws IOException {
+		if (concurrentFlush) {
+			awaitMerge();
+		}
 		if (getTblCnt() <= 0) {
 			return Long.MAX_VALUE;
 		}
@@ -1048,6 +1318,18 @@ public final class OffHeapDiskFPSet extends NonCheckpointableDiskFPSet implement
 					new Object[] { numThreads, r, System.currentTimeMillis() - now });
 		}
 		
+		/* (non-Javadoc)
+		 * @see tlc2.tool.fp.OffHeapDiskFPSet.OffHeapMSBFlusher#sortTable()
+		 */
+		@Override
+		protected void sortTable() {
+			try {
+				prepareTable();
+			} finally {
+				executorService.shutdown();
+			}
+		}
+
 		private List<Result> futuresToResults(List<Future<Result>> futures) throws InterruptedException, ExecutionException {
 			final List<Result> res = new ArrayList<Result>(futures.size());
 			for (Future<Result> future : futures) {
@@ -1200,7 +1482,7 @@ public final class OffHeapDiskFPSet extends NonCheckpointableDiskFPSet implement
 			super.prepareTable();
 			final int r = PROBE_LIMIT;
 			
-			assert checkInput(array, indexer, r) : "Table violates invariants prior to eviction";
+			assert checkInput(a, indexer, r) : "Table violates invariants prior to eviction";
 			
 			// Sort with a single thread.
 			LongArrays.sort(a, 0, a.size() - 1L + r, getLongComparator());
@@ -1210,6 +1492,24 @@ public final class OffHeapDiskFPSet extends NonCheckpointableDiskFPSet implement
 					checkSorted(array, indexer, r), r);
 		}
 
+		/**
+		 * Sorts the table without merging it into the disk file afterwards.
+		 */
+		protected void sortTable() {
+			prepareTable();
+		}
+
+		/* (non-Javadoc)
+		 * @see tlc2.tool.fp.DiskFPSet.Flusher#flushTable()
+		 */
+		@Override
+		void flushTable() throws IOException {
+			// A synchronous flush (eviction, recovery, checkInvariant)
+			// replaces the disk file, which the merger might still be writing.
+			awaitMerge();
+			super.flushTable();
+		}
+
 		/* (non-Javadoc)
 		 * @see tlc2.tool.fp.MSBDiskFPSet#mergeNewEntries(java.io.RandomAccessFile, java.io.RandomAccessFile)
 		 */
@@ -1251,6 +1551,9 @@ public final class OffHeapDiskFPSet extends NonCheckpointableDiskFPSet implement
 				assert fileCnt == 0L;
 			}
 			
+			// The filter of the new disk file, if any, gets each fingerprint as it is written.
+			final BloomFilter bf = nextFilter;
+
 			long tableReads = itr.elements;
 			long fp = itr.markNext();
 			
@@ -1271,6 +1574,9 @@ public final class OffHeapDiskFPSet extends NonCheckpointableDiskFPSet implement
 
 					outRAF.writeLong(fp);
 					diskWriteCnt.increment();
+					if (bf != null) {
+						bf.add(fp);
+					}
 		            
 					if (tableReads > 0) {
 						final long nextFP = itr.markNext();
@@ -1291,6 +1597,9 @@ public final class OffHeapDiskFPSet extends NonCheckpointableDiskFPSet implement
 					outRAF.writeLong(fp);
 					tableReads--;
 					diskWriteCnt.increment();
+					if (bf != null) {
+						bf.add(fp);
+					}
 					// Read next value if any.
 		            if (tableReads > 0) {
 						final long nextFP = itr.markNext();
@@ -1305,6 +1614,9 @@ public final class OffHeapDiskFPSet extends NonCheckpointableDiskFPSet implement
 					outRAF.writeLong(value);
 					diskReads--;
 					diskWriteCnt.increment();
+					if (bf != null) {
+						bf.add(value);
+					}
 					// Read next value if any.
 					if (diskReads > 0) {
 						final long nextValue = inRAF.readLong();
@@ -113,6 +113,16 @@ public interface DiskFPSetMXBean {
 	 * @see DiskFPSet#getLoadFactor()
 	 */
 	double getLoadFactor();
+
+	/**
+	 * @see DiskFPSet#getBloomFilterSize()
+	 */
+	long getBloomFilterSize();
+
+	/**
+	 * @see DiskFPSet#getBloomFilterFalsePositiveRate()
+	 */
+	double getBloomFilterFalsePositiveRate();
 	
 	/**
 	 * @see DiskFPSet#forceFlush()
@@ -174,6 +174,20 @@ public class DiskFPSetMXWrapper extends TLCStandardMBean implements DiskFPSetMXB
 		return fpset.getLoadFactor();
 	}
 
+	/* (non-Javadoc)
+	 * @see tlc2.tool.fp.management.DiskFPSetMXBean#getBloomFilterSize()
+	 */
+	public long getBloomFilterSize() {
+		return fpset.getBloomFilterSize();
+	}
+
+	/* (non-Javadoc)
+	 * @see tlc2.tool.fp.management.DiskFPSetMXBean#getBloomFilterFalsePositiveRate()
+	 */
+	public double getBloomFilterFalsePositiveRate() {
+		return fpset.getBloomFilterFalsePositiveRate();
+	}
+
 	/* (non-Javadoc)
 	 * @see tlc2.tool.fp.management.DiskFPSetMXBean#forceFlush()
 	 */
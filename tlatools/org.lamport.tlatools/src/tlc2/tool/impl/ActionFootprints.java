@@ -0,0 +1,330 @@
+/*******************************************************************************
+ * Copyright (c) 2026 The Linux Foundation. All rights reserved.
+ *
+ * The MIT License (MIT)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ * of the Software, and to permit persons to whom the Software is furnished to do
+ * so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN
+ * AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ ******************************************************************************/
+package tlc2.tool.impl;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+
+import tla2sany.semantic.APSubstInNode;
+import tla2sany.semantic.ExprNode;
+import tla2sany.semantic.ExprOrOpArgNode;
+import tla2sany.semantic.FormalParamNode;
+import tla2sany.semantic.LabelNode;
+import tla2sany.semantic.LetInNode;
+import tla2sany.semantic.OpApplNode;
+import tla2sany.semantic.OpArgNode;
+import tla2sany.semantic.OpDefNode;
+import tla2sany.semantic.SemanticNode;
+import tla2sany.semantic.Subst;
+import tla2sany.semantic.SubstInNode;
+import tla2sany.semantic.SymbolNode;
+import tla2sany.semantic.ThmOrAssumpDefNode;
+import tlc2.tool.Action;
+import tlc2.tool.ActionFootprint;
+import tlc2.tool.BuiltInOPs;
+import tlc2.tool.ToolGlobals;
+import tlc2.util.BitVector;
+import tlc2.util.Context;
+import tlc2.value.impl.LazyValue;
+import tlc2.value.impl.OpValue;
+import tlc2.value.impl.Value;
+
+/**
+ * Computes the {@link ActionFootprint} of the next-state actions. The analysis
+ * is syntactic: It follows the definitions that an action applies, but it
+ * neither evaluates arguments nor distinguishes the branches of a disjunction,
+ * IF/THEN/ELSE, or CASE. Similar to Spec#collectPrimedLocs, it tracks whether
+ * an expression is primed to tell reads from writes.
+ * <p>
+ * The argument of an operator application is walked unprimed (i.e. in the
+ * context of the application) and/or primed depending on how the corresponding
+ * formal parameter appears in the operator's definition (e.g. x is a write but
+ * not a read in F(x) with F(e) == e' = 42). Because a definition's body is
+ * walked only once, the analysis is repeated until no further appearances of
+ * formal parameters are found.
+ */
+final class ActionFootprints implements ToolGlobals {
+
+	private final Tool tool;
+	private final BitVector reads = new BitVector(0);
+	private final BitVector writes = new BitVector(0);
+	private final BitVector unchanged = new BitVector(0);
+	// The definitions whose bodies have been walked unprimed and primed
+	// respectively. This also terminates the walk of recursive definitions.
+	private final Set<SymbolNode> unprimedDefs = Collections.newSetFromMap(new IdentityHashMap<>());
+	private final Set<SymbolNode> primedDefs = Collections.newSetFromMap(new IdentityHashMap<>());
+	private final Set<SymbolNode> unprimedParams = Collections.newSetFromMap(new IdentityHashMap<>());
+	private final Set<SymbolNode> primedParams = Collections.newSetFromMap(new IdentityHashMap<>());
+	private boolean failed = false;
+
+	private ActionFootprints(final Tool tool) {
+		this.tool = tool;
+	}
+
+	static void attach(final Tool tool, final Action[] actions) {
+		for (final Action action : actions) {
+			final ActionFootprint footprint = analyze(tool, action);
+			if (footprint != null) {
+				footprint.attach(action);
+			}
+		}
+	}
+
+	/**
+	 * @return The footprint of action or null if its evaluation might depend on
+	 *         more than the values of its variables.
+	 */
+	static ActionFootprint analyze(final Tool tool, final Action action) {
+		final ActionFootprints analysis = new ActionFootprints(tool);
+		int params;
+		do {
+			params = analysis.unprimedParams.size() + analysis.primedParams.size();
+			analysis.unprimedDefs.clear();
+			analysis.primedDefs.clear();
+			analysis.walk(action.con);
+			analysis.walk(action.pred, false);
+		} while (!analysis.failed && params != analysis.unprimedParams.size() + analysis.primedParams.size());
+		if (analysis.failed) {
+			return null;
+		}
+		// x' = e /\ UNCHANGED x  compares e with x.
+		final BitVector.Iter iter = new BitVector.Iter(analysis.unchanged);
+		for (int loc = iter.next(); loc != -1; loc = iter.next()) {
+			if (analysis.writes.get(loc)) {
+				analysis.reads.set(loc);
+			}
+		}
+		return new ActionFootprint(analysis.reads, analysis.writes);
+	}
+
+	private void walk(final Context con) {
+		for (Context c = con; c.hasNext() && !this.failed; c = c.next()) {
+			final Object value = c.getValue();
+			if (value instanceof LazyValue) {
+				final LazyValue lv = (LazyValue) value;
+				this.walk(lv.con);
+				this.walk(lv.expr, false);
+				this.walk(lv.expr, true);
+			} else if (value instanceof OpValue || (value != null && !(value instanceof Value))) {
+				// An operator argument of the action's definition (or something else we do not
+				// know how to analyze).
+				this.failed = true;
+			}
+		}
+	}
+
+	private void walk(final SemanticNode expr, final boolean primed) {
+		if (expr == null || this.failed) {
+			return;
+		}
+		switch (expr.getKind()) {
+		case OpApplKind: {
+			this.walkAppl((OpApplNode) expr, primed);
+			return;
+		}
+		case LetInKind: {
+			// The LET definitions are walked when applied.
+			this.walk(((LetInNode) expr).getBody(), primed);
+			return;
+		}
+		case SubstInKind: {
+			final SubstInNode expr1 = (SubstInNode) expr;
+			this.walk(expr1.getSubsts());
+			this.walk(expr1.getBody(), primed);
+			return;
+		}
+		case APSubstInKind: {
+			final APSubstInNode expr1 = (APSubstInNode) expr;
+			this.walk(expr1.getSubsts());
+			this.walk(expr1.getBody(), primed);
+			return;
+		}
+		case LabelKind: {
+			this.walk(((LabelNode) expr).getBody(), primed);
+			return;
+		}
+		case OpArgKind: {
+			// Whether the operator is applied primed is not tracked.
+			final SymbolNode op = ((OpArgNode) expr).getOp();
+			if (op instanceof OpDefNode && BuiltInOPs.getOpCode(op.getName()) == 0) {
+				this.walkDef(op, false);
+				this.walkDef(op, true);
+			}
+			return;
+		}
+		default:
+			// Literals, @, ...
+			return;
+		}
+	}
+
+	private void walk(final Subst[] substs) {
+		// Whether the substituted variables of the instantiated module appear primed
+		// is not tracked, thus an expression substituted for a variable is both
+		// read and written.
+		for (final Subst sub : substs) {
+			this.walk(sub.getExpr(), false);
+			this.walk(sub.getExpr(), true);
+		}
+	}
+
+	private void walkAppl(final OpApplNode expr, final boolean primed) {
+		final SymbolNode opNode = expr.getOperator();
+		final int loc = opNode.getName().getVarLoc();
+		if (loc >= 0) {
+			// A state variable. The variables of instantiated modules (loc < 0) are
+			// replaced by the substitutions walked above.
+			(primed ? this.writes : this.reads).set(loc);
+			return;
+		}
+
+		final ExprOrOpArgNode[] args = expr.getArgs();
+		switch (BuiltInOPs.getOpCode(opNode.getName())) {
+		case OPCODE_prime: {
+			this.walk(args[0], true);
+			return;
+		}
+		case OPCODE_unchanged: {
+			this.walkUnchanged(args[0], primed);
+			return;
+		}
+		case OPCODE_sa: // [A]_e  is  A \/ UNCHANGED e
+		{
+			this.walk(args[0], primed);
+			this.walkUnchanged(args[1], primed);
+			return;
+		}
+		case OPCODE_aa: // <<A>>_e  is  A /\ e' # e
+		{
+			this.walk(args[0], primed);
+			this.walk(args[1], primed);
+			this.walk(args[1], true);
+			return;
+		}
+		case OPCODE_cdot: {
+			// The unprimed variables of B in A \cdot B refer to the intermediate state.
+			this.failed = true;
+			return;
+		}
+		case 0: {
+			// A user-defined operator, a constant, or a formal parameter.
+			if (!MemoizableOps.isPure(this.tool, opNode)) {
+				this.failed = true;
+				return;
+			}
+			if (opNode instanceof FormalParamNode) {
+				// Its argument is walked where the definition is applied.
+				(primed ? this.primedParams : this.unprimedParams).add(opNode);
+				this.walkArgs(args, null, primed);
+				return;
+			}
+			this.walkArgs(args, this.walkDef(opNode, primed), primed);
+			return;
+		}
+		default:
+			break;
+		}
+
+		final ExprNode[] bnds = expr.getBdedQuantBounds();
+		if (bnds != null) {
+			for (int i = 0; i < bnds.length; i++) {
+				this.walk(bnds[i], primed);
+			}
+		}
+		this.walkArgs(args, null, primed);
+	}
+
+	private void walkArgs(final ExprOrOpArgNode[] args, final FormalParamNode[] params, final boolean primed) {
+		for (int i = 0; i < args.length; i++) {
+			if (params == null || i >= params.length || args[i] instanceof OpArgNode) {
+				this.walk(args[i], primed);
+				continue;
+			}
+			if (this.unprimedParams.contains(params[i])) {
+				this.walk(args[i], primed);
+			}
+			if (this.primedParams.contains(params[i])) {
+				this.walk(args[i], true);
+			}
+		}
+	}
+
+	/*
+	 * Follows the cases of Tool#processUnchanged that assign variables instead of
+	 * comparing values.
+	 */
+	private void walkUnchanged(final SemanticNode expr, final boolean primed) {
+		if (!primed && expr instanceof OpApplNode && !this.failed) {
+			final OpApplNode expr1 = (OpApplNode) expr;
+			final SymbolNode opNode = expr1.getOperator();
+			final int loc = opNode.getName().getVarLoc();
+			if (loc >= 0) {
+				this.unchanged.set(loc);
+				return;
+			}
+			final ExprOrOpArgNode[] args = expr1.getArgs();
+			final int opcode = BuiltInOPs.getOpCode(opNode.getName());
+			if (opcode == OPCODE_tup) {
+				for (int i = 0; i < args.length; i++) {
+					this.walkUnchanged(args[i], primed);
+				}
+				return;
+			}
+			if (opcode == 0 && args.length == 0) {
+				final Object val = this.tool.lookup(opNode);
+				if (val instanceof OpDefNode && !((OpDefNode) val).getInRecursive()) {
+					this.walkUnchanged(((OpDefNode) val).getBody(), primed);
+					return;
+				}
+			}
+		}
+		// UNCHANGED e  is  e' = e
+		this.walk(expr, primed);
+		this.walk(expr, true);
+	}
+
+	/**
+	 * @return The formal parameters of the definition of opNode or null if opNode
+	 *         has no definition that can be walked.
+	 */
+	private FormalParamNode[] walkDef(final SymbolNode opNode, final boolean primed) {
+		// A definition may have been overridden in the config file (Foo <- Bar).
+		final Object val = this.tool.lookup(opNode);
+		if (val instanceof OpDefNode) {
+			final OpDefNode opDef = (OpDefNode) val;
+			if ((primed ? this.primedDefs : this.unprimedDefs).add(opDef)) {
+				this.walk(opDef.getBody(), primed);
+			}
+			return opDef.getParams();
+		} else if (val instanceof ThmOrAssumpDefNode) {
+			final ThmOrAssumpDefNode opDef = (ThmOrAssumpDefNode) val;
+			if ((primed ? this.primedDefs : this.unprimedDefs).add(opDef)) {
+				this.walk(opDef.getBody(), primed);
+			}
+			return opDef.getParams();
+		}
+		// Otherwise, a constant or a value that has been computed upfront.
+		return null;
+	}
+}
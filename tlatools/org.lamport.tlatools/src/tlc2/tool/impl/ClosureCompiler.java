@@ -0,0 +1,625 @@
+/*******************************************************************************
+ * Copyright (c) 2026 The Linux Foundation. All rights reserved.
+ *
+ * The MIT License (MIT)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ * of the Software, and to permit persons to whom the Software is furnished to do
+ * so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN
+ * AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ ******************************************************************************/
+package tlc2.tool.impl;
+
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import tla2sany.semantic.ASTConstants;
+import tla2sany.semantic.ExprNode;
+import tla2sany.semantic.ExprOrOpArgNode;
+import tla2sany.semantic.FormalParamNode;
+import tla2sany.semantic.LabelNode;
+import tla2sany.semantic.LevelConstants;
+import tla2sany.semantic.OpApplNode;
+import tla2sany.semantic.OpDeclNode;
+import tla2sany.semantic.OpDefNode;
+import tla2sany.semantic.SemanticNode;
+import tla2sany.semantic.SubstInNode;
+import tla2sany.semantic.SymbolNode;
+import tlc2.tool.Action;
+import tlc2.tool.BuiltInOPs;
+import tlc2.tool.EvalControl;
+import tlc2.tool.TLCState;
+import tlc2.tool.ToolGlobals;
+import tlc2.tool.coverage.CostModel;
+import tlc2.util.Context;
+import tlc2.value.impl.BoolValue;
+import tlc2.value.impl.Enumerable;
+import tlc2.value.impl.Enumerable.Ordering;
+import tlc2.value.impl.FcnLambdaValue;
+import tlc2.value.impl.FcnRcdValue;
+import tlc2.value.impl.FunctionValue;
+import tlc2.value.impl.IntFcnRcdValue;
+import tlc2.value.impl.IntTupleValue;
+import tlc2.value.impl.LazyValue;
+import tlc2.value.impl.MethodValue;
+import tlc2.value.impl.OpValue;
+import tlc2.value.impl.RecordValue;
+import tlc2.value.impl.SetEnumValue;
+import tlc2.value.impl.StringValue;
+import tlc2.value.impl.TupleValue;
+import tlc2.value.impl.Value;
+import tlc2.value.impl.ValueEnumeration;
+import tlc2.value.impl.ValueVec;
+import util.UniqueString;
+
+/**
+ * Translates the semantic tree of an expression once into a tree of
+ * {@link Closure}s. The closures resolve what {@link Tool#evalAppl} would look
+ * up on every evaluation (opcodes, definitions, overrides, constants, variable
+ * slots) at compile time and dispatch straight to the evaluation of the
+ * sub-closures.
+ * <p>
+ * Only a subset of the language is compiled. Any other expression (LET, EXCEPT,
+ * CHOOSE, set constructors, ...) becomes a closure that hands the node back to
+ * {@link Tool#eval}. A closure always runs in the context the interpreter
+ * would have built at the same point: Quantifiers cons their bound variable,
+ * and the application of a user-defined operator calls
+ * {@link Tool#getOpContext} before it runs the operator's compiled body. Thus,
+ * the interpreter may take over at any node. If a compiled closure meets a
+ * value it does not expect (e.g. a non-boolean conjunct), it re-evaluates the
+ * node with the interpreter, which reports the error exactly as before.
+ * <p>
+ * Definitions, constants, and variables are resolved statically, which is
+ * only sound if the context of the root contains nothing but bound variables
+ * (see {@link #isCompilable(Context)}). Below the root, compiled code only adds
+ * bound variables and operator parameters to the context.
+ */
+final class ClosureCompiler implements ToolGlobals {
+
+	@FunctionalInterface
+	interface Closure {
+		Value eval(Context c, TLCState s0, TLCState s1, int control, CostModel cm);
+	}
+
+	/**
+	 * The leading, state-level conjuncts of an action compiled into a single
+	 * guard, together with the conjuncts left to the interpreter.
+	 */
+	static final class CompiledAction {
+		final Closure guard;
+		final ExprOrOpArgNode[] conjuncts;
+		final int offset;
+
+		CompiledAction(final Closure guard, final ExprOrOpArgNode[] conjuncts, final int offset) {
+			this.guard = guard;
+			this.conjuncts = conjuncts;
+			this.offset = offset;
+		}
+	}
+
+	private final Tool tool;
+	private final int toolId;
+	private final Map<SemanticNode, Closure> compiled = new IdentityHashMap<>();
+	// The operator definitions whose bodies are being compiled (recursion guard).
+	private final Set<OpDefNode> inProgress = new HashSet<>();
+
+	ClosureCompiler(final Tool tool, final int toolId) {
+		this.tool = tool;
+		this.toolId = toolId;
+	}
+
+	/**
+	 * @return The compiled invariant or null if the invariant cannot be compiled.
+	 */
+	Closure compileInvariant(final Action inv) {
+		if (!isCompilable(inv.con)) {
+			return null;
+		}
+		return compile(inv.pred);
+	}
+
+	/**
+	 * @return The compiled guard of the action or null if the action does not
+	 *         start with a state-level conjunct that can be compiled without
+	 *         changing the successors the interpreter generates.
+	 */
+	CompiledAction compileAction(final Action action) {
+		if (!isCompilable(action.con) || tool.getSpecProcessor().getVariablesNodes().length == 0
+				|| !(action.pred instanceof OpApplNode)) {
+			return null;
+		}
+		final OpApplNode pred = (OpApplNode) action.pred;
+		final int opcode = BuiltInOPs.getOpCode(pred.getOperator().getName());
+		if (opcode != OPCODE_cl && opcode != OPCODE_land) {
+			return null;
+		}
+		final ExprOrOpArgNode[] args = pred.getArgs();
+		int k = 0;
+		while (k < args.length - 1 && isGuard(args[k], action.con)) {
+			k++;
+		}
+		if (k == 0) {
+			return null;
+		}
+		final Closure[] guards = new Closure[k];
+		for (int i = 0; i < k; i++) {
+			guards[i] = compile(args[i]);
+		}
+		final Closure guard = k == 1 ? guards[0] : (c, s0, s1, control, cm) -> {
+			for (int i = 0; i < guards.length; i++) {
+				final Value bval = guards[i].eval(c, s0, s1, control, cm);
+				if (!(bval instanceof BoolValue) || !((BoolValue) bval).val) {
+					return bval;
+				}
+			}
+			return BoolValue.ValTrue;
+		};
+		return new CompiledAction(guard, args, k);
+	}
+
+	/*
+	 * The interpreter generates the successors of a conjunct of state level by
+	 * evaluating it, unless the conjunct branches (disjunction, existential
+	 * quantification), in which case it continues with the remaining conjuncts once
+	 * per true branch.
+	 */
+	private boolean isGuard(final ExprOrOpArgNode conjunct, final Context con) {
+		return conjunct instanceof ExprNode && conjunct.getLevel() <= LevelConstants.VariableLevel
+				&& tool.getLevelBound(conjunct, con, toolId) <= LevelConstants.VariableLevel
+				&& isPlain(conjunct, new HashSet<>());
+	}
+
+	private boolean isPlain(final SemanticNode expr, final Set<OpDefNode> visited) {
+		switch (expr.getKind()) {
+		case ASTConstants.NumeralKind:
+		case ASTConstants.DecimalKind:
+		case ASTConstants.StringKind:
+			return true;
+		case ASTConstants.LabelKind:
+			return isPlain(((LabelNode) expr).getBody(), visited);
+		case ASTConstants.OpApplKind:
+			break;
+		default:
+			return false;
+		}
+		final OpApplNode appl = (OpApplNode) expr;
+		final ExprOrOpArgNode[] args = appl.getArgs();
+		final SymbolNode opNode = appl.getOperator();
+		switch (BuiltInOPs.getOpCode(opNode.getName())) {
+		case 0: {
+			if (opNode instanceof FormalParamNode || opNode instanceof OpDeclNode) {
+				return args.length == 0;
+			}
+			if (!(opNode instanceof OpDefNode)) {
+				return false;
+			}
+			final Object val = resolve((OpDefNode) opNode);
+			if (val != opNode) {
+				return val instanceof Value;
+			}
+			if (!visited.add((OpDefNode) opNode)) {
+				return false;
+			}
+			for (int i = 0; i < args.length; i++) {
+				if (!(args[i] instanceof ExprNode) || !isPlain(args[i], visited)) {
+					return false;
+				}
+			}
+			return isPlain(((OpDefNode) opNode).getBody(), visited);
+		}
+		case OPCODE_cl:
+		case OPCODE_land:
+			for (int i = 0; i < args.length; i++) {
+				if (!isPlain(args[i], visited)) {
+					return false;
+				}
+			}
+			return true;
+		case OPCODE_bf:
+		case OPCODE_nop:
+			return isPlain(args[0], visited);
+		case OPCODE_implies:
+			return isPlain(args[1], visited);
+		case OPCODE_ite:
+			return isPlain(args[1], visited) && isPlain(args[2], visited);
+		case OPCODE_case:
+			for (int i = 0; i < args.length; i++) {
+				if (!isPlain(((OpApplNode) args[i]).getArgs()[1], visited)) {
+					return false;
+				}
+			}
+			return true;
+		case OPCODE_dl:
+		case OPCODE_lor:
+		case OPCODE_be:
+			return false;
+		default:
+			// Evaluated as a whole by Tool#getNextStatesApplSwitch.
+			return true;
+		}
+	}
+
+	private static boolean isCompilable(final Context con) {
+		for (Context cur = con; !cur.isEmpty(); cur = cur.next()) {
+			if (!(cur.getName() instanceof FormalParamNode)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/*
+	 * Mirrors SymbolNodeValueLookupProvider#lookup for a definition that is not
+	 * bound in the context.
+	 */
+	private Object resolve(final OpDefNode opDef) {
+		Object result = opDef.getToolObject(toolId);
+		if (result != null) {
+			return result;
+		}
+		SemanticNode body = opDef.getBody();
+		result = body.getToolObject(toolId);
+		while (result == null && body.getKind() == ASTConstants.SubstInKind) {
+			body = ((SubstInNode) body).getBody();
+			result = body.getToolObject(toolId);
+		}
+		return result != null ? result : opDef;
+	}
+
+	private static boolean isConstant(final Object val) {
+		return val instanceof Value && !(val instanceof LazyValue) && !(val instanceof OpValue);
+	}
+
+	Closure compile(final SemanticNode expr) {
+		Closure closure = compiled.get(expr);
+		if (closure == null) {
+			closure = compile0(expr);
+			compiled.put(expr, closure);
+		}
+		return closure;
+	}
+
+	private Closure interpret(final SemanticNode expr) {
+		return (c, s0, s1, control, cm) -> tool.eval(expr, c, s0, s1, control, cm);
+	}
+
+	private Closure compile0(final SemanticNode expr) {
+		switch (expr.getKind()) {
+		case ASTConstants.LabelKind:
+			return compile(((LabelNode) expr).getBody());
+		case ASTConstants.NumeralKind:
+		case ASTConstants.DecimalKind:
+		case ASTConstants.StringKind: {
+			final Object val = expr.getToolObject(toolId);
+			if (isConstant(val)) {
+				final Value v = (Value) val;
+				return (c, s0, s1, control, cm) -> v;
+			}
+			return interpret(expr);
+		}
+		case ASTConstants.OpApplKind:
+			return compileAppl((OpApplNode) expr);
+		default:
+			return interpret(expr);
+		}
+	}
+
+	private Closure[] compile(final ExprOrOpArgNode[] args) {
+		final Closure[] closures = new Closure[args.length];
+		for (int i = 0; i < args.length; i++) {
+			if (!(args[i] instanceof ExprNode)) {
+				return null;
+			}
+			closures[i] = compile(args[i]);
+		}
+		return closures;
+	}
+
+	private Closure compileAppl(final OpApplNode expr) {
+		final ExprOrOpArgNode[] args = expr.getArgs();
+		final SymbolNode opNode = expr.getOperator();
+		final int opcode = BuiltInOPs.getOpCode(opNode.getName());
+		if (opcode == 0) {
+			return compileUserDefined(expr, opNode, args);
+		}
+		final Closure fallback = interpret(expr);
+		switch (opcode) {
+		case OPCODE_cl:
+		case OPCODE_land: {
+			final Closure[] conjuncts = compile(args);
+			return (c, s0, s1, control, cm) -> {
+				for (int i = 0; i < conjuncts.length; i++) {
+					final Value bval = conjuncts[i].eval(c, s0, s1, control, cm);
+					if (!(bval instanceof BoolValue)) {
+						return fallback.eval(c, s0, s1, control, cm);
+					}
+					if (!((BoolValue) bval).val) {
+						return BoolValue.ValFalse;
+					}
+				}
+				return BoolValue.ValTrue;
+			};
+		}
+		case OPCODE_dl:
+		case OPCODE_lor: {
+			final Closure[] disjuncts = compile(args);
+			return (c, s0, s1, control, cm) -> {
+				for (int i = 0; i < disjuncts.length; i++) {
+					final Value bval = disjuncts[i].eval(c, s0, s1, control, cm);
+					if (!(bval instanceof BoolValue)) {
+						return fallback.eval(c, s0, s1, control, cm);
+					}
+					if (((BoolValue) bval).val) {
+						return BoolValue.ValTrue;
+					}
+				}
+				return BoolValue.ValFalse;
+			};
+		}
+		case OPCODE_implies: {
+			final Closure p = compile(args[0]);
+			final Closure q = compile(args[1]);
+			return (c, s0, s1, control, cm) -> {
+				final Value bval = p.eval(c, s0, s1, control, cm);
+				if (!(bval instanceof BoolValue)) {
+					return fallback.eval(c, s0, s1, control, cm);
+				}
+				if (!((BoolValue) bval).val) {
+					return BoolValue.ValTrue;
+				}
+				final Value res = q.eval(c, s0, s1, control, cm);
+				return res instanceof BoolValue ? res : fallback.eval(c, s0, s1, control, cm);
+			};
+		}
+		case OPCODE_lnot: {
+			final Closure p = compile(args[0]);
+			return (c, s0, s1, control, cm) -> {
+				final Value bval = p.eval(c, s0, s1, control, cm);
+				if (!(bval instanceof BoolValue)) {
+					return fallback.eval(c, s0, s1, control, cm);
+				}
+				return ((BoolValue) bval).val ? BoolValue.ValFalse : BoolValue.ValTrue;
+			};
+		}
+		case OPCODE_eq:
+		case OPCODE_noteq: {
+			final Closure lhs = compile(args[0]);
+			final Closure rhs = compile(args[1]);
+			final boolean eq = opcode == OPCODE_eq;
+			return (c, s0, s1, control, cm) -> {
+				final Value arg1 = lhs.eval(c, s0, s1, control, cm);
+				final Value arg2 = rhs.eval(c, s0, s1, control, cm);
+				return arg1.equals(arg2) == eq ? BoolValue.ValTrue : BoolValue.ValFalse;
+			};
+		}
+		case OPCODE_in:
+		case OPCODE_notin: {
+			final Closure elem = compile(args[0]);
+			final Closure set = compile(args[1]);
+			final boolean in = opcode == OPCODE_in;
+			return (c, s0, s1, control, cm) -> {
+				final Value arg1 = elem.eval(c, s0, s1, control, cm);
+				final Value arg2 = set.eval(c, s0, s1, control, cm);
+				return arg2.member(arg1) == in ? BoolValue.ValTrue : BoolValue.ValFalse;
+			};
+		}
+		case OPCODE_ite: {
+			final Closure cond = compile(args[0]);
+			final Closure thenExpr = compile(args[1]);
+			final Closure elseExpr = compile(args[2]);
+			return (c, s0, s1, control, cm) -> {
+				final Value bval = cond.eval(c, s0, s1, control, cm);
+				if (!(bval instanceof BoolValue)) {
+					return fallback.eval(c, s0, s1, control, cm);
+				}
+				return ((BoolValue) bval).val ? thenExpr.eval(c, s0, s1, control, cm)
+						: elseExpr.eval(c, s0, s1, control, cm);
+			};
+		}
+		case OPCODE_case: {
+			final Closure[] conds = new Closure[args.length];
+			final Closure[] arms = new Closure[args.length];
+			Closure other = null;
+			for (int i = 0; i < args.length; i++) {
+				final ExprOrOpArgNode[] pair = ((OpApplNode) args[i]).getArgs();
+				if (pair[0] == null) {
+					other = compile(pair[1]);
+				} else {
+					conds[i] = compile(pair[0]);
+					arms[i] = compile(pair[1]);
+				}
+			}
+			final Closure otherArm = other;
+			return (c, s0, s1, control, cm) -> {
+				for (int i = 0; i < conds.length; i++) {
+					if (conds[i] == null) {
+						continue;
+					}
+					final Value bval = conds[i].eval(c, s0, s1, control, cm);
+					if (!(bval instanceof BoolValue)) {
+						return fallback.eval(c, s0, s1, control, cm);
+					}
+					if (((BoolValue) bval).val) {
+						return arms[i].eval(c, s0, s1, control, cm);
+					}
+				}
+				if (otherArm == null) {
+					return fallback.eval(c, s0, s1, control, cm);
+				}
+				return otherArm.eval(c, s0, s1, control, cm);
+			};
+		}
+		case OPCODE_be:
+		case OPCODE_bf: {
+			final FormalParamNode[][] formals = expr.getBdedQuantSymbolLists();
+			if (formals.length != 1 || formals[0].length != 1 || expr.isBdedQuantATuple()[0]) {
+				return fallback;
+			}
+			final FormalParamNode param = formals[0][0];
+			final Closure domain = compile(expr.getBdedQuantBounds()[0]);
+			final Closure body = compile(args[0]);
+			final boolean exists = opcode == OPCODE_be;
+			return (c, s0, s1, control, cm) -> {
+				final Value boundSet = domain.eval(c, s0, s1, control, cm);
+				if (!(boundSet instanceof Enumerable)) {
+					return fallback.eval(c, s0, s1, control, cm);
+				}
+				// Like ContextEnumerator, fetch the next element before the body is evaluated.
+				final ValueEnumeration elems = ((Enumerable) boundSet).elements(Ordering.NORMALIZED);
+				Value next = elems.nextElement();
+				while (next != null) {
+					final Context c1 = c.cons(param, next);
+					next = elems.nextElement();
+					final Value bval = body.eval(c1, s0, s1, control, cm);
+					if (!(bval instanceof BoolValue)) {
+						return fallback.eval(c, s0, s1, control, cm);
+					}
+					if (((BoolValue) bval).val == exists) {
+						return exists ? BoolValue.ValTrue : BoolValue.ValFalse;
+					}
+				}
+				return exists ? BoolValue.ValFalse : BoolValue.ValTrue;
+			};
+		}
+		case OPCODE_fa: {
+			final Closure fcn = compile(args[0]);
+			final Closure arg = compile(args[1]);
+			final boolean single = args.length == 2;
+			return (c, s0, s1, control, cm) -> {
+				final Value fval = fcn.eval(c, s0, s1, EvalControl.setKeepLazy(control), cm);
+				if ((fval instanceof FcnRcdValue) || (fval instanceof FcnLambdaValue)
+						|| (fval instanceof IntFcnRcdValue) || (single && ((fval instanceof TupleValue)
+								|| (fval instanceof RecordValue) || (fval instanceof IntTupleValue)))) {
+					return ((FunctionValue) fval).apply(arg.eval(c, s0, s1, control, cm), control);
+				}
+				return fallback.eval(c, s0, s1, control, cm);
+			};
+		}
+		case OPCODE_rs: {
+			final Object field = args[1].getToolObject(toolId);
+			if (!isConstant(field)) {
+				return fallback;
+			}
+			final Value sval = (Value) field;
+			final Closure rcd = compile(args[0]);
+			return (c, s0, s1, control, cm) -> {
+				final Value rval = rcd.eval(c, s0, s1, control, cm);
+				if (rval instanceof RecordValue) {
+					final Value result = ((RecordValue) rval).select(sval);
+					if (result != null) {
+						return result;
+					}
+				}
+				return fallback.eval(c, s0, s1, control, cm);
+			};
+		}
+		case OPCODE_rc: {
+			final UniqueString[] names = new UniqueString[args.length];
+			final Closure[] vals = new Closure[args.length];
+			for (int i = 0; i < args.length; i++) {
+				final ExprOrOpArgNode[] pair = ((OpApplNode) args[i]).getArgs();
+				names[i] = ((StringValue) pair[0].getToolObject(toolId)).getVal();
+				vals[i] = compile(pair[1]);
+			}
+			return (c, s0, s1, control, cm) -> new RecordValue(names, eval(vals, c, s0, s1, control, cm), false, cm);
+		}
+		case OPCODE_tup: {
+			final Closure[] elems = compile(args);
+			return (c, s0, s1, control, cm) -> IntTupleValue.create(eval(elems, c, s0, s1, control, cm), cm);
+		}
+		case OPCODE_se: {
+			final Closure[] elems = compile(args);
+			return (c, s0, s1, control, cm) -> new SetEnumValue(
+					new ValueVec(eval(elems, c, s0, s1, control, cm)), false, cm);
+		}
+		case OPCODE_nop:
+			return compile(args[0]);
+		default:
+			return fallback;
+		}
+	}
+
+	private static Value[] eval(final Closure[] closures, final Context c, final TLCState s0, final TLCState s1,
+			final int control, final CostModel cm) {
+		final Value[] vals = new Value[closures.length];
+		for (int i = 0; i < closures.length; i++) {
+			vals[i] = closures[i].eval(c, s0, s1, control, cm);
+		}
+		return vals;
+	}
+
+	private Closure compileUserDefined(final OpApplNode expr, final SymbolNode opNode,
+			final ExprOrOpArgNode[] args) {
+		final Closure fallback = interpret(expr);
+		if (opNode instanceof FormalParamNode) {
+			return (c, s0, s1, control, cm) -> {
+				final Object val = c.lookup(opNode);
+				return isConstant(val) ? (Value) val : fallback.eval(c, s0, s1, control, cm);
+			};
+		}
+		if (opNode.getKind() == ASTConstants.VariableDeclKind) {
+			if (opNode.getToolObject(toolId) != null) {
+				return fallback;
+			}
+			final UniqueString name = opNode.getName();
+			return (c, s0, s1, control, cm) -> {
+				final Value val = (Value) s0.lookup(name);
+				return val != null ? val : fallback.eval(c, s0, s1, control, cm);
+			};
+		}
+		if (opNode.getKind() == ASTConstants.ConstantDeclKind) {
+			final Object val = opNode.getToolObject(toolId);
+			if (isConstant(val)) {
+				final Value v = (Value) val;
+				return (c, s0, s1, control, cm) -> v;
+			}
+			return fallback;
+		}
+		if (!(opNode instanceof OpDefNode)) {
+			return fallback;
+		}
+		final OpDefNode opDef = (OpDefNode) opNode;
+		final Object val = resolve(opDef);
+		if (isConstant(val)) {
+			final Value v = (Value) val;
+			return (c, s0, s1, control, cm) -> v;
+		}
+		if (val instanceof MethodValue) {
+			final MethodValue mv = (MethodValue) val;
+			final Closure[] operands = compile(args);
+			if (operands == null) {
+				return fallback;
+			}
+			return (c, s0, s1, control, cm) -> mv.eval(
+					operands.length == 0 ? Tool.EmptyArgs : eval(operands, c, s0, s1, control, cm), control);
+		}
+		if (val != opDef || !inProgress.add(opDef)) {
+			return fallback;
+		}
+		final Closure body;
+		try {
+			body = compile(opDef.getBody());
+		} finally {
+			inProgress.remove(opDef);
+		}
+		if (args.length == 0) {
+			return body;
+		}
+		return (c, s0, s1, control, cm) -> body.eval(tool.getOpContext(opDef, args, c, true, cm, toolId), s0, s1,
+				control, cm);
+	}
+}
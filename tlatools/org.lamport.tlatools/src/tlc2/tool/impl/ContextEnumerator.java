@@ -9,6 +9,7 @@ import tla2sany.semantic.SymbolNode;
 import tlc2.output.EC;
 import tlc2.tool.IContextEnumerator;
 import tlc2.util.Context;
+import tlc2.value.impl.IntTupleValue;
 import tlc2.value.impl.TupleValue;
 import tlc2.value.impl.Value;
 import tlc2.value.impl.ValueEnumeration;
@@ -20,10 +21,13 @@ public final class ContextEnumerator implements IContextEnumerator {
   private ValueEnumeration[] enums;
   private Value[] currentElems;
   private boolean isDone;
+  // The (flattened) vars iff they are bound with a single frame (see Context#frame).
+  private final SymbolNode[] frame;
   
   public ContextEnumerator(Object[] vars, ValueEnumeration[] enums, Context con) {
     this.con = con;
     this.vars = vars;
+    this.frame = toFrame(vars);
     this.enums = enums;
     this.currentElems = new Value[enums.length];
     this.isDone = false;
@@ -36,26 +40,46 @@ public final class ContextEnumerator implements IContextEnumerator {
     }
   }
   
+  private static SymbolNode[] toFrame(final Object[] vars) {
+      int len = 0;
+      for (int i = 0; i < vars.length; i++) {
+          len += vars[i] instanceof SymbolNode ? 1 : ((SymbolNode[]) vars[i]).length;
+      }
+      if (len < 2) {
+          return null;
+      }
+      final SymbolNode[] names = new SymbolNode[len];
+      int idx = 0;
+      for (int i = 0; i < vars.length; i++) {
+          if (vars[i] instanceof SymbolNode) {
+              names[idx++] = (SymbolNode) vars[i];
+          } else {
+              for (SymbolNode var : (SymbolNode[]) vars[i]) {
+                  names[idx++] = var;
+              }
+          }
+      }
+      return Context.isFrame(names) ? names : null;
+  }
+
   @Override
   public final Context nextElement() {
       Context con1 = this.con;
       if (this.isDone) return null;
-      for (int i = 0; i < enums.length; i++) {
-          if (this.vars[i] instanceof SymbolNode) {
-              con1 = con1.cons((SymbolNode)this.vars[i], this.currentElems[i]);
-          }
-          else {
-              SymbolNode[] varList = (SymbolNode[])this.vars[i];
-              Value argVal = this.currentElems[i];
-              if (!(argVal instanceof TupleValue)) {
-                  Assert.fail(EC.TLC_ARGUMENT_MISMATCH, varList[0].toString());
-              }
-              Value[] valList = ((TupleValue)argVal).elems;
-              if (varList.length != valList.length) {
-                  Assert.fail(EC.TLC_ARGUMENT_MISMATCH, varList[0].toString());
+      if (this.frame != null) {
+          con1 = con1.frame(this.frame, bindFrame());
+      }
+      else {
+          for (int i = 0; i < enums.length; i++) {
+              if (this.vars[i] instanceof SymbolNode) {
+                  con1 = con1.cons((SymbolNode)this.vars[i], this.currentElems[i]);
               }
-              for (int j = 0; j < varList.length; j++) {
-                  con1 = con1.cons(varList[j], valList[j]);
+              else {
+                  SymbolNode[] varList = (SymbolNode[])this.vars[i];
+                  Value[] valList = toValues(varList, this.currentElems[i]);
+                  for (int j = 0; j < varList.length; j++) {
+                      con1 = con1.cons(varList[j], valList[j]);
+                  }
               }
           }
       }
@@ -72,6 +96,34 @@ public final class ContextEnumerator implements IContextEnumerator {
       return con1;
   }
 
+  private final Object[] bindFrame() {
+      final Object[] values = new Object[this.frame.length];
+      int idx = 0;
+      for (int i = 0; i < enums.length; i++) {
+          if (this.vars[i] instanceof SymbolNode) {
+              values[idx++] = this.currentElems[i];
+          }
+          else {
+              Value[] valList = toValues((SymbolNode[])this.vars[i], this.currentElems[i]);
+              for (int j = 0; j < valList.length; j++) {
+                  values[idx++] = valList[j];
+              }
+          }
+      }
+      return values;
+  }
+
+  private static Value[] toValues(final SymbolNode[] varList, final Value argVal) {
+      if (!(argVal instanceof TupleValue || argVal instanceof IntTupleValue)) {
+          Assert.fail(EC.TLC_ARGUMENT_MISMATCH, varList[0].toString());
+      }
+      Value[] valList = ((TupleValue)argVal.toTuple()).elems;
+      if (varList.length != valList.length) {
+          Assert.fail(EC.TLC_ARGUMENT_MISMATCH, varList[0].toString());
+      }
+      return valList;
+  }
+
   public final boolean isDone() {
 	return isDone;
   }
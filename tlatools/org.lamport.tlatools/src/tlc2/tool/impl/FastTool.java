@@ -26,56 +26,140 @@
 package tlc2.tool.impl;
 
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.Map;
 
 import tla2sany.semantic.OpApplNode;
 import tla2sany.semantic.SemanticNode;
 import tlc2.tool.Action;
+import tlc2.tool.EvalControl;
 import tlc2.tool.IActionItemList;
 import tlc2.tool.INextStateFunctor;
 import tlc2.tool.TLCState;
 import tlc2.tool.coverage.CostModel;
 import tlc2.util.Context;
 import tlc2.util.ExpectInlined;
+import tlc2.value.impl.BoolValue;
 import tlc2.value.impl.Value;
 import util.FilenameToStream;
 
 public final class FastTool extends Tool {
 
+	/**
+	 * Iff true, the invariants and the leading state-level conjuncts (guards) of
+	 * the next-state actions are compiled into closures once the spec has been
+	 * processed (see {@link ClosureCompiler}). Everything else is interpreted.
+	 */
+	public static final boolean COMPILE = Boolean.getBoolean(FastTool.class.getName() + ".compile");
+
+	private Map<Action, ClosureCompiler.Closure> compiledInvariants;
+	private Map<Action, ClosureCompiler.CompiledAction> compiledActions;
+
 	public FastTool(String mainFile, String configFile) {
 		super(mainFile, configFile);
+		compile();
 	}
 
 	public FastTool(String mainFile, String configFile, FilenameToStream resolver) {
 		super(mainFile, configFile, resolver, new HashMap<>());
+		compile();
 	}
 
 	public FastTool(String mainFile, String configFile, FilenameToStream resolver, Map<String, Object> params) {
 		super(mainFile, configFile, resolver, params);
+		compile();
 	}
 
 	public FastTool(String mainFile, String configFile, FilenameToStream resolver, Mode mode) {
 		super(mainFile, configFile, resolver, mode, new HashMap<>());
+		compile();
 	}
 
 	public FastTool(String mainFile, String configFile, FilenameToStream resolver, Mode mode, Map<String, Object> params) {
 		super(mainFile, configFile, resolver, mode, params);
+		compile();
 	}
 	
 	public FastTool(String specDir, String specFile, String configFile, FilenameToStream fts) {
 		super(specDir, specFile, configFile, fts, new HashMap<>());
+		compile();
 	}
 	
 	public FastTool(String specDir, String specFile, String configFile, FilenameToStream fts, Map<String, Object> params) {
 		super(specDir, specFile, configFile, fts, params);
+		compile();
 	}
 
 	public FastTool(String specDir, String specFile, String configFile, FilenameToStream fts, Mode mode) {
 		super(specDir, specFile, configFile, fts, mode, new HashMap<>());
+		compile();
 	}
 
 	public FastTool(Tool tool) {
 		super(tool);
+		compile();
+	}
+
+	private void compile() {
+		if (!COMPILE || coverage) {
+			return;
+		}
+		final ClosureCompiler compiler = new ClosureCompiler(this, toolId);
+
+		this.compiledInvariants = new IdentityHashMap<>();
+		for (final Action inv : getInvariants()) {
+			final ClosureCompiler.Closure closure = compiler.compileInvariant(inv);
+			if (closure != null) {
+				this.compiledInvariants.put(inv, closure);
+			}
+		}
+
+		this.compiledActions = new IdentityHashMap<>();
+		for (final Action action : getActions()) {
+			final ClosureCompiler.CompiledAction compiled = compiler.compileAction(action);
+			if (compiled != null) {
+				this.compiledActions.put(action, compiled);
+			}
+		}
+	}
+
+	@Override
+	public boolean isValid(final Action act, final TLCState state) {
+		if (compiledInvariants != null) {
+			final ClosureCompiler.Closure inv = compiledInvariants.get(act);
+			if (inv != null) {
+				final Value val = inv.eval(act.con, state, TLCState.Empty, EvalControl.Clear, act.cm);
+				if (val instanceof BoolValue) {
+					return ((BoolValue) val).val;
+				}
+				// Let the interpreter report the non-boolean invariant.
+			}
+		}
+		return super.isValid(act, state);
+	}
+
+	@Override
+	public boolean getNextStates(final INextStateFunctor functor, final TLCState state, final Action action) {
+		final ClosureCompiler.CompiledAction compiled = compiledActions != null ? compiledActions.get(action) : null;
+		if (compiled == null) {
+			return super.getNextStates(functor, state, action);
+		}
+		final TLCState s1 = TLCState.Empty.createEmpty().setPredecessor(state).setAction(action);
+		final Value guard = compiled.guard.eval(action.con, state, s1, EvalControl.Clear, action.cm);
+		if (!(guard instanceof BoolValue)) {
+			return super.getNextStates(functor, state, action);
+		}
+		if (((BoolValue) guard).val) {
+			// Continue with the remaining conjuncts exactly like getNextStatesApplSwitch
+			// does after it evaluated the guard.
+			ActionItemList acts = ActionItemList.Empty;
+			for (int i = compiled.conjuncts.length - 1; i > compiled.offset; i--) {
+				acts = (ActionItemList) acts.cons(compiled.conjuncts[i], action.con, action.cm, i);
+			}
+			getNextStates(action, compiled.conjuncts[compiled.offset], acts, action.con, state, s1, functor,
+					action.cm);
+		}
+		return false;
 	}
 
 	// The methods below are supposed to be inlined during execution for performance
@@ -0,0 +1,181 @@
+/*******************************************************************************
+ * Copyright (c) 2026 The Linux Foundation. All rights reserved.
+ *
+ * The MIT License (MIT)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ * of the Software, and to permit persons to whom the Software is furnished to do
+ * so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN
+ * AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ ******************************************************************************/
+package tlc2.tool.impl;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Hashtable;
+import java.util.IdentityHashMap;
+import java.util.Set;
+
+import tla2sany.explorer.ExploreNode;
+import tla2sany.explorer.ExplorerVisitor;
+import tla2sany.semantic.APSubstInNode;
+import tla2sany.semantic.ASTConstants;
+import tla2sany.semantic.FormalParamNode;
+import tla2sany.semantic.LevelConstants;
+import tla2sany.semantic.ModuleNode;
+import tla2sany.semantic.OpApplNode;
+import tla2sany.semantic.OpDefNode;
+import tla2sany.semantic.SubstInNode;
+import tla2sany.semantic.SymbolNode;
+import tlc2.tool.StateMemo;
+import tlc2.value.impl.BoolValue;
+import tlc2.value.impl.IntValue;
+import tlc2.value.impl.ModelValue;
+import tlc2.value.impl.OpValue;
+import tlc2.value.impl.StringValue;
+import tlc2.value.impl.Value;
+
+/**
+ * Determines the (top-level) user-defined operators whose applications may be
+ * memoized per state (see {@link StateMemo}). An operator qualifies if
+ * <ul>
+ * <li>its level is at most VariableLevel, i.e. its value is determined by a
+ * single state and its arguments,</li>
+ * <li>it has at most {@link #MAX_ARITY} parameters, none of which is an
+ * operator, and</li>
+ * <li>it does not (transitively) apply an operator whose value is not a
+ * function of its arguments, such as TLCGet, RandomElement, or Print, or an
+ * operator overridden by Java outside of the standard modules listed in
+ * {@link #PURE_MODULES}.</li>
+ * <li>it is not defined in a module that is instantiated (or extended by an
+ * instantiated module), because the memo's key does not include the
+ * substitutions of the INSTANCE that the operator's body reads from the
+ * context.</li>
+ * </ul>
+ */
+final class MemoizableOps {
+
+	static final int MAX_ARITY = 3;
+
+	private static final Set<String> PURE_MODULES = new HashSet<>(
+			Arrays.asList("Naturals", "Integers", "Reals", "Sequences", "FiniteSets", "Bags", "TLC"));
+
+	private static final Set<String> IMPURE_OPS = new HashSet<>(
+			Arrays.asList("TLCGet", "TLCSet", "RandomElement", "Print", "PrintT", "JavaTime"));
+
+	private MemoizableOps() {
+		// no instances
+	}
+
+	static Set<OpDefNode> collect(final Tool tool) {
+		final ModuleNode[] modules = tool.getSpecProcessor().getModuleTbl().getModuleNodes();
+		final Set<ModuleNode> instantiated = getInstantiated(modules);
+		final Set<OpDefNode> res = Collections.newSetFromMap(new IdentityHashMap<>());
+		for (final ModuleNode module : modules) {
+			for (final OpDefNode opDef : module.getOpDefs()) {
+				if (!instantiated.contains(opDef.getSource().getOriginallyDefinedInModuleNode())
+						&& isMemoizable(tool, opDef)) {
+					res.add(opDef);
+				}
+			}
+		}
+		return res;
+	}
+
+	/**
+	 * @return The modules whose definitions might be evaluated with the
+	 *         substitutions of an INSTANCE (including one in a LET) in the context.
+	 */
+	private static Set<ModuleNode> getInstantiated(final ModuleNode[] modules) {
+		final Set<ModuleNode> res = Collections.newSetFromMap(new IdentityHashMap<>());
+		final Hashtable<Integer, ExploreNode> visited = new Hashtable<>();
+		final ExplorerVisitor<Void> visitor = new ExplorerVisitor<Void>() {
+			@Override
+			public void preVisit(final ExploreNode exploreNode) {
+				if (exploreNode instanceof SubstInNode) {
+					res.add(((SubstInNode) exploreNode).getInstantiatedModule());
+				} else if (exploreNode instanceof APSubstInNode) {
+					res.add(((APSubstInNode) exploreNode).getInstantiatedModule());
+				}
+			}
+		};
+		for (final ModuleNode module : modules) {
+			for (final OpDefNode opDef : module.getOpDefs()) {
+				if (opDef.getBody() != null) {
+					opDef.getBody().walkGraph(visited, visitor);
+				}
+			}
+		}
+		// The definitions of the modules that an instantiated module extends see the
+		// substitutions too.
+		for (final ModuleNode module : res.toArray(new ModuleNode[res.size()])) {
+			res.addAll(module.getExtendedModuleSet());
+		}
+		return res;
+	}
+
+	private static boolean isMemoizable(final Tool tool, final OpDefNode opDef) {
+		if (opDef.getKind() != ASTConstants.UserDefinedOpKind || opDef.isStandardModule()
+				|| opDef.getLevel() > LevelConstants.VariableLevel || opDef.getArity() > MAX_ARITY
+				|| opDef.getBody() == null) {
+			return false;
+		}
+		for (final FormalParamNode param : opDef.getParams()) {
+			if (param.getArity() > 0) {
+				return false;
+			}
+		}
+		if (tool.lookup(opDef) instanceof Value) {
+			// A constant-level definition that has been evaluated upfront or an operator
+			// overridden by Java.
+			return false;
+		}
+		final boolean[] pure = { true };
+		opDef.getBody().walkGraph(new Hashtable<>(), new ExplorerVisitor<Void>() {
+			@Override
+			public void preVisit(final ExploreNode exploreNode) {
+				if (pure[0] && exploreNode instanceof OpApplNode) {
+					pure[0] = isPure(tool, ((OpApplNode) exploreNode).getOperator());
+				}
+			}
+		});
+		return pure[0];
+	}
+
+	/**
+	 * @return false if the value of an application of op might not be determined
+	 *         by its arguments and the state (see also ActionFootprints).
+	 */
+	static boolean isPure(final Tool tool, final SymbolNode op) {
+		if (IMPURE_OPS.contains(op.getName().toString())) {
+			return false;
+		}
+		if (op instanceof OpDefNode && tool.lookup(op) instanceof OpValue) {
+			return op.getLocation() != null && PURE_MODULES.contains(op.getLocation().source());
+		}
+		return true;
+	}
+
+	/**
+	 * @return true iff the memo can key on the given argument value of an
+	 *         application. This is restricted to scalars whose hash and equality are
+	 *         cheap.
+	 */
+	static boolean isKey(final Value arg) {
+		return arg instanceof IntValue || arg instanceof ModelValue || arg instanceof StringValue
+				|| arg instanceof BoolValue;
+	}
+}
@@ -44,6 +44,8 @@ import java.util.stream.Collectors;
 import tla2sany.drivers.FrontEndException;
 import tla2sany.drivers.SANY;
 import tla2sany.modanalyzer.SpecObj;
+import tla2sany.explorer.ExploreNode;
+import tla2sany.explorer.ExplorerVisitor;
 import tla2sany.output.LogLevel;
 import tla2sany.output.SanyOutput;
 import tla2sany.output.SimpleSanyOutput;
@@ -53,6 +55,7 @@ import tla2sany.semantic.DecimalNode;
 import tla2sany.semantic.ExprNode;
 import tla2sany.semantic.ExprOrOpArgNode;
 import tla2sany.semantic.ExternalModuleTable;
+import tla2sany.semantic.FormalParamNode;
 import tla2sany.semantic.LabelNode;
 import tla2sany.semantic.LetInNode;
 import tla2sany.semantic.LevelConstants;
@@ -361,6 +364,44 @@ public class SpecProcessor implements ValueConstants, ToolGlobals {
 
 	public static final String LAZY_CONSTANT_OPERATORS = SpecProcessor.class.getName() + ".vetoed";
 
+    /**
+     * Assigns each formal parameter of an operator definition, each identifier
+     * bound by a (bounded) quantifier, and each definition of a LET its index
+     * within the symbols bound together with it (see SymbolNode#getSlot).
+     */
+    private void assignSlots() {
+        final Hashtable<Integer, ExploreNode> visited = new Hashtable<>();
+        final ExplorerVisitor<Void> visitor = new ExplorerVisitor<Void>() {
+            @Override
+            public void preVisit(final ExploreNode exploreNode) {
+                if (exploreNode instanceof OpDefNode) {
+                    final FormalParamNode[] params = ((OpDefNode) exploreNode).getParams();
+                    for (int i = 0; params != null && i < params.length; i++) {
+                        params[i].setSlot(i);
+                    }
+                } else if (exploreNode instanceof OpApplNode) {
+                    final FormalParamNode[][] lists = ((OpApplNode) exploreNode).getBdedQuantSymbolLists();
+                    if (lists != null) {
+                        int slot = 0;
+                        for (int i = 0; i < lists.length; i++) {
+                            for (int j = 0; j < lists[i].length; j++) {
+                                lists[i][j].setSlot(slot++);
+                            }
+                        }
+                    }
+                } else if (exploreNode instanceof LetInNode) {
+                    final OpDefNode[] lets = ((LetInNode) exploreNode).getLets();
+                    for (int i = 0; i < lets.length; i++) {
+                        lets[i].setSlot(i);
+                    }
+                }
+            }
+        };
+        for (final ModuleNode module : this.moduleTbl.getModuleNodes()) {
+            module.walkGraph(visited, visitor);
+        }
+    }
+
 	private static final Set<String> vetos = new HashSet<String>(
 			Arrays.asList(System.getProperty(LAZY_CONSTANT_OPERATORS, "")));
 
@@ -447,6 +488,10 @@ public class SpecProcessor implements ValueConstants, ToolGlobals {
         // SZ 11.04.2009: set the number of variables
         UniqueString.setVariableCount(varDecls.length);
 
+        // Number the symbols that are bound together, which lets the tool bind them
+        // with a single frame (see Context#frame).
+        assignSlots();
+
         // SZ 10.04.2009: moved the initialization
         // removed static initialization
         // Defns.init();
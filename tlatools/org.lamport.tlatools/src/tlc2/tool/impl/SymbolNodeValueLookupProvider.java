@@ -103,6 +103,13 @@ public interface SymbolNodeValueLookupProvider {
 			final boolean cachable, final CostModel cm, int forToolId) {
 		final FormalParamNode[] formals = opDef.getParams();
 		final int alen = args.length;
+		if (alen > 1 && Context.isFrame(formals)) {
+			final Object[] avals = new Object[alen];
+			for (int i = 0; i < alen; i++) {
+				avals[i] = getVal(args[i], c, cachable, cm, forToolId);
+			}
+			return c.frame(formals, avals);
+		}
 		Context c1 = c;
 		for (int i = 0; i < alen; i++) {
 			Object aval = getVal(args[i], c, cachable, cm, forToolId);
@@ -8,10 +8,12 @@
 package tlc2.tool.impl;
 
 import java.io.File;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.function.Supplier;
 
 import tla2sany.parser.SyntaxTreeNode;
@@ -22,6 +24,7 @@ import tla2sany.semantic.ExternalModuleTable;
 import tla2sany.semantic.FormalParamNode;
 import tla2sany.semantic.LabelNode;
 import tla2sany.semantic.LetInNode;
+import tla2sany.semantic.LevelConstants;
 import tla2sany.semantic.OpApplNode;
 import tla2sany.semantic.OpArgNode;
 import tla2sany.semantic.OpDeclNode;
@@ -36,7 +39,9 @@ import tlc2.TLCGlobals;
 import tlc2.output.EC;
 import tlc2.output.MP;
 import tlc2.tool.Action;
+import tlc2.tool.ActionFootprint;
 import tlc2.tool.BuiltInOPs;
+import tlc2.tool.DisabledActions;
 import tlc2.tool.EvalControl;
 import tlc2.tool.EvalException;
 import tlc2.tool.IActionItemList;
@@ -44,6 +49,8 @@ import tlc2.tool.IContextEnumerator;
 import tlc2.tool.INextStateFunctor;
 import tlc2.tool.IStateFunctor;
 import tlc2.tool.ITool;
+import tlc2.tool.PartialOrderReduction;
+import tlc2.tool.StateMemo;
 import tlc2.tool.StateVec;
 import tlc2.tool.TLCState;
 import tlc2.tool.TLCStateFun;
@@ -51,6 +58,7 @@ import tlc2.tool.TLCStateInfo;
 import tlc2.tool.TLCStateMut;
 import tlc2.tool.TLCStateMutExt;
 import tlc2.tool.ToolGlobals;
+import tlc2.tool.Worker;
 import tlc2.tool.coverage.CostModel;
 import tlc2.util.Context;
 import tlc2.util.ExpectInlined;
@@ -69,6 +77,8 @@ import tlc2.value.impl.FcnLambdaValue;
 import tlc2.value.impl.FcnParams;
 import tlc2.value.impl.FcnRcdValue;
 import tlc2.value.impl.FunctionValue;
+import tlc2.value.impl.IntFcnRcdValue;
+import tlc2.value.impl.IntTupleValue;
 import tlc2.value.impl.IntValue;
 import tlc2.value.impl.LazySupplierValue;
 import tlc2.value.impl.LazyValue;
@@ -166,6 +176,11 @@ public abstract class Tool
   protected final Action[] actions;     // the list of TLA actions.
   private Vect<Action> actionVec = new Vect<>(10);
   protected final Mode toolMode;
+  /**
+   * The operators whose applications are memoized per state (see StateMemo and
+   * MemoizableOps), or null if memoization is off.
+   */
+  private final Set<OpDefNode> memoizable;
 
   /**
    * Creates a new tool handle
@@ -238,6 +253,12 @@ public abstract class Tool
 		for (int i = 0; i < initAndNext.size(); i++) {
 			initAndNext.elementAt(i).setId(i);
 		}
+		
+		this.memoizable = StateMemo.ENABLED ? MemoizableOps.collect(this) : null;
+		
+		if (DisabledActions.ENABLED || PartialOrderReduction.ENABLED) {
+			ActionFootprints.attach(this, this.actions);
+		}
   }
 
   Tool(Tool other) {
@@ -245,6 +266,7 @@ public abstract class Tool
 	  this.actions = other.actions;
 	  this.actionVec = other.actionVec;
 	  this.toolMode = other.toolMode;
+	  this.memoizable = other.memoizable;
   }
 
   @Override
@@ -265,6 +287,16 @@ public abstract class Tool
     return this.actions;
   }
 
+	/**
+	 * @return The footprint of the given action, which may also be a state
+	 *         predicate such as an invariant, or null if its evaluation might
+	 *         depend on more than the values of its variables (see
+	 *         ActionFootprints).
+	 */
+	public final ActionFootprint getFootprint(final Action action) {
+		return ActionFootprints.analyze(this, action);
+	}
+
 	private final void getActions(final Action next) {
 		this.getActions(next.pred, next.con, next.getOpDef(), next.cm);
 	}
@@ -966,8 +998,7 @@ public abstract class Tool
   private final TLCState getNextStates0(final Action action, ActionItemList acts, final TLCState s0, final TLCState s1,
                                        final INextStateFunctor nss, CostModel cm) {
     if (acts.isEmpty()) {
-      nss.addElement(s0, action, s1);
-      return s1.copy();
+      return addElement(action, s0, s1, nss);
     } else if (TLCGlobals.warn && s1.allAssigned()) {
 		// If all variables have been assigned and warnings are turned off, Tool can
 		// execute the fast-path that avoids generating known successor states, but
@@ -1043,7 +1074,19 @@ public abstract class Tool
 		  kind = acts.carKind();
           cm2 = acts.cm;
 	  }
-	  nss.addElement(s0, action, s1);
+	  return addElement(action, s0, s1, nss);
+  }
+
+  @ExpectInlined
+  private final TLCState addElement(final Action action, final TLCState s0, final TLCState s1,
+		  final INextStateFunctor nss) {
+	  if (nss.addElement(s0, action, s1) == INextStateFunctor.DISCARDED && !coverage) {
+		  // nss did not keep s1, which is the common case of a successor state that has
+		  // been seen before. Continue with s1 instead of allocating a copy of it. With
+		  // coverage enabled, getNextStates determines via copy != s1 whether a state was
+		  // generated, which is why a copy is still needed then.
+		  return s1;
+	  }
 	  return s1.copy();
   }
 
@@ -1767,19 +1810,122 @@ public abstract class Tool
         }
   }
 
+  /**
+   * Evaluates the application expr of the memoizable opDef (see MemoizableOps)
+   * and looks up/stores its value in the calling worker's StateMemo if s0 is one
+   * of the memo's states. Contrary to getOpContext, the arguments are evaluated
+   * eagerly because their values are part of the memo's key. Thus, only
+   * applications whose arguments are all cheap (see isCheap) are memoized; an
+   * argument such as Head(s) must not be evaluated unless the body does.
+   */
+  private final Value evalMemoized(final OpDefNode opDef, final OpApplNode expr, final Context c, final TLCState s0,
+		  final TLCState s1, final int control, final CostModel cm) {
+	final ExprOrOpArgNode[] args = expr.getArgs();
+	final Thread thread = Thread.currentThread();
+	final StateMemo memo = thread instanceof Worker ? ((Worker) thread).getStateMemo() : null;
+	if (memo == null || expr.getLevel() > LevelConstants.VariableLevel || !memo.isMemoized(s0)
+			|| !isCheap(args, c)) {
+	  return this.eval(opDef.getBody(), this.getOpContext(opDef, args, c, true, cm, toolId), s0, s1, control, cm);
+	}
+	final Value[] argVals = args.length == 0 ? EmptyArgs : new Value[args.length];
+	boolean isKey = true;
+	for (int i = 0; i < args.length; i++) {
+	  argVals[i] = this.eval(args[i], c, s0, s1, control, cm);
+	  isKey &= MemoizableOps.isKey(argVals[i]);
+	}
+	if (!isKey) {
+	  return this.eval(opDef.getBody(), bindParams(opDef.getParams(), argVals, c), s0, s1, control, cm);
+	}
+	final Value res = memo.get(s0, opDef, argVals);
+	if (res != null) {
+	  return res;
+	}
+	return memo.put(s0, opDef, argVals,
+			this.eval(opDef.getBody(), bindParams(opDef.getParams(), argVals, c), s0, s1, control, cm));
+  }
+
+  /**
+   * @return true iff each of args is a literal, a constant, or an identifier
+   *         bound to a value in c. The evaluation of such an argument cannot
+   *         fail and does not depend on the state.
+   */
+  private final boolean isCheap(final ExprOrOpArgNode[] args, final Context c) {
+	for (int i = 0; i < args.length; i++) {
+	  switch (args[i].getKind()) {
+	    case NumeralKind:
+	    case StringKind:
+	      continue;
+	    case OpApplKind:
+	      final OpApplNode appl = (OpApplNode) args[i];
+	      if (appl.getArgs().length == 0) {
+	        final SymbolNode opNode = appl.getOperator();
+	        if (opNode.getKind() != VariableDeclKind) {
+	          final Object val = this.lookup(opNode, c, false, toolId);
+	          if (val instanceof Value && !(val instanceof LazyValue)) {
+	            continue;
+	          }
+	        }
+	      }
+	      return false;
+	    default:
+	      return false;
+	  }
+	}
+	return true;
+  }
+
+  private static final Context bindParams(final FormalParamNode[] formals, final Value[] argVals, final Context c) {
+	if (argVals.length > 1 && Context.isFrame(formals)) {
+	  return c.frame(formals, argVals);
+	}
+	Context c1 = c;
+	for (int i = 0; i < argVals.length; i++) {
+	  c1 = c1.cons(formals[i], argVals[i]);
+	}
+	return c1;
+  }
+
   @ExpectInlined
   private final Value evalImplLetInKind(LetInNode expr1, Context c, TLCState s0, TLCState s1, final int control, final CostModel cm) {
-	OpDefNode[] letDefs = expr1.getLets();
-	int letLen = letDefs.length;
+	return this.eval(expr1.getBody(), this.getLetContext(expr1, c, cm), s0, s1, control, cm);
+  }
+
+  /**
+   * Binds the zero-arity definitions of the LET to lazy values. If SpecProcessor
+   * numbered them, they are bound by a single frame; a definition then sees the
+   * frame that also binds the definitions following it, which is harmless
+   * because a non-recursive definition cannot refer to a later one.
+   */
+  private final Context getLetContext(final LetInNode expr, final Context c, final CostModel cm) {
+	final OpDefNode[] letDefs = expr.getLets();
+	final int letLen = letDefs.length;
+	if (letLen > 1 && Context.isFrame(letDefs)) {
+	  final Object[] rhs = new Object[letLen];
+	  final Context c1 = c.frame(letDefs, rhs);
+	  for (int i = 0; i < letLen; i++) {
+	    final OpDefNode opDef = letDefs[i];
+	    if (opDef.getInRecursive()) {
+	      return getLetContextChained(letDefs, c, cm);
+	    }
+	    if (opDef.getArity() == 0) {
+	      rhs[i] = new LazyValue(opDef.getBody(), c1, cm);
+	    }
+	  }
+	  return c1;
+	}
+	return getLetContextChained(letDefs, c, cm);
+  }
+
+  private static final Context getLetContextChained(final OpDefNode[] letDefs, final Context c, final CostModel cm) {
 	Context c1 = c;
-	for (int i = 0; i < letLen; i++) {
+	for (int i = 0; i < letDefs.length; i++) {
 	  OpDefNode opDef = letDefs[i];
 	  if (opDef.getArity() == 0) {
 	    Value rhs = new LazyValue(opDef.getBody(), c1, cm);
 	    c1 = c1.cons(opDef, rhs);
 	  }
 	}
-	return this.eval(expr1.getBody(), c1, s0, s1, control, cm);
+	return c1;
   }
 
   @ExpectInlined
@@ -1957,8 +2103,12 @@ public abstract class Tool
             OpDefNode opDef = (OpDefNode)val;
             opcode = BuiltInOPs.getOpCode(opDef.getName());
             if (opcode == 0) {
-              Context c1 = this.getOpContext(opDef, args, c, true, cm, toolId);
-              res = this.eval(opDef.getBody(), c1, s0, s1, control, cm);
+              if (this.memoizable != null && this.memoizable.contains(opDef)) {
+                res = this.evalMemoized(opDef, expr, c, s0, s1, control, cm);
+              } else {
+                Context c1 = this.getOpContext(opDef, args, c, true, cm, toolId);
+                res = this.eval(opDef.getBody(), c1, s0, s1, control, cm);
+              }
             }
           }
           else if (val instanceof Value) {
@@ -2223,6 +2373,9 @@ public abstract class Tool
           {
             int alen = args.length;
             Value result = this.eval(args[0], c, s0, s1, control, cm);
+            // True iff result has been created by the takeExcept of a previous clause, is
+            // thus not shared yet, and can be updated in place by subsequent clauses.
+            boolean owned = false;
             // SZ: variable not used ValueExcept[] expts = new ValueExcept[alen-1];
             for (int i = 1; i < alen; i++) {
               OpApplNode pairNode = (OpApplNode)args[i];
@@ -2242,7 +2395,27 @@ public abstract class Tool
                 Context c1 = c.cons(EXCEPT_AT, atVal);
                 Value rhs = this.eval(pairArgs[1], c1, s0, s1, control,  coverage ? cm.get(pairNode) : cm);
                 ValueExcept vex = new ValueExcept(lhs, rhs);
+                if (owned && result instanceof FcnRcdValue && ((FcnRcdValue) result).takeExceptInPlace(vex)) {
+                  continue;
+                }
+                if (owned && result instanceof TupleValue && ((TupleValue) result).takeExceptInPlace(vex)) {
+                  continue;
+                }
+                if (owned && result instanceof IntTupleValue && ((IntTupleValue) result).takeExceptInPlace(vex)) {
+                  continue;
+                }
+                if (owned && result instanceof IntFcnRcdValue && ((IntFcnRcdValue) result).takeExceptInPlace(vex)) {
+                  continue;
+                }
+                final Value prev = result;
                 result = (Value) result.takeExcept(vex);
+                if (result != prev) {
+                  // FcnRcdValue and TupleValue (and their int specializations) return either
+                  // themselves, the rhs, or a new instance. Other values (e.g. FcnLambdaValue)
+                  // might return shared values.
+                  owned = (prev instanceof FcnRcdValue || prev instanceof TupleValue || prev instanceof IntTupleValue
+                      || prev instanceof IntFcnRcdValue) && result != rhs;
+                }
               }
             }
             return result;
@@ -2252,13 +2425,15 @@ public abstract class Tool
             Value result = null;
             Value fval = this.eval(args[0], c, s0, s1, EvalControl.setKeepLazy(control), cm);
             if ((fval instanceof FcnRcdValue) ||
-                (fval instanceof FcnLambdaValue)) {
+                (fval instanceof FcnLambdaValue) ||
+                (fval instanceof IntFcnRcdValue)) {
               FunctionValue fcn = (FunctionValue)fval;
               Value argVal = this.eval(args[1], c, s0, s1, control, cm);
               result = fcn.apply(argVal, control);
             }
             else if ((fval instanceof TupleValue) ||
-                     (fval instanceof RecordValue)) {
+                     (fval instanceof RecordValue) ||
+                     (fval instanceof IntTupleValue)) {
               FunctionValue fcn = (FunctionValue)fval;
               if (args.length != 2) {
                 Assert.fail("Attempted to evaluate an expression of form f[e1, ... , eN]" +
@@ -2297,7 +2472,7 @@ public abstract class Tool
               isFcnRcd = false;
             }
             if (isFcnRcd && !EvalControl.isKeepLazy(control)) {
-              return (Value) fval.toFcnRcd();
+              return IntFcnRcdValue.create((FcnRcdValue) fval.toFcnRcd());
             }
             return fval;
           }
@@ -2402,7 +2577,7 @@ public abstract class Tool
               if (isTuple) {
                 while ((elem = enumSet.nextElement()) != null) {
                   Context c1 = c;
-                  Value[] tuple = ((TupleValue)elem).elems;
+                  Value[] tuple = ((TupleValue)elem.toTuple()).elems;
                   for (int i = 0; i < bvars.length; i++) {
                     c1 = c1.cons(bvars[i], tuple[i]);
                   }
@@ -2446,7 +2621,7 @@ public abstract class Tool
             for (int i = 0; i < alen; i++) {
               vals[i] = this.eval(args[i], c, s0, s1, control, cm);
             }
-            return setSource(expr, new TupleValue(vals, cm));
+            return setSource(expr, IntTupleValue.create(vals, cm));
           }
         case OPCODE_uc:     // UnboundedChoose
           {
@@ -2907,16 +3082,7 @@ public abstract class Tool
         case LetInKind:
           {
             LetInNode pred1 = (LetInNode)pred;
-            OpDefNode[] letDefs = pred1.getLets();
-            Context c1 = c;
-            for (int i = 0; i < letDefs.length; i++) {
-              OpDefNode opDef = letDefs[i];
-              if (opDef.getArity() == 0) {
-                Value rhs = new LazyValue(opDef.getBody(), c1, cm);
-                c1 = c1.cons(opDef, rhs);
-              }
-            }
-            return this.enabled(pred1.getBody(), acts, c1, s0, s1, cm);
+            return this.enabled(pred1.getBody(), acts, this.getLetContext(pred1, c, cm), s0, s1, cm);
           }
         case SubstInKind:
           {
@@ -3679,6 +3845,27 @@ public abstract class Tool
     return null;
   }
 
+  @Override
+  public final List<TLCStateInfo> getStates(final long fp, final long mask, final TLCState s) {
+	  IdThread.setCurrentState(s);
+	  final List<TLCStateInfo> res = new ArrayList<>(1);
+	  final Set<Long> seen = new HashSet<>();
+    for (int i = 0; i < this.actions.length; i++) {
+      Action curAction = this.actions[i];
+      StateVec nextStates = this.getNextStates(curAction, s);
+      for (int j = 0; j < nextStates.size(); j++) {
+        TLCState state = nextStates.elementAt(j);
+        long nfp = state.fingerPrint();
+        if ((nfp & mask) == fp && seen.add(nfp)) {
+        	state.setPredecessor(s);
+        	assert !state.isInitial();
+        	res.add(new TLCStateInfo(state, curAction));
+        }
+      }
+    }
+    return res;
+  }
+
   /* Reconstruct the info for s1.   */
   @Override
   public final TLCStateInfo getState(TLCState s1, TLCState s) {
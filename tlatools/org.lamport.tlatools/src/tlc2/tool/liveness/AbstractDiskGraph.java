@@ -80,6 +80,8 @@ public abstract class AbstractDiskGraph {
 	}
 
 	private final String chkptName;
+	private final String fnameForNodes;
+	private final String fnameForPtrs;
 	protected final String metadir;
 	/**
 	 * @see tlatools/test/tlc2/tool/liveness/AbstractDiskGraph.JPG
@@ -92,17 +94,40 @@ public abstract class AbstractDiskGraph {
 	 */
 	protected GraphNode[] gnodes;
 
+	/**
+	 * Read nodes from a memory-mapped nodes file during SCC search (see
+	 * {@link #mapNodes()}).
+	 */
+	static final boolean MAP_NODES = Boolean.getBoolean(AbstractDiskGraph.class.getName() + ".mmap");
+
+	/**
+	 * A read-only mapping of the nodes file or null (see {@link #mapNodes()}).
+	 */
+	private volatile MappedGraphFile mappedNodes;
+
 	private final IBucketStatistics outDegreeGraphStats;
 
 	private long sizeAtCheck = 1; // initialize with 1 to avoid div by zero
 
+	/**
+	 * The part of the graph whose nodes' SCCs are not final, one frontier per
+	 * {@link PossibleErrorModel} (see {@link ParallelSccSearch}).
+	 */
+	private final Map<PossibleErrorModel, ParallelSccSearch.Frontier> frontiers = new HashMap<>();
+
+	/**
+	 * True iff the (sequential) SCC search has replaced the locations in the
+	 * node-pointer table with link numbers since it has last been made.
+	 */
+	private boolean linked = false;
+
 	public AbstractDiskGraph(String metadir, int soln, IBucketStatistics graphStats) throws IOException {
 		this.metadir = metadir;
 		this.outDegreeGraphStats = graphStats;
 		this.chkptName = metadir + FileUtil.separator + "dgraph_" + soln;
-		String fnameForNodes = metadir + FileUtil.separator + "nodes_" + soln;
+		this.fnameForNodes = metadir + FileUtil.separator + "nodes_" + soln;
 		this.nodeRAF = new BufferedRandomAccessFile(fnameForNodes, "rw");
-		String fnameForPtrs = metadir + FileUtil.separator + "ptrs_" + soln;
+		this.fnameForPtrs = metadir + FileUtil.separator + "ptrs_" + soln;
 		this.nodePtrRAF = new BufferedRandomAccessFile(fnameForPtrs, "rw");
 		this.initNodes = new LongVec(1);
 		this.gnodes = null;
@@ -143,8 +168,10 @@ public abstract class AbstractDiskGraph {
 
 	/* Close the disk files. */
 	public final void close() throws IOException {
+		this.unmapNodes();
 		this.nodeRAF.close();
 		this.nodePtrRAF.close();
+		this.closeNodePtrTbl();
 	}
 
 	/**
@@ -167,7 +194,7 @@ public abstract class AbstractDiskGraph {
 	 * @see commented tlc2.tool.liveness.DiskGraphTest#
 	 *      testAddSameGraphN	odeTwiceCorrectSuccessors
 	 */
-	public long addNode(GraphNode node) throws IOException {
+	public synchronized long addNode(GraphNode node) throws IOException {
 		outDegreeGraphStats.addSample(node.succSize());
 		
 		long ptr = this.nodeRAF.getFilePointer();
@@ -214,7 +241,16 @@ public abstract class AbstractDiskGraph {
 	protected abstract void putNode(GraphNode node, long ptr);
 
 	/* Get the graph node at the file location ptr. */
-	public synchronized final GraphNode getNode(final long stateFP, final int tidx, final long ptr) throws IOException {
+	public final GraphNode getNode(final long stateFP, final int tidx, final long ptr) throws IOException {
+		final MappedGraphFile mapped = this.mappedNodes;
+		if (mapped != null && mapped.contains(ptr)) {
+			// Neither the lock nor the cache is needed to decode a node from the mapping.
+			return mapped.readNode(stateFP, tidx, ptr);
+		}
+		return getCachedNode(stateFP, tidx, ptr);
+	}
+
+	private synchronized final GraphNode getCachedNode(final long stateFP, final int tidx, final long ptr) throws IOException {
 		// Get from memory cache if cached:
 		//TODO Adapt mask to array length iff array length is a func of available memory
 		int idx = (int) (stateFP + tidx) & 0xFFFF;
@@ -241,15 +277,89 @@ public abstract class AbstractDiskGraph {
 
 		// Have to get the node from disk:
 		long curPtr = this.nodeRAF.getFilePointer();
-		this.nodeRAF.seek(ptr);
-
-		GraphNode gnode1 = new GraphNode(stateFP, tidx);
-		gnode1.read(this.nodeRAF);
-		
+		GraphNode gnode1 = readNode(this.nodeRAF, stateFP, tidx, ptr);
 		this.nodeRAF.seek(curPtr);
 		return gnode1;
 	}
 
+	static final GraphNode readNode(final BufferedRandomAccessFile raf, final long stateFP, final int tidx,
+			final long ptr) throws IOException {
+		raf.seek(ptr);
+		final GraphNode gnode = new GraphNode(stateFP, tidx);
+		gnode.read(raf);
+		return gnode;
+	}
+
+	/**
+	 * Maps the nodes file, as far as it has been written, read-only into memory
+	 * iff {@link #MAP_NODES} is set. Until {@link #unmapNodes()},
+	 * {@link #getNode(long, int, long)} then reads the nodes without locking,
+	 * which allows concurrent readers during SCC search. Nodes added after this
+	 * call are read from the file as before.
+	 * <p>
+	 * Only the nodes file is mapped: The node-pointer file is always read
+	 * sequentially (see {@link #makeNodePtrTbl()}) where buffered reads are
+	 * as fast.
+	 */
+	public final synchronized void mapNodes() throws IOException {
+		if (!MAP_NODES) {
+			return;
+		}
+		this.nodeRAF.flush();
+		this.mappedNodes = new MappedGraphFile(this.fnameForNodes, this.nodeRAF.length());
+	}
+
+	public final void unmapNodes() {
+		this.mappedNodes = null;
+	}
+
+	/**
+	 * @return The current read-only mapping of the nodes file or null.
+	 */
+	final MappedGraphFile getMappedNodes() {
+		return this.mappedNodes;
+	}
+
+	/*
+	 * Readers of the node and node-pointer files. Unlike this graph's own files,
+	 * the readers can be used concurrently with each other (see
+	 * ParallelSccSearch). They only see what has been flushed (see
+	 * flushWritesToDiskFiles).
+	 */
+	final BufferedRandomAccessFile newNodeReader() throws IOException {
+		return new BufferedRandomAccessFile(this.fnameForNodes, "r");
+	}
+
+	final BufferedRandomAccessFile newNodePtrReader() throws IOException {
+		return new BufferedRandomAccessFile(this.fnameForPtrs, "r");
+	}
+
+	/**
+	 * @return The (modifiable) part of the graph whose nodes' SCCs have not been
+	 *         checked for the given {@link PossibleErrorModel} or can still
+	 *         change.
+	 */
+	final synchronized ParallelSccSearch.Frontier getFrontier(final PossibleErrorModel pem) {
+		return this.frontiers.computeIfAbsent(pem, k -> new ParallelSccSearch.Frontier());
+	}
+
+	protected final synchronized void clearFrontiers() {
+		this.frontiers.clear();
+	}
+
+	/**
+	 * @return true iff the node-pointer table has to be re-made (see
+	 *         {@link #makeNodePtrTbl()}) before nodes can be looked up by location.
+	 */
+	public final boolean isLinked() {
+		return this.linked;
+	}
+
+	/* The SCC search is about to replace locations with link numbers. */
+	final void markLinked() {
+		this.linked = true;
+	}
+
 	public abstract long getPtr(long l, int tidx);
 
 	/* Create the in-memory node-pointer table from the node-pointer file. */
@@ -258,6 +368,7 @@ public abstract class AbstractDiskGraph {
 		long len = this.nodePtrRAF.length();
 		this.makeNodePtrTbl(len);
 		this.nodePtrRAF.seek(ptr);
+		this.linked = false;
 	}
 
 	/**
@@ -409,6 +520,35 @@ public abstract class AbstractDiskGraph {
 	 *         via {@link AbstractDiskGraph#addNode(GraphNode)}.
 	 */
 	public abstract long size();
+
+	/**
+	 * @return The number of slots of the in-memory table of (node, ptr) pairs.
+	 */
+	public abstract long getNodePtrTblCapacity();
+
+	/**
+	 * @return The bytes of the in-memory table of (node, ptr) pairs held
+	 *         outside the Java heap.
+	 */
+	public long getNodePtrTblOffHeapBytes() {
+		return 0L;
+	}
+
+	/**
+	 * @return The bytes of the in-memory table of (node, ptr) pairs spilled to
+	 *         disk.
+	 */
+	public long getNodePtrTblDiskBytes() {
+		return 0L;
+	}
+
+	/**
+	 * Releases the resources of the in-memory table of (node, ptr) pairs that
+	 * the garbage collector does not take care of.
+	 */
+	protected void closeNodePtrTbl() {
+		// nop
+	}
 	
 	/**
 	 * @return The size of both disk files (ptrs and nodes) measured in bytes.
@@ -537,6 +677,7 @@ public abstract class AbstractDiskGraph {
 	}
 
 	public final void recover() throws IOException {
+		this.unmapNodes();
 		FileInputStream fis = new FileInputStream(chkptName + ".chkpt");
 		DataInputStream dis = new DataInputStream(fis);
 		long nodeRAFPos = dis.readLong();
@@ -544,6 +685,7 @@ public abstract class AbstractDiskGraph {
 		dis.close();
 		fis.close();
 
+		this.clearFrontiers();
 		this.makeNodePtrTbl(nodePtrRAFPos);
 		this.nodeRAF.seek(nodeRAFPos);
 		this.nodePtrRAF.seek(nodePtrRAFPos);
@@ -9,6 +9,7 @@ import java.util.Map;
 
 import tlc2.output.EC;
 import tlc2.output.MP;
+import tlc2.tool.fp.LongArray;
 import tlc2.util.LongVec;
 import tlc2.util.MemIntQueue;
 import tlc2.util.statistics.IBucketStatistics;
@@ -24,11 +25,32 @@ import tlc2.util.statistics.IBucketStatistics;
 // positions that need changing.
 public class DiskGraph extends AbstractDiskGraph {
 
-	private NodePtrTable nodePtrTbl;
+	/**
+	 * Keep the (node, ptr) table of this and of {@link TableauDiskGraph}
+	 * outside the Java heap (see {@link OffHeapNodePtrTable} and
+	 * {@link OffHeapTableauNodePtrTable}).
+	 */
+	static final boolean OFF_HEAP = Boolean.getBoolean(DiskGraph.class.getName() + ".offHeap")
+			&& LongArray.isSupported();
+
+	/**
+	 * The bytes of direct memory of an off-heap (node, ptr) table before it
+	 * spills to a file in the metadir.
+	 */
+	static final long MAX_OFF_HEAP = Long.getLong(DiskGraph.class.getName() + ".maxOffHeap", Long.MAX_VALUE);
+
+	private INodePtrTable nodePtrTbl;
 	
 	public DiskGraph(String metadir, int soln, IBucketStatistics graphStats) throws IOException {
 		super(metadir, soln, graphStats);
-		nodePtrTbl = new NodePtrTable(255);
+		nodePtrTbl = newNodePtrTbl();
+	}
+
+	private INodePtrTable newNodePtrTbl() {
+		if (OFF_HEAP) {
+			return new OffHeapNodePtrTable(255, metadir, MAX_OFF_HEAP);
+		}
+		return new NodePtrTable(255);
 	}
 
 	public final GraphNode getNode(long fp, int tidx) throws IOException {
@@ -59,10 +81,32 @@ public class DiskGraph extends AbstractDiskGraph {
 		return this.nodePtrTbl.get(fp);
 	}
 
+	/**
+	 * Adds the given node unless this graph already has a node with the same
+	 * fingerprint. Contrary to the getNode/addNode sequence, the lookup and the
+	 * append are a single step under this graph's monitor. Thus, workers can
+	 * build new {@link GraphNode}s concurrently and only serialize on the
+	 * (short) append to the node and ptr file.
+	 * 
+	 * @return false iff a node with the same fingerprint has been added before,
+	 *         in which case the caller has to merge the transitions into the
+	 *         existing node.
+	 */
+	public final synchronized boolean addNewNode(final GraphNode node) throws IOException {
+		if (this.nodePtrTbl.get(node.stateFP) != -1) {
+			return false;
+		}
+		addNode(node);
+		return true;
+	}
+
 	public void reset() throws IOException {
+		this.unmapNodes();
 		this.nodePtrRAF.reset();
 		this.nodeRAF.reset();
-		this.nodePtrTbl = new NodePtrTable(255);
+		this.nodePtrTbl.close();
+		this.nodePtrTbl = newNodePtrTbl();
+		this.clearFrontiers();
 	}
 	
 	/* (non-Javadoc)
@@ -128,6 +172,34 @@ public class DiskGraph extends AbstractDiskGraph {
 		return this.nodePtrTbl.size();
 	}
 
+	/* (non-Javadoc)
+	 * @see tlc2.tool.liveness.AbstractDiskGraph#getNodePtrTblCapacity()
+	 */
+	public long getNodePtrTblCapacity() {
+		return this.nodePtrTbl.getSize();
+	}
+
+	/* (non-Javadoc)
+	 * @see tlc2.tool.liveness.AbstractDiskGraph#getNodePtrTblOffHeapBytes()
+	 */
+	public long getNodePtrTblOffHeapBytes() {
+		return this.nodePtrTbl.getOffHeapBytes();
+	}
+
+	/* (non-Javadoc)
+	 * @see tlc2.tool.liveness.AbstractDiskGraph#getNodePtrTblDiskBytes()
+	 */
+	public long getNodePtrTblDiskBytes() {
+		return this.nodePtrTbl.getDiskBytes();
+	}
+
+	/* (non-Javadoc)
+	 * @see tlc2.tool.liveness.AbstractDiskGraph#closeNodePtrTbl()
+	 */
+	protected void closeNodePtrTbl() {
+		this.nodePtrTbl.close();
+	}
+
 	/* (non-Javadoc)
 	 * @see java.lang.Object#toString()
 	 */
@@ -378,6 +378,22 @@ public class GraphNode extends AbstractGraphNode {
 		checks.write(nodeRAF);
 	}
 
+	void read(final MappedGraphFile.Cursor in) {
+		// Same format as read(BufferedRandomAccessFile) below.
+		final int cnt = in.readNat();
+		nnodes = new int[cnt];
+		for (int i = 0; i < cnt; i++) {
+			nnodes[i] = in.readInt();
+		}
+		final long[] word = new long[in.readNat()];
+		for (int i = 0; i < word.length; i++) {
+			word[i] = in.readLong();
+		}
+		checks = new BitVector(word);
+
+		assert offset == NO_FREE_SLOTS;
+	}
+
 	void read(final BufferedRandomAccessFile nodeRAF) throws IOException {
 		// Read nnodes
 		final int cnt = nodeRAF.readNat();
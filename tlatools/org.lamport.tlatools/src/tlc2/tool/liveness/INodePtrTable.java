@@ -0,0 +1,88 @@
+/*******************************************************************************
+ * Copyright (c) 2026 The Linux Foundation. All rights reserved.
+ *
+ * The MIT License (MIT)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ * of the Software, and to permit persons to whom the Software is furnished to do
+ * so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN
+ * AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ ******************************************************************************/
+package tlc2.tool.liveness;
+
+/**
+ * The table of (node, ptr) pairs of the tableau-less {@link DiskGraph}.
+ * 
+ * @see NodePtrTable
+ * @see OffHeapNodePtrTable
+ * @see ITableauNodePtrTable
+ */
+public interface INodePtrTable {
+
+	/**
+	 * Add <k, elem> into the table. If the table has already contained k,
+	 * overwrite the old value.
+	 */
+	void put(long k, long elem);
+
+	/**
+	 * @return k's location if the table contains k. Otherwise, return -1.
+	 *         Locations remain valid until the next {@link #put(long, long)}.
+	 */
+	int getLoc(long k);
+
+	/**
+	 * @return The value with key k. Otherwise, return -1.
+	 */
+	long get(long k);
+
+	long getByLoc(int loc);
+
+	long getKeyByLoc(int loc);
+
+	void putByLoc(long k, long elem, int loc);
+
+	/**
+	 * Clears the most significant bit of all elements.
+	 */
+	void resetElems();
+
+	/**
+	 * @return The number of keys in this table.
+	 */
+	int size();
+
+	/**
+	 * @return The number of slots of this table.
+	 */
+	int getSize();
+
+	/**
+	 * @return The number of bytes of this table that are held outside the Java
+	 *         heap.
+	 */
+	long getOffHeapBytes();
+
+	/**
+	 * @return The number of bytes of this table that have been spilled to disk.
+	 */
+	long getDiskBytes();
+
+	/**
+	 * Releases the resources held by this table. The table must not be used
+	 * afterwards.
+	 */
+	void close();
+}
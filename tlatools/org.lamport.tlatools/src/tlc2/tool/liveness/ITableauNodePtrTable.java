@@ -0,0 +1,107 @@
+/*******************************************************************************
+ * Copyright (c) 2026 The Linux Foundation. All rights reserved.
+ *
+ * The MIT License (MIT)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ * of the Software, and to permit persons to whom the Software is furnished to do
+ * so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN
+ * AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ ******************************************************************************/
+package tlc2.tool.liveness;
+
+/**
+ * The table of <<fp, tidx>> nodes of the {@link TableauDiskGraph}. See
+ * {@link TableauNodePtrTable} for the meaning of a node's element.
+ * 
+ * @see TableauNodePtrTable
+ * @see OffHeapTableauNodePtrTable
+ * @see INodePtrTable
+ */
+public interface ITableauNodePtrTable {
+
+	/**
+	 * Return the value associated with the key <k, tidx> if the table contains
+	 * <k, tidx>. Otherwise, return -1.
+	 */
+	long get(long k, int tidx);
+
+	/**
+	 * Puts the node <k, tidx> with {@link TableauNodePtrTable#UNDONE}, or with
+	 * {@link TableauNodePtrTable#DONE} if the table contains nodes with key k
+	 * but not <k, tidx>.
+	 */
+	void put(long k, int tidx);
+
+	/**
+	 * Add the triple <k, tidx, elem> into the table. If the table already
+	 * contains an entry with the composite key <k, tdix>, the old elem will be
+	 * replaced with the new one.
+	 */
+	void put(long k, int tidx, long elem);
+
+	/**
+	 * @return true iff the nodes with key k are done.
+	 */
+	boolean isDone(long k);
+
+	/**
+	 * Marks the nodes with key k done.
+	 * 
+	 * @return The location at which the nodes with key k can be looked up with
+	 *         {@link #getNodesByLoc(int)}.
+	 */
+	int setDone(long k);
+
+	/**
+	 * @return The nodes at loc in the int[] format of
+	 *         {@link TableauNodePtrTable}. Changes to the returned array do not
+	 *         necessarily write through to the table.
+	 */
+	int[] getNodesByLoc(int loc);
+
+	/**
+	 * @return The length of an elem "record" in the array returned by
+	 *         {@link #getNodesByLoc(int)}.
+	 */
+	int getElemLength();
+
+	/**
+	 * @return The number of keys in this table.
+	 */
+	int size();
+
+	/**
+	 * @return The number of slots of this table.
+	 */
+	int getSize();
+
+	/**
+	 * @see INodePtrTable#getOffHeapBytes()
+	 */
+	long getOffHeapBytes();
+
+	/**
+	 * @see INodePtrTable#getDiskBytes()
+	 */
+	long getDiskBytes();
+
+	/**
+	 * @see INodePtrTable#close()
+	 */
+	void close();
+
+	String toDotViz();
+}
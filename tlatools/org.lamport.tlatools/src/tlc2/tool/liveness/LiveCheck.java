@@ -329,10 +329,13 @@ public class LiveCheck implements ILiveCheck {
 			System.exit(1);
 		}
 		
-		// Reset after checking unless it's the final check:
+		// Reset after checking unless it's the final check or the SCC search has
+		// not replaced locations with links:
 		if (finalCheck == false) {
 			for (int i = 0; i < checker.length; i++) {
-				checker[i].getDiskGraph().makeNodePtrTbl();
+				if (checker[i].getDiskGraph().isLinked()) {
+					checker[i].getDiskGraph().makeNodePtrTbl();
+				}
 			}
 		}
 		MP.printMessage(EC.TLC_CHECKING_TEMPORAL_PROPS_END, TLC.convertRuntimeToHumanReadable(System.currentTimeMillis() - startTime));
@@ -546,7 +549,31 @@ public class LiveCheck implements ILiveCheck {
 			// if there is no tableau ...
 			final int succCnt = nextStates.size();
 			final int alen = oos.getCheckAction().length;
-			synchronized (oos) {
+			if (writer.isNoop()) {
+				// In the common case, s0 has not been added to the behavior graph
+				// before (BFS explores each state exactly once). Thus, build
+				// node0 and its transitions without holding any lock and only
+				// append it to the graph atomically. There is no need to look up
+				// the successors' ptrs: With a fresh node0, transExists is false
+				// for all (distinct) successors in nextStates. If another worker
+				// (simulation) or an earlier call (DFID) added s0 already, fall
+				// through to the lookup & merge below.
+				final GraphNode node0 = new GraphNode(fp0, -1);
+				node0.setCheckState(checkStateResults);
+				for (int sidx = 0; sidx < succCnt; sidx++) {
+					final long successor = nextStates.next().fingerPrint();
+					node0.addTransition(successor, -1, checkStateResults.length, alen, checkActionResults,
+							sidx * alen, succCnt - sidx);
+				}
+				nextStates.resetNext();
+				node0.realign(); // see node0.addTransition() hint
+				if (dgraph.addNewNode(node0)) {
+					return;
+				}
+			}
+			// The graph's monitor (rather than oos) also protects the node ptr
+			// table from concurrent addNewNode calls above.
+			synchronized (dgraph) {
 				final GraphNode node0 = dgraph.getNode(fp0);
 				final int s = node0.succSize();
 				node0.setCheckState(checkStateResults);
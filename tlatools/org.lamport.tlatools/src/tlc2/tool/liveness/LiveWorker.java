@@ -49,6 +49,23 @@ public class LiveWorker implements Callable<Boolean> {
 	 */
 	private static final long SCC_MARKER = -42L;
 
+	/**
+	 * Iff true, the SCCs are searched by a {@link ParallelSccSearch} if TLC runs
+	 * with more workers than there are LiveWorkers and the graph fits into memory.
+	 * Off by default, because the parallel search might report another
+	 * counter-example than the sequential one.
+	 */
+	private static final boolean PARALLEL_SCC = Boolean.getBoolean(LiveWorker.class.getName() + ".parallelScc");
+
+	/**
+	 * Iff true, the SCCs are searched incrementally by a {@link ParallelSccSearch}
+	 * (if the part to search fits into memory): Each check skips the nodes whose
+	 * SCCs were already final at the previous check of the graph, i.e. a periodic
+	 * check only reads and searches the part of the graph that has changed since
+	 * the previous one.
+	 */
+	private static final boolean INCREMENTAL = Boolean.getBoolean(LiveWorker.class.getName() + ".incremental");
+
 	public static final IBucketStatistics STATS = new BucketStatistics("Histogram SCC sizes", LiveWorker.class
 			.getPackage().getName(), "StronglyConnectedComponent sizes");
 	
@@ -82,7 +99,7 @@ public class LiveWorker implements Callable<Boolean> {
 	/**
 	 * Returns true iff an error has already been found.
 	 */
-	private static boolean hasErrFound() {
+	static boolean hasErrFound() {
 		synchronized (workerLock) {
 			return (errFoundByThread != -1);
 		}
@@ -138,6 +155,9 @@ public class LiveWorker implements Callable<Boolean> {
 	 * checkSccs runs on a partial graph. Thus some nodes are marked undone.
 	 * Those nodes are skipped by the SCC search.</li>
 	 * </ul>
+	 * If more threads are available or checking is incremental, the SCCs are
+	 * found by a {@link ParallelSccSearch} instead (see
+	 * {@link #getSccParallelism()}).
 	 * @throws ExecutionException 
 	 * @throws InterruptedException 
 	 * 
@@ -147,9 +167,25 @@ public class LiveWorker implements Callable<Boolean> {
 	 * 
 	 */
 	private final void checkSccs(final ITool tool) throws IOException, InterruptedException, ExecutionException {
+		final ParallelSccSearch.Frontier frontier = INCREMENTAL ? this.dg.getFrontier(this.pem) : null;
+		final int parallelism = getSccParallelism(frontier);
+		if (parallelism > 0) {
+			// ParallelSccSearch only reads locations from the node-pointer table, which
+			// is thus up to date unless a sequential search has replaced them. Not
+			// re-making it keeps an incremental search independent of the graph size.
+			if (this.dg.isLinked()) {
+				this.dg.makeNodePtrTbl();
+			}
+			new ParallelSccSearch(this.dg, this.oos.getCheckState().length, this.oos.getCheckAction().length,
+					this.pem.EAAction, parallelism, frontier,
+					(state, tidx, com) -> this.checkComponent(tool, state, tidx, com)).run();
+			return;
+		}
+
 		// Initialize this.dg:
 		this.dg.makeNodePtrTbl();
-		
+		this.dg.markLinked();
+
 		// Initialize nodeQueue with initial states. The initial states stored 
 		// separately in the DiskGraph are resolved to their pointer location
 		// in the on-disk part of the DiskGraph.
@@ -473,6 +509,34 @@ public class LiveWorker implements Callable<Boolean> {
 		assert comStack.size() == 0;
 	}
 
+	/**
+	 * @return The number of threads with which a {@link ParallelSccSearch}
+	 *         searches the SCCs of this.dg, which is the share of TLC's workers
+	 *         of this LiveWorker. 0 if the SCCs are searched sequentially because
+	 *         the search would neither be parallel nor incremental, or the graph
+	 *         (the frontier if incremental) does not fit into (this LiveWorker's
+	 *         share of) the free memory.
+	 */
+	private int getSccParallelism(final ParallelSccSearch.Frontier frontier) throws IOException {
+		final int parallelism = PARALLEL_SCC && !TLCGlobals.doSequentialLiveness()
+				? Math.max(1, TLCGlobals.getNumWorkers() / numWorkers)
+				: 1;
+		if (parallelism <= 1 && frontier == null) {
+			return 0;
+		}
+		// An incremental search only reads the frontier, i.e. the part of the graph
+		// that has changed since the previous search.
+		final long maxNodes = frontier != null ? frontier.getMaxNodes(this.dg) : ParallelSccSearch.getMaxNodes(this.dg);
+		if (maxNodes >= (1 << 29)) {
+			return 0;
+		}
+		final long requiredMemory = frontier != null ? frontier.getRequiredMemory(this.dg)
+				: ParallelSccSearch.getRequiredMemory(this.dg);
+		final Runtime runtime = Runtime.getRuntime();
+		final long freeMemory = runtime.maxMemory() - (runtime.totalMemory() - runtime.freeMemory());
+		return requiredMemory < freeMemory / (2L * numWorkers) ? parallelism : 0;
+	}
+
 	private IntStack getStack(final String metaDir, final String name) throws IOException {
 		// It is unlikely that the stacks will fit into memory if the
 		// size of the behavior graph is larger relative to the available
@@ -582,7 +646,17 @@ public class LiveWorker implements Callable<Boolean> {
 		// Just parameter node in com OR com subset of comStack
 		assert com.size() <= (comStackSize / 5);
 
-		STATS.addSample(com.size());
+		return checkComponent(tool, state, tidx, com);
+	}
+
+	/**
+	 * Checks the component com whose "starting" state is <<state, tidx>> (see
+	 * printTrace).
+	 */
+	private boolean checkComponent(final ITool tool, final long state, final int tidx, final TableauNodePtrTable com) throws IOException, InterruptedException, ExecutionException {
+		synchronized (STATS) {
+			STATS.addSample(com.size());
+		}
 
 		// Check this component:
 		final int slen = this.oos.getCheckState().length;
@@ -616,10 +690,10 @@ public class LiveWorker implements Callable<Boolean> {
 				continue;
 			}
 
-			state1 = TableauNodePtrTable.getKey(nodes);
+			final long state1 = TableauNodePtrTable.getKey(nodes);
 			for (int nidx = 2; nidx < nodes.length; nidx += com.getElemLength()) { // nidx starts with 2 because [0][1] are the long fingerprint state1. 
-				tidx1 = TableauNodePtrTable.getTidx(nodes, nidx);
-				loc1 = TableauNodePtrTable.getElem(nodes, nidx);
+				final int tidx1 = TableauNodePtrTable.getTidx(nodes, nidx);
+				final long loc1 = TableauNodePtrTable.getElem(nodes, nidx);
 
 				final GraphNode curNode = this.dg.getNode(state1, tidx1, loc1);
 
@@ -1277,6 +1351,7 @@ public class LiveWorker implements Callable<Boolean> {
 			this.oos = checker.getSolution();
 			this.dg = checker.getDiskGraph();
 			this.dg.createCache();
+			this.dg.mapNodes();
 			PossibleErrorModel[] pems = this.oos.getPems();
 			for (int i = 0; i < pems.length; i++) {
 				if (!hasErrFound()) {
@@ -1284,6 +1359,7 @@ public class LiveWorker implements Callable<Boolean> {
 					this.checkSccs(tool);
 				}
 			}
+			this.dg.unmapNodes();
 			this.dg.destroyCache();
 			// Record the size of the disk graph at the time its checked. This
 			// information is later used to decide if it it makes sense to
@@ -0,0 +1,168 @@
+/*******************************************************************************
+ * Copyright (c) 2026 The Linux Foundation. All rights reserved.
+ *
+ * The MIT License (MIT)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ * of the Software, and to permit persons to whom the Software is furnished to do
+ * so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN
+ * AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ ******************************************************************************/
+package tlc2.tool.liveness;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+import tlc2.util.BufferedRandomAccessFile;
+
+/**
+ * A read-only view of the first <code>length</code> bytes of one of the
+ * {@link AbstractDiskGraph}'s files. The file is mapped into memory in segments
+ * (of 1 GiB by default) because a single mapping is limited to 2^31 bytes.
+ * Reads use absolute positions only and never modify the mapped buffers.
+ * Therefore, any number of threads can read concurrently without locking, and
+ * the OS page cache holds the hot parts of the file.
+ * <p>
+ * The file format is the one written by {@link BufferedRandomAccessFile} (see
+ * {@link AbstractDiskGraph#addNode(GraphNode)}). Since the files are
+ * append-only, a mapping remains valid while nodes are appended to the file
+ * after it has been created. Those nodes are not visible, though (see
+ * {@link #contains(long)}).
+ */
+final class MappedGraphFile {
+
+	private final int logSegment;
+	private final long segmentMask;
+
+	private final ByteBuffer[] segments;
+	private final long length;
+
+	MappedGraphFile(final String fname, final long length) throws IOException {
+		this(fname, length, 30);
+	}
+
+	MappedGraphFile(final String fname, final long length, final int logSegment) throws IOException {
+		this.length = length;
+		this.logSegment = logSegment;
+		this.segmentMask = (1L << logSegment) - 1L;
+		this.segments = new ByteBuffer[(int) ((length + segmentMask) >>> logSegment)];
+		try (FileChannel channel = FileChannel.open(Paths.get(fname), StandardOpenOption.READ)) {
+			for (int i = 0; i < segments.length; i++) {
+				final long start = (long) i << logSegment;
+				// A mapping remains valid after its channel has been closed. It is
+				// released when the buffer gets garbage collected.
+				segments[i] = channel.map(MapMode.READ_ONLY, start, Math.min(segmentMask + 1L, length - start));
+			}
+		}
+	}
+
+	/**
+	 * @return true iff the record at the given file pointer has been written
+	 *         before this file was mapped.
+	 */
+	boolean contains(final long ptr) {
+		return 0 <= ptr && ptr < this.length;
+	}
+
+	long length() {
+		return this.length;
+	}
+
+	/**
+	 * @see AbstractDiskGraph#readNode(BufferedRandomAccessFile, long, int, long)
+	 */
+	GraphNode readNode(final long stateFP, final int tidx, final long ptr) {
+		final GraphNode gnode = new GraphNode(stateFP, tidx);
+		gnode.read(new Cursor(ptr));
+		return gnode;
+	}
+
+	/**
+	 * A sequential reader starting at a given position. Values that straddle two
+	 * segments are assembled byte-wise.
+	 */
+	final class Cursor {
+
+		private long position;
+
+		Cursor(final long position) {
+			this.position = position;
+		}
+
+		byte readByte() {
+			final byte b = segments[(int) (position >>> logSegment)].get((int) (position & segmentMask));
+			position++;
+			return b;
+		}
+
+		short readShort() {
+			final ByteBuffer segment = segments[(int) (position >>> logSegment)];
+			final int offset = (int) (position & segmentMask);
+			if (offset + Short.BYTES <= segment.limit()) {
+				position += Short.BYTES;
+				return segment.getShort(offset);
+			}
+			return (short) (((readByte() & 0xff) << 8) | (readByte() & 0xff));
+		}
+
+		int readInt() {
+			final ByteBuffer segment = segments[(int) (position >>> logSegment)];
+			final int offset = (int) (position & segmentMask);
+			if (offset + Integer.BYTES <= segment.limit()) {
+				position += Integer.BYTES;
+				return segment.getInt(offset);
+			}
+			return ((readShort() & 0xffff) << 16) | (readShort() & 0xffff);
+		}
+
+		long readLong() {
+			final ByteBuffer segment = segments[(int) (position >>> logSegment)];
+			final int offset = (int) (position & segmentMask);
+			if (offset + Long.BYTES <= segment.limit()) {
+				position += Long.BYTES;
+				return segment.getLong(offset);
+			}
+			return ((long) readInt() << 32) | (readInt() & 0xffffffffL);
+		}
+
+		/**
+		 * @see BufferedRandomAccessFile#readNat()
+		 */
+		int readNat() {
+			int res = this.readShort();
+			if (res >= 0) {
+				return res;
+			}
+			res = (res << 16) | (this.readShort() & 0xffff);
+			return -res;
+		}
+
+		/**
+		 * @see BufferedRandomAccessFile#readLongNat()
+		 */
+		long readLongNat() {
+			long res = this.readInt();
+			if (res >= 0) {
+				return res;
+			}
+			res = (res << 32) | ((long) this.readInt() & 0xffffffffL);
+			return -res;
+		}
+	}
+}
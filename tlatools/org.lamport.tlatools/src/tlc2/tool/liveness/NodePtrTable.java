@@ -9,8 +9,9 @@ import tlc2.output.MP;
 
 /**
  * @see TableauNodePtrTable
+ * @see OffHeapNodePtrTable
  */
-public class NodePtrTable {
+public class NodePtrTable implements INodePtrTable {
 
 	private int count;
 	private int length;
@@ -36,7 +37,7 @@ public class NodePtrTable {
 	 * Add <k, elem> into the table. If the table has already contained k,
 	 * overwrite the old value.
 	 */
-	public final void put(long k, long elem) {
+	public void put(long k, long elem) {
 		if (this.count >= this.thresh) {
 			this.grow();
 		}
@@ -57,7 +58,7 @@ public class NodePtrTable {
 	}
 
 	/* Return k's location if the table contains k. Otherwise, return -1. */
-	public final int getLoc(long k) {
+	public int getLoc(long k) {
 		if (count >= thresh) {
 			this.grow();
 		}
@@ -74,7 +75,7 @@ public class NodePtrTable {
 	}
 
 	/* Return the value with key k. Otherwise, return -1. */
-	public final long get(long k) {
+	public long get(long k) {
 		if (count >= thresh) {
 			this.grow();
 		}
@@ -90,15 +91,15 @@ public class NodePtrTable {
 		}
 	}
 
-	public final long getByLoc(int loc) {
+	public long getByLoc(int loc) {
 		return this.elems[loc];
 	}
 
-	public final long getKeyByLoc(int loc) {
+	public long getKeyByLoc(int loc) {
 		return this.keys[loc];
 	}
 
-	public final void putByLoc(long k, long elem, int loc) {
+	public void putByLoc(long k, long elem, int loc) {
 		this.keys[loc] = k;
 		this.elems[loc] = elem;
 	}
@@ -165,11 +166,32 @@ public class NodePtrTable {
 		}
 	}
 
-	public final int size() {
+	public int size() {
 		return this.count;
 	}
 
-	public final int getSize() {
+	public int getSize() {
 		return this.length;
 	}
+
+	/* (non-Javadoc)
+	 * @see tlc2.tool.liveness.INodePtrTable#getOffHeapBytes()
+	 */
+	public long getOffHeapBytes() {
+		return 0L;
+	}
+
+	/* (non-Javadoc)
+	 * @see tlc2.tool.liveness.INodePtrTable#getDiskBytes()
+	 */
+	public long getDiskBytes() {
+		return 0L;
+	}
+
+	/* (non-Javadoc)
+	 * @see tlc2.tool.liveness.INodePtrTable#close()
+	 */
+	public void close() {
+		// nop, the garbage collector takes care of the arrays.
+	}
 }
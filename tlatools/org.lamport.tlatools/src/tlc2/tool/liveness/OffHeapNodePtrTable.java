@@ -0,0 +1,328 @@
+/*******************************************************************************
+ * Copyright (c) 2026 The Linux Foundation. All rights reserved.
+ *
+ * The MIT License (MIT)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ * of the Software, and to permit persons to whom the Software is furnished to do
+ * so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN
+ * AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ ******************************************************************************/
+package tlc2.tool.liveness;
+
+import java.io.File;
+
+import tlc2.output.EC;
+import tlc2.output.MP;
+import tlc2.tool.fp.LongArray;
+
+/**
+ * An {@link INodePtrTable} whose <<key, elem>> slots live outside the Java
+ * heap in a {@link LongArray} (the same machinery the OffHeapDiskFPSet uses). With
+ * hundreds of millions of nodes, the on-heap table causes long GC pauses and
+ * requires the heap to hold the old and the new arrays while it doubles.
+ * <p>
+ * Contrary to {@link NodePtrTable}, a resize does not rehash all slots at once.
+ * Instead, the old slots are migrated {@link #MIGRATE_STEP} at a time by
+ * subsequent calls to {@link #put(long, long)}, while lookups consult the new
+ * and then the old slots. Operations that expose slot locations
+ * ({@link #getLoc(long)} and friends) first complete a pending migration,
+ * because locations have to be stable in between puts.
+ * <p>
+ * If the table would exceed <code>maxMemory</code> bytes or the direct memory
+ * cannot be allocated, the slots are spilled to a memory-mapped file in the
+ * given directory instead (see {@link OffHeapSlots}). The OS then pages the
+ * table in and out.
+ * <p>
+ * Like {@link NodePtrTable}, this table is not thread-safe.
+ */
+public class OffHeapNodePtrTable implements INodePtrTable {
+
+	/**
+	 * Number of old slots migrated per {@link #put(long, long)}. Has to be at
+	 * least two for the migration to complete before the new slots reach the
+	 * load threshold.
+	 */
+	static final int MIGRATE_STEP = 64;
+
+	/**
+	 * An empty slot has its elem set to -1, i.e. all bits set.
+	 */
+	private static final long EMPTY = -1L;
+
+	private final File spillDir;
+	private final long maxMemory;
+
+	private int count;
+	private int length;
+	private int thresh;
+	private OffHeapSlots slots;
+
+	/**
+	 * The slots of the table before the pending resize, or null if there is no
+	 * resize in progress. All slots below migrated have been copied to slots.
+	 */
+	private OffHeapSlots old;
+	private int oldLength;
+	private int migrated;
+
+	/**
+	 * @param spillDir
+	 *            The directory of the spill files or null to never spill.
+	 * @param maxMemory
+	 *            The maximum number of bytes of direct memory of this table
+	 *            before it spills to disk.
+	 */
+	public OffHeapNodePtrTable(final int size, final String spillDir, final long maxMemory) {
+		this.spillDir = spillDir != null ? new File(spillDir) : null;
+		this.maxMemory = maxMemory;
+		this.count = 0;
+		this.length = size;
+		this.thresh = (int) (size * 0.75);
+		this.slots = allocate(size);
+	}
+
+	/* (non-Javadoc)
+	 * @see tlc2.tool.liveness.INodePtrTable#put(long, long)
+	 */
+	public void put(final long k, final long elem) {
+		if (this.count >= this.thresh) {
+			if (this.old != null) {
+				// The migration did not keep up, complete it first.
+				migrate(this.oldLength);
+			}
+			if (this.count >= this.thresh) {
+				beginResize();
+			}
+		}
+		if (this.old != null) {
+			migrate(MIGRATE_STEP);
+		}
+		final int loc = find(this.slots, this.length, k);
+		if (loc >= 0) {
+			this.slots.set(elemPos(loc), elem);
+			return;
+		}
+		if (this.old != null) {
+			// A key that has not been migrated yet is updated in place (and
+			// migrated later).
+			final int oloc = find(this.old, this.oldLength, k);
+			if (oloc >= 0) {
+				this.old.set(elemPos(oloc), elem);
+				return;
+			}
+		}
+		set(this.slots, -loc - 1, k, elem);
+		this.count++;
+	}
+
+	/* (non-Javadoc)
+	 * @see tlc2.tool.liveness.INodePtrTable#get(long)
+	 */
+	public long get(final long k) {
+		final int loc = find(this.slots, this.length, k);
+		if (loc >= 0) {
+			return this.slots.get(elemPos(loc));
+		}
+		if (this.old != null) {
+			final int oloc = find(this.old, this.oldLength, k);
+			if (oloc >= 0) {
+				return this.old.get(elemPos(oloc));
+			}
+		}
+		return EMPTY;
+	}
+
+	/* (non-Javadoc)
+	 * @see tlc2.tool.liveness.INodePtrTable#getLoc(long)
+	 */
+	public int getLoc(final long k) {
+		settle();
+		final int loc = find(this.slots, this.length, k);
+		return loc >= 0 ? loc : -1;
+	}
+
+	/* (non-Javadoc)
+	 * @see tlc2.tool.liveness.INodePtrTable#getByLoc(int)
+	 */
+	public long getByLoc(final int loc) {
+		return this.slots.get(elemPos(loc));
+	}
+
+	/* (non-Javadoc)
+	 * @see tlc2.tool.liveness.INodePtrTable#getKeyByLoc(int)
+	 */
+	public long getKeyByLoc(final int loc) {
+		return this.slots.get(keyPos(loc));
+	}
+
+	/* (non-Javadoc)
+	 * @see tlc2.tool.liveness.INodePtrTable#putByLoc(long, long, int)
+	 */
+	public void putByLoc(final long k, final long elem, final int loc) {
+		set(this.slots, loc, k, elem);
+	}
+
+	/* (non-Javadoc)
+	 * @see tlc2.tool.liveness.INodePtrTable#resetElems()
+	 */
+	public void resetElems() {
+		settle();
+		for (int i = 0; i < this.length; i++) {
+			this.slots.set(elemPos(i), this.slots.get(elemPos(i)) & 0x7FFFFFFFFFFFFFFFL);
+		}
+	}
+
+	/* (non-Javadoc)
+	 * @see tlc2.tool.liveness.INodePtrTable#size()
+	 */
+	public int size() {
+		return this.count;
+	}
+
+	/* (non-Javadoc)
+	 * @see tlc2.tool.liveness.INodePtrTable#getSize()
+	 */
+	public int getSize() {
+		return this.length;
+	}
+
+	/* (non-Javadoc)
+	 * @see tlc2.tool.liveness.INodePtrTable#getOffHeapBytes()
+	 */
+	public long getOffHeapBytes() {
+		return bytes(false);
+	}
+
+	/* (non-Javadoc)
+	 * @see tlc2.tool.liveness.INodePtrTable#getDiskBytes()
+	 */
+	public long getDiskBytes() {
+		return bytes(true);
+	}
+
+	/**
+	 * @return true iff a resize is in progress.
+	 */
+	boolean isResizing() {
+		return this.old != null;
+	}
+
+	/* (non-Javadoc)
+	 * @see tlc2.tool.liveness.INodePtrTable#close()
+	 */
+	public void close() {
+		if (this.old != null) {
+			this.old.free();
+			this.old = null;
+		}
+		if (this.slots != null) {
+			this.slots.free();
+			this.slots = null;
+		}
+	}
+
+	private long bytes(final boolean onDisk) {
+		long bytes = 0L;
+		final OffHeapSlots s = this.slots;
+		if (s != null && s.isOnDisk() == onDisk) {
+			bytes += s.bytes();
+		}
+		final OffHeapSlots o = this.old;
+		if (o != null && o.isOnDisk() == onDisk) {
+			bytes += o.bytes();
+		}
+		return bytes;
+	}
+
+	/* Complete a pending resize and grow if the table is full by the threshold. */
+	private void settle() {
+		if (this.old != null) {
+			migrate(this.oldLength);
+		}
+		if (this.count >= this.thresh) {
+			beginResize();
+			migrate(this.oldLength);
+		}
+	}
+
+	private void beginResize() {
+		assert this.old == null;
+		if (this.length == Integer.MAX_VALUE) {
+			MP.printError(EC.SYSTEM_OUT_OF_MEMORY_LIVENESS);
+			System.exit(1);
+		}
+		final int newLength = this.length >= (Integer.MAX_VALUE >> 1) ? Integer.MAX_VALUE : 2 * this.length + 1;
+		final OffHeapSlots next = allocate(newLength);
+		this.old = this.slots;
+		this.oldLength = this.length;
+		this.migrated = 0;
+		this.slots = next;
+		this.length = newLength;
+		this.thresh = (int) (newLength * 0.75);
+	}
+
+	private void migrate(final int n) {
+		final int end = (int) Math.min(this.oldLength, (long) this.migrated + n);
+		for (; this.migrated < end; this.migrated++) {
+			final long elem = this.old.get(elemPos(this.migrated));
+			if (elem != EMPTY) {
+				final long k = this.old.get(keyPos(this.migrated));
+				final int loc = find(this.slots, this.length, k);
+				// A key is never in both the old and the new slots (see put).
+				assert loc < 0;
+				set(this.slots, -loc - 1, k, elem);
+			}
+		}
+		if (this.migrated == this.oldLength) {
+			this.old.free();
+			this.old = null;
+		}
+	}
+
+	/*
+	 * Return k's location if the slots contain k. Otherwise, return -(loc + 1)
+	 * where loc is the empty slot at which k would be inserted.
+	 */
+	private static int find(final OffHeapSlots s, final int length, final long k) {
+		int loc = ((int) k & 0x7FFFFFFF) % length;
+		while (true) {
+			if (s.get(elemPos(loc)) == EMPTY) {
+				return -loc - 1;
+			}
+			if (s.get(keyPos(loc)) == k) {
+				return loc;
+			}
+			loc = (loc + 1) % length;
+		}
+	}
+
+	private static void set(final OffHeapSlots s, final int loc, final long k, final long elem) {
+		s.set(keyPos(loc), k);
+		s.set(elemPos(loc), elem);
+	}
+
+	private static long keyPos(final int loc) {
+		return 2L * loc;
+	}
+
+	private static long elemPos(final int loc) {
+		return 2L * loc + 1L;
+	}
+
+	private OffHeapSlots allocate(final int length) {
+		return OffHeapSlots.allocate(2L * length, bytes(false), this.maxMemory, this.spillDir);
+	}
+}
@@ -0,0 +1,175 @@
+/*******************************************************************************
+ * Copyright (c) 2026 The Linux Foundation. All rights reserved.
+ *
+ * The MIT License (MIT)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ * of the Software, and to permit persons to whom the Software is furnished to do
+ * so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN
+ * AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ ******************************************************************************/
+package tlc2.tool.liveness;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.LongBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+
+import tlc2.output.EC;
+import tlc2.output.MP;
+import tlc2.tool.fp.LongArray;
+import util.Assert;
+
+/**
+ * The positions of an off-heap node table ({@link OffHeapNodePtrTable} and
+ * {@link OffHeapTableauNodePtrTable}). Positions are either kept in direct
+ * memory ({@link LongArray}) or in a memory-mapped spill file. Initially, all
+ * positions are -1, i.e. all bits set.
+ */
+abstract class OffHeapSlots {
+
+	abstract long get(long position);
+
+	abstract void set(long position, long value);
+
+	abstract long bytes();
+
+	abstract boolean isOnDisk();
+
+	abstract void free();
+
+	/**
+	 * @param inMemory
+	 *            The bytes of direct memory the table already holds.
+	 * @param maxMemory
+	 *            The maximum number of bytes of direct memory of the table
+	 *            before it spills to disk.
+	 * @param spillDir
+	 *            The directory of the spill files or null to never spill.
+	 */
+	static OffHeapSlots allocate(final long positions, final long inMemory, final long maxMemory,
+			final File spillDir) {
+		if (inMemory + (positions << 3) <= maxMemory) {
+			try {
+				return new Memory(positions);
+			} catch (OutOfMemoryError e) {
+				if (spillDir == null) {
+					MP.printError(EC.SYSTEM_OUT_OF_MEMORY, e);
+					System.exit(1);
+				}
+			}
+		}
+		if (spillDir == null) {
+			MP.printError(EC.SYSTEM_OUT_OF_MEMORY_LIVENESS);
+			System.exit(1);
+		}
+		return new Disk(spillDir, positions);
+	}
+
+	private static final class Memory extends OffHeapSlots {
+
+		private final LongArray array;
+
+		Memory(final long positions) {
+			this.array = new LongArray(positions);
+			// All bits set marks each slot empty.
+			this.array.fill((byte) 0xFF);
+		}
+
+		long get(final long position) {
+			return this.array.get(position);
+		}
+
+		void set(final long position, final long value) {
+			this.array.set(position, value);
+		}
+
+		long bytes() {
+			return this.array.size() << 3;
+		}
+
+		boolean isOnDisk() {
+			return false;
+		}
+
+		void free() {
+			this.array.free();
+		}
+	}
+
+	/**
+	 * Slots in a memory-mapped file. A single mapping is limited to 2^31 bytes,
+	 * thus the file is mapped in segments of 2^27 positions.
+	 */
+	private static final class Disk extends OffHeapSlots {
+
+		private static final int LOG_SEGMENT = 27;
+		private static final long SEGMENT_MASK = (1L << LOG_SEGMENT) - 1L;
+
+		private final File file;
+		private final long positions;
+		private final LongBuffer[] segments;
+
+		Disk(final File dir, final long positions) {
+			this.positions = positions;
+			this.segments = new LongBuffer[(int) ((positions + SEGMENT_MASK) >>> LOG_SEGMENT)];
+			File f = null;
+			try {
+				f = File.createTempFile("nodeptrtbl", ".spill", dir);
+				f.deleteOnExit();
+				try (RandomAccessFile raf = new RandomAccessFile(f, "rw"); FileChannel channel = raf.getChannel()) {
+					raf.setLength(positions << 3);
+					for (int i = 0; i < this.segments.length; i++) {
+						final long start = (long) i << LOG_SEGMENT;
+						final long size = Math.min(SEGMENT_MASK + 1L, positions - start);
+						// A mapping remains valid after its channel has been closed.
+						this.segments[i] = channel.map(MapMode.READ_WRITE, start << 3, size << 3).asLongBuffer();
+						for (int j = 0; j < size; j++) {
+							this.segments[i].put(j, -1L);
+						}
+					}
+				}
+			} catch (IOException e) {
+				Assert.fail(EC.SYSTEM_DISK_IO_ERROR_FOR_FILE, f != null ? f.getAbsolutePath() : dir.getAbsolutePath());
+			}
+			this.file = f;
+		}
+
+		long get(final long position) {
+			return this.segments[(int) (position >>> LOG_SEGMENT)].get((int) (position & SEGMENT_MASK));
+		}
+
+		void set(final long position, final long value) {
+			this.segments[(int) (position >>> LOG_SEGMENT)].put((int) (position & SEGMENT_MASK), value);
+		}
+
+		long bytes() {
+			return this.positions << 3;
+		}
+
+		boolean isOnDisk() {
+			return true;
+		}
+
+		void free() {
+			// The mappings are released when the buffers get garbage collected.
+			// Until then, deleting the file fails on some platforms, which is
+			// why it is also marked deleteOnExit.
+			this.file.delete();
+		}
+	}
+}
@@ -0,0 +1,414 @@
+/*******************************************************************************
+ * Copyright (c) 2026 The Linux Foundation. All rights reserved.
+ *
+ * The MIT License (MIT)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ * of the Software, and to permit persons to whom the Software is furnished to do
+ * so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN
+ * AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ ******************************************************************************/
+package tlc2.tool.liveness;
+
+import java.io.File;
+
+import tlc2.output.EC;
+import tlc2.output.MP;
+import tlc2.tool.fp.LongArray;
+
+/**
+ * An {@link ITableauNodePtrTable} whose nodes live outside the Java heap in a
+ * {@link LongArray} or, beyond <code>maxMemory</code> bytes, in a spill file
+ * (see {@link OffHeapSlots}).
+ * <p>
+ * Contrary to {@link TableauNodePtrTable}, which keeps an int[] per
+ * fingerprint, each <<fp, tidx, elem>> record occupies a slot of its own:
+ * 
+ * <pre>
+ *	+---------------------------------+
+ *	| 64 bit key (fp)                 |
+ *	+---------------------------------+
+ *	| 32 bit tidx (zero-extended)     |
+ *	+---------------------------------+
+ *	| 64 bit elem                     |
+ *	+---------------------------------+
+ * </pre>
+ * 
+ * An empty slot has its tidx set to -1, i.e. all bits set. The records of a
+ * fingerprint are found by linear probing from the fingerprint's hash up to
+ * the next empty slot in the order they have been added. Thus, the first
+ * record of a fingerprint plays the role of node[3] in
+ * {@link TableauNodePtrTable#isDone(long)}. If
+ * {@link #setDone(long)} is called before any put for a fingerprint, a header
+ * record with tidx {@link #HEADER} is created instead of an int[2] node.
+ * <p>
+ * {@link #getNodesByLoc(int)} returns a copy in {@link TableauNodePtrTable}'s
+ * format. This is sufficient because the {@link TableauDiskGraph} only reads
+ * the nodes returned by it. The SCC search and the error trace
+ * reconstruction keep their own (on-heap) tables.
+ * <p>
+ * Growing the table rehashes all records at once. Like
+ * {@link TableauNodePtrTable}, this table is not thread-safe.
+ */
+public class OffHeapTableauNodePtrTable implements ITableauNodePtrTable {
+
+	/**
+	 * The tidx of the header record created by {@link #setDone(long)}.
+	 */
+	static final int HEADER = Integer.MIN_VALUE;
+
+	private static final long HEADER_TIDX = HEADER & 0xFFFFFFFFL;
+
+	private static final long EMPTY = -1L;
+
+	private static final int SLOT = 3;
+
+	private final File spillDir;
+	private final long maxMemory;
+
+	/**
+	 * The number of fingerprints in this table.
+	 */
+	private int count;
+	/**
+	 * The number of records (non-empty slots) in this table.
+	 */
+	private int used;
+	private int length;
+	private int thresh;
+	private OffHeapSlots slots;
+
+	/**
+	 * @param spillDir
+	 *            The directory of the spill files or null to never spill.
+	 * @param maxMemory
+	 *            The maximum number of bytes of direct memory of this table
+	 *            before it spills to disk.
+	 */
+	public OffHeapTableauNodePtrTable(final int size, final String spillDir, final long maxMemory) {
+		this.spillDir = spillDir != null ? new File(spillDir) : null;
+		this.maxMemory = maxMemory;
+		this.count = 0;
+		this.used = 0;
+		this.length = size;
+		this.thresh = (int) (size * 0.75);
+		this.slots = allocate(size, 0L);
+	}
+
+	/* (non-Javadoc)
+	 * @see tlc2.tool.liveness.ITableauNodePtrTable#get(long, int)
+	 */
+	public long get(final long k, final int tidx) {
+		assert tidx >= -1;
+		final long t = tidx & 0xFFFFFFFFL;
+		int loc = hash(k, this.length);
+		while (true) {
+			final long ltidx = this.slots.get(tidxPos(loc));
+			if (ltidx == EMPTY) {
+				return -1;
+			}
+			if (ltidx == t && this.slots.get(keyPos(loc)) == k) {
+				return this.slots.get(elemPos(loc));
+			}
+			loc = (loc + 1) % this.length;
+		}
+	}
+
+	/* (non-Javadoc)
+	 * @see tlc2.tool.liveness.ITableauNodePtrTable#put(long, int)
+	 */
+	public void put(final long k, final int tidx) {
+		put(k, tidx, TableauNodePtrTable.UNDONE, TableauNodePtrTable.DONE);
+	}
+
+	/* (non-Javadoc)
+	 * @see tlc2.tool.liveness.ITableauNodePtrTable#put(long, int, long)
+	 */
+	public void put(final long k, final int tidx, final long elem) {
+		put(k, tidx, elem, elem);
+	}
+
+	/*
+	 * Same as TableauNodePtrTable#put(long, int, long, long): addElem is used for
+	 * a new fingerprint or an existing <k, tidx>, newElem for a new tidx of an
+	 * existing fingerprint.
+	 */
+	private void put(final long k, final int tidx, final long addElem, final long newElem) {
+		assert tidx >= -1;
+		if (this.used >= this.thresh) {
+			this.grow();
+		}
+		final long t = tidx & 0xFFFFFFFFL;
+		boolean hasKey = false;
+		int loc = hash(k, this.length);
+		while (true) {
+			final long ltidx = this.slots.get(tidxPos(loc));
+			if (ltidx == EMPTY) {
+				set(this.slots, loc, k, t, hasKey ? newElem : addElem);
+				this.used++;
+				if (!hasKey) {
+					this.count++;
+				}
+				return;
+			}
+			if (this.slots.get(keyPos(loc)) == k) {
+				if (ltidx == t) {
+					this.slots.set(elemPos(loc), addElem);
+					return;
+				}
+				hasKey = true;
+			}
+			loc = (loc + 1) % this.length;
+		}
+	}
+
+	/* (non-Javadoc)
+	 * @see tlc2.tool.liveness.ITableauNodePtrTable#isDone(long)
+	 */
+	public boolean isDone(final long k) {
+		boolean hasKey = false;
+		int loc = hash(k, this.length);
+		while (true) {
+			final long ltidx = this.slots.get(tidxPos(loc));
+			if (ltidx == EMPTY) {
+				// Only a header (or nothing) has been found.
+				return hasKey;
+			}
+			if (this.slots.get(keyPos(loc)) == k) {
+				if (ltidx != HEADER_TIDX) {
+					// see TableauNodePtrTable#isDone
+					return (int) (this.slots.get(elemPos(loc)) >> 32) != -2;
+				}
+				hasKey = true;
+			}
+			loc = (loc + 1) % this.length;
+		}
+	}
+
+	/* (non-Javadoc)
+	 * @see tlc2.tool.liveness.ITableauNodePtrTable#setDone(long)
+	 */
+	public int setDone(final long k) {
+		if (this.used >= this.thresh) {
+			this.grow();
+		}
+		int first = -1;
+		int loc = hash(k, this.length);
+		while (true) {
+			final long ltidx = this.slots.get(tidxPos(loc));
+			if (ltidx == EMPTY) {
+				if (first == -1) {
+					set(this.slots, loc, k, HEADER_TIDX, EMPTY);
+					this.used++;
+					this.count++;
+					return loc;
+				}
+				return first;
+			}
+			if (this.slots.get(keyPos(loc)) == k) {
+				if (first == -1) {
+					first = loc;
+				}
+				if (ltidx != HEADER_TIDX) {
+					final long elem = this.slots.get(elemPos(loc));
+					if ((int) (elem >> 32) == -2) {
+						// Set the high-order bits to -3 (see TableauNodePtrTable#setDone).
+						this.slots.set(elemPos(loc), (TableauNodePtrTable.DONE & 0xFFFFFFFF00000000L)
+								| (elem & 0xFFFFFFFFL));
+					}
+					return first;
+				}
+			}
+			loc = (loc + 1) % this.length;
+		}
+	}
+
+	/* (non-Javadoc)
+	 * @see tlc2.tool.liveness.ITableauNodePtrTable#getNodesByLoc(int)
+	 */
+	public int[] getNodesByLoc(final int loc) {
+		if (this.slots.get(tidxPos(loc)) == EMPTY) {
+			return null;
+		}
+		final long k = this.slots.get(keyPos(loc));
+		// loc is the first slot of k, thus all of k's records are between loc
+		// and the next empty slot.
+		int records = 0;
+		for (int i = loc; this.slots.get(tidxPos(i)) != EMPTY; i = (i + 1) % this.length) {
+			if (this.slots.get(keyPos(i)) == k && this.slots.get(tidxPos(i)) != HEADER_TIDX) {
+				records++;
+			}
+		}
+		final int[] node = new int[2 + records * getElemLength()];
+		node[0] = (int) (k >>> 32);
+		node[1] = (int) (k & 0xFFFFFFFFL);
+		int j = 2;
+		for (int i = loc; j < node.length; i = (i + 1) % this.length) {
+			final long ltidx = this.slots.get(tidxPos(i));
+			if (this.slots.get(keyPos(i)) == k && ltidx != HEADER_TIDX) {
+				final long elem = this.slots.get(elemPos(i));
+				node[j] = (int) ltidx;
+				node[j + 1] = (int) (elem >>> 32);
+				node[j + 2] = (int) (elem & 0xFFFFFFFFL);
+				j += getElemLength();
+			}
+		}
+		return node;
+	}
+
+	/* (non-Javadoc)
+	 * @see tlc2.tool.liveness.ITableauNodePtrTable#getElemLength()
+	 */
+	public int getElemLength() {
+		return 3;
+	}
+
+	/* (non-Javadoc)
+	 * @see tlc2.tool.liveness.ITableauNodePtrTable#size()
+	 */
+	public int size() {
+		return this.count;
+	}
+
+	/* (non-Javadoc)
+	 * @see tlc2.tool.liveness.ITableauNodePtrTable#getSize()
+	 */
+	public int getSize() {
+		return this.length;
+	}
+
+	/* (non-Javadoc)
+	 * @see tlc2.tool.liveness.ITableauNodePtrTable#getOffHeapBytes()
+	 */
+	public long getOffHeapBytes() {
+		final OffHeapSlots s = this.slots;
+		return s != null && !s.isOnDisk() ? s.bytes() : 0L;
+	}
+
+	/* (non-Javadoc)
+	 * @see tlc2.tool.liveness.ITableauNodePtrTable#getDiskBytes()
+	 */
+	public long getDiskBytes() {
+		final OffHeapSlots s = this.slots;
+		return s != null && s.isOnDisk() ? s.bytes() : 0L;
+	}
+
+	/* (non-Javadoc)
+	 * @see tlc2.tool.liveness.ITableauNodePtrTable#close()
+	 */
+	public void close() {
+		if (this.slots != null) {
+			this.slots.free();
+			this.slots = null;
+		}
+	}
+
+	/* (non-Javadoc)
+	 * @see tlc2.tool.liveness.ITableauNodePtrTable#toDotViz()
+	 */
+	public String toDotViz() {
+		final StringBuffer sb = new StringBuffer();
+		sb.append("subgraph cluster_table {");
+		sb.append("graph[style=bold];");
+		sb.append("label = \"NodePtrTable\" style=\"solid\"\n");
+		sb.append("node [ labeljust=\"l\",shape=record ]\n");
+
+		sb.append("key [label=<<table border=\"1\" cellpadding=\"2\" cellspacing=\"0\" cellborder=\"1\">\n");
+		sb.append("<tr> "
+				+ "<td BGCOLOR=\"lightblue\">fp</td> "
+				+ "<td BGCOLOR=\"lightblue\">tid</td> "
+				+ "<td BGCOLOR=\"lightblue\">idx</td> "
+				+ "<td BGCOLOR=\"lightblue\">isDone</td> "
+				+ "<td BGCOLOR=\"lightblue\">elem</td> "
+				+ "</tr>\n");
+		for (int i = 0; i < this.length; i++) {
+			final long ltidx = this.slots.get(tidxPos(i));
+			if (ltidx != EMPTY) {
+				final long fp = this.slots.get(keyPos(i));
+				final boolean isHeader = ltidx == HEADER_TIDX;
+				sb.append(String.format("<tr> <td>%s</td> <td>%s</td> <td>%s</td> <td>%s</td> <td>%s</td> </tr>\n",
+						Long.toString(fp).substring(0, 6), isHeader ? "NA" : Integer.toString((int) ltidx), i,
+						isDone(fp), isHeader ? "NA" : Long.toString(this.slots.get(elemPos(i)))));
+			}
+		}
+		sb.append("</table>>]\n");
+
+		sb.append("}");
+
+		return sb.toString();
+	}
+
+	/* Double the table when the table is full by the threshold. */
+	private void grow() {
+		if (this.length == Integer.MAX_VALUE) {
+			MP.printError(EC.SYSTEM_OUT_OF_MEMORY_LIVENESS);
+			System.exit(1);
+		}
+		final int newLength = this.length >= (Integer.MAX_VALUE >> 1) ? Integer.MAX_VALUE : 2 * this.length + 1;
+		final OffHeapSlots old = this.slots;
+		final int oldLength = this.length;
+		final OffHeapSlots next = allocate(newLength, old.isOnDisk() ? 0L : old.bytes());
+
+		// Start right after an empty slot. This way, no probe sequence wraps
+		// around the start, and the records of a fingerprint are re-added in
+		// the order in which they have been added originally.
+		int start = 0;
+		while (old.get(tidxPos(start)) != EMPTY) {
+			start++;
+		}
+		for (int n = 1; n <= oldLength; n++) {
+			final int i = (start + n) % oldLength;
+			final long ltidx = old.get(tidxPos(i));
+			if (ltidx != EMPTY) {
+				final long k = old.get(keyPos(i));
+				int loc = hash(k, newLength);
+				while (next.get(tidxPos(loc)) != EMPTY) {
+					loc = (loc + 1) % newLength;
+				}
+				set(next, loc, k, ltidx, old.get(elemPos(i)));
+			}
+		}
+		old.free();
+		this.slots = next;
+		this.length = newLength;
+		this.thresh = (int) (newLength * 0.75);
+	}
+
+	private OffHeapSlots allocate(final int length, final long inMemory) {
+		return OffHeapSlots.allocate(SLOT * (long) length, inMemory, this.maxMemory, this.spillDir);
+	}
+
+	private static int hash(final long k, final int length) {
+		return ((int) k & 0x7FFFFFFF) % length;
+	}
+
+	private static void set(final OffHeapSlots s, final int loc, final long k, final long tidx, final long elem) {
+		s.set(keyPos(loc), k);
+		s.set(tidxPos(loc), tidx);
+		s.set(elemPos(loc), elem);
+	}
+
+	private static long keyPos(final int loc) {
+		return SLOT * (long) loc;
+	}
+
+	private static long tidxPos(final int loc) {
+		return SLOT * (long) loc + 1L;
+	}
+
+	private static long elemPos(final int loc) {
+		return SLOT * (long) loc + 2L;
+	}
+}
@@ -0,0 +1,691 @@
+/*******************************************************************************
+ * Copyright (c) 2026 The Linux Foundation. All rights reserved.
+ *
+ * The MIT License (MIT)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ * of the Software, and to permit persons to whom the Software is furnished to do
+ * so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN
+ * AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ ******************************************************************************/
+package tlc2.tool.liveness;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import tlc2.util.BufferedRandomAccessFile;
+import tlc2.util.LongVec;
+
+/**
+ * Finds the same strongly connected components (SCCs) as the sequential
+ * Tarjan in {@link LiveWorker}, but uses several threads. The SCCs are the
+ * components of the behavior graph restricted to the done nodes and to the
+ * transitions that satisfy the EAAction of a {@link PossibleErrorModel}.
+ * <p>
+ * The search proceeds in two phases:
+ * <ol>
+ * <li>The successor lists of all nodes are read from disk into memory, by
+ * several threads that each have their own reader of the node file.</li>
+ * <li>The in-memory graph is decomposed by the forward-backward algorithm with
+ * trimming. Each (sub-)partition is a task of a {@link ForkJoinPool}. A
+ * partition is first trimmed of all nodes that have no predecessor or no
+ * successor in the partition; each is a trivial SCC. The SCC of a pivot is
+ * the intersection of its forward and backward closure in the partition. The
+ * forward closure, the backward closure and the remainder (all minus the SCC)
+ * are independent partitions that are searched in parallel.</li>
+ * </ol>
+ * The in-memory graph takes about 64 bytes per node and 8 bytes per
+ * transition (see {@link #getRequiredMemory(AbstractDiskGraph)}).
+ * <p>
+ * If given a {@link Frontier}, the search is incremental: During BFS, a done
+ * node's successors never change. Thus, a node that cannot reach an undone node
+ * (via transitions that satisfy the EAAction) cannot reach any node added to
+ * the graph later. Its SCC is final, and, once checked, does not have to be
+ * searched again. The frontier keeps only the records of the other, open nodes
+ * and the length of the node-pointer file searched. A subsequent search reads
+ * only these records and the ones appended since, i.e. the part of the graph
+ * that has changed, and its cost does not depend on the size of the rest of the
+ * graph. A transition to a node not read can be ignored because that node
+ * cannot reach back.
+ * 
+ * @see http://dx.doi.org/10.1007/3-540-45591-4_68 (Fleischer, Hendrickson,
+ *      Pinar. On Identifying Strongly Connected Components in Parallel.)
+ * @see http://dx.doi.org/10.1016/j.jpdc.2005.06.011 (McLendon et al. Finding
+ *      strongly connected components in distributed graphs.)
+ */
+final class ParallelSccSearch {
+
+	@FunctionalInterface
+	interface Component {
+		/**
+		 * @return false iff the component violates liveness.
+		 * @see LiveWorker#checkComponent(tlc2.tool.ITool, long, int,
+		 *      TableauNodePtrTable)
+		 */
+		boolean check(long state, int tidx, TableauNodePtrTable com)
+				throws IOException, InterruptedException, ExecutionException;
+	}
+
+	/**
+	 * The label of the nodes that have been assigned to an SCC.
+	 */
+	private static final int DONE = -1;
+
+	/**
+	 * Partitions smaller than this are decomposed by the current thread instead of
+	 * forking a new task.
+	 */
+	private static final int FORK_THRESHOLD = 1 << 12;
+
+	/**
+	 * Upper bound on the memory required for each node and transition.
+	 */
+	private static final int BYTES_PER_NODE = 64;
+	private static final int BYTES_PER_TRANSITION = 8;
+
+	/**
+	 * A record of the node-pointer file takes at least a long and two ints (see
+	 * AbstractDiskGraph#addNode and BufferedRandomAccessFile#writeLongNat).
+	 */
+	private static final int MIN_RECORD_BYTES = Long.BYTES + 2 * Integer.BYTES;
+
+	/**
+	 * A transition takes three ints in the node file (see GraphNode#write).
+	 */
+	private static final int TRANSITION_BYTES = 3 * Integer.BYTES;
+
+	/**
+	 * The part of a graph that an incremental search has to search (see
+	 * {@link AbstractDiskGraph#getFrontier}): The records of the node-pointer file
+	 * whose SCCs are not final yet and the records appended to the file since the
+	 * previous search.
+	 */
+	static final class Frontier {
+		/* The file pointers of the records (in file order) whose SCCs are not final. */
+		private long[] openRecords = new long[0];
+		/* The number of transitions of the nodes of the open records. */
+		private long openTransitions = 0L;
+		/* The lengths of the node-pointer and node files at the previous search. */
+		private long ptrLength = 0L;
+		private long nodeLength = 0L;
+
+		/**
+		 * @return An upper bound of the number of nodes that the next search reads.
+		 */
+		long getMaxNodes(final AbstractDiskGraph dg) throws IOException {
+			return openRecords.length + (dg.nodePtrRAF.length() - ptrLength) / MIN_RECORD_BYTES;
+		}
+
+		/**
+		 * @return An upper bound of the heap memory required by the next search.
+		 */
+		long getRequiredMemory(final AbstractDiskGraph dg) throws IOException {
+			return getMaxNodes(dg) * BYTES_PER_NODE
+					+ (openTransitions + (dg.nodeRAF.length() - nodeLength) / TRANSITION_BYTES) * BYTES_PER_TRANSITION;
+		}
+	}
+
+	private final AbstractDiskGraph dg;
+	private final int slen;
+	private final int alen;
+	private final int[] eaaction;
+	private final int parallelism;
+	private final Component component;
+	/* The part of the graph to search or null to search the complete graph. */
+	private final Frontier frontier;
+	/* The lengths of the node-pointer and node files searched. */
+	private long ptrLength, nodeLength;
+	/* The file pointers of the records of undone nodes. */
+	private final LongVec undoneRecords = new LongVec();
+
+	/* The nodes of the in-memory graph. */
+	private int n;
+	private long[] fps;
+	private int[] tidxs;
+	private long[] locs;
+	/* The file pointer of the node's (first) record in the node-pointer file. */
+	private long[] records;
+	/* True iff the node can reach an undone node. */
+	private boolean[] open;
+	/* The number of the node's transitions in the node file. */
+	private int[] succSizes;
+
+	/* <<fp, tidx>> -> node; an open addressing hash table. */
+	private long[] keyFPs;
+	private int[] keyTidxs;
+	private int[] keyNodes;
+
+	/* The transitions of the in-memory graph. */
+	private int[][] succs;
+	private int[] predOffsets;
+	private int[] preds;
+
+	/* The partitions and the trimming. */
+	private int[] labels;
+	private int nextLabel;
+	private int[] inDegree;
+	private int[] outDegree;
+
+	private volatile boolean violated = false;
+
+	/**
+	 * @param frontier
+	 *            The part of the graph whose SCCs are not known to be final (see
+	 *            {@link AbstractDiskGraph#getFrontier}), or null to search the
+	 *            complete graph. Updated by {@link #run()}.
+	 */
+	ParallelSccSearch(final AbstractDiskGraph dg, final int slen, final int alen, final int[] eaaction,
+			final int parallelism, final Frontier frontier, final Component component) {
+		this.dg = dg;
+		this.slen = slen;
+		this.alen = alen;
+		this.eaaction = eaaction;
+		this.parallelism = parallelism;
+		this.frontier = frontier;
+		this.component = component;
+	}
+
+	/**
+	 * @return An upper bound of the number of nodes of the given graph. Unlike
+	 *         {@link AbstractDiskGraph#size()}, which counts fingerprints for a
+	 *         {@link TableauDiskGraph}, it counts the pairs &lt;&lt;fp,
+	 *         tidx&gt;&gt;.
+	 */
+	static long getMaxNodes(final AbstractDiskGraph dg) throws IOException {
+		return dg.nodePtrRAF.length() / MIN_RECORD_BYTES;
+	}
+
+	/**
+	 * @return An upper bound of the heap memory required to search the given
+	 *         graph, assuming that each successor record in the node file is a
+	 *         transition.
+	 */
+	static long getRequiredMemory(final AbstractDiskGraph dg) throws IOException {
+		return getMaxNodes(dg) * BYTES_PER_NODE + (dg.nodeRAF.length() / TRANSITION_BYTES) * BYTES_PER_TRANSITION;
+	}
+
+	/**
+	 * @return false iff a component violates liveness.
+	 */
+	boolean run() throws IOException, InterruptedException, ExecutionException {
+		this.dg.flushWritesToDiskFiles();
+		readNodes();
+
+		final ForkJoinPool pool = new ForkJoinPool(parallelism);
+		try {
+			pool.invoke(new ReadTransitions(0, n));
+			computePredecessors();
+
+			labels = new int[n];
+			nextLabel = 1;
+			inDegree = new int[n];
+			outDegree = new int[n];
+			final int[] all = new int[n];
+			for (int i = 0; i < n; i++) {
+				all[i] = i;
+			}
+			pool.invoke(new Decompose(0, all));
+
+			if (frontier != null && !violated) {
+				updateFrontier();
+			}
+		} catch (CompletionException e) {
+			Throwable cause = e;
+			while ((cause instanceof CompletionException || cause instanceof RuntimeException)
+					&& cause.getCause() != null) {
+				cause = cause.getCause();
+			}
+			if (cause instanceof IOException) {
+				throw (IOException) cause;
+			} else if (cause instanceof InterruptedException) {
+				throw (InterruptedException) cause;
+			} else if (cause instanceof ExecutionException) {
+				throw (ExecutionException) cause;
+			}
+			throw e;
+		} finally {
+			pool.shutdown();
+		}
+		return !violated;
+	}
+
+	/*
+	 * Assign a number to each done node (see LiveWorker#checkSccs where nodes with
+	 * a negative link are skipped) of the records to search.
+	 */
+	private void readNodes() throws IOException {
+		final int capacity = (int) Math.min(Integer.MAX_VALUE - 8,
+				frontier != null ? frontier.getMaxNodes(this.dg) : getMaxNodes(this.dg));
+		fps = new long[capacity];
+		tidxs = new int[capacity];
+		locs = new long[capacity];
+		records = new long[capacity];
+
+		final int slots = Integer.highestOneBit(Math.max(2, capacity) * 2 - 1) << 1;
+		keyFPs = new long[slots];
+		keyTidxs = new int[slots];
+		keyNodes = new int[slots];
+		Arrays.fill(keyNodes, -1);
+
+		final BufferedRandomAccessFile raf = this.dg.newNodePtrReader();
+		try {
+			nodeLength = this.dg.nodeRAF.length();
+			ptrLength = raf.length();
+			if (frontier != null) {
+				for (long record : frontier.openRecords) {
+					raf.seek(record);
+					readRecord(raf);
+				}
+				raf.seek(frontier.ptrLength);
+			}
+			while (raf.getFilePointer() < ptrLength) {
+				readRecord(raf);
+			}
+		} finally {
+			raf.close();
+		}
+		succs = new int[n][];
+		open = new boolean[n];
+		succSizes = new int[n];
+	}
+
+	private void readRecord(final BufferedRandomAccessFile raf) throws IOException {
+		final long record = raf.getFilePointer();
+		final long fp = raf.readLong();
+		final int tidx = raf.readInt();
+		raf.readLongNat();
+		// The node-pointer table has the authoritative location should a node appear
+		// more than once in the file.
+		final long loc = this.dg.getLink(fp, tidx);
+		if (loc < 0) {
+			undoneRecords.addElement(record);
+			return;
+		}
+		if (getNode(fp, tidx) != -1) {
+			return;
+		}
+		assert AbstractDiskGraph.isFilePointer(loc) && n < fps.length;
+		fps[n] = fp;
+		tidxs[n] = tidx;
+		locs[n] = loc;
+		records[n] = record;
+		putNode(fp, tidx, n++);
+	}
+
+	private static int hash(final long fp, final int tidx, final int mask) {
+		long h = (fp ^ tidx) * 0x9E3779B97F4A7C15L;
+		return (int) (h >>> 32) & mask;
+	}
+
+	private void putNode(final long fp, final int tidx, final int node) {
+		final int mask = keyNodes.length - 1;
+		int slot = hash(fp, tidx, mask);
+		while (keyNodes[slot] != -1) {
+			slot = (slot + 1) & mask;
+		}
+		keyFPs[slot] = fp;
+		keyTidxs[slot] = tidx;
+		keyNodes[slot] = node;
+	}
+
+	private int getNode(final long fp, final int tidx) {
+		final int mask = keyNodes.length - 1;
+		int slot = hash(fp, tidx, mask);
+		while (keyNodes[slot] != -1) {
+			if (keyFPs[slot] == fp && keyTidxs[slot] == tidx) {
+				return keyNodes[slot];
+			}
+			slot = (slot + 1) & mask;
+		}
+		return -1;
+	}
+
+	@SuppressWarnings("serial")
+	private final class ReadTransitions extends RecursiveAction {
+
+		private final int from;
+		private final int to;
+
+		ReadTransitions(final int from, final int to) {
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		protected void compute() {
+			if (to - from > Math.max(FORK_THRESHOLD, n / (parallelism * 4))) {
+				final int mid = (from + to) >>> 1;
+				invokeAll(new ReadTransitions(from, mid), new ReadTransitions(mid, to));
+				return;
+			}
+			// Nodes are numbered in the order of the node-pointer file, which is the
+			// order of the node file. Thus, each reader reads (mostly) forward. If the
+			// node file is mapped, all readers share the mapping instead.
+			final MappedGraphFile mapped = dg.getMappedNodes();
+			try {
+				BufferedRandomAccessFile raf = null;
+				try {
+					final int[] buf = new int[16];
+					for (int node = from; node < to; node++) {
+						final GraphNode gnode;
+						if (mapped != null && mapped.contains(locs[node])) {
+							gnode = mapped.readNode(fps[node], tidxs[node], locs[node]);
+						} else {
+							if (raf == null) {
+								raf = dg.newNodeReader();
+							}
+							gnode = AbstractDiskGraph.readNode(raf, fps[node], tidxs[node], locs[node]);
+						}
+						final int succCnt = gnode.succSize();
+						succSizes[node] = succCnt;
+						int[] succ = succCnt > buf.length ? new int[succCnt] : buf;
+						int cnt = 0;
+						for (int i = 0; i < succCnt; i++) {
+							// Skip undone successors and transitions that do not satisfy the EAAction
+							// (see LiveWorker#checkSccs).
+							final int next = getNode(gnode.getStateFP(i), gnode.getTidx(i));
+							if (gnode.getCheckAction(slen, alen, i, eaaction)) {
+								if (next != -1) {
+									succ[cnt++] = next;
+								} else if (frontier != null
+										&& dg.getLink(gnode.getStateFP(i), gnode.getTidx(i)) < 0) {
+									// An undone successor (a done successor not in the in-memory
+									// graph is final).
+									open[node] = true;
+								}
+							}
+						}
+						succs[node] = Arrays.copyOf(succ, cnt);
+					}
+				} finally {
+					if (raf != null) {
+						raf.close();
+					}
+				}
+			} catch (IOException e) {
+				throw new CompletionException(e);
+			}
+		}
+	}
+
+	private void computePredecessors() {
+		predOffsets = new int[n + 1];
+		for (int node = 0; node < n; node++) {
+			for (int next : succs[node]) {
+				predOffsets[next + 1]++;
+			}
+		}
+		for (int node = 0; node < n; node++) {
+			predOffsets[node + 1] += predOffsets[node];
+		}
+		preds = new int[predOffsets[n]];
+		final int[] cnt = new int[n];
+		for (int node = 0; node < n; node++) {
+			for (int next : succs[node]) {
+				preds[predOffsets[next] + cnt[next]++] = node;
+			}
+		}
+	}
+
+	/**
+	 * Replaces the frontier with the records of the nodes that can reach an undone
+	 * node and of the undone nodes. The SCCs of the other nodes are final.
+	 */
+	private void updateFrontier() {
+		final int[] queue = new int[n];
+		int head = 0, tail = 0;
+		for (int node = 0; node < n; node++) {
+			if (open[node]) {
+				queue[tail++] = node;
+			}
+		}
+		while (head < tail) {
+			final int node = queue[head++];
+			for (int i = predOffsets[node]; i < predOffsets[node + 1]; i++) {
+				final int prev = preds[i];
+				if (!open[prev]) {
+					open[prev] = true;
+					queue[tail++] = prev;
+				}
+			}
+		}
+		final long[] openRecords = new long[tail + undoneRecords.size()];
+		long openTransitions = 0L;
+		for (int i = 0; i < tail; i++) {
+			openRecords[i] = records[queue[i]];
+			openTransitions += succSizes[queue[i]];
+		}
+		for (int i = 0; i < undoneRecords.size(); i++) {
+			openRecords[tail + i] = undoneRecords.elementAt(i);
+		}
+		// Read the records in file order.
+		Arrays.sort(openRecords);
+		frontier.openRecords = openRecords;
+		frontier.openTransitions = openTransitions;
+		frontier.ptrLength = ptrLength;
+		frontier.nodeLength = nodeLength;
+	}
+
+	private synchronized int newLabel() {
+		return nextLabel++;
+	}
+
+	@SuppressWarnings("serial")
+	private final class Decompose extends RecursiveAction {
+
+		private final int label;
+		private final int[] nodes;
+
+		Decompose(final int label, final int[] nodes) {
+			this.label = label;
+			this.nodes = nodes;
+		}
+
+		@Override
+		protected void compute() {
+			try {
+				decompose(label, nodes);
+			} catch (IOException | InterruptedException | ExecutionException e) {
+				throw new CompletionException(e);
+			}
+		}
+
+		private void decompose(final int label, int[] nodes)
+				throws IOException, InterruptedException, ExecutionException {
+			final List<Decompose> forks = new ArrayList<>();
+			while (nodes.length > 0 && !isViolated()) {
+				nodes = trim(label, nodes);
+				if (nodes.length == 0 || isViolated()) {
+					break;
+				}
+
+				// Forward closure of the pivot.
+				final int pivot = nodes[nodes.length / 2];
+				final int fwd = newLabel();
+				final int[] queue = new int[nodes.length];
+				int head = 0, tail = 0;
+				labels[pivot] = fwd;
+				queue[tail++] = pivot;
+				while (head < tail) {
+					for (int next : succs[queue[head++]]) {
+						if (labels[next] == label) {
+							labels[next] = fwd;
+							queue[tail++] = next;
+						}
+					}
+				}
+
+				// Backward closure of the pivot. The nodes also in the forward closure
+				// are the pivot's SCC.
+				final int scc = newLabel();
+				final int bwd = newLabel();
+				head = 0;
+				tail = 0;
+				labels[pivot] = scc;
+				queue[tail++] = pivot;
+				while (head < tail) {
+					final int node = queue[head++];
+					for (int i = predOffsets[node]; i < predOffsets[node + 1]; i++) {
+						final int prev = preds[i];
+						if (labels[prev] == fwd) {
+							labels[prev] = scc;
+							queue[tail++] = prev;
+						} else if (labels[prev] == label) {
+							labels[prev] = bwd;
+							queue[tail++] = prev;
+						}
+					}
+				}
+
+				if (!check(select(nodes, scc))) {
+					break;
+				}
+
+				// The forward closure, the backward closure and the remainder are
+				// independent of each other. Fork the large closures and continue with the
+				// remainder.
+				final int[] fwdNodes = select(nodes, fwd);
+				final int[] bwdNodes = select(nodes, bwd);
+				nodes = select(nodes, label);
+				if (fwdNodes.length >= FORK_THRESHOLD) {
+					forks.add((Decompose) new Decompose(fwd, fwdNodes).fork());
+				} else {
+					decompose(fwd, fwdNodes);
+				}
+				if (bwdNodes.length >= FORK_THRESHOLD) {
+					forks.add((Decompose) new Decompose(bwd, bwdNodes).fork());
+				} else {
+					decompose(bwd, bwdNodes);
+				}
+			}
+			for (Decompose fork : forks) {
+				fork.join();
+			}
+		}
+	}
+
+	private int[] select(final int[] nodes, final int label) {
+		int cnt = 0;
+		for (int node : nodes) {
+			if (labels[node] == label) {
+				cnt++;
+			}
+		}
+		final int[] res = new int[cnt];
+		cnt = 0;
+		for (int node : nodes) {
+			if (labels[node] == label) {
+				res[cnt++] = node;
+			}
+		}
+		return res;
+	}
+
+	/**
+	 * Repeatedly removes the nodes of the partition that have no predecessor or no
+	 * successor in the partition. Each removed node is a trivial SCC.
+	 * 
+	 * @return The remaining nodes of the partition.
+	 */
+	private int[] trim(final int label, final int[] nodes)
+			throws IOException, InterruptedException, ExecutionException {
+		final int[] queue = new int[nodes.length];
+		int head = 0, tail = 0;
+		for (int node : nodes) {
+			int in = 0, out = 0;
+			for (int next : succs[node]) {
+				if (next != node && labels[next] == label) {
+					out++;
+				}
+			}
+			for (int i = predOffsets[node]; i < predOffsets[node + 1]; i++) {
+				final int prev = preds[i];
+				if (prev != node && labels[prev] == label) {
+					in++;
+				}
+			}
+			inDegree[node] = in;
+			outDegree[node] = out;
+		}
+		// Mark the nodes only once all degrees are known. Otherwise, a node's degree
+		// would miss the edges of the nodes marked before it but still be decremented
+		// when they are removed below.
+		for (int node : nodes) {
+			if (inDegree[node] == 0 || outDegree[node] == 0) {
+				labels[node] = DONE;
+				queue[tail++] = node;
+			}
+		}
+		while (head < tail) {
+			final int node = queue[head++];
+			if (!check(new int[] { node })) {
+				return new int[0];
+			}
+			for (int next : succs[node]) {
+				if (next != node && labels[next] == label && --inDegree[next] == 0) {
+					labels[next] = DONE;
+					queue[tail++] = next;
+				}
+			}
+			for (int i = predOffsets[node]; i < predOffsets[node + 1]; i++) {
+				final int prev = preds[i];
+				if (prev != node && labels[prev] == label && --outDegree[prev] == 0) {
+					labels[prev] = DONE;
+					queue[tail++] = prev;
+				}
+			}
+		}
+		return tail == 0 ? nodes : select(nodes, label);
+	}
+
+	/**
+	 * Checks the given SCC unless it is trivial, i.e. a single node without a self
+	 * loop (see LiveWorker#checkComponent and LiveWorker#isStuttering).
+	 */
+	private boolean check(final int[] scc) throws IOException, InterruptedException, ExecutionException {
+		for (int node : scc) {
+			labels[node] = DONE;
+		}
+		if (scc.length == 1) {
+			final int node = scc[0];
+			boolean stutters = false;
+			for (int next : succs[node]) {
+				stutters |= next == node;
+			}
+			if (!stutters) {
+				return true;
+			}
+		}
+		final TableauNodePtrTable com = new TableauNodePtrTable(Math.max(128, scc.length * 2));
+		for (int node : scc) {
+			com.put(fps[node], tidxs[node], locs[node]);
+		}
+		if (!component.check(fps[scc[0]], tidxs[scc[0]], com)) {
+			violated = true;
+			return false;
+		}
+		return true;
+	}
+
+	private boolean isViolated() {
+		return violated || LiveWorker.hasErrFound();
+	}
+}
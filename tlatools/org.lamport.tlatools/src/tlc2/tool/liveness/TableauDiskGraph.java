@@ -40,11 +40,18 @@ public class TableauDiskGraph extends AbstractDiskGraph {
 	
 	private static final long INIT_STATE = MAX_PTR + 1;
 
-	private TableauNodePtrTable nodePtrTbl;
+	private ITableauNodePtrTable nodePtrTbl;
 	
 	public TableauDiskGraph(String metadir, int soln, IBucketStatistics graphStats) throws IOException {
 		super(metadir, soln, graphStats);
-		this.nodePtrTbl = new TableauNodePtrTable(255);
+		this.nodePtrTbl = newNodePtrTbl();
+	}
+
+	private ITableauNodePtrTable newNodePtrTbl() {
+		if (DiskGraph.OFF_HEAP) {
+			return new OffHeapTableauNodePtrTable(255, metadir, DiskGraph.MAX_OFF_HEAP);
+		}
+		return new TableauNodePtrTable(255);
 	}
 	
 	public final long getPtr(long fp, int tidx) {
@@ -181,13 +188,11 @@ public class TableauDiskGraph extends AbstractDiskGraph {
 	public long putLink(long state, int tidx, long link) {
 		assert tidx >= 0;
 		assert MAX_PTR <= link && link < MAX_LINK; 
-		int[] node = this.nodePtrTbl.getNodes(state);
-		int cloc = this.nodePtrTbl.getIdx(node, tidx);
-		long oldLink = TableauNodePtrTable.getElem(node, cloc);
+		long oldLink = this.nodePtrTbl.get(state, tidx);
 		if (!isFilePointer(oldLink)) {
 			return oldLink;
 		}
-		TableauNodePtrTable.putElem(node, link, cloc);
+		this.nodePtrTbl.put(state, tidx, link);
 		return -1;
 	}
 
@@ -200,9 +205,12 @@ public class TableauDiskGraph extends AbstractDiskGraph {
 	}
 
 	public final void reset() throws IOException {
+		this.unmapNodes();
 		this.nodePtrRAF.setLength(0);
 		this.nodeRAF.setLength(0);
-		this.nodePtrTbl = new TableauNodePtrTable(255);
+		this.nodePtrTbl.close();
+		this.nodePtrTbl = newNodePtrTbl();
+		this.clearFrontiers();
 	 }
 
 	/* (non-Javadoc)
@@ -212,6 +220,34 @@ public class TableauDiskGraph extends AbstractDiskGraph {
 		return this.nodePtrTbl.size();
 	}
 
+	/* (non-Javadoc)
+	 * @see tlc2.tool.liveness.AbstractDiskGraph#getNodePtrTblCapacity()
+	 */
+	public long getNodePtrTblCapacity() {
+		return this.nodePtrTbl.getSize();
+	}
+
+	/* (non-Javadoc)
+	 * @see tlc2.tool.liveness.AbstractDiskGraph#getNodePtrTblOffHeapBytes()
+	 */
+	public long getNodePtrTblOffHeapBytes() {
+		return this.nodePtrTbl.getOffHeapBytes();
+	}
+
+	/* (non-Javadoc)
+	 * @see tlc2.tool.liveness.AbstractDiskGraph#getNodePtrTblDiskBytes()
+	 */
+	public long getNodePtrTblDiskBytes() {
+		return this.nodePtrTbl.getDiskBytes();
+	}
+
+	/* (non-Javadoc)
+	 * @see tlc2.tool.liveness.AbstractDiskGraph#closeNodePtrTbl()
+	 */
+	protected void closeNodePtrTbl() {
+		this.nodePtrTbl.close();
+	}
+
 	/* (non-Javadoc)
 	 * @see tlc2.tool.liveness.AbstractDiskGraph#makeNodePtrTbl(long)
 	 */
@@ -219,7 +255,7 @@ public class TableauDiskGraph extends AbstractDiskGraph {
 		makeNodePtrTbl(ptr, nodePtrTbl);
 	}
 	
-	protected void makeNodePtrTbl(final long ptr, final TableauNodePtrTable aTable) throws IOException  {
+	protected void makeNodePtrTbl(final long ptr, final ITableauNodePtrTable aTable) throws IOException  {
 		this.nodePtrRAF.seek(0);
 		while (this.nodePtrRAF.getFilePointer() < ptr) {
 			long fp = this.nodePtrRAF.readLong();
@@ -92,7 +92,7 @@ package tlc2.tool.liveness;
  *  header will be created.
  *
  */
-public class TableauNodePtrTable {
+public class TableauNodePtrTable implements ITableauNodePtrTable {
 
 	/**
 	 * A node is marked UNDONE if it is:
@@ -375,6 +375,27 @@ public class TableauNodePtrTable {
 		return 3;
 	}
 
+	/* (non-Javadoc)
+	 * @see tlc2.tool.liveness.ITableauNodePtrTable#getOffHeapBytes()
+	 */
+	public long getOffHeapBytes() {
+		return 0L;
+	}
+
+	/* (non-Javadoc)
+	 * @see tlc2.tool.liveness.ITableauNodePtrTable#getDiskBytes()
+	 */
+	public long getDiskBytes() {
+		return 0L;
+	}
+
+	/* (non-Javadoc)
+	 * @see tlc2.tool.liveness.ITableauNodePtrTable#close()
+	 */
+	public void close() {
+		// nop, the garbage collector takes care of the nodes.
+	}
+
 	/*
 	 * Private static helper methods below
 	 */
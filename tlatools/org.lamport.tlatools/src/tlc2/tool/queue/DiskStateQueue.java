@@ -50,6 +50,13 @@ public class DiskStateQueue extends StateQueue {
 	 */
 	protected final StatePoolCleaner cleaner;
 	private int loPool, hiPool, lastLoPool, newLastLoPool;
+	/**
+	 * The queue's position and buffered states recorded by beginChkpt and written
+	 * to disk by commitChkpt.
+	 */
+	private int[] chkptHeader;
+	private long chkptLen;
+	private TLCState[] chkptStates;
 	private File loFile;
 
 	// TESTING ONLY!
@@ -168,24 +175,32 @@ public class DiskStateQueue extends StateQueue {
 			this.cleaner.notifyAll();
 		}
 		
+		// beginChkpt is called while all workers are suspended. Only record the
+		// position of the queue and copy the references to the buffered states, which
+		// are immutable once enqueued. The states get serialized by commitChkpt after
+		// the workers have been resumed.
+		this.chkptHeader = new int[] { this.loPool, this.hiPool, this.enqIndex, this.deqIndex };
+		this.chkptLen = this.len;
+		this.chkptStates = new TLCState[this.enqIndex + (this.deqBuf.length - this.deqIndex)];
+		System.arraycopy(this.enqBuf, 0, this.chkptStates, 0, this.enqIndex);
+		System.arraycopy(this.deqBuf, this.deqIndex, this.chkptStates, this.enqIndex,
+				this.deqBuf.length - this.deqIndex);
+		this.newLastLoPool = this.loPool - 1;
+	}
+
+	public final void commitChkpt() throws IOException {
 		String filename = this.filePrefix + "queue.tmp";
 		ValueOutputStream vos = new ValueOutputStream(filename);
-		vos.writeLongNat(this.len);
-		vos.writeInt(this.loPool);
-		vos.writeInt(this.hiPool);
-		vos.writeInt(this.enqIndex);
-		vos.writeInt(this.deqIndex);
-		for (int i = 0; i < this.enqIndex; i++) {
-			this.enqBuf[i].write(vos);
+		vos.writeLongNat(this.chkptLen);
+		for (int i = 0; i < this.chkptHeader.length; i++) {
+			vos.writeInt(this.chkptHeader[i]);
 		}
-		for (int i = this.deqIndex; i < this.deqBuf.length; i++) {
-			this.deqBuf[i].write(vos);
+		for (int i = 0; i < this.chkptStates.length; i++) {
+			this.chkptStates[i].write(vos);
 		}
 		vos.close();
-		this.newLastLoPool = this.loPool - 1;
-	}
+		this.chkptStates = null;
 
-	public final void commitChkpt() throws IOException {
 		for (int i = this.lastLoPool; i < this.newLastLoPool; i++) {
 			String pstr = Integer.toString(i);
 			File oldPool = new File(this.filePrefix + pstr);
@@ -35,6 +35,10 @@ public interface IStateQueue {
 			return new StateDeque();
 		} else if ("DiskByteArrayQueue".equals(name)) {
 			return new DiskByteArrayQueue(metaDir);
+		} else if ("MappedStateQueue".equals(name)) {
+			return new MappedStateQueue(metaDir);
+		} else if ("WorkStealingStateQueue".equals(name)) {
+			return new WorkStealingStateQueue(metaDir);
 		} else {
 			return new DiskStateQueue(metaDir);
 		}
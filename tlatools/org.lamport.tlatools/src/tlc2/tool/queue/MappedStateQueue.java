@@ -0,0 +1,308 @@
+/*******************************************************************************
+ * Copyright (c) 2026 The Linux Foundation. All rights reserved.
+ *
+ * The MIT License (MIT)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ * of the Software, and to permit persons to whom the Software is furnished to do
+ * so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN
+ * AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ ******************************************************************************/
+package tlc2.tool.queue;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.lang.reflect.Field;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import tlc2.output.EC;
+import tlc2.output.MP;
+import tlc2.tool.TLCState;
+import tlc2.value.ValueInputStream;
+import tlc2.value.ValueOutputStream;
+import util.Assert;
+import util.FileUtil;
+
+/**
+ * A {@link MappedStateQueue} appends the serialized states to memory-mapped
+ * segment files and deserializes them lazily when they are dequeued. Contrary
+ * to {@link DiskStateQueue}, there are no reader and writer threads that
+ * (de-)serialize whole pools of states into and out of double buffers. Instead,
+ * the OS page cache decides which parts of the queue reside in memory.
+ * <p>
+ * A segment is a sequence of records, each of which is the length of the
+ * serialized state followed by the serialized state. A negative length marks
+ * the end of the records in a segment.
+ * <p>
+ * Select with -Dtlc2.tool.queue.IStateQueue=MappedStateQueue.
+ */
+public class MappedStateQueue extends StateQueue {
+
+	private final static int SegmentSize = Integer.getInteger(MappedStateQueue.class.getName() + ".SegmentSize",
+			64 * 1024 * 1024);
+
+	private static final int EOS = -1;
+
+	/**
+	 * Releases the mappings of consumed segments (see {@link #unmap(int)}) or null
+	 * if the VM does not provide sun.misc.Unsafe.
+	 */
+	private static final sun.misc.Unsafe UNSAFE = getUnsafe();
+
+	private static sun.misc.Unsafe getUnsafe() {
+		try {
+			final Field f = sun.misc.Unsafe.class.getDeclaredField("theUnsafe");
+			f.setAccessible(true);
+			return (sun.misc.Unsafe) f.get(null);
+		} catch (Exception e) {
+			return null;
+		}
+	}
+
+	private final String filePrefix;
+
+	private final int segmentSize;
+
+	/**
+	 * The mapped segments indexed by their number. Segments below readSegment
+	 * have been consumed and are null.
+	 */
+	private final List<MappedByteBuffer> segments = new ArrayList<>();
+
+	/**
+	 * The segment and the position in that segment from which the next state will
+	 * be read.
+	 */
+	private int readSegment, readPos;
+
+	/**
+	 * The segment and the position in that segment at which the next state will be
+	 * appended.
+	 */
+	private int writeSegment, writePos;
+
+	/**
+	 * Consumed segments at or above retainFrom have to be kept around, because the
+	 * most recent checkpoint refers to them. Integer.MAX_VALUE iff no checkpoint
+	 * has been taken yet.
+	 */
+	private int retainFrom = Integer.MAX_VALUE, newRetainFrom;
+
+	private final DiskByteArrayQueue.ByteValueOutputStream vos = new DiskByteArrayQueue.ByteValueOutputStream();
+
+	// TESTING ONLY!
+	MappedStateQueue(final int segmentSize) throws IOException {
+		this(Files.createTempDirectory("MappedStateQueue").toFile().toString(), segmentSize);
+	}
+
+	public MappedStateQueue(final String diskdir) {
+		this(diskdir, SegmentSize);
+	}
+
+	MappedStateQueue(final String diskdir, final int segmentSize) {
+		this.filePrefix = diskdir + FileUtil.separator;
+		this.segmentSize = segmentSize;
+		this.readSegment = 0;
+		this.readPos = 0;
+		this.writeSegment = 0;
+		this.writePos = 0;
+		map(0, this.segmentSize);
+	}
+
+	private final File getFile(final int segment) {
+		return new File(this.filePrefix + Integer.toString(segment) + ".mmap");
+	}
+
+	private final MappedByteBuffer map(final int segment, final long size) {
+		try (final RandomAccessFile raf = new RandomAccessFile(getFile(segment), "rw")) {
+			if (raf.length() < size) {
+				raf.setLength(size);
+			}
+			// The mapping remains valid after the channel has been closed.
+			final MappedByteBuffer buf = raf.getChannel().map(MapMode.READ_WRITE, 0, raf.length());
+			while (this.segments.size() <= segment) {
+				this.segments.add(null);
+			}
+			this.segments.set(segment, buf);
+			return buf;
+		} catch (IOException e) {
+			Assert.fail(EC.SYSTEM_ERROR_WRITING_STATES,
+					new String[] { "queue", (e.getMessage() == null) ? e.toString() : e.getMessage() });
+		}
+		return null;
+	}
+
+	final void enqueueInner(final TLCState state) {
+		final byte[] bytes;
+		try {
+			state.write(this.vos);
+			bytes = this.vos.toByteArray();
+		} catch (IOException e) {
+			Assert.fail(EC.SYSTEM_ERROR_WRITING_STATES,
+					new String[] { "queue", (e.getMessage() == null) ? e.toString() : e.getMessage() });
+			return;
+		}
+		MappedByteBuffer buf = this.segments.get(this.writeSegment);
+		// Leave room for the end-of-segment marker.
+		if (this.writePos + Integer.BYTES + bytes.length + Integer.BYTES > buf.capacity()) {
+			buf.putInt(this.writePos, EOS);
+			this.writeSegment++;
+			this.writePos = 0;
+			// A state larger than segmentSize gets a segment of its own.
+			buf = map(this.writeSegment, Math.max(this.segmentSize, 2L * Integer.BYTES + bytes.length));
+		}
+		buf.putInt(this.writePos, bytes.length);
+		buf.position(this.writePos + Integer.BYTES);
+		buf.put(bytes);
+		this.writePos += Integer.BYTES + bytes.length;
+	}
+
+	final TLCState dequeueInner() {
+		if (this.segments.get(this.readSegment).getInt(this.readPos) == EOS) {
+			// Move on to the next segment and release the consumed one.
+			release(this.readSegment);
+			this.readSegment++;
+			this.readPos = 0;
+		}
+		final TLCState state = read(this.readSegment, this.readPos);
+		this.readPos += Integer.BYTES + this.segments.get(this.readSegment).getInt(this.readPos);
+		return state;
+	}
+
+	TLCState peekInner() {
+		// Unlike dequeueInner, do not move on to the next segment.
+		if (this.segments.get(this.readSegment).getInt(this.readPos) == EOS) {
+			return read(this.readSegment + 1, 0);
+		}
+		return read(this.readSegment, this.readPos);
+	}
+
+	private final TLCState read(final int segment, final int pos) {
+		final MappedByteBuffer buf = this.segments.get(segment);
+		final byte[] bytes = new byte[buf.getInt(pos)];
+		buf.position(pos + Integer.BYTES);
+		buf.get(bytes);
+		try {
+			final TLCState state = TLCState.Empty.createEmpty();
+			state.read(new DiskByteArrayQueue.ByteValueInputStream(bytes));
+			return state;
+		} catch (IOException e) {
+			Assert.fail(EC.SYSTEM_ERROR_READING_STATES,
+					new String[] { "queue", (e.getMessage() == null) ? e.toString() : e.getMessage() });
+		}
+		return null;
+	}
+
+	private final void release(final int segment) {
+		unmap(segment);
+		if (segment < this.retainFrom) {
+			delete(segment);
+		}
+	}
+
+	/**
+	 * Releases the mapping of the given segment right away instead of when the
+	 * buffer gets garbage collected. Windows refuses to delete the file of a
+	 * mapped segment.
+	 */
+	private final void unmap(final int segment) {
+		final MappedByteBuffer buf = this.segments.set(segment, null);
+		if (buf != null && UNSAFE != null) {
+			UNSAFE.invokeCleaner(buf);
+		}
+	}
+
+	private final void delete(final int segment) {
+		final File file = getFile(segment);
+		if (file.exists() && !file.delete()) {
+			// Like DiskStateQueue's cleaner, there is no reason to terminate TLC because a
+			// swap file could not be deleted.
+			MP.printWarning(EC.SYSTEM_ERROR_CLEANING_POOL, file.getAbsolutePath());
+		}
+	}
+
+	/* Checkpoint. */
+
+	public final void beginChkpt() throws IOException {
+		// Make sure the segments that the checkpoint refers to are on disk.
+		for (int i = this.readSegment; i <= this.writeSegment; i++) {
+			this.segments.get(i).force();
+		}
+		final ValueOutputStream vos = new ValueOutputStream(this.filePrefix + "queue.tmp");
+		vos.writeLongNat(this.len);
+		vos.writeInt(this.readSegment);
+		vos.writeInt(this.readPos);
+		vos.writeInt(this.writeSegment);
+		vos.writeInt(this.writePos);
+		vos.close();
+		this.newRetainFrom = this.readSegment;
+	}
+
+	public final void commitChkpt() throws IOException {
+		// Segments below the read segment of the new checkpoint are no longer needed.
+		for (int i = Math.min(this.retainFrom, this.newRetainFrom); i < this.newRetainFrom; i++) {
+			delete(i);
+		}
+		this.retainFrom = this.newRetainFrom;
+		final File oldChkpt = new File(this.filePrefix + "queue.chkpt");
+		final File newChkpt = new File(this.filePrefix + "queue.tmp");
+		if ((oldChkpt.exists() && !oldChkpt.delete()) || !newChkpt.renameTo(oldChkpt)) {
+			throw new IOException("MappedStateQueue.commitChkpt: cannot delete " + oldChkpt);
+		}
+	}
+
+	public final void recover() throws IOException {
+		final ValueInputStream vis = new ValueInputStream(this.filePrefix + "queue.chkpt");
+		this.len = vis.readLongNat();
+		this.readSegment = vis.readInt();
+		this.readPos = vis.readInt();
+		this.writeSegment = vis.readInt();
+		this.writePos = vis.readInt();
+		vis.close();
+
+		// The constructor has mapped segment 0, which is stale if the checkpoint
+		// refers to later segments only.
+		for (int i = 0; i < this.segments.size(); i++) {
+			if (i < this.readSegment) {
+				release(i);
+			} else {
+				unmap(i);
+			}
+		}
+		this.segments.clear();
+		for (int i = this.readSegment; i <= this.writeSegment; i++) {
+			map(i, getFile(i).length());
+		}
+		this.retainFrom = this.readSegment;
+	}
+
+	/* (non-Javadoc)
+	 * @see tlc2.tool.queue.IStateQueue#delete()
+	 */
+	@Override
+	public void delete() {
+		finishAll();
+		for (int i = 0; i < this.segments.size(); i++) {
+			unmap(i);
+			delete(i);
+		}
+		new File(this.filePrefix).delete();
+	}
+}
@@ -23,6 +23,7 @@ public final class MemStateQueue extends StateQueue {
   private TLCState[] states;
   private int start = 0;
   private String diskdir;
+  private TLCState[] chkptStates;
     
   /**
    * TESTING ONLY!
@@ -78,18 +79,25 @@ public final class MemStateQueue extends StateQueue {
 
   // Checkpoint.
   public final void beginChkpt() throws IOException {
+    // Copy the references to the (immutable) states while the workers are
+    // suspended, but serialize the states in commitChkpt after the workers
+    // have been resumed.
+    this.chkptStates = new TLCState[(int) this.len];
+    int copyLen = Math.min(this.chkptStates.length, this.states.length - this.start);
+    System.arraycopy(this.states, this.start, this.chkptStates, 0, copyLen);
+    System.arraycopy(this.states, 0, this.chkptStates, copyLen, this.chkptStates.length - copyLen);
+  }
+
+  public final void commitChkpt() throws IOException {
     String filename = this.diskdir + FileUtil.separator + "queue.tmp";
     ValueOutputStream vos = new ValueOutputStream(filename);
-    vos.writeInt((int)this.len);
-    int index = this.start;
-    for (int i = 0; i < this.len; i++) {
-      this.states[index++].write(vos);
-      if (index == this.states.length) index = 0;
+    vos.writeInt(this.chkptStates.length);
+    for (int i = 0; i < this.chkptStates.length; i++) {
+      this.chkptStates[i].write(vos);
     }
     vos.close();
-  }
+    this.chkptStates = null;
 
-  public final void commitChkpt() throws IOException {
     String oldName = this.diskdir + FileUtil.separator + "queue.chkpt";
     File oldChkpt = new File(oldName);
     String newName = this.diskdir + FileUtil.separator + "queue.tmp";
@@ -104,6 +112,9 @@ public final class MemStateQueue extends StateQueue {
     String filename = this.diskdir + FileUtil.separator + "queue.chkpt";
     ValueInputStream vis = new ValueInputStream(filename);
     this.len = vis.readInt();
+    if (this.len > this.states.length) {
+      this.states = new TLCState[(int) this.len];
+    }
     for (int i = 0; i < this.len; i++) {
       this.states[i] = TLCState.Empty.createEmpty();
       this.states[i].read(vis);
@@ -0,0 +1,412 @@
+/*******************************************************************************
+ * Copyright (c) 2026 The Linux Foundation. All rights reserved.
+ *
+ * The MIT License (MIT)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ * of the Software, and to permit persons to whom the Software is furnished to do
+ * so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN
+ * AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ ******************************************************************************/
+package tlc2.tool.queue;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+import tlc2.TLCGlobals;
+import tlc2.output.EC;
+import tlc2.output.MP;
+import tlc2.tool.StateVec;
+import tlc2.tool.TLCState;
+import tlc2.tool.Worker;
+import tlc2.util.IdThread;
+import tlc2.value.ValueInputStream;
+import tlc2.value.ValueOutputStream;
+import util.FileUtil;
+
+/**
+ * An {@link IStateQueue} that gives each {@link Worker} its own (lock-free)
+ * deque. A worker enqueues the successors it generates into its own deque and
+ * dequeues from it in FIFO order. Only if its own deque is empty does a worker
+ * steal from the deques of the other workers. Contrary to {@link StateQueue},
+ * neither {@link #sEnqueue(TLCState)} nor {@link #sDequeue()} synchronize on
+ * the queue as long as states are available. The monitor of this queue is only
+ * acquired by workers that run out of work, and to implement
+ * {@link #suspendAll()}/{@link #resumeAll()} for checkpointing and periodic
+ * liveness checking (see ModelChecker#doPeriodicWork).
+ * <p>
+ * States are not explored in strict breadth-first order. Per worker, the order
+ * is FIFO, but workers make progress at different rates. Thus, counterexamples
+ * are not guaranteed to be shortest.
+ * <p>
+ * Select with -Dtlc2.tool.queue.IStateQueue=WorkStealingStateQueue.
+ */
+public class WorkStealingStateQueue implements IStateQueue {
+
+	/**
+	 * The deques of the workers at the indices [0, numWorkers) and the deque
+	 * shared by all other threads (e.g. the main thread that generates the initial
+	 * states) at index numWorkers.
+	 */
+	private final ConcurrentLinkedDeque<TLCState>[] deques;
+	private final LongAdder len = new LongAdder();
+	private final String diskdir;
+
+	/*
+	 * numWaiting, stop, and finish are only modified while holding the monitor of
+	 * this queue, but are read without it on the fast path.
+	 */
+	private volatile int numWaiting = 0;
+	private volatile boolean stop = false;
+	private volatile boolean finish = false;
+	/**
+	 * @see StateQueue#mu
+	 */
+	private final Object mu = new Object();
+
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	public WorkStealingStateQueue(final String metadir) {
+		this.diskdir = metadir;
+		this.deques = new ConcurrentLinkedDeque[TLCGlobals.getNumWorkers() + 1];
+		for (int i = 0; i < deques.length; i++) {
+			this.deques[i] = new ConcurrentLinkedDeque<>();
+		}
+	}
+
+	private final ConcurrentLinkedDeque<TLCState> getDeque() {
+		final int id = IdThread.GetId(this.deques.length - 1);
+		if (id < 0 || id >= this.deques.length) {
+			return this.deques[this.deques.length - 1];
+		}
+		return this.deques[id];
+	}
+
+	/**
+	 * Takes a state from the caller's deque first and steals from the other deques
+	 * if the caller's deque is empty.
+	 * 
+	 * @return null iff all deques are empty.
+	 */
+	private final TLCState take() {
+		final ConcurrentLinkedDeque<TLCState> own = getDeque();
+		TLCState state = own.pollFirst();
+		if (state != null) {
+			return state;
+		}
+		// Start at a random victim to spread thieves among the deques.
+		final int start = ThreadLocalRandom.current().nextInt(this.deques.length);
+		for (int i = 0; i < this.deques.length; i++) {
+			final ConcurrentLinkedDeque<TLCState> victim = this.deques[(start + i) % this.deques.length];
+			if (victim != own && (state = victim.pollFirst()) != null) {
+				return state;
+			}
+		}
+		return null;
+	}
+
+	private final TLCState taken(final TLCState state) {
+		if (state != null) {
+			this.len.decrement();
+		}
+		return state;
+	}
+
+	private final void signal() {
+		// Lost wake-ups are impossible because a waiting worker increments numWaiting
+		// (while holding the monitor) before it checks the deques (see isAvail)
+		// whereas an enqueuer adds to a deque before it reads numWaiting. Thus, either
+		// the worker sees the new state or the enqueuer sees the worker, whose wait
+		// releases the monitor that notifyAll acquires.
+		if (this.numWaiting > 0 && !this.stop) {
+			synchronized (this) {
+				this.notifyAll();
+			}
+		}
+	}
+
+	@Override
+	public final void enqueue(final TLCState state) {
+		getDeque().addLast(state);
+		this.len.increment();
+	}
+
+	@Override
+	public final TLCState dequeue() {
+		return taken(take());
+	}
+
+	@Override
+	public final void sEnqueue(final TLCState state) {
+		enqueue(state);
+		signal();
+	}
+
+	@Override
+	public final void sEnqueue(final TLCState[] states) {
+		final ConcurrentLinkedDeque<TLCState> own = getDeque();
+		for (int i = 0; i < states.length; i++) {
+			own.addLast(states[i]);
+		}
+		this.len.add(states.length);
+		signal();
+	}
+
+	@Override
+	public final void sEnqueue(final StateVec stateVec) {
+		final ConcurrentLinkedDeque<TLCState> own = getDeque();
+		int cnt = 0;
+		for (int j = 0; j < stateVec.size(); j++) {
+			final TLCState state = stateVec.elementAt(j);
+			if (state != null) {
+				own.addLast(state);
+				cnt++;
+			}
+		}
+		this.len.add(cnt);
+		signal();
+	}
+
+	@Override
+	public final TLCState sDequeue() {
+		if (!this.stop && !this.finish) {
+			// Fast path without acquiring the monitor.
+			final TLCState state = take();
+			if (state != null) {
+				return taken(state);
+			}
+		}
+		return sDequeueSlow();
+	}
+
+	private final synchronized TLCState sDequeueSlow() {
+		while (isAvail()) {
+			final TLCState state = take();
+			if (state != null) {
+				return taken(state);
+			}
+		}
+		return null;
+	}
+
+	@Override
+	public final TLCState[] sDequeue(int cnt) {
+		assert cnt > 0 : "Nonpositive number of states requested.";
+		final TLCState first = sDequeue();
+		if (first == null) {
+			return null;
+		}
+		final StateVec states = new StateVec(Math.min(cnt, 1024));
+		states.addElement(first);
+		TLCState state;
+		while (states.size() < cnt && (state = take()) != null) {
+			states.addElement(taken(state));
+		}
+		final TLCState[] res = new TLCState[states.size()];
+		for (int i = 0; i < res.length; i++) {
+			res[i] = states.elementAt(i);
+		}
+		return res;
+	}
+
+	@Override
+	public final TLCState sPeek() {
+		for (int i = 0; i < this.deques.length; i++) {
+			final TLCState state = this.deques[i].peekFirst();
+			if (state != null) {
+				return state;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Same as StateQueue#isAvail except that emptiness is determined by scanning
+	 * the deques.
+	 * 
+	 * @return true if a state is (likely to be) available in one of the deques.
+	 */
+	private final boolean isAvail() {
+		if (this.finish) {
+			return false;
+		}
+		while (true) {
+			// Increment numWaiting before checking the deques (see signal).
+			this.numWaiting++;
+			if (!this.stop && !isEmpty()) {
+				this.numWaiting--;
+				return true;
+			}
+			// the last worker accessing notices that all other workers are
+			// waiting. This indicates that all work is done.
+			if (this.numWaiting >= TLCGlobals.getNumWorkers()) {
+				if (isEmpty()) {
+					this.numWaiting--;
+					return false;
+				}
+				synchronized (this.mu) {
+					this.mu.notify();
+				}
+			}
+			try {
+				this.wait();
+			} catch (Exception e) {
+				MP.printError(EC.GENERAL, "making a worker wait for a state from the queue", e);
+				System.exit(1);
+			}
+			this.numWaiting--;
+			if (this.finish) {
+				return false;
+			}
+		}
+	}
+
+	@Override
+	public synchronized void finishAll() {
+		this.finish = true;
+		this.notifyAll();
+		// See comment in StateQueue#finishAll.
+		synchronized (this.mu) {
+			this.mu.notify();
+		}
+	}
+
+	@Override
+	public final boolean suspendAll() {
+		boolean needWait = false;
+		synchronized (this) {
+			if (this.finish) {
+				return false;
+			}
+			this.stop = true;
+			needWait = needsWaiting();
+		}
+		// Wait for all worker threads to stop. A worker that passed the check of stop
+		// on the fast path of sDequeue before stop was set, finishes exploring its
+		// current state and then parks in isAvail.
+		while (needWait) {
+			synchronized (this.mu) {
+				try {
+					// See the comment on the finishAll & suspendAll race in
+					// StateQueue#suspendAll.
+					if (this.finish) {
+						return false;
+					}
+					this.mu.wait();
+				} catch (Exception e) {
+					MP.printError(EC.GENERAL, "waiting for a worker to wake up", e);
+					System.exit(1);
+				}
+			}
+			synchronized (this) {
+				if (this.finish) {
+					return false;
+				}
+				needWait = needsWaiting();
+			}
+		}
+		return true;
+	}
+
+	private boolean needsWaiting() {
+		return this.numWaiting < TLCGlobals.getNumWorkers();
+	}
+
+	@Override
+	public final synchronized void resumeAll() {
+		this.stop = false;
+		this.notifyAll();
+	}
+
+	@Override
+	public void resumeAllStuck() {
+		if (stop) {
+			synchronized (mu) {
+				mu.notifyAll();
+			}
+		}
+		if (!stop && !isEmpty() && this.numWaiting > 0) {
+			synchronized (this) {
+				this.notifyAll();
+			}
+		}
+	}
+
+	@Override
+	public final long size() {
+		return this.len.sum();
+	}
+
+	@Override
+	public boolean isEmpty() {
+		for (int i = 0; i < this.deques.length; i++) {
+			if (!this.deques[i].isEmpty()) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/* Checkpoint. Only called while all workers are suspended. */
+
+	@Override
+	public void beginChkpt() throws IOException {
+		final String filename = this.diskdir + FileUtil.separator + "queue.tmp";
+		final ValueOutputStream vos = new ValueOutputStream(filename);
+		long cnt = 0L;
+		for (int i = 0; i < this.deques.length; i++) {
+			cnt += this.deques[i].size();
+		}
+		vos.writeLongNat(cnt);
+		for (int i = 0; i < this.deques.length; i++) {
+			for (final TLCState state : this.deques[i]) {
+				state.write(vos);
+			}
+		}
+		vos.close();
+	}
+
+	@Override
+	public void commitChkpt() throws IOException {
+		final File oldChkpt = new File(this.diskdir + FileUtil.separator + "queue.chkpt");
+		final File newChkpt = new File(this.diskdir + FileUtil.separator + "queue.tmp");
+		if ((oldChkpt.exists() && !oldChkpt.delete()) || !newChkpt.renameTo(oldChkpt)) {
+			throw new IOException("WorkStealingStateQueue.commitChkpt: cannot delete " + oldChkpt);
+		}
+	}
+
+	@Override
+	public void recover() throws IOException {
+		final String filename = this.diskdir + FileUtil.separator + "queue.chkpt";
+		final ValueInputStream vis = new ValueInputStream(filename);
+		final long cnt = vis.readLongNat();
+		// Recovered states go into the shared deque from which the workers steal.
+		final ConcurrentLinkedDeque<TLCState> shared = this.deques[this.deques.length - 1];
+		for (long i = 0; i < cnt; i++) {
+			final TLCState state = TLCState.Empty.createEmpty();
+			state.read(vis);
+			shared.addLast(state);
+		}
+		this.len.add(cnt);
+		vis.close();
+	}
+
+	@Override
+	public void delete() throws IOException {
+		// no-op
+	}
+}
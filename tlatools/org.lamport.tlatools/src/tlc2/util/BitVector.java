@@ -18,6 +18,9 @@ package tlc2.util;
 import java.io.IOException;
 import java.io.Serializable;
 
+import tlc2.value.IValueInputStream;
+import tlc2.value.IValueOutputStream;
+
 public class BitVector implements Serializable {
 
   private static final long serialVersionUID = 901734230891583097L;
@@ -54,6 +57,11 @@ public class BitVector implements Serializable {
     System.arraycopy(bv.word, 0, this.word, 0, len);
   }
 
+  /** Initialize this bit vector with the given words, which are not copied. */
+  public BitVector(long[] word) {
+    this.word = word;
+  }
+
   public boolean equals(Object o) {
     if (!(o instanceof BitVector)) return false;
     BitVector other = (BitVector)o;
@@ -199,6 +207,15 @@ public class BitVector implements Serializable {
     }
   }
 
+  /** Return true iff this and <code>bv</code> have a set bit in common. */
+  public boolean intersects(BitVector bv) {
+    int len = Math.min(this.word.length, bv.word.length);
+    for (int i = 0; i < len; i++) {
+      if ((this.word[i] & bv.word[i]) != 0L) return true;
+    }
+    return false;
+  }
+
   /** Write the bit vector to a file. */
   public void write(BufferedRandomAccessFile raf) throws IOException {
     int len = this.word.length;
@@ -216,6 +233,24 @@ public class BitVector implements Serializable {
       this.word[i] = raf.readLong();
     }
   }
+
+  /** Write the bit vector to a value stream. */
+  public void write(IValueOutputStream vos) throws IOException {
+    int len = this.word.length;
+    vos.writeNat(len);
+    for (int i = 0; i < len; i++) {
+      vos.writeLong(this.word[i]);
+    }
+  }
+
+  /** Read a bit vector from a value stream. */
+  public void read(IValueInputStream vis) throws IOException {
+    int len = vis.readNat();
+    this.word = new long[len];
+    for (int i = 0; i < len; i++) {
+      this.word[i] = vis.readLong();
+    }
+  }
   
   /** Grow this bit vector to contain at least <code>wd+1</code>
       words. */
@@ -31,6 +31,11 @@ import util.UniqueString;
 //
 // The contrived spec at the bottom exhibits this problem. Increasing the level,
 // the number of lookups go through the roof.
+//
+// To shorten the chain, the names bound together by an operator application,
+// a quantifier, or a LET are bound by a single frame (see frame(..)) whose
+// lookup is an array access at the name's slot (assigned by SpecProcessor).
+// Creating a frame is as cheap as consing a single name.
 public final class Context implements Iterator<Context> {
 	/**
 	 * A link list of name and value pairs. When adding <name, value> to the
@@ -40,15 +45,28 @@ public final class Context implements Iterator<Context> {
 	private final SymbolNode name;
 	private final Object value;
 	private final Context next;
+	/**
+	 * Non-null iff this context is a frame that binds names[i] to values[i] (see
+	 * frame(..)). name and value are null for a frame.
+	 */
+	private final SymbolNode[] names;
+	private final Object[] values;
 
 	public final static Context Empty = new Context(null, null, null);
 	
 	private final static Context BaseBranch = new Context(null, null, Empty);
 	
 	private Context(SymbolNode name, Object value, final Context next) {
+		this(name, value, next, null, null);
+	}
+
+	private Context(SymbolNode name, Object value, final Context next, final SymbolNode[] names,
+			final Object[] values) {
 		this.name = name;
 		this.value = value;
 		this.next = next;
+		this.names = names;
+		this.values = values;
 	}
 
 	// This method is only called within the context of the ENABLED (temporal)
@@ -67,6 +85,45 @@ public final class Context implements Iterator<Context> {
 		return new Context(name, value, this);
 	}
 
+	/**
+	 * Binds all names to their values with a single context (a frame) instead of
+	 * a chain of names.length contexts. A lookup finds a name of a frame with a
+	 * single array access at the name's slot (see SymbolNode#getSlot), which is
+	 * why names[i] has to be the symbol whose slot is i (see isFrame). A null value
+	 * leaves its name unbound. The caller must not modify the arrays afterwards
+	 * (values may be filled in before the frame is handed out).
+	 */
+	public final Context frame(final SymbolNode[] names, final Object[] values) {
+		assert isFrame(names) && names.length == values.length;
+		return new Context(null, null, this, names, values);
+	}
+
+	/**
+	 * @return true iff names can be bound by a frame, i.e. the slot of names[i] is i.
+	 */
+	public static boolean isFrame(final SymbolNode[] names) {
+		for (int i = 0; i < names.length; i++) {
+			if (names[i].getSlot() != i) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/*
+	 * The chain of (ordinary) contexts that binds the names of this frame like
+	 * consing them one after the other would, followed by this.next.
+	 */
+	private Context expand() {
+		Context c = this.next;
+		for (int i = 0; i < this.names.length; i++) {
+			if (this.values[i] != null) {
+				c = c.cons(this.names[i], this.values[i]);
+			}
+		}
+		return c;
+	}
+
 	/**
 	 * This method returns the value for the name var. It returns null if this
 	 * context does not contain var.
@@ -81,7 +138,12 @@ public final class Context implements Iterator<Context> {
 			// Check identity of value if match (this is slightly simpler
 			// compared to the second lookup method. Here we can ignore the else
 			// if branch since there is no cutoff.
-			if (var == cur.name) {
+			if (cur.names != null) {
+				final Object value = cur.lookupFrame(var);
+				if (value != null) {
+					return value;
+				}
+			} else if (var == cur.name) {
 				return cur.value;
 			}
 			cur = cur.next;
@@ -89,10 +151,24 @@ public final class Context implements Iterator<Context> {
 		return null; // On Empty Context (end of chain), return null value
 	}
 	
+	private Object lookupFrame(final SymbolNode var) {
+		final int slot = var.getSlot();
+		if (slot >= 0 && slot < this.names.length && this.names[slot] == var) {
+			return this.values[slot];
+		}
+		return null;
+	}
+
 	public final Object lookup(final Function<SymbolNode, Boolean> f) {
 		Context cur = this;
 		while (cur != Empty) {
-			if (f.apply(cur.name)) {
+			if (cur.names != null) {
+				for (int i = cur.names.length - 1; i >= 0; i--) {
+					if (cur.values[i] != null && f.apply(cur.names[i])) {
+						return cur.values[i];
+					}
+				}
+			} else if (f.apply(cur.name)) {
 				return cur.value;
 			}
 			cur = cur.next;
@@ -103,7 +179,13 @@ public final class Context implements Iterator<Context> {
 	public final SymbolNode lookupName(final Function<SymbolNode, Boolean> f) {
 		Context cur = this;
 		while (cur != Empty) {
-			if (f.apply(cur.name)) {
+			if (cur.names != null) {
+				for (int i = cur.names.length - 1; i >= 0; i--) {
+					if (cur.values[i] != null && f.apply(cur.names[i])) {
+						return cur.names[i];
+					}
+				}
+			} else if (f.apply(cur.name)) {
 				return cur.name;
 			}
 			cur = cur.next;
@@ -128,7 +210,12 @@ public final class Context implements Iterator<Context> {
 		// above) or the Empty context (the base of all Context "chains") has been reached.
 		while (cur != Empty) {
 			// Check identity of value if not empty or branching
-			if (cur.name != null) {
+			if (cur.names != null) {
+				final Object value = cur.lookupFrame(var);
+				if (value != null) {
+					return value;
+				}
+			} else if (cur.name != null) {
 				if (var == cur.name) {
 					return cur.value;
 				}
@@ -143,6 +230,9 @@ public final class Context implements Iterator<Context> {
 	}
 
 	public final Map<UniqueString, Value> toMap() {
+		if (this.names != null) {
+			return expand().toMap();
+		}
 		if (this.name == null) {
 			if (this == Empty) {
 				return new HashMap<>();
@@ -164,6 +254,9 @@ public final class Context implements Iterator<Context> {
 	}
 	
 	public final StringBuffer toString(StringBuffer sb) {
+		if (this.names != null) {
+			return expand().toString(sb);
+		}
 		if (this.name == null) {
 			if (this == Empty) {
 				return sb;
@@ -191,21 +284,36 @@ public final class Context implements Iterator<Context> {
 		return sb.toString();
 	}
 
+	// The four methods below present a frame as the chain of contexts it replaces,
+	// which is what the debugger expects when it walks a context.
+
 	@Override
 	public boolean hasNext() {
+		if (this.names != null) {
+			return expand().hasNext();
+		}
 		return this.next != null;
 	}
 
 	@Override
 	public Context next() {
+		if (this.names != null) {
+			return expand().next();
+		}
 		return this.next;
 	}
 
 	public final SymbolNode getName() {
+		if (this.names != null) {
+			return expand().getName();
+		}
 		return name;
 	}
 
 	public final Object getValue() {
+		if (this.names != null) {
+			return expand().getValue();
+		}
 		return value;
 	}
 	
@@ -234,6 +342,9 @@ public final class Context implements Iterator<Context> {
 		if (this == Empty) {
 			return this;
 		}
+		if (this.names != null) {
+			return expand().deepCopy();
+		}
 		return new Context(this.name, this.value, this.next.deepCopy());
 	}
 }
@@ -0,0 +1,114 @@
+/*******************************************************************************
+ * Copyright (c) 2026 The Linux Foundation. All rights reserved.
+ *
+ * The MIT License (MIT)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ * of the Software, and to permit persons to whom the Software is furnished to do
+ * so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN
+ * AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ ******************************************************************************/
+
+package tlc2.util.statistics.management;
+
+import javax.management.NotCompliantMBeanException;
+
+import tlc2.tool.liveness.AbstractDiskGraph;
+import tlc2.tool.liveness.ILiveCheck;
+import tlc2.tool.management.TLCStandardMBean;
+
+/**
+ * Reports the sizes of the (node, ptr) tables of the behavior graphs. The
+ * values are read without synchronization and thus are approximate while
+ * workers add nodes.
+ */
+public class NodePtrTableMXWrapper extends TLCStandardMBean implements NodePtrTableMXBean {
+
+	private final ILiveCheck liveCheck;
+
+	private final String objectName;
+
+	public NodePtrTableMXWrapper(final ILiveCheck liveCheck, final String name, final String pkg)
+			throws NotCompliantMBeanException {
+		super(NodePtrTableMXBean.class);
+		this.liveCheck = liveCheck;
+		
+		objectName = name;
+		registerMBean(String.format("%s:type=%s", pkg, objectName));
+	}
+
+	/* (non-Javadoc)
+	 * @see tlc2.util.statistics.management.NodePtrTableMXBean#getObjectName()
+	 */
+	public String getObjectName() {
+		return objectName;
+	}
+
+	/* (non-Javadoc)
+	 * @see tlc2.util.statistics.management.NodePtrTableMXBean#getNodes()
+	 */
+	public long getNodes() {
+		long nodes = 0L;
+		for (int i = 0; i < liveCheck.getNumChecker(); i++) {
+			nodes += getDiskGraph(i).size();
+		}
+		return nodes;
+	}
+
+	/* (non-Javadoc)
+	 * @see tlc2.util.statistics.management.NodePtrTableMXBean#getCapacity()
+	 */
+	public long getCapacity() {
+		long capacity = 0L;
+		for (int i = 0; i < liveCheck.getNumChecker(); i++) {
+			capacity += getDiskGraph(i).getNodePtrTblCapacity();
+		}
+		return capacity;
+	}
+
+	/* (non-Javadoc)
+	 * @see tlc2.util.statistics.management.NodePtrTableMXBean#getLoadFactor()
+	 */
+	public double getLoadFactor() {
+		final long capacity = getCapacity();
+		return capacity > 0 ? getNodes() / (double) capacity : 0d;
+	}
+
+	/* (non-Javadoc)
+	 * @see tlc2.util.statistics.management.NodePtrTableMXBean#getOffHeapBytes()
+	 */
+	public long getOffHeapBytes() {
+		long bytes = 0L;
+		for (int i = 0; i < liveCheck.getNumChecker(); i++) {
+			bytes += getDiskGraph(i).getNodePtrTblOffHeapBytes();
+		}
+		return bytes;
+	}
+
+	/* (non-Javadoc)
+	 * @see tlc2.util.statistics.management.NodePtrTableMXBean#getDiskBytes()
+	 */
+	public long getDiskBytes() {
+		long bytes = 0L;
+		for (int i = 0; i < liveCheck.getNumChecker(); i++) {
+			bytes += getDiskGraph(i).getNodePtrTblDiskBytes();
+		}
+		return bytes;
+	}
+
+	private AbstractDiskGraph getDiskGraph(final int idx) {
+		return liveCheck.getChecker(idx).getDiskGraph();
+	}
+}
@@ -0,0 +1,582 @@
+/*******************************************************************************
+ * Copyright (c) 2026 The Linux Foundation. All rights reserved.
+ *
+ * The MIT License (MIT)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ * of the Software, and to permit persons to whom the Software is furnished to do
+ * so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN
+ * AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ ******************************************************************************/
+package tlc2.value.impl;
+
+import java.io.IOException;
+import java.util.Random;
+
+import tlc2.tool.FingerprintException;
+import tlc2.tool.coverage.CostModel;
+import tlc2.util.FP64;
+import tlc2.value.IMVPerm;
+import tlc2.value.IValue;
+import tlc2.value.IValueOutputStream;
+import tlc2.value.RandomEnumerableValues;
+import tlc2.value.Values;
+import util.Assert;
+
+/**
+ * A finite set of integers that fit a dense domain, represented as a bitset
+ * instead of a {@link SetEnumValue} over a {@link ValueVec} of {@link IntValue}
+ * objects. Membership is a bit test, and the union, intersection, and
+ * difference of two bitsets are word-wise operations. The bitset is immutable
+ * and always normalized.
+ * <p>
+ * A BitSetValue is indistinguishable from the equivalent, normalized
+ * SetEnumValue: It fingerprints identically, it compares and equals the same,
+ * and it serializes to the SetEnumValue format (thus, it reads back as a
+ * SetEnumValue).
+ * <p>
+ * BitSetValues are created by {@link #create(ValueVec, boolean, CostModel)}
+ * if the set's elements are integers and the bitset does not take more memory
+ * than the SetEnumValue's array of references, i.e., if the integers span at
+ * most 32 times the set's cardinality. Creating BitSetValues can be turned off
+ * with -Dtlc2.value.impl.BitSetValue.off=true.
+ * <p>
+ * Sets of model values remain SetEnumValues: Model values are ordered by name
+ * (not by index), and new model values can be created at runtime, thus there
+ * is no stable dense encoding that enumerates in normalized order.
+ */
+public class BitSetValue extends EnumerableValue implements Enumerable, Reducible {
+
+	public static final boolean ENABLED = !Boolean.getBoolean(BitSetValue.class.getName() + ".off");
+
+	private static final long[] EMPTY = new long[0];
+
+	/**
+	 * Integer v is in this set iff bit (v & 63) of words[(v >> 6) - base] is set.
+	 * Aligning the words to multiples of 64 (base is v >> 6 for the smallest
+	 * element v) makes the words of any two bitsets line up.
+	 */
+	private final int base;
+	private final long[] words;
+	private final int size;
+
+	private BitSetValue(final int base, final long[] words, final int size) {
+		this.base = base;
+		this.words = words;
+		this.size = size;
+	}
+
+	/**
+	 * @return A set with the given elements, which is a BitSetValue if they are
+	 *         integers of a dense domain and a SetEnumValue otherwise.
+	 */
+	public static Value create(final ValueVec elems, final boolean isNorm, final CostModel cm) {
+		final BitSetValue bsv = of(elems);
+		if (bsv != null) {
+			bsv.cm = cm;
+			return bsv;
+		}
+		return new SetEnumValue(elems, isNorm, cm);
+	}
+
+	public static Value create(final ValueVec elems, final boolean isNorm) {
+		return create(elems, isNorm, CostModel.DO_NOT_RECORD);
+	}
+
+	/**
+	 * @return The given (possibly unnormalized) elements as a BitSetValue or null
+	 *         if they are not all integers of a dense domain.
+	 */
+	static BitSetValue of(final ValueVec elems) {
+		final int len = elems.size();
+		if (!ENABLED || len == 0) {
+			return null;
+		}
+		int min = Integer.MAX_VALUE, max = Integer.MIN_VALUE;
+		for (int i = 0; i < len; i++) {
+			final Value elem = elems.elementAt(i);
+			if (!(elem instanceof IntValue)) {
+				return null;
+			}
+			final int v = ((IntValue) elem).val;
+			min = Math.min(min, v);
+			max = Math.max(max, v);
+		}
+		final int base = min >> 6;
+		final int nwords = (max >> 6) - base + 1;
+		if (!isDense(nwords, len)) {
+			return null;
+		}
+		final long[] words = new long[nwords];
+		for (int i = 0; i < len; i++) {
+			final int v = ((IntValue) elems.elementAt(i)).val;
+			words[(v >> 6) - base] |= 1L << v;
+		}
+		return make(base, words);
+	}
+
+	private static boolean isDense(final long nwords, final long size) {
+		return nwords * 64L <= Math.max(128L, 32L * size);
+	}
+
+	/**
+	 * Trims leading and trailing zero words.
+	 */
+	private static BitSetValue make(int base, final long[] words) {
+		int from = 0, to = words.length;
+		while (from < to && words[from] == 0L) {
+			from++;
+		}
+		while (to > from && words[to - 1] == 0L) {
+			to--;
+		}
+		if (from == to) {
+			return new BitSetValue(0, EMPTY, 0);
+		}
+		final long[] w = (from == 0 && to == words.length) ? words : java.util.Arrays.copyOfRange(words, from, to);
+		int size = 0;
+		for (int i = 0; i < w.length; i++) {
+			size += Long.bitCount(w[i]);
+		}
+		return new BitSetValue(base + from, w, size);
+	}
+
+	private final long word(final int idx) {
+		final int i = idx - this.base;
+		return (i >= 0 && i < this.words.length) ? this.words[i] : 0L;
+	}
+
+	private final boolean contains(final int v) {
+		return (word(v >> 6) & (1L << v)) != 0L;
+	}
+
+	/**
+	 * @return The elements of this set in ascending order.
+	 */
+	final int[] toInts() {
+		final int[] ints = new int[this.size];
+		int k = 0;
+		for (int i = 0; i < this.words.length; i++) {
+			long w = this.words[i];
+			while (w != 0L) {
+				ints[k++] = ((this.base + i) << 6) + Long.numberOfTrailingZeros(w);
+				w &= w - 1;
+			}
+		}
+		return ints;
+	}
+
+	@Override
+	public final byte getKind() {
+		return BITSETVALUE;
+	}
+
+	@Override
+	public final int compareTo(Object obj) {
+		try {
+			if (obj instanceof BitSetValue) {
+				final BitSetValue bsv = (BitSetValue) obj;
+				final int cmp = this.size - bsv.size;
+				if (cmp != 0) {
+					return cmp;
+				}
+				// Like SetEnumValue, compare the elements in normalized order.
+				final int[] a = this.toInts();
+				final int[] b = bsv.toInts();
+				for (int i = 0; i < a.length; i++) {
+					if (a[i] != b[i]) {
+						return Integer.compare(a[i], b[i]);
+					}
+				}
+				return 0;
+			}
+			// Well, we have to convert this to a SetEnumValue and compare.
+			return this.toSetEnum().compareTo(obj);
+		} catch (RuntimeException | OutOfMemoryError e) {
+			if (hasSource()) { throw FingerprintException.getNewHead(this, e); }
+			else { throw e; }
+		}
+	}
+
+	public final boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		try {
+			if (obj instanceof BitSetValue) {
+				final BitSetValue bsv = (BitSetValue) obj;
+				return this.size == bsv.size && this.base == bsv.base
+						&& java.util.Arrays.equals(this.words, bsv.words);
+			}
+			return this.toSetEnum().equals(obj);
+		} catch (RuntimeException | OutOfMemoryError e) {
+			if (hasSource()) { throw FingerprintException.getNewHead(this, e); }
+			else { throw e; }
+		}
+	}
+
+	@Override
+	public final boolean member(Value elem) {
+		try {
+			if (elem instanceof IntValue) {
+				return contains(((IntValue) elem).val);
+			}
+			// Let SetEnumValue decide if elem is comparable to integers.
+			return this.toSetEnum().member(elem);
+		} catch (RuntimeException | OutOfMemoryError e) {
+			if (hasSource()) { throw FingerprintException.getNewHead(this, e); }
+			else { throw e; }
+		}
+	}
+
+	@Override
+	public Value isSubsetEq(Value other) {
+		try {
+			if (other instanceof BitSetValue) {
+				final BitSetValue bsv = (BitSetValue) other;
+				for (int i = 0; i < this.words.length; i++) {
+					if ((this.words[i] & ~bsv.word(this.base + i)) != 0L) {
+						return BoolValue.ValFalse;
+					}
+				}
+				return BoolValue.ValTrue;
+			}
+			return super.isSubsetEq(other);
+		} catch (RuntimeException | OutOfMemoryError e) {
+			if (hasSource()) { throw FingerprintException.getNewHead(this, e); }
+			else { throw e; }
+		}
+	}
+
+	@Override
+	public final boolean isFinite() {
+		return true;
+	}
+
+	@Override
+	public final int size() {
+		return this.size;
+	}
+
+	/* Return this - val. */
+	@Override
+	public final Value diff(Value val) {
+		try {
+			final long[] w = new long[this.words.length];
+			if (val instanceof BitSetValue) {
+				final BitSetValue bsv = (BitSetValue) val;
+				for (int i = 0; i < w.length; i++) {
+					w[i] = this.words[i] & ~bsv.word(this.base + i);
+				}
+			} else {
+				filter(val, w, false);
+			}
+			return withCostModel(make(this.base, w));
+		} catch (RuntimeException | OutOfMemoryError e) {
+			if (hasSource()) { throw FingerprintException.getNewHead(this, e); }
+			else { throw e; }
+		}
+	}
+
+	/* Return this \cap val. */
+	@Override
+	public final Value cap(Value val) {
+		try {
+			final long[] w = new long[this.words.length];
+			if (val instanceof BitSetValue) {
+				final BitSetValue bsv = (BitSetValue) val;
+				for (int i = 0; i < w.length; i++) {
+					w[i] = this.words[i] & bsv.word(this.base + i);
+				}
+			} else {
+				filter(val, w, true);
+			}
+			return withCostModel(make(this.base, w));
+		} catch (RuntimeException | OutOfMemoryError e) {
+			if (hasSource()) { throw FingerprintException.getNewHead(this, e); }
+			else { throw e; }
+		}
+	}
+
+	/**
+	 * Sets the bits in w of the elements of this set that are (not) members of
+	 * val.
+	 */
+	private final void filter(final Value val, final long[] w, final boolean isMember) {
+		final int[] ints = toInts();
+		for (int i = 0; i < ints.length; i++) {
+			final int v = ints[i];
+			if (val.member(IntValue.gen(v)) == isMember) {
+				w[(v >> 6) - this.base] |= 1L << v;
+			}
+		}
+	}
+
+	/* Return this \cup val. */
+	@Override
+	public final Value cup(Value set) {
+		try {
+			if (this.size == 0) return set;
+
+			if (set instanceof BitSetValue) {
+				final BitSetValue bsv = (BitSetValue) set;
+				if (bsv.size == 0) return this;
+				final int b = Math.min(this.base, bsv.base);
+				final int nwords = Math.max(this.base + this.words.length, bsv.base + bsv.words.length) - b;
+				if (isDense(nwords, this.size + bsv.size)) {
+					final long[] w = new long[nwords];
+					for (int i = 0; i < nwords; i++) {
+						w[i] = this.word(b + i) | bsv.word(b + i);
+					}
+					return withCostModel(make(b, w));
+				}
+			}
+			if (set instanceof Reducible) {
+				final ValueVec cupElems = new ValueVec(this.size);
+				final int[] ints = toInts();
+				for (int i = 0; i < ints.length; i++) {
+					cupElems.addElement(IntValue.gen(ints[i]));
+				}
+				final ValueEnumeration Enum = ((Enumerable) set).elements();
+				Value elem;
+				while ((elem = Enum.nextElement()) != null) {
+					if (!this.member(elem)) cupElems.addElement(elem);
+				}
+				return create(cupElems, false, cm);
+			}
+			return new SetCupValue(this, set, cm);
+		} catch (RuntimeException | OutOfMemoryError e) {
+			if (hasSource()) { throw FingerprintException.getNewHead(this, e); }
+			else { throw e; }
+		}
+	}
+
+	private final BitSetValue withCostModel(final BitSetValue bsv) {
+		bsv.cm = this.cm;
+		return bsv;
+	}
+
+	@Override
+	public final Value takeExcept(ValueExcept ex) {
+		try {
+			if (ex.idx < ex.path.length) {
+				Assert.fail("Attempted to apply EXCEPT to the set " + Values.ppr(this.toString()) + ".", getSource());
+			}
+			return ex.value;
+		} catch (RuntimeException | OutOfMemoryError e) {
+			if (hasSource()) { throw FingerprintException.getNewHead(this, e); }
+			else { throw e; }
+		}
+	}
+
+	@Override
+	public final Value takeExcept(ValueExcept[] exs) {
+		try {
+			if (exs.length != 0) {
+				Assert.fail("Attempted to apply EXCEPT to the set " + Values.ppr(this.toString()) + ".", getSource());
+			}
+			return this;
+		} catch (RuntimeException | OutOfMemoryError e) {
+			if (hasSource()) { throw FingerprintException.getNewHead(this, e); }
+			else { throw e; }
+		}
+	}
+
+	@Override
+	public final boolean isNormalized() {
+		return true;
+	}
+
+	@Override
+	public final Value normalize() {
+		/* nop */return this;
+	}
+
+	@Override
+	public final boolean isDefined() {
+		return true;
+	}
+
+	@Override
+	public final IValue deepCopy() {
+		return this;
+	}
+
+	@Override
+	public final void write(final IValueOutputStream vos) throws IOException {
+		// Same format as a normalized SetEnumValue (see SetEnumValue#write). Note that
+		// the reader assigns an index to every SetEnumValue it reads, hence put has to
+		// be called here too.
+		final int index = vos.put(this);
+		if (index == -1) {
+			vos.writeByte(SETENUMVALUE);
+			vos.writeInt(this.size);
+			final int[] ints = toInts();
+			for (int i = 0; i < ints.length; i++) {
+				vos.writeByte(INTVALUE);
+				vos.writeInt(ints[i]);
+			}
+		} else {
+			vos.writeByte(DUMMYVALUE);
+			vos.writeNat(index);
+		}
+	}
+
+	/* The fingerprint method: identical to the one of a normalized SetEnumValue. */
+	@Override
+	public final long fingerPrint(long fp) {
+		try {
+			fp = FP64.Extend(fp, SETENUMVALUE);
+			fp = FP64.Extend(fp, this.size);
+			for (int i = 0; i < this.words.length; i++) {
+				long w = this.words[i];
+				while (w != 0L) {
+					fp = FP64.Extend(fp, INTVALUE);
+					fp = FP64.Extend(fp, ((this.base + i) << 6) + Long.numberOfTrailingZeros(w));
+					w &= w - 1;
+				}
+			}
+			return fp;
+		} catch (RuntimeException | OutOfMemoryError e) {
+			if (hasSource()) { throw FingerprintException.getNewHead(this, e); }
+			else { throw e; }
+		}
+	}
+
+	@Override
+	public boolean mutates() {
+		return false;
+	}
+
+	@Override
+	public final IValue permute(IMVPerm perm) {
+		return this;
+	}
+
+	@Override
+	public Value toSetEnum() {
+		final int[] ints = toInts();
+		final Value[] vals = new Value[ints.length];
+		for (int i = 0; i < vals.length; i++) {
+			vals[i] = IntValue.gen(ints[i]);
+		}
+		// No secondary costs: A BitSetValue is accounted for like the SetEnumValue
+		// it is equivalent to (whose toSetEnum is free).
+		return new SetEnumValue(vals, true, cm);
+	}
+
+	/* The string representation: identical to the one of SetEnumValue. */
+	@Override
+	public final StringBuffer toString(StringBuffer sb, int offset, boolean swallow) {
+		try {
+			final int[] ints = toInts();
+			sb = sb.append("{");
+			for (int i = 0; i < ints.length; i++) {
+				if (i > 0) {
+					sb.append(", ");
+				}
+				sb.append(ints[i]);
+			}
+			sb.append("}");
+			return sb;
+		} catch (RuntimeException | OutOfMemoryError e) {
+			if (hasSource()) { throw FingerprintException.getNewHead(this, e); }
+			else { throw e; }
+		}
+	}
+
+	@Override
+	public EnumerableValue getRandomSubset(final int kOutOfN) {
+		final ValueVec vec = new ValueVec(kOutOfN);
+
+		final ValueEnumeration ve = elements(kOutOfN);
+
+		Value v = null;
+		while ((v = ve.nextElement()) != null) {
+			vec.addElement(v);
+		}
+		return new SetEnumValue(vec, false, cm);
+	}
+
+	@Override
+	public final ValueEnumeration elements() {
+		try {
+			return new Enumerator();
+		} catch (RuntimeException | OutOfMemoryError e) {
+			if (hasSource()) { throw FingerprintException.getNewHead(this, e); }
+			else { throw e; }
+		}
+	}
+
+	@Override
+	public ValueEnumeration elements(final Ordering ordering) {
+		if (ordering == Ordering.NORMALIZED) {
+			// Enumerator enumerates in ascending, i.e. normalized, order.
+			return elements();
+		}
+		return super.elements(ordering);
+	}
+
+	final class Enumerator implements ValueEnumeration {
+		private int idx = 0;
+		private long word = words.length > 0 ? words[0] : 0L;
+
+		@Override
+		public final void reset() {
+			this.idx = 0;
+			this.word = words.length > 0 ? words[0] : 0L;
+		}
+
+		@Override
+		public final Value nextElement() {
+			// Like SetEnumValue's Enumerator, count the final call that returns null too.
+			if (coverage) { cm.incSecondary(); }
+			while (this.word == 0L) {
+				if (++this.idx >= words.length) {
+					return null;
+				}
+				this.word = words[this.idx];
+			}
+			final int v = ((base + this.idx) << 6) + Long.numberOfTrailingZeros(this.word);
+			this.word &= this.word - 1;
+			return IntValue.gen(v);
+		}
+	}
+
+	@Override
+	public ValueEnumeration elements(final int kOutOfN) {
+		final int[] ints = toInts();
+		return new EnumerableValue.SubsetEnumerator(kOutOfN) {
+			@Override
+			public Value nextElement() {
+				if (!hasNext()) {
+					return null;
+				}
+				return IntValue.gen(ints[nextIndex()]);
+			}
+		};
+	}
+
+	public Value randomElement() {
+		final int[] ints = toInts();
+		final int index = (int) Math.floor(RandomEnumerableValues.get().nextDouble() * ints.length);
+		return IntValue.gen(ints[index]);
+	}
+
+	@Override
+	public TLCVariable toTLCVariable(final TLCVariable variable, Random rnd) {
+		return this.toSetEnum().toTLCVariable(variable, rnd);
+	}
+}
@@ -0,0 +1,134 @@
+/*******************************************************************************
+ * Copyright (c) 2026 The Linux Foundation. All rights reserved.
+ *
+ * The MIT License (MIT)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ * of the Software, and to permit persons to whom the Software is furnished to do
+ * so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN
+ * AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ ******************************************************************************/
+package tlc2.value.impl;
+
+import java.util.function.LongUnaryOperator;
+
+import tlc2.util.FP64;
+
+/**
+ * The memoized fingerprint contribution of a normalized, immutable composite
+ * value.
+ * <p>
+ * Extending an FP64 fingerprint by a byte is linear over GF(2) in both, the
+ * fingerprint and the byte. Consequently, if a value's
+ * {@link Value#fingerPrint(long)} extends fp by a sequence of n bytes,
+ * <pre>
+ * fingerPrint(fp) = fp * x^(8n) mod P  XOR  fingerPrint(0)
+ * </pre>
+ * where P is {@link FP64#getIrredPoly()}. fingerPrint(0) is the
+ * <i>contribution</i> of the value and x^(8n) mod P, its <i>shift</i>, equals
+ * fingerPrint(1) XOR fingerPrint(0) (1 being the polynomial 1). Both are
+ * independent of fp, which is why they can be cached with the value. The
+ * cached result is identical to the uncached one.
+ * <p>
+ * A value caches its contribution only after it has been fingerprinted twice
+ * (the common case for values carried unchanged into successor states), because
+ * computing the contribution and shift takes two additional fingerprints of the
+ * value. Caching is turned off with
+ * -Dtlc2.value.impl.CachedFingerprint.off=true.
+ */
+final class CachedFingerprint {
+
+	static final boolean ENABLED = !Boolean.getBoolean(CachedFingerprint.class.getName() + ".off");
+
+	/**
+	 * Values with fewer elements do not cache their fingerprint, which would not
+	 * be cheaper than computing it.
+	 */
+	static final int MIN_SIZE = Integer.getInteger(CachedFingerprint.class.getName() + ".minSize", 4);
+
+	/**
+	 * Marks a value that has been fingerprinted once.
+	 */
+	static final CachedFingerprint SEEN = new CachedFingerprint(0L, 0L, 0L);
+
+	/**
+	 * Marks a value whose fingerprint turned out to not be a plain extension of
+	 * the given fingerprint, which thus cannot be cached.
+	 */
+	static final CachedFingerprint NEVER = new CachedFingerprint(0L, 0L, 0L);
+
+	/**
+	 * The polynomial 1 (FP64 stores the coefficient of x^0 in the most
+	 * significant bit).
+	 */
+	private static final long ONE = 0x8000000000000000L;
+
+	/**
+	 * The irreducible polynomial for which the fields below have been computed.
+	 * Tests re-initialize FP64 with a different polynomial.
+	 */
+	private final long poly;
+	private final long contribution;
+	private final long shift;
+
+	private CachedFingerprint(final long poly, final long contribution, final long shift) {
+		this.poly = poly;
+		this.contribution = contribution;
+		this.shift = shift;
+	}
+
+	boolean isCurrent() {
+		return this.poly != 0L && this.poly == FP64.getIrredPoly();
+	}
+
+	long extend(final long fp) {
+		return multiply(fp, this.shift, this.poly) ^ this.contribution;
+	}
+
+	/**
+	 * @param fpr    the uncached fingerprint function of the value.
+	 * @param fp     the fingerprint the value has just been extended with...
+	 * @param res    ...and the resulting fingerprint.
+	 */
+	static CachedFingerprint of(final LongUnaryOperator fpr, final long fp, final long res) {
+		final long poly = FP64.getIrredPoly();
+		if (poly == 0L) {
+			// FP64 has not been initialized.
+			return SEEN;
+		}
+		final long contribution = fpr.applyAsLong(0L);
+		final long shift = fpr.applyAsLong(ONE) ^ contribution;
+		final CachedFingerprint cached = new CachedFingerprint(poly, contribution, shift);
+		if (cached.extend(fp) != res) {
+			// Some (user-defined) sub-value does not fingerprint by extension only.
+			return NEVER;
+		}
+		return cached;
+	}
+
+	/**
+	 * Multiplication of a and b modulo poly in FP64's bit-reversed representation.
+	 */
+	private static long multiply(long a, final long b, final long poly) {
+		long r = 0L;
+		for (int i = 63; i >= 0; i--) {
+			// If b has the coefficient x^(63-i) set, add a * x^(63-i).
+			r ^= a & -((b >>> i) & 1L);
+			// a = a * x mod poly
+			a = (a >>> 1) ^ (poly & -(a & 1L));
+		}
+		return r;
+	}
+}
@@ -654,7 +654,7 @@ public class FcnLambdaValue extends Value implements FunctionValue, IFcnLambdaVa
             Context c1 = this.con;
             if (isTuples[0]) {
               FormalParamNode[] ids = formals[0];
-              Value [] avals = ((TupleValue)arg).elems;
+              Value [] avals = ((TupleValue)arg.toTuple()).elems;
               for (int j = 0; j < ids.length; j++) {
                 c1 = c1.cons(ids[j], avals[j]);
               }
@@ -674,13 +674,13 @@ public class FcnLambdaValue extends Value implements FunctionValue, IFcnLambdaVa
         else {
           while ((arg = Enum.nextElement()) != null) {
             domain[idx] = arg;
-            Value [] argList = ((TupleValue)arg).elems;
+            Value [] argList = ((TupleValue)arg.toTuple()).elems;
             int argn = 0;
             Context c1 = this.con;
             for (int i = 0; i < formals.length; i++) {
               FormalParamNode[] ids = formals[i];
               if (isTuples[i]) {
-                Value [] avals = ((TupleValue)argList[argn++]).elems;
+                Value [] avals = ((TupleValue)argList[argn++].toTuple()).elems;
                 for (int j = 0; j < ids.length; j++) {
                   c1 = c1.cons(ids[j], avals[j]);
                 }
@@ -32,7 +32,7 @@ import util.UniqueString;
 public class FcnRcdValue extends Value implements FunctionValue, IFcnRcdValue {
 	
 	// -Dtlc2.value.impl.FcnRcdValue.threshold=16
-	private static final int LINEAR_SEARCH_THRESHOLD = Integer.getInteger(FcnRcdValue.class.getName() + ".threshold", 32);
+	static final int LINEAR_SEARCH_THRESHOLD = Integer.getInteger(FcnRcdValue.class.getName() + ".threshold", 32);
 	static {
 		if (LINEAR_SEARCH_THRESHOLD != 32) {
 			ToolIO.out.println("FcnRcdValue#threshold is: " + LINEAR_SEARCH_THRESHOLD);
@@ -43,6 +43,7 @@ public class FcnRcdValue extends Value implements FunctionValue, IFcnRcdValue {
   public final IntervalValue intv;
   public final Value[] values;
   private boolean isNorm;
+  private transient CachedFingerprint fpCache; // see fingerPrint(long)
 //  private int[] indexTbl;  // speed up function application
   public static final Value EmptyFcn = new FcnRcdValue(new Value[0], new Value[0], true);
 
@@ -250,6 +251,9 @@ public class FcnRcdValue extends Value implements FunctionValue, IFcnRcdValue {
   }
   
   public final boolean equals(Object obj) {
+    if (this == obj) {
+      return true;
+    }
     try {
 
       FcnRcdValue fcn = obj instanceof Value ? (FcnRcdValue) ((Value)obj).toFcnRcd() : null;
@@ -488,44 +492,48 @@ public class FcnRcdValue extends Value implements FunctionValue, IFcnRcdValue {
 
       if (ex.idx >= ex.path.length) return ex.value;
 
-      int flen = this.values.length;
-      Value[] newValues = new Value[flen];
-      for (int i = 0; i < flen; i++) {
-        newValues[i] = this.values[i];
+      final int vidx = this.exceptIndex(ex.path[ex.idx]);
+      if (vidx < 0) {
+        return this;
       }
-      Value arg = ex.path[ex.idx];
+      // Copy the values array once (a plain reference copy) and share the domain.
+      final Value[] newValues = this.values.clone();
+      ex.idx++;
+      newValues[vidx] = this.values[vidx].takeExcept(ex);
+      return this.withValues(newValues);
 
-      if (this.intv != null) {
-        // domain is represented as an integer interval:
-        if (arg instanceof IntValue) {
-          int idx = ((IntValue)arg).val;
-          if ((idx >= this.intv.low) && (idx <= this.intv.high)) {
-            int vidx = idx - this.intv.low;
-            ex.idx++;
-            newValues[vidx] = this.values[vidx].takeExcept(ex);
+    }
+    catch (RuntimeException | OutOfMemoryError e) {
+      if (hasSource()) { throw FingerprintException.getNewHead(this, e); }
+      else { throw e; }
+    }
+  }
+
+  @Override
+  public final Value takeExcept(ValueExcept[] exs) {
+    try {
+      // Unless an except replaces the function as a whole, apply all excepts to a
+      // single copy of the values array instead of copying it once per except.
+      Value[] newValues = null;
+      for (int i = 0; i < exs.length; i++) {
+        final ValueExcept ex = exs[i];
+        if (ex.idx >= ex.path.length) {
+          Value res = newValues == null ? this : this.withValues(newValues);
+          for (; i < exs.length; i++) {
+            res = res.takeExcept(exs[i]);
           }
-          return new FcnRcdValue(this.intv, newValues);
+          return res;
         }
-      }
-      else {
-        // domain is represented as an array of values:
-        for (int i = 0; i < flen; i++) {
-          if (arg.equals(this.domain[i])) {
-            ex.idx++;
-            newValues[i] = newValues[i].takeExcept(ex);
-            Value[] newDomain = this.domain;
-            if (!this.isNorm) {
-              newDomain = new Value[flen];
-              for (int j = 0; j < flen; j++) {
-                newDomain[j] = this.domain[j];
-              }
-            }
-            return new FcnRcdValue(newDomain, newValues, this.isNorm);
+        final int vidx = this.exceptIndex(ex.path[ex.idx]);
+        if (vidx >= 0) {
+          if (newValues == null) {
+            newValues = this.values.clone();
           }
+          ex.idx++;
+          newValues[vidx] = newValues[vidx].takeExcept(ex);
         }
       }
-      return this;
-
+      return newValues == null ? this : this.withValues(newValues);
     }
     catch (RuntimeException | OutOfMemoryError e) {
       if (hasSource()) { throw FingerprintException.getNewHead(this, e); }
@@ -533,14 +541,29 @@ public class FcnRcdValue extends Value implements FunctionValue, IFcnRcdValue {
     }
   }
 
-  @Override
-  public final Value takeExcept(ValueExcept[] exs) {
+  /**
+   * Applies ex to this function <em>in place</em>. This is only valid for a
+   * function that has just been returned (as a new instance) by
+   * {@link #takeExcept(ValueExcept)} and has not been shared with anybody
+   * else, which is why its values array is private to it. Tool uses this for
+   * the second and subsequent clauses of [f EXCEPT ![a] = x, ![b] = y, ...] to
+   * not copy the values array once per clause.
+   *
+   * @return false iff ex does not refer to an element of the domain and this
+   *         function is thus unchanged, i.e. when takeExcept would return this.
+   */
+  public final boolean takeExceptInPlace(ValueExcept ex) {
     try {
-      Value res = this;
-      for (int i = 0; i < exs.length; i++) {
-        res = res.takeExcept(exs[i]);
+      if (ex.idx >= ex.path.length) {
+        throw new IllegalArgumentException();
+      }
+      final int vidx = this.exceptIndex(ex.path[ex.idx]);
+      if (vidx < 0) {
+        return false;
       }
-      return res;
+      ex.idx++;
+      this.values[vidx] = this.values[vidx].takeExcept(ex);
+      return true;
     }
     catch (RuntimeException | OutOfMemoryError e) {
       if (hasSource()) { throw FingerprintException.getNewHead(this, e); }
@@ -548,6 +571,51 @@ public class FcnRcdValue extends Value implements FunctionValue, IFcnRcdValue {
     }
   }
 
+  /**
+   * @return The index into this.values of the domain element arg or -1 if arg
+   *         is not in the domain.
+   */
+  private final int exceptIndex(final Value arg) {
+    if (this.intv != null) {
+      // domain is represented as an integer interval:
+      if (arg instanceof IntValue) {
+        final int idx = ((IntValue) arg).val;
+        if ((idx >= this.intv.low) && (idx <= this.intv.high)) {
+          return idx - this.intv.low;
+        }
+      }
+      return -1;
+    }
+    // domain is represented as an array of values (see selectBinarySearch):
+    if (this.isNorm && this.domain.length >= LINEAR_SEARCH_THRESHOLD) {
+      final int idx = Arrays.binarySearch(this.domain, arg, Value::compareTo);
+      if (idx >= 0 && this.domain[idx].equals(arg)) {
+        return idx;
+      }
+      return -1;
+    }
+    for (int i = 0; i < this.domain.length; i++) {
+      if (arg.equals(this.domain[i])) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * @return A function with the same domain as this function and the given
+   *         values.
+   */
+  private final FcnRcdValue withValues(final Value[] newValues) {
+    if (this.intv != null) {
+      return new FcnRcdValue(this.intv, newValues);
+    }
+    // A normalized domain is immutable and can thus be shared. An unnormalized one
+    // gets sorted in place by normalize (together with the values).
+    final Value[] newDomain = this.isNorm ? this.domain : this.domain.clone();
+    return new FcnRcdValue(newDomain, newValues, this.isNorm);
+  }
+
   @Override
   public final Value getDomain() {
     try {
@@ -789,6 +857,20 @@ public class FcnRcdValue extends Value implements FunctionValue, IFcnRcdValue {
   /* The fingerprint method.  */
   @Override
   public final long fingerPrint(long fp) {
+    final CachedFingerprint cached = this.fpCache;
+    if (cached != null && cached.isCurrent()) {
+      return cached.extend(fp);
+    }
+    final long res = this.fingerPrintUncached(fp);
+    if (CachedFingerprint.ENABLED && cached != CachedFingerprint.NEVER
+        && this.values.length >= CachedFingerprint.MIN_SIZE && this.isNormalized()) {
+      this.fpCache = cached == null ? CachedFingerprint.SEEN
+          : CachedFingerprint.of(this::fingerPrintUncached, fp, res);
+    }
+    return res;
+  }
+
+  private long fingerPrintUncached(long fp) {
     try {
       this.normalize();
       int flen = this.values.length;
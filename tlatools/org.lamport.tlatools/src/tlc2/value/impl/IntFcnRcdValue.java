@@ -0,0 +1,495 @@
+/*******************************************************************************
+ * Copyright (c) 2026 The Linux Foundation. All rights reserved.
+ *
+ * The MIT License (MIT)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ * of the Software, and to permit persons to whom the Software is furnished to do
+ * so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN
+ * AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ ******************************************************************************/
+package tlc2.value.impl;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import tlc2.tool.FingerprintException;
+import tlc2.tool.TLCState;
+import tlc2.util.FP64;
+import tlc2.value.IFcnRcdValue;
+import tlc2.value.IMVPerm;
+import tlc2.value.IValue;
+import tlc2.value.IValueOutputStream;
+import tlc2.value.Values;
+import util.Assert;
+
+/**
+ * A non-empty, normalized function whose range consists of integers only,
+ * represented by an int[] of its values instead of a {@link FcnRcdValue} over
+ * an array of {@link IntValue} objects. Like FcnRcdValue, the domain is either
+ * an {@link IntervalValue} or a (normalized) array of values.
+ * <p>
+ * An IntFcnRcdValue is indistinguishable from the equivalent FcnRcdValue: It
+ * fingerprints identically, it compares and equals the same, and it serializes
+ * to the FcnRcdValue format. Operations that would map an element of the domain
+ * to a non-integer fall back to the generic FcnRcdValue returned by
+ * {@link #toFcnRcd()}.
+ * <p>
+ * IntFcnRcdValues are created by {@link #create(FcnRcdValue)}, which can be
+ * turned off with -Dtlc2.value.impl.IntFcnRcdValue.off=true.
+ */
+public class IntFcnRcdValue extends Value implements FunctionValue, IFcnRcdValue {
+
+	public static final boolean ENABLED = !Boolean.getBoolean(IntFcnRcdValue.class.getName() + ".off");
+
+	// Exactly one of domain and intv is null. A non-null domain is normalized and
+	// thus immutable, which is why it is shared with the FcnRcdValues this
+	// function is created from and converted to.
+	final Value[] domain;
+	final IntervalValue intv;
+	final int[] values;
+	private transient CachedFingerprint fpCache; // see fingerPrint(long)
+
+	private IntFcnRcdValue(final Value[] domain, final IntervalValue intv, final int[] values) {
+		this.domain = domain;
+		this.intv = intv;
+		this.values = values;
+	}
+
+	/**
+	 * @return An IntFcnRcdValue equal to fcn if all of fcn's values are integers,
+	 *         fcn otherwise.
+	 */
+	public static Value create(final FcnRcdValue fcn) {
+		if (!ENABLED) {
+			return fcn;
+		}
+		int[] ints = IntTupleValue.toInts(fcn.values);
+		if (ints == null) {
+			return fcn;
+		}
+		if (fcn.intv == null && !fcn.isNormalized()) {
+			// normalize permutes domain and values in place.
+			fcn.normalize();
+			ints = IntTupleValue.toInts(fcn.values);
+		}
+		final IntFcnRcdValue res = new IntFcnRcdValue(fcn.domain, fcn.intv, ints);
+		res.cm = fcn.cm;
+		return res;
+	}
+
+	/**
+	 * @return A function with the same domain as this function and the given
+	 *         values.
+	 */
+	private final IntFcnRcdValue withValues(final int[] newValues) {
+		return new IntFcnRcdValue(this.domain, this.intv, newValues);
+	}
+
+	@Override
+	public final byte getKind() {
+		return INTFCNRCDVALUE;
+	}
+
+	@Override
+	public final int compareTo(Object obj) {
+		try {
+			if (obj instanceof IntFcnRcdValue) {
+				final IntFcnRcdValue fcn = (IntFcnRcdValue) obj;
+				if ((this.intv == null) == (fcn.intv == null)) {
+					// Same representation of the domains (see FcnRcdValue#compareTo).
+					int cmp = this.values.length - fcn.values.length;
+					if (cmp != 0) {
+						return cmp;
+					}
+					if (this.intv != null) {
+						cmp = this.intv.low - fcn.intv.low;
+					} else if (this.domain != fcn.domain) {
+						for (int i = 0; cmp == 0 && i < this.domain.length; i++) {
+							cmp = this.domain[i].compareTo(fcn.domain[i]);
+						}
+					}
+					for (int i = 0; cmp == 0 && i < this.values.length; i++) {
+						cmp = Integer.compare(this.values[i], fcn.values[i]);
+					}
+					return cmp;
+				}
+			}
+			return this.toFcnRcd().compareTo(obj);
+		} catch (RuntimeException | OutOfMemoryError e) {
+			if (hasSource()) { throw FingerprintException.getNewHead(this, e); }
+			else { throw e; }
+		}
+	}
+
+	public final boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		try {
+			if (obj instanceof IntFcnRcdValue) {
+				final IntFcnRcdValue fcn = (IntFcnRcdValue) obj;
+				if ((this.intv == null) == (fcn.intv == null)) {
+					if (!Arrays.equals(this.values, fcn.values)) {
+						return false;
+					}
+					if (this.intv != null) {
+						return this.intv.equals(fcn.intv);
+					}
+					return this.domain == fcn.domain || Arrays.equals(this.domain, fcn.domain);
+				}
+			}
+			return this.toFcnRcd().equals(obj);
+		} catch (RuntimeException | OutOfMemoryError e) {
+			if (hasSource()) { throw FingerprintException.getNewHead(this, e); }
+			else { throw e; }
+		}
+	}
+
+	@Override
+	public final boolean member(Value elem) {
+		try {
+			Assert.fail("Attempted to check if the value:\n" + Values.ppr(elem.toString()) +
+					"\nis an element of the function " + Values.ppr(this.toString()), getSource());
+			return false; // make compiler happy
+		} catch (RuntimeException | OutOfMemoryError e) {
+			if (hasSource()) { throw FingerprintException.getNewHead(this, e); }
+			else { throw e; }
+		}
+	}
+
+	@Override
+	public final boolean isFinite() {
+		return true;
+	}
+
+	@Override
+	public final Value apply(Value arg, int control) {
+		try {
+			final Value result = this.select(arg);
+			if (result == null) {
+				Assert.fail("Attempted to apply function:\n" + Values.ppr(this.toString()) +
+						"\nto argument " + Values.ppr(arg.toString()) + ", which is" +
+						" not in the domain of the function.", getSource());
+			}
+			return result;
+		} catch (RuntimeException | OutOfMemoryError e) {
+			if (hasSource()) { throw FingerprintException.getNewHead(this, e); }
+			else { throw e; }
+		}
+	}
+
+	@Override
+	public final Value select(Value arg) {
+		try {
+			if (this.intv != null && !(arg instanceof IntValue)) {
+				Assert.fail("Attempted to apply function with integer domain to" +
+						" the non-integer argument " + Values.ppr(arg.toString()), getSource());
+			}
+			final int idx = this.indexOf(arg);
+			return idx < 0 ? null : IntValue.gen(this.values[idx]);
+		} catch (RuntimeException | OutOfMemoryError e) {
+			if (hasSource()) { throw FingerprintException.getNewHead(this, e); }
+			else { throw e; }
+		}
+	}
+
+	/**
+	 * @return The index into this.values of the domain element arg or -1 if arg
+	 *         is not in the domain (see FcnRcdValue#exceptIndex).
+	 */
+	private final int indexOf(final Value arg) {
+		if (this.intv != null) {
+			if (arg instanceof IntValue) {
+				final int idx = ((IntValue) arg).val;
+				if ((idx >= this.intv.low) && (idx <= this.intv.high)) {
+					return idx - this.intv.low;
+				}
+			}
+			return -1;
+		}
+		if (this.domain.length >= FcnRcdValue.LINEAR_SEARCH_THRESHOLD) {
+			final int idx = Arrays.binarySearch(this.domain, arg, Value::compareTo);
+			if (idx >= 0 && this.domain[idx].equals(arg)) {
+				return idx;
+			}
+			return -1;
+		}
+		for (int i = 0; i < this.domain.length; i++) {
+			if (this.domain[i].equals(arg)) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	@Override
+	public final Value takeExcept(ValueExcept ex) {
+		try {
+			if (ex.idx >= ex.path.length) {
+				return ex.value;
+			}
+			final int vidx = this.indexOf(ex.path[ex.idx]);
+			if (vidx < 0) {
+				return this;
+			}
+			if (!isIntExcept(ex)) {
+				// Falls back to the generic representation.
+				return this.toFcnRcd().takeExcept(ex);
+			}
+			final int[] newValues = this.values.clone();
+			ex.idx++;
+			newValues[vidx] = ((IntValue) ex.value).val;
+			return this.withValues(newValues);
+		} catch (RuntimeException | OutOfMemoryError e) {
+			if (hasSource()) { throw FingerprintException.getNewHead(this, e); }
+			else { throw e; }
+		}
+	}
+
+	@Override
+	public final Value takeExcept(ValueExcept[] exs) {
+		try {
+			// Like FcnRcdValue#takeExcept(ValueExcept[]), copy the values once.
+			int[] newValues = null;
+			for (int i = 0; i < exs.length; i++) {
+				final ValueExcept ex = exs[i];
+				final int vidx = ex.idx < ex.path.length ? this.indexOf(ex.path[ex.idx]) : -1;
+				if (vidx >= 0 && isIntExcept(ex)) {
+					if (newValues == null) {
+						newValues = this.values.clone();
+					}
+					ex.idx++;
+					newValues[vidx] = ((IntValue) ex.value).val;
+				} else if (ex.idx < ex.path.length && vidx < 0) {
+					// Not in the domain, thus a no-op.
+					continue;
+				} else {
+					Value res = newValues == null ? this : this.withValues(newValues);
+					for (; i < exs.length; i++) {
+						res = res.takeExcept(exs[i]);
+					}
+					return res;
+				}
+			}
+			return newValues == null ? this : this.withValues(newValues);
+		} catch (RuntimeException | OutOfMemoryError e) {
+			if (hasSource()) { throw FingerprintException.getNewHead(this, e); }
+			else { throw e; }
+		}
+	}
+
+	/**
+	 * Applies ex to this function <em>in place</em> (see
+	 * {@link FcnRcdValue#takeExceptInPlace(ValueExcept)}).
+	 *
+	 * @return false iff ex does not map an element of the domain to an integer,
+	 *         in which case takeExcept has to be used.
+	 */
+	public final boolean takeExceptInPlace(ValueExcept ex) {
+		if (!isIntExcept(ex)) {
+			return false;
+		}
+		final int vidx = this.indexOf(ex.path[ex.idx]);
+		if (vidx < 0) {
+			return false;
+		}
+		ex.idx++;
+		this.values[vidx] = ((IntValue) ex.value).val;
+		return true;
+	}
+
+	/**
+	 * @return true iff ex replaces the value of a single domain element with an
+	 *         integer.
+	 */
+	private static final boolean isIntExcept(final ValueExcept ex) {
+		return ex.idx == ex.path.length - 1 && ex.value instanceof IntValue;
+	}
+
+	@Override
+	public final Value getDomain() {
+		try {
+			if (this.intv != null) {
+				return this.intv;
+			}
+			return new SetEnumValue(this.domain, true);
+		} catch (RuntimeException | OutOfMemoryError e) {
+			if (hasSource()) { throw FingerprintException.getNewHead(this, e); }
+			else { throw e; }
+		}
+	}
+
+	@Override
+	public final int size() {
+		return this.values.length;
+	}
+
+	@Override
+	public final Value toTuple() {
+		return this.toFcnRcd().toTuple();
+	}
+
+	@Override
+	public final Value toRcd() {
+		return this.toFcnRcd().toRcd();
+	}
+
+	@Override
+	public TLCState toState() {
+		return this.toFcnRcd().toState();
+	}
+
+	@Override
+	public final Value toFcnRcd() {
+		final Value[] vals = new Value[this.values.length];
+		for (int i = 0; i < vals.length; i++) {
+			vals[i] = IntValue.gen(this.values[i]);
+		}
+		if (this.intv != null) {
+			return new FcnRcdValue(this.intv, vals, cm);
+		}
+		return new FcnRcdValue(this.domain, vals, true, cm);
+	}
+
+	@Override
+	public final boolean isNormalized() {
+		return true;
+	}
+
+	@Override
+	public final Value normalize() {
+		/* nop */return this;
+	}
+
+	@Override
+	public final void deepNormalize() {
+		// nop
+	}
+
+	@Override
+	public final boolean isDefined() {
+		return true;
+	}
+
+	@Override
+	public final IValue deepCopy() {
+		return this.withValues(this.values.clone());
+	}
+
+	@Override
+	public final void write(final IValueOutputStream vos) throws IOException {
+		// Same format as FcnRcdValue#write.
+		final int index = vos.put(this);
+		if (index == -1) {
+			vos.writeByte(FCNRCDVALUE);
+			final int len = this.values.length;
+			vos.writeNat(len);
+			if (this.intv != null) {
+				vos.writeByte((byte) 0);
+				vos.writeInt(this.intv.low);
+				vos.writeInt(this.intv.high);
+				for (int i = 0; i < len; i++) {
+					vos.writeByte(INTVALUE);
+					vos.writeInt(this.values[i]);
+				}
+			} else {
+				vos.writeByte((byte) 1);
+				for (int i = 0; i < len; i++) {
+					this.domain[i].write(vos);
+					vos.writeByte(INTVALUE);
+					vos.writeInt(this.values[i]);
+				}
+			}
+		} else {
+			vos.writeByte(DUMMYVALUE);
+			vos.writeNat(index);
+		}
+	}
+
+	/* The fingerprint method: identical to the one of FcnRcdValue. */
+	@Override
+	public final long fingerPrint(long fp) {
+		final CachedFingerprint cached = this.fpCache;
+		if (cached != null && cached.isCurrent()) {
+			return cached.extend(fp);
+		}
+		final long res = this.fingerPrintUncached(fp);
+		if (CachedFingerprint.ENABLED && cached != CachedFingerprint.NEVER
+				&& this.values.length >= CachedFingerprint.MIN_SIZE) {
+			this.fpCache = cached == null ? CachedFingerprint.SEEN
+					: CachedFingerprint.of(this::fingerPrintUncached, fp, res);
+		}
+		return res;
+	}
+
+	private long fingerPrintUncached(long fp) {
+		try {
+			final int flen = this.values.length;
+			fp = FP64.Extend(fp, FCNRCDVALUE);
+			fp = FP64.Extend(fp, flen);
+			for (int i = 0; i < flen; i++) {
+				if (this.intv == null) {
+					fp = this.domain[i].fingerPrint(fp);
+				} else {
+					fp = FP64.Extend(fp, INTVALUE);
+					fp = FP64.Extend(fp, i + this.intv.low);
+				}
+				fp = FP64.Extend(fp, INTVALUE);
+				fp = FP64.Extend(fp, this.values[i]);
+			}
+			return fp;
+		} catch (RuntimeException | OutOfMemoryError e) {
+			if (hasSource()) { throw FingerprintException.getNewHead(this, e); }
+			else { throw e; }
+		}
+	}
+
+	@Override
+	public final IValue permute(IMVPerm perm) {
+		try {
+			if (this.intv == null) {
+				// Integers are not permuted but the domain elements might be.
+				for (int i = 0; i < this.domain.length; i++) {
+					if (this.domain[i].permute(perm) != this.domain[i]) {
+						return this.toFcnRcd().permute(perm);
+					}
+				}
+			}
+			return this;
+		} catch (RuntimeException | OutOfMemoryError e) {
+			if (hasSource()) { throw FingerprintException.getNewHead(this, e); }
+			else { throw e; }
+		}
+	}
+
+	/* The string representation: identical to the one of FcnRcdValue. */
+	@Override
+	public final StringBuffer toString(StringBuffer sb, int offset, boolean swallow) {
+		return this.toFcnRcd().toString(sb, offset, swallow);
+	}
+
+	@Override
+	public TLCVariable toTLCVariable(final TLCVariable variable, Random rnd) {
+		return this.toFcnRcd().toTLCVariable(variable, rnd);
+	}
+
+	@Override
+	public List<TLCVariable> getTLCVariables(TLCVariable prototype, Random rnd) {
+		return this.toFcnRcd().getTLCVariables(prototype, rnd);
+	}
+}
@@ -0,0 +1,513 @@
+/*******************************************************************************
+ * Copyright (c) 2026 The Linux Foundation. All rights reserved.
+ *
+ * The MIT License (MIT)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ * of the Software, and to permit persons to whom the Software is furnished to do
+ * so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN
+ * AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ ******************************************************************************/
+package tlc2.value.impl;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import tlc2.output.EC;
+import tlc2.output.MP;
+import tlc2.tool.EvalControl;
+import tlc2.tool.FingerprintException;
+import tlc2.tool.coverage.CostModel;
+import tlc2.util.FP64;
+import tlc2.value.IMVPerm;
+import tlc2.value.ITupleValue;
+import tlc2.value.IValue;
+import tlc2.value.IValueOutputStream;
+import tlc2.value.Values;
+import util.Assert;
+
+/**
+ * A non-empty tuple (sequence) of integers, represented as an int[] instead of
+ * a {@link TupleValue} over an array of {@link IntValue} objects.
+ * <p>
+ * An IntTupleValue is indistinguishable from the equivalent TupleValue: It
+ * fingerprints identically, it compares and equals the same, and it serializes
+ * to the TupleValue format (thus, it reads back as a TupleValue). Operations
+ * that would store a non-integer in the tuple fall back to the generic
+ * TupleValue returned by {@link #toTuple()}.
+ * <p>
+ * IntTupleValues are created by {@link #create(Value[], CostModel)}, which can
+ * be turned off with -Dtlc2.value.impl.IntTupleValue.off=true.
+ */
+public class IntTupleValue extends Value implements FunctionValue, ITupleValue {
+
+	public static final boolean ENABLED = !Boolean.getBoolean(IntTupleValue.class.getName() + ".off");
+
+	final int[] elems;
+	private transient CachedFingerprint fpCache; // see fingerPrint(long)
+
+	IntTupleValue(final int[] elems) {
+		this.elems = elems;
+	}
+
+	IntTupleValue(final int[] elems, final CostModel cm) {
+		this(elems);
+		this.cm = cm;
+	}
+
+	/**
+	 * @return A tuple with the given elements, which is an IntTupleValue if they
+	 *         are all integers and a TupleValue otherwise.
+	 */
+	public static Value create(final Value[] elems, final CostModel cm) {
+		final int[] ints = ENABLED ? toInts(elems) : null;
+		if (ints != null) {
+			return new IntTupleValue(ints, cm);
+		}
+		return new TupleValue(elems, cm);
+	}
+
+	public static Value create(final Value[] elems) {
+		return create(elems, CostModel.DO_NOT_RECORD);
+	}
+
+	/**
+	 * @return The values of the given IntValues or null if elems is empty or not
+	 *         all of its elements are integers.
+	 */
+	static int[] toInts(final Value[] elems) {
+		if (elems.length == 0) {
+			return null;
+		}
+		final int[] ints = new int[elems.length];
+		for (int i = 0; i < elems.length; i++) {
+			if (!(elems[i] instanceof IntValue)) {
+				return null;
+			}
+			ints[i] = ((IntValue) elems[i]).val;
+		}
+		return ints;
+	}
+
+	/**
+	 * @return The i-th (zero-based) element of this tuple.
+	 */
+	public final int intAt(final int i) {
+		return this.elems[i];
+	}
+
+	/**
+	 * @return The tuple of the elements from (inclusive) to to (exclusive), which
+	 *         has to be non-empty.
+	 */
+	public final IntTupleValue subTuple(final int from, final int to) {
+		return new IntTupleValue(Arrays.copyOfRange(this.elems, from, to));
+	}
+
+	/**
+	 * @return This tuple with val appended.
+	 */
+	public final IntTupleValue append(final int val) {
+		final int[] ints = Arrays.copyOf(this.elems, this.elems.length + 1);
+		ints[this.elems.length] = val;
+		return new IntTupleValue(ints);
+	}
+
+	/**
+	 * @return This tuple with val prepended.
+	 */
+	public final IntTupleValue prepend(final int val) {
+		final int[] ints = new int[this.elems.length + 1];
+		ints[0] = val;
+		System.arraycopy(this.elems, 0, ints, 1, this.elems.length);
+		return new IntTupleValue(ints);
+	}
+
+	/**
+	 * @return The concatenation of this and other.
+	 */
+	public final IntTupleValue concat(final IntTupleValue other) {
+		final int[] ints = Arrays.copyOf(this.elems, this.elems.length + other.elems.length);
+		System.arraycopy(other.elems, 0, ints, this.elems.length, other.elems.length);
+		return new IntTupleValue(ints);
+	}
+
+	@Override
+	public IValue getElem(int idx) {
+		return IntValue.gen(this.elems[idx]);
+	}
+
+	@Override
+	public IValue[] getElems() {
+		return ((TupleValue) toTuple()).elems;
+	}
+
+	@Override
+	public final byte getKind() {
+		return INTTUPLEVALUE;
+	}
+
+	@Override
+	public final int compareTo(Object obj) {
+		try {
+			if (obj instanceof IntTupleValue) {
+				final int[] other = ((IntTupleValue) obj).elems;
+				final int cmp = this.elems.length - other.length;
+				if (cmp != 0) {
+					return cmp;
+				}
+				for (int i = 0; i < other.length; i++) {
+					if (this.elems[i] != other[i]) {
+						return Integer.compare(this.elems[i], other[i]);
+					}
+				}
+				return 0;
+			} else if (obj instanceof TupleValue) {
+				final Value[] other = ((TupleValue) obj).elems;
+				int cmp = this.elems.length - other.length;
+				for (int i = 0; cmp == 0 && i < other.length; i++) {
+					cmp = IntValue.gen(this.elems[i]).compareTo(other[i]);
+				}
+				return cmp;
+			}
+			// Well, we have to convert this to a tuple and compare.
+			return this.toTuple().compareTo(obj);
+		} catch (RuntimeException | OutOfMemoryError e) {
+			if (hasSource()) { throw FingerprintException.getNewHead(this, e); }
+			else { throw e; }
+		}
+	}
+
+	public final boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		try {
+			if (obj instanceof IntTupleValue) {
+				return Arrays.equals(this.elems, ((IntTupleValue) obj).elems);
+			} else if (obj instanceof TupleValue) {
+				final Value[] other = ((TupleValue) obj).elems;
+				if (this.elems.length != other.length) {
+					return false;
+				}
+				for (int i = 0; i < other.length; i++) {
+					if (!IntValue.gen(this.elems[i]).equals(other[i])) {
+						return false;
+					}
+				}
+				return true;
+			}
+			return this.toTuple().equals(obj);
+		} catch (RuntimeException | OutOfMemoryError e) {
+			if (hasSource()) { throw FingerprintException.getNewHead(this, e); }
+			else { throw e; }
+		}
+	}
+
+	@Override
+	public final boolean member(Value elem) {
+		try {
+			Assert.fail("Attempted to check set membership in a tuple value.", getSource());
+			return false; // make compiler happy
+		} catch (RuntimeException | OutOfMemoryError e) {
+			if (hasSource()) { throw FingerprintException.getNewHead(this, e); }
+			else { throw e; }
+		}
+	}
+
+	@Override
+	public final boolean isFinite() {
+		return true;
+	}
+
+	@Override
+	public final Value apply(Value arg, int control) {
+		try {
+			if (!(arg instanceof IntValue)) {
+				Assert.fail("Attempted to access tuple at a non integral index: " + Values.ppr(arg.toString()), getSource());
+			}
+			final int idx = ((IntValue) arg).val;
+			if (idx <= 0 || idx > this.elems.length) {
+				Assert.fail("Attempted to access index " + idx + " of tuple\n" + Values.ppr(this.toString())
+						+ "\nwhich is out of bounds.", getSource());
+			}
+			return IntValue.gen(this.elems[idx - 1]);
+		} catch (RuntimeException | OutOfMemoryError e) {
+			if (hasSource()) { throw FingerprintException.getNewHead(this, e); }
+			else { throw e; }
+		}
+	}
+
+	@Override
+	public final Value apply(Value[] args, int control) {
+		try {
+			if (args.length != 1) {
+				Assert.fail("Attempted to access tuple with " + args.length + " arguments when it expects 1.", getSource());
+			}
+			return this.apply(args[0], EvalControl.Clear);
+		} catch (RuntimeException | OutOfMemoryError e) {
+			if (hasSource()) { throw FingerprintException.getNewHead(this, e); }
+			else { throw e; }
+		}
+	}
+
+	@Override
+	public final Value select(Value arg) {
+		try {
+			if (!(arg instanceof IntValue)) {
+				Assert.fail("Attempted to access tuple at a non integral index: " + Values.ppr(arg.toString()), getSource());
+			}
+			final int idx = ((IntValue) arg).val;
+			if (idx > 0 && idx <= this.elems.length) {
+				return IntValue.gen(this.elems[idx - 1]);
+			}
+			return null;
+		} catch (RuntimeException | OutOfMemoryError e) {
+			if (hasSource()) { throw FingerprintException.getNewHead(this, e); }
+			else { throw e; }
+		}
+	}
+
+	@Override
+	public final Value takeExcept(ValueExcept ex) {
+		try {
+			if (ex.idx < ex.path.length) {
+				final Value arcVal = ex.path[ex.idx];
+				if (arcVal instanceof IntValue) {
+					final int idx = ((IntValue) arcVal).val - 1;
+					if (0 <= idx && idx < this.elems.length) {
+						if (!isIntExcept(ex)) {
+							// Falls back to the generic representation.
+							return this.toTuple().takeExcept(ex);
+						}
+						final int[] newElems = this.elems.clone();
+						ex.idx++;
+						newElems[idx] = ((IntValue) ex.value).val;
+						return new IntTupleValue(newElems);
+					}
+					return this;
+				}
+				MP.printWarning(EC.TLC_WRONG_TUPLE_FIELD_NAME, new String[] { Values.ppr(arcVal.toString()) });
+			}
+			return ex.value;
+		} catch (RuntimeException | OutOfMemoryError e) {
+			if (hasSource()) { throw FingerprintException.getNewHead(this, e); }
+			else { throw e; }
+		}
+	}
+
+	@Override
+	public final Value takeExcept(ValueExcept[] exs) {
+		try {
+			// Like TupleValue#takeExcept(ValueExcept[]), copy the elements once.
+			IntTupleValue val = this;
+			for (int i = 0; i < exs.length; i++) {
+				final ValueExcept ex = exs[i];
+				if (val != this && val.takeExceptInPlace(ex)) {
+					continue;
+				}
+				final Value res = val.takeExcept(ex);
+				if (!(res instanceof IntTupleValue) || res == ex.value) {
+					Value v = res;
+					for (i++; i < exs.length; i++) {
+						v = v.takeExcept(exs[i]);
+					}
+					return v;
+				}
+				val = (IntTupleValue) res;
+			}
+			return val;
+		} catch (RuntimeException | OutOfMemoryError e) {
+			if (hasSource()) { throw FingerprintException.getNewHead(this, e); }
+			else { throw e; }
+		}
+	}
+
+	/**
+	 * Applies ex to this tuple <em>in place</em> (see
+	 * {@link TupleValue#takeExceptInPlace(ValueExcept)}).
+	 *
+	 * @return false iff ex does not replace an element of this tuple with an
+	 *         integer, in which case takeExcept has to be used.
+	 */
+	public final boolean takeExceptInPlace(ValueExcept ex) {
+		if (!isIntExcept(ex)) {
+			return false;
+		}
+		final int idx = ((IntValue) ex.path[ex.idx]).val - 1;
+		if (idx < 0 || idx >= this.elems.length) {
+			return false;
+		}
+		ex.idx++;
+		this.elems[idx] = ((IntValue) ex.value).val;
+		return true;
+	}
+
+	/**
+	 * @return true iff ex replaces the element at an (integer) index with an
+	 *         integer.
+	 */
+	private static final boolean isIntExcept(final ValueExcept ex) {
+		return ex.idx == ex.path.length - 1 && ex.path[ex.idx] instanceof IntValue && ex.value instanceof IntValue;
+	}
+
+	@Override
+	public final Value getDomain() {
+		try {
+			return new IntervalValue(1, this.size());
+		} catch (RuntimeException | OutOfMemoryError e) {
+			if (hasSource()) { throw FingerprintException.getNewHead(this, e); }
+			else { throw e; }
+		}
+	}
+
+	@Override
+	public final int size() {
+		return this.elems.length;
+	}
+
+	@Override
+	public final void deepNormalize() {
+		// nop
+	}
+
+	@Override
+	public final Value toTuple() {
+		final Value[] vals = new Value[this.elems.length];
+		for (int i = 0; i < vals.length; i++) {
+			vals[i] = IntValue.gen(this.elems[i]);
+		}
+		return new TupleValue(vals, cm);
+	}
+
+	@Override
+	public final Value toFcnRcd() {
+		return this.toTuple().toFcnRcd();
+	}
+
+	@Override
+	public final Value toRcd() {
+		return this.toTuple().toRcd();
+	}
+
+	@Override
+	public final boolean isNormalized() {
+		return true;
+	}
+
+	@Override
+	public final Value normalize() {
+		/* nop */return this;
+	}
+
+	@Override
+	public final boolean isDefined() {
+		return true;
+	}
+
+	@Override
+	public final IValue deepCopy() {
+		return new IntTupleValue(this.elems.clone());
+	}
+
+	@Override
+	public final void write(final IValueOutputStream vos) throws IOException {
+		// Same format as TupleValue#write.
+		final int index = vos.put(this);
+		if (index == -1) {
+			vos.writeByte(TUPLEVALUE);
+			final int len = this.elems.length;
+			vos.writeNat(len);
+			for (int i = 0; i < len; i++) {
+				vos.writeByte(INTVALUE);
+				vos.writeInt(this.elems[i]);
+			}
+		} else {
+			vos.writeByte(DUMMYVALUE);
+			vos.writeNat(index);
+		}
+	}
+
+	/* The fingerprint method: identical to the one of TupleValue. */
+	@Override
+	public final long fingerPrint(long fp) {
+		final CachedFingerprint cached = this.fpCache;
+		if (cached != null && cached.isCurrent()) {
+			return cached.extend(fp);
+		}
+		final long res = this.fingerPrintUncached(fp);
+		if (CachedFingerprint.ENABLED && cached != CachedFingerprint.NEVER
+				&& this.elems.length >= CachedFingerprint.MIN_SIZE) {
+			this.fpCache = cached == null ? CachedFingerprint.SEEN
+					: CachedFingerprint.of(this::fingerPrintUncached, fp, res);
+		}
+		return res;
+	}
+
+	private long fingerPrintUncached(long fp) {
+		try {
+			final int len = this.elems.length;
+			fp = FP64.Extend(fp, FCNRCDVALUE);
+			fp = FP64.Extend(fp, len);
+			for (int i = 0; i < len; i++) {
+				fp = FP64.Extend(fp, INTVALUE);
+				fp = FP64.Extend(fp, i + 1);
+				fp = FP64.Extend(fp, INTVALUE);
+				fp = FP64.Extend(fp, this.elems[i]);
+			}
+			return fp;
+		} catch (RuntimeException | OutOfMemoryError e) {
+			if (hasSource()) { throw FingerprintException.getNewHead(this, e); }
+			else { throw e; }
+		}
+	}
+
+	@Override
+	public final IValue permute(IMVPerm perm) {
+		// Integers are not permuted.
+		return this;
+	}
+
+	/* The string representation: identical to the one of TupleValue. */
+	@Override
+	public final StringBuffer toString(StringBuffer sb, int offset, boolean swallow) {
+		try {
+			sb.append("<<");
+			for (int i = 0; i < this.elems.length; i++) {
+				if (i > 0) {
+					sb.append(", ");
+				}
+				sb.append(this.elems[i]);
+			}
+			sb.append(">>");
+			return sb;
+		} catch (RuntimeException | OutOfMemoryError e) {
+			if (hasSource()) { throw FingerprintException.getNewHead(this, e); }
+			else { throw e; }
+		}
+	}
+
+	@Override
+	public TLCVariable toTLCVariable(final TLCVariable variable, Random rnd) {
+		return this.toTuple().toTLCVariable(variable, rnd);
+	}
+
+	@Override
+	public List<TLCVariable> getTLCVariables(TLCVariable prototype, Random rnd) {
+		return this.toTuple().getTLCVariables(prototype, rnd);
+	}
+}
@@ -154,7 +154,7 @@ implements Enumerable, Reducible {
     	  Value elem = IntValue.gen(i);
         if (!val.member(elem)) diffElems.addElement(elem);
       }
-      return new SetEnumValue(diffElems, true, cm);
+      return BitSetValue.create(diffElems, true, cm);
     }
     catch (RuntimeException | OutOfMemoryError e) {
       if (hasSource()) { throw FingerprintException.getNewHead(this, e); }
@@ -171,7 +171,7 @@ implements Enumerable, Reducible {
     	  Value elem = IntValue.gen(i);
         if (val.member(elem)) capElems.addElement(elem);
       }
-      return new SetEnumValue(capElems, true, cm);
+      return BitSetValue.create(capElems, true, cm);
     }
     catch (RuntimeException | OutOfMemoryError e) {
       if (hasSource()) { throw FingerprintException.getNewHead(this, e); }
@@ -195,7 +195,7 @@ implements Enumerable, Reducible {
         while ((elem = Enum.nextElement()) != null) {
           if (!this.member(elem)) cupElems.addElement(elem);
         }
-        return new SetEnumValue(cupElems, false, cm);
+        return BitSetValue.create(cupElems, false, cm);
       }
       return new SetCupValue(this, set, cm);
     }
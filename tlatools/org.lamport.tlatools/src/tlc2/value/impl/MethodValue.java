@@ -47,11 +47,17 @@ public class MethodValue extends OpValue {
   private final MethodHandle mh;
   private final Method md;
   private final int minLevel;
+  // True iff md is one of TLC's own module overrides (see tlc2.module), which know
+  // about the specialized representations of values such as IntTupleValue.
+  // Overrides defined elsewhere (e.g. the CommunityModules) get the arguments in
+  // their generic representation (see toGeneric(Value)).
+  private final boolean builtIn;
 
   /* Constructor */
 	private MethodValue(final Method md, final int minLevel) {
 		this.md = md;
 		this.minLevel = minLevel;
+		this.builtIn = md.getDeclaringClass().getPackageName().equals("tlc2.module");
 		try {
 			final int parameterCount = this.md.getParameterCount();
 			if (parameterCount > 0) {
@@ -141,8 +147,10 @@ public class MethodValue extends OpValue {
       {
     	  if (args.length == 0) {
     		  res = (Value) this.mh.invokeExact();
-    	  } else {
+    	  } else if (this.builtIn) {
     		  res = (Value) this.mh.invoke(args);
+    	  } else {
+    		  res = (Value) this.mh.invoke(toGeneric(args));
     	  }
       } catch (Throwable e)
       {
@@ -259,4 +267,59 @@ public class MethodValue extends OpValue {
   public final int getMinLevel() {
 	  return minLevel;
   }
+
+  /**
+   * @return args with all (nested) values in their generic representation, i.e.
+   *         IntTupleValue, IntFcnRcdValue, and BitSetValue replaced by
+   *         TupleValue, FcnRcdValue, and SetEnumValue respectively.
+   */
+  private static Value[] toGeneric(final Value[] args) {
+    Value[] res = args;
+    for (int i = 0; i < args.length; i++) {
+      final Value v = toGeneric(args[i]);
+      if (v != args[i]) {
+        if (res == args) {
+          res = args.clone();
+        }
+        res[i] = v;
+      }
+    }
+    return res;
+  }
+
+  private static Value toGeneric(final Value v) {
+    if (v instanceof IntTupleValue) {
+      return ((IntTupleValue) v).toTuple();
+    } else if (v instanceof IntFcnRcdValue) {
+      return toGeneric(((IntFcnRcdValue) v).toFcnRcd());
+    } else if (v instanceof BitSetValue) {
+      return ((BitSetValue) v).toSetEnum();
+    } else if (v instanceof TupleValue) {
+      final Value[] elems = toGeneric(((TupleValue) v).elems);
+      return elems == ((TupleValue) v).elems ? v : new TupleValue(elems);
+    } else if (v instanceof RecordValue) {
+      final RecordValue rcd = (RecordValue) v;
+      final Value[] values = toGeneric(rcd.values);
+      return values == rcd.values ? v : new RecordValue(rcd.names, values, rcd.isNormalized());
+    } else if (v instanceof FcnRcdValue) {
+      final FcnRcdValue fcn = (FcnRcdValue) v;
+      final Value[] values = toGeneric(fcn.values);
+      if (fcn.intv != null) {
+        return values == fcn.values ? v : new FcnRcdValue(fcn.intv, values);
+      }
+      final Value[] domain = toGeneric(fcn.domain);
+      return values == fcn.values && domain == fcn.domain ? v
+          : new FcnRcdValue(domain, values, fcn.isNormalized());
+    } else if (v instanceof SetEnumValue) {
+      final SetEnumValue set = (SetEnumValue) v;
+      for (int i = 0; i < set.elems.size(); i++) {
+        final Value elem = set.elems.elementAt(i);
+        if (toGeneric(elem) != elem) {
+          return new SetEnumValue(toGeneric(set.elems.toArray()), set.isNormalized());
+        }
+      }
+      return v;
+    }
+    return v;
+  }
 }
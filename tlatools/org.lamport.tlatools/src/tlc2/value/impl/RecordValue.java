@@ -55,6 +55,7 @@ public class RecordValue extends Value implements FunctionValue {
   public final UniqueString[] names;   // the field names
   public final Value[] values;         // the field values
   private boolean isNorm;
+  private transient CachedFingerprint fpCache; // see fingerPrint(long)
   public static final RecordValue EmptyRcd = new RecordValue(new UniqueString[0], new Value[0], true);
 
   /* Constructor */
@@ -334,6 +335,9 @@ public class RecordValue extends Value implements FunctionValue {
   }
 
   public final boolean equals(Object obj) {
+    if (this == obj) {
+      return true;
+    }
     try {
       RecordValue rcd = obj instanceof Value ? (RecordValue) ((Value)obj).toRcd() : null;
       if (rcd == null) {
@@ -689,6 +693,20 @@ public class RecordValue extends Value implements FunctionValue {
   /* The fingerprint methods.  */
   @Override
   public final long fingerPrint(long fp) {
+    final CachedFingerprint cached = this.fpCache;
+    if (cached != null && cached.isCurrent()) {
+      return cached.extend(fp);
+    }
+    final long res = this.fingerPrintUncached(fp);
+    if (CachedFingerprint.ENABLED && cached != CachedFingerprint.NEVER
+        && this.values.length >= CachedFingerprint.MIN_SIZE && this.isNormalized()) {
+      this.fpCache = cached == null ? CachedFingerprint.SEEN
+          : CachedFingerprint.of(this::fingerPrintUncached, fp, res);
+    }
+    return res;
+  }
+
+  private long fingerPrintUncached(long fp) {
     try {
       this.normalize();
       int rlen = this.names.length;
@@ -29,6 +29,7 @@ public class SetEnumValue extends EnumerableValue
 implements Enumerable, Reducible {
   public ValueVec elems;         // the elements of the set
   private boolean isNorm;        // normalized?
+  private transient CachedFingerprint fpCache; // see fingerPrint(long)
 public static final SetEnumValue EmptySet = new SetEnumValue(new ValueVec(0), true);
 public static final SetEnumValue DummyEnum = new SetEnumValue((ValueVec)null, true);
 
@@ -70,7 +71,10 @@ public static final SetEnumValue DummyEnum = new SetEnumValue((ValueVec)null, tr
       final int len = this.elems.size();
       for (int i = 0; i < len; i++) {
     	  final Value v = this.elems.elementAt(i);
-    	  if (v instanceof SetEnumValue) {
+    	  if (v instanceof BitSetValue) {
+    		  // A set of integers.
+    		  continue;
+    	  } else if (v instanceof SetEnumValue) {
     		  // Sets of sets of sets... of atoms.
     		  final SetEnumValue sev = (SetEnumValue) v;
     		  if (!sev.isSetOfAtoms()) {
@@ -115,6 +119,9 @@ public static final SetEnumValue DummyEnum = new SetEnumValue((ValueVec)null, tr
   }
 
   public final boolean equals(Object obj) {
+    if (this == obj) {
+      return true;
+    }
     try {
       SetEnumValue set = obj instanceof Value ? (SetEnumValue) ((Value)obj).toSetEnum() : null;
       if (set == null) {
@@ -167,7 +174,7 @@ public static final SetEnumValue DummyEnum = new SetEnumValue((ValueVec)null, tr
           diffElems.addElement(elem);
         }
       }
-      return new SetEnumValue(diffElems, this.isNormalized(), cm);
+      return BitSetValue.create(diffElems, this.isNormalized(), cm);
     }
     catch (RuntimeException | OutOfMemoryError e) {
       if (hasSource()) { throw FingerprintException.getNewHead(this, e); }
@@ -186,7 +193,7 @@ public static final SetEnumValue DummyEnum = new SetEnumValue((ValueVec)null, tr
           capElems.addElement(elem);
         }
       }
-      return new SetEnumValue(capElems, this.isNormalized(), cm);
+      return BitSetValue.create(capElems, this.isNormalized(), cm);
     }
     catch (RuntimeException | OutOfMemoryError e) {
       if (hasSource()) { throw FingerprintException.getNewHead(this, e); }
@@ -211,7 +218,7 @@ public static final SetEnumValue DummyEnum = new SetEnumValue((ValueVec)null, tr
         while ((elem = Enum.nextElement()) != null) {
           if (!this.member(elem)) cupElems.addElement(elem);
         }
-        return new SetEnumValue(cupElems, false);
+        return BitSetValue.create(cupElems, false);
       }
       return new SetCupValue(this, set, cm);
     }
@@ -346,6 +353,20 @@ public static final SetEnumValue DummyEnum = new SetEnumValue((ValueVec)null, tr
   /* The fingerprint methods */
   @Override
   public final long fingerPrint(long fp) {
+    final CachedFingerprint cached = this.fpCache;
+    if (cached != null && cached.isCurrent()) {
+      return cached.extend(fp);
+    }
+    final long res = this.fingerPrintUncached(fp);
+    if (CachedFingerprint.ENABLED && cached != CachedFingerprint.NEVER
+        && this.elems.size() >= CachedFingerprint.MIN_SIZE && this.isNormalized()) {
+      this.fpCache = cached == null ? CachedFingerprint.SEEN
+          : CachedFingerprint.of(this::fingerPrintUncached, fp, res);
+    }
+    return res;
+  }
+
+  private long fingerPrintUncached(long fp) {
     try {
       this.normalize();
       int sz = this.elems.size();
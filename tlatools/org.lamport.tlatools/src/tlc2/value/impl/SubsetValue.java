@@ -574,7 +574,7 @@ public class SubsetValue extends EnumerableValue implements Enumerable {
 						i = j - 1;
 					}
 				}
-				final SetEnumValue result = new SetEnumValue(vals, true, cm);
+				final Value result = BitSetValue.create(vals, true, cm);
 				
 				if (indices[0] == n - k) {
 					// Increment k to generate the set of k-subset for this k.
@@ -787,7 +787,7 @@ public class SubsetValue extends EnumerableValue implements Enumerable {
 				}
 			}
 	    	  if (coverage) { cm.incSecondary(vals.size()); }
-			return new SetEnumValue(vals, true, cm);
+			return BitSetValue.create(vals, true, cm);
 	    }
 
   }
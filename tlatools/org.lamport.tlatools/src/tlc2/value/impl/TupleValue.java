@@ -29,6 +29,7 @@ import util.Assert;
 
 public class TupleValue extends Value implements FunctionValue, ITupleValue {
   public final Value[] elems;          // the elements of this tuple.
+  private transient CachedFingerprint fpCache; // see fingerPrint(long)
   public static final TupleValue EmptyTuple = new TupleValue(new Value[0]);
 
   /* Constructor */
@@ -66,6 +67,10 @@ public class TupleValue extends Value implements FunctionValue, ITupleValue {
   @Override
   public final int compareTo(Object obj) {
     try {
+      if (obj instanceof IntTupleValue) {
+        // Compare without converting obj to a TupleValue first.
+        return -((IntTupleValue) obj).compareTo(this);
+      }
       TupleValue tv = obj instanceof Value ? (TupleValue) ((Value)obj).toTuple() : null;
       if (tv == null) {
         // Well, we have to convert this to function and compare.
@@ -91,7 +96,13 @@ public class TupleValue extends Value implements FunctionValue, ITupleValue {
   }
 
   public final boolean equals(Object obj) {
+    if (this == obj) {
+      return true;
+    }
     try {
+      if (obj instanceof IntTupleValue) {
+        return ((IntTupleValue) obj).equals(this);
+      }
       TupleValue tv = obj instanceof Value ? (TupleValue) ((Value)obj).toTuple() : null;
       if (tv == null) {
         // Well, we have to convert this to function and compare.
@@ -185,19 +196,16 @@ public class TupleValue extends Value implements FunctionValue, ITupleValue {
   public final Value takeExcept(ValueExcept ex) {
     try {
       if (ex.idx < ex.path.length) {
-        int tlen = this.elems.length;
-        Value[] newElems = new Value[tlen];
         Value arcVal = ex.path[ex.idx];
         if (arcVal instanceof IntValue) {
           int idx = ((IntValue)arcVal).val - 1;
-          if (0 <= idx && idx < tlen) {
-            for (int i = 0; i < tlen; i++) {
-              newElems[i] = this.elems[i];
-            }
+          if (0 <= idx && idx < this.elems.length) {
+            Value[] newElems = this.elems.clone();
             ex.idx++;
             newElems[idx] = this.elems[idx].takeExcept(ex);
+            return new TupleValue(newElems);
           }
-          return new TupleValue(newElems);
+          return this;
         }
         MP.printWarning(EC.TLC_WRONG_TUPLE_FIELD_NAME, new String[]{Values.ppr(arcVal.toString())});
       }
@@ -212,9 +220,24 @@ public class TupleValue extends Value implements FunctionValue, ITupleValue {
   @Override
   public final Value takeExcept(ValueExcept[] exs) {
     try {
-      Value val = this;
+      // Apply consecutive excepts of tuple elements to a single copy of the elems
+      // array instead of copying it once per except.
+      TupleValue val = this;
       for (int i = 0; i < exs.length; i++) {
-        val = val.takeExcept(exs[i]);
+        final ValueExcept ex = exs[i];
+        if (val != this && val.isElementExcept(ex)) {
+          val.takeExceptInPlace(ex);
+          continue;
+        }
+        final Value res = val.takeExcept(ex);
+        if (!(res instanceof TupleValue) || res == ex.value) {
+          Value v = res;
+          for (i++; i < exs.length; i++) {
+            v = v.takeExcept(exs[i]);
+          }
+          return v;
+        }
+        val = (TupleValue) res;
       }
       return val;
     }
@@ -224,6 +247,40 @@ public class TupleValue extends Value implements FunctionValue, ITupleValue {
     }
   }
 
+  /**
+   * Applies ex to this tuple <em>in place</em>. This is only valid for a tuple
+   * that has just been returned (as a new instance) by
+   * {@link #takeExcept(ValueExcept)} and has not been shared with anybody
+   * else, which is why its elems array is private to it (see
+   * {@link FcnRcdValue#takeExceptInPlace(ValueExcept)}).
+   *
+   * @return false iff ex does not refer to an element of this tuple, in which
+   *         case takeExcept has to be used.
+   */
+  public final boolean takeExceptInPlace(ValueExcept ex) {
+    try {
+      if (!this.isElementExcept(ex)) {
+        return false;
+      }
+      int idx = ((IntValue) ex.path[ex.idx]).val - 1;
+      ex.idx++;
+      this.elems[idx] = this.elems[idx].takeExcept(ex);
+      return true;
+    }
+    catch (RuntimeException | OutOfMemoryError e) {
+      if (hasSource()) { throw FingerprintException.getNewHead(this, e); }
+      else { throw e; }
+    }
+  }
+
+  private final boolean isElementExcept(final ValueExcept ex) {
+    if (ex.idx < ex.path.length && ex.path[ex.idx] instanceof IntValue) {
+      final int idx = ((IntValue) ex.path[ex.idx]).val - 1;
+      return 0 <= idx && idx < this.elems.length;
+    }
+    return false;
+  }
+
   @Override
   public final Value getDomain() {
     try {
@@ -324,6 +381,20 @@ public class TupleValue extends Value implements FunctionValue, ITupleValue {
   /* The fingerprint method: tuples are functions. */
   @Override
   public final long fingerPrint(long fp) {
+    final CachedFingerprint cached = this.fpCache;
+    if (cached != null && cached.isCurrent()) {
+      return cached.extend(fp);
+    }
+    final long res = this.fingerPrintUncached(fp);
+    if (CachedFingerprint.ENABLED && cached != CachedFingerprint.NEVER
+        && this.elems.length >= CachedFingerprint.MIN_SIZE && this.isNormalized()) {
+      this.fpCache = cached == null ? CachedFingerprint.SEEN
+          : CachedFingerprint.of(this::fingerPrintUncached, fp, res);
+    }
+    return res;
+  }
+
+  private long fingerPrintUncached(long fp) {
     try {
       int len = this.elems.length;
       fp = FP64.Extend(fp, FCNRCDVALUE);
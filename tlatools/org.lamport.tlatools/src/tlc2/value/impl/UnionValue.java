@@ -220,13 +220,15 @@ public class UnionValue extends EnumerableValue implements Enumerable {
       ValueVec elems = ((SetEnumValue)val).elems;
       for (int i = 0; i < elems.size(); i++) {
         canCombine = (canCombine &&
-                (elems.elementAt(i) instanceof SetEnumValue));
+                (elems.elementAt(i) instanceof SetEnumValue
+                 || elems.elementAt(i) instanceof BitSetValue));
       }
       if (canCombine) {
         ValueVec resElems = new ValueVec();
         Value result = new SetEnumValue(resElems, false, val.getCostModel());
         for (int i = 0; i < elems.size(); i++) {
-          ValueVec elems1 = ((SetEnumValue)elems.elementAt(i)).elems;
+          final Value elem0 = elems.elementAt(i);
+          ValueVec elems1 = ((SetEnumValue)(elem0 instanceof BitSetValue ? elem0.toSetEnum() : elem0)).elems;
           for (int j = 0; j < elems1.size(); j++) {
         	  Value elem = elems1.elementAt(j);
             if (!result.member(elem)) {
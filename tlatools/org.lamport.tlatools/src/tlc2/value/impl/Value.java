@@ -59,6 +59,9 @@ public abstract class Value implements ValueConstants, Serializable, IValue {
 	    "an undefined value",                         // "UndefValue",
 	    "a value represented in lazy form",           // "LazyValue",
 	    "a dummy for not-a-value",                    // "DummyValue",    
+	    "a set of the form {e1, ... ,eN}",            // "BitSetValue",
+	    "a tuple",                                    // "IntTupleValue",
+	    "a function  of the form (d1 :> e1 @@ ... @@ dN :> eN)", // "IntFcnRcdValue",
 	  };
 	  
 	/**
@@ -161,6 +164,11 @@ public abstract class Value implements ValueConstants, Serializable, IValue {
             IntervalValue intv = (IntervalValue)this;
             return intv.size() == 0;
           }
+        case BITSETVALUE:
+          {
+            BitSetValue bsv = (BitSetValue)this;
+            return bsv.size() == 0;
+          }
         case SETCAPVALUE:
           {
             SetCapValue cap = (SetCapValue)this;
@@ -378,7 +386,7 @@ public abstract class Value implements ValueConstants, Serializable, IValue {
 //		}
 		variable.setValue(toString());
 		if (this instanceof Enumerable || this instanceof FcnRcdValue || this instanceof RecordValue
-				|| this instanceof TupleValue) {
+				|| this instanceof TupleValue || this instanceof IntFcnRcdValue || this instanceof IntTupleValue) {
 			// Atomic values such as IntValue throw an exception on #isFinite.
 			if (this.isFinite()) {
 				variable.setVariablesReference(rnd.nextInt(Integer.MAX_VALUE - 1) + 1);
@@ -0,0 +1,184 @@
+/*******************************************************************************
+ * Copyright (c) 2026 The Linux Foundation. All rights reserved.
+ *
+ * The MIT License (MIT)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ * of the Software, and to permit persons to whom the Software is furnished to do
+ * so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN
+ * AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ ******************************************************************************/
+package tlc2.value.impl;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import tlc2.util.FP64;
+import tlc2.value.IValue;
+
+/**
+ * A concurrent, lossy intern (hash-consing) table for normalized, immutable
+ * values. Equal sub-values of the states in the state queue (and the states of
+ * a simulation trace) are replaced by a single canonical instance, which cuts
+ * resident memory of e.g. MemStateQueue. Comparing two references to the same
+ * canonical instance takes the <code>this == obj</code> fast path of
+ * {@link Value#equals(Object)}. Distinct instances may still be equal, e.g.
+ * after their slot has been replaced.
+ * <p>
+ * The table is direct-mapped: every slot holds at most one value keyed by its
+ * fingerprint, and a colliding value simply replaces the previous one. Thus,
+ * the table never grows beyond its initial size. The slots hold strong
+ * references though, i.e. the table keeps up to 2^logSize values alive that
+ * would otherwise be garbage until they get replaced. A slot is a hit only if
+ * the fingerprints match and the values are equal.
+ * <p>
+ * Interning is off by default and enabled with
+ * -Dtlc2.value.impl.ValueInternTable.enabled=true. The number of slots is
+ * 2^logSize with logSize defaulting to 20.
+ */
+public final class ValueInternTable {
+
+	public static final boolean ENABLED = Boolean.getBoolean(ValueInternTable.class.getName() + ".enabled");
+
+	private static final int LOG_SIZE = Integer.getInteger(ValueInternTable.class.getName() + ".logSize", 20);
+
+	private static final ValueInternTable INSTANCE = ENABLED ? new ValueInternTable(LOG_SIZE) : null;
+
+	/**
+	 * @return The global table or null if interning is disabled.
+	 */
+	public static ValueInternTable getInstance() {
+		return INSTANCE;
+	}
+
+	private static final class Entry {
+		private final long fp;
+		private final Value value;
+
+		Entry(final long fp, final Value value) {
+			this.fp = fp;
+			this.value = value;
+		}
+	}
+
+	private final AtomicReferenceArray<Entry> slots;
+	private final int mask;
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+
+	public ValueInternTable(final int logSize) {
+		if (logSize < 1 || logSize > 30) {
+			throw new IllegalArgumentException("logSize has to be in [1, 30]: " + logSize);
+		}
+		this.slots = new AtomicReferenceArray<>(1 << logSize);
+		this.mask = (1 << logSize) - 1;
+	}
+
+	public IValue intern(final IValue value) {
+		if (value instanceof Value) {
+			return intern((Value) value);
+		}
+		return value;
+	}
+
+	/**
+	 * @return A value equal to the given one, which is the given value itself
+	 *         unless an equal value has been interned before. Values that are
+	 *         not (yet) normalized or are not records, functions, tuples, or
+	 *         enumerated sets are returned as is.
+	 */
+	public Value intern(final Value value) {
+		if (!isInternable(value)) {
+			return value;
+		}
+		final long fp = value.fingerPrint(FP64.New());
+		final int idx = (int) (fp ^ (fp >>> 32)) & mask;
+
+		final Entry entry = slots.get(idx);
+		if (entry != null && entry.fp == fp) {
+			if (entry.value == value) {
+				hits.increment();
+				return value;
+			}
+			if (entry.value.getClass() == value.getClass() && equals(entry.value, value)) {
+				hits.increment();
+				return entry.value;
+			}
+		}
+		misses.increment();
+
+		// Intern the sub-values only if the value becomes canonical itself.  Replacing
+		// a sub-value with an equal one is safe even if other threads concurrently read
+		// the value.
+		internChildren(value);
+		slots.set(idx, new Entry(fp, value));
+		return value;
+	}
+
+	private void internChildren(final Value value) {
+		if (value instanceof RecordValue) {
+			final Value[] values = ((RecordValue) value).values;
+			for (int i = 0; i < values.length; i++) {
+				values[i] = intern(values[i]);
+			}
+		} else if (value instanceof FcnRcdValue) {
+			final FcnRcdValue fcn = (FcnRcdValue) value;
+			if (fcn.domain != null) {
+				for (int i = 0; i < fcn.domain.length; i++) {
+					fcn.domain[i] = intern(fcn.domain[i]);
+				}
+			}
+			for (int i = 0; i < fcn.values.length; i++) {
+				fcn.values[i] = intern(fcn.values[i]);
+			}
+		} else if (value instanceof TupleValue) {
+			final Value[] elems = ((TupleValue) value).elems;
+			for (int i = 0; i < elems.length; i++) {
+				elems[i] = intern(elems[i]);
+			}
+		} else if (value instanceof SetEnumValue) {
+			final ValueVec elems = ((SetEnumValue) value).elems;
+			for (int i = 0; i < elems.size(); i++) {
+				elems.setElementAt(intern(elems.elementAt(i)), i);
+			}
+		}
+	}
+
+	private static boolean isInternable(final Value value) {
+		return (value instanceof RecordValue || value instanceof FcnRcdValue || value instanceof TupleValue
+				|| value instanceof SetEnumValue) && value.isNormalized();
+	}
+
+	private static boolean equals(final Value v1, final Value v2) {
+		try {
+			return v1.equals(v2);
+		} catch (RuntimeException e) {
+			// Incomparable values, e.g. {1} and {"a"}, whose fingerprints collide.
+			return false;
+		}
+	}
+
+	public long getHits() {
+		return hits.sum();
+	}
+
+	public long getMisses() {
+		return misses.sum();
+	}
+
+	public int getCapacity() {
+		return slots.length();
+	}
+}
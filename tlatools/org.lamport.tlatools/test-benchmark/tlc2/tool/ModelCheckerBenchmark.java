@@ -0,0 +1,164 @@
+/*******************************************************************************
+ * Copyright (c) 2026 The Linux Foundation. All rights reserved.
+ *
+ * The MIT License (MIT)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ * of the Software, and to permit persons to whom the Software is furnished to do
+ * so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN
+ * AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ ******************************************************************************/
+package tlc2.tool;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import tlc2.TLC;
+import tlc2.TestMPRecorder;
+import tlc2.output.EC;
+import tlc2.output.MP;
+import tlc2.tool.fp.FPSetFactory;
+import tlc2.tool.queue.IStateQueue;
+import util.FileUtil;
+import util.ToolIO;
+
+/**
+ * Measures the throughput of breadth-first search (ModelChecker) on specs whose
+ * state spaces have a fixed size. The primary metric is complete runs of TLC
+ * per second, the auxiliary metrics are generated and distinct states per
+ * second.
+ * <p>
+ * TLC keeps static state across runs (e.g. TLCGlobals, the FPSets' static
+ * synchronization, its MBeans, and the UniqueString tables), which is why each
+ * fork (JVM) runs TLC exactly once: There is no warmup, and the measurement
+ * time is shorter than a run of TLC, i.e. its single iteration invokes bfs once.
+ * (Mode.SingleShotTime would not report the auxiliary metrics.)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@Fork(5)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1, time = 1, timeUnit = TimeUnit.MILLISECONDS)
+public class ModelCheckerBenchmark {
+
+	/*
+	 * Run with (TLC needs gson, which benchmarks.jar does not include): java -cp
+	 * target/benchmarks.jar:lib/gson/gson-2.8.6.jar org.openjdk.jmh.Main -rf json -rff
+	 * ModelCheckerBenchmark-$(date +%s)-$(git rev-parse --short HEAD).json
+	 * -jvmArgsPrepend "-Xms8192m -Xmx8192m" -jvmArgsAppend
+	 * "-Dtlc2.tool.ModelCheckerBenchmark.base=/home/markus/src/TLA/tla/tlatools/test-model"
+	 * tlc2.tool.ModelCheckerBenchmark
+	 */
+
+	private static final String BASE_PATH = System.getProperty(ModelCheckerBenchmark.class.getName() + ".base",
+			"test-model");
+
+	public enum Spec {
+		// Many, small successor states (functions over nodes).
+		EWD840("EWD840", "EWD840"),
+		// Few, large successor states (sequences).
+		BenchmarkSpec("simulation" + File.separator + "BenchmarkSpec", "BenchmarkSpec");
+
+		private final String dir;
+		private final String module;
+
+		Spec(final String dir, final String module) {
+			this.dir = dir;
+			this.module = module;
+		}
+	}
+
+	@Param({ "EWD840", "BenchmarkSpec" })
+	public Spec spec;
+
+	@Param({ "1", "2", "4" })
+	public int workers;
+
+	@Param({ "tlc2.tool.fp.MSBDiskFPSet", "tlc2.tool.fp.OffHeapDiskFPSet" })
+	public String fpSet;
+
+	@Param({ "DiskStateQueue", "DiskByteArrayQueue", "MappedStateQueue", "WorkStealingStateQueue" })
+	public String stateQueue;
+
+	private String metadir;
+
+	private PrintStream out;
+
+	@AuxCounters(AuxCounters.Type.OPERATIONS)
+	@State(Scope.Thread)
+	public static class States {
+		public long generated;
+		public long distinct;
+	}
+
+	@Setup(Level.Trial)
+	public void setup() throws IOException {
+		System.setProperty(FPSetFactory.IMPL_PROPERTY, fpSet);
+		System.setProperty(IStateQueue.class.getName(), stateQueue);
+		metadir = Files.createTempDirectory(ModelCheckerBenchmark.class.getSimpleName()).toString();
+
+		// TLC's output would otherwise dominate the benchmark's output.
+		out = ToolIO.out;
+		ToolIO.out = new PrintStream(OutputStream.nullOutputStream());
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		ToolIO.out = out;
+		FileUtil.deleteDir(new File(metadir), true);
+		System.clearProperty(FPSetFactory.IMPL_PROPERTY);
+		System.clearProperty(IStateQueue.class.getName());
+	}
+
+	@Benchmark
+	public int bfs(final States states) throws Exception {
+		ToolIO.setUserDir(BASE_PATH + File.separator + spec.dir);
+
+		final TestMPRecorder recorder = new TestMPRecorder();
+		MP.setRecorder(recorder);
+
+		final TLC tlc = new TLC();
+		tlc.handleParameters(new String[] { "-metadir", metadir, "-workers", Integer.toString(workers), "-deadlock",
+				"-checkpoint", "0", "-noGenerateSpecTE", "-config", "MCBFS.cfg", spec.module });
+		final int errorCode = tlc.process();
+		if (errorCode != EC.NO_ERROR) {
+			throw new IllegalStateException("TLC failed with error code " + errorCode + ": " + recorder);
+		}
+
+		final List<String[]> stats = recorder.getRecordAsStringArray(EC.TLC_STATS);
+		states.generated += Long.parseLong(stats.get(0)[0]);
+		states.distinct += Long.parseLong(stats.get(0)[1]);
+		return errorCode;
+	}
+}
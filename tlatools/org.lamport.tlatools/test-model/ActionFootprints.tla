@@ -0,0 +1,30 @@
+--------------------------- MODULE ActionFootprints --------------------------
+EXTENDS Naturals, TLC
+
+VARIABLES x, y, z
+
+vars == <<x, y, z>>
+
+Init == x = 0 /\ y = 0 /\ z = 0
+
+Set(v, e) == v' = e
+
+\* Reads x and writes x.
+IncX == /\ x < 3
+        /\ x' = x + 1
+        /\ UNCHANGED <<y, z>>
+
+\* Reads x and writes y, which is primed in the definition of Set.
+CopyX == Set(y, x) /\ UNCHANGED <<x, z>>
+
+\* Reads z because UNCHANGED vars compares z' with z, writes z.
+SetZ == z' = 1 /\ UNCHANGED vars
+
+\* Reads y and writes z.
+LetZ == LET d == y + 1 IN z' = d /\ UNCHANGED <<x, y>>
+
+\* The level is not a variable.
+Level == TLCGet("level") < 2 /\ UNCHANGED vars
+
+Next == IncX \/ CopyX \/ SetZ \/ LetZ \/ Level
+=============================================================================
@@ -0,0 +1,129 @@
+---- MODULE AssertExpressionStack_TTrace_1792275695 ----
+EXTENDS Sequences, TLCExt, AssertExpressionStack, Toolbox, Naturals, TLC
+
+_expression ==
+    LET AssertExpressionStack_TEExpression == INSTANCE AssertExpressionStack_TEExpression
+    IN AssertExpressionStack_TEExpression!expression
+----
+
+_trace ==
+    LET AssertExpressionStack_TETrace == INSTANCE AssertExpressionStack_TETrace
+    IN AssertExpressionStack_TETrace!trace
+----
+
+_inv ==
+    ~(
+        TLCGet("level") = Len(_TETrace)
+        /\
+        x = (1)
+    )
+----
+
+_init ==
+    /\ x = _TETrace[1].x
+----
+
+_next ==
+    /\ \E i,j \in DOMAIN _TETrace:
+        /\ \/ /\ j = i + 1
+              /\ i = TLCGet("level")
+        /\ x  = _TETrace[i].x
+        /\ x' = _TETrace[j].x
+
+\* Uncomment the ASSUME below to write the states of the error trace
+\* to the given file in Json format. Note that you can pass any tuple
+\* to `JsonSerialize`. For example, a sub-sequence of _TETrace.
+    \* ASSUME
+    \*     LET J == INSTANCE Json
+    \*         IN J!JsonSerialize("AssertExpressionStack_TTrace_1792275695.json", _TETrace)
+
+=============================================================================
+
+ Note that you can extract this module `AssertExpressionStack_TEExpression`
+  to a dedicated file to reuse `expression` (the module in the 
+  dedicated `AssertExpressionStack_TEExpression.tla` file takes precedence 
+  over the module `AssertExpressionStack_TEExpression` below).
+
+---- MODULE AssertExpressionStack_TEExpression ----
+EXTENDS Sequences, TLCExt, AssertExpressionStack, Toolbox, Naturals, TLC
+
+expression == 
+    [
+        \* To hide variables of the `AssertExpressionStack` spec from the error trace,
+        \* remove the variables below.  The trace will be written in the order
+        \* of the fields of this record.
+        x |-> x
+        
+        \* Put additional constant-, state-, and action-level expressions here:
+        \* ,_stateNumber |-> _TEPosition
+        \* ,_xUnchanged |-> x = x'
+        
+        \* Format the `x` variable as Json value.
+        \* ,_xJson |->
+        \*     LET J == INSTANCE Json
+        \*     IN J!ToJson(x)
+        
+        \* Lastly, you may build expressions over arbitrary sets of states by
+        \* leveraging the _TETrace operator.  For example, this is how to
+        \* count the number of times a spec variable changed up to the current
+        \* state in the trace.
+        \* ,_xModCount |->
+        \*     LET F[s \in DOMAIN _TETrace] ==
+        \*         IF s = 1 THEN 0
+        \*         ELSE IF _TETrace[s].x # _TETrace[s-1].x
+        \*             THEN 1 + F[s-1] ELSE F[s-1]
+        \*     IN F[_TEPosition - 1]
+    ]
+
+=============================================================================
+
+
+
+Parsing and semantic processing can take forever if the trace below is long.
+ In this case, it is advised to uncomment the module below to deserialize the
+ trace from a generated binary file.
+
+\*
+\*---- MODULE AssertExpressionStack_TETrace ----
+\*EXTENDS IOUtils, AssertExpressionStack, TLC
+\*
+\*trace == IODeserialize("AssertExpressionStack_TTrace_1792275695.bin", TRUE)
+\*
+\*=============================================================================
+\*
+
+---- MODULE AssertExpressionStack_TETrace ----
+EXTENDS AssertExpressionStack, TLC
+
+trace == 
+    <<
+    ([x |-> 0]),
+    ([x |-> 1])
+    >>
+----
+
+
+=============================================================================
+
+---- CONFIG AssertExpressionStack_TTrace_1792275695 ----
+
+INVARIANT
+    _inv
+
+CHECK_DEADLOCK
+    \* CHECK_DEADLOCK off because of PROPERTY or INVARIANT above.
+    FALSE
+
+INIT
+    _init
+
+NEXT
+    _next
+
+CONSTANT
+    _TETrace <- _trace
+
+ALIAS
+    _expression
+=============================================================================
+\* Generated on Sat Oct 17 22:21:42 UTC 2026
\ No newline at end of file
@@ -0,0 +1,65 @@
+--------------------------- MODULE ClosureCompiler ---------------------------
+EXTENDS Naturals, Sequences, FiniteSets
+
+CONSTANT N
+
+VARIABLES x, s, f, r
+
+Limit == 3
+
+Small(v) == v < Limit
+
+Both(a, b) == a /\ b
+
+Arr == [i \in 1..N |-> i * 2]
+
+Init == /\ x = 0
+        /\ s = <<>>
+        /\ f = [i \in 1..N |-> 0]
+        /\ r = [a |-> 0, b |-> "b"]
+
+Inc(i) == /\ Small(x)
+          /\ i # 2
+          /\ \A j \in 1..N : f[j] <= Limit
+          /\ x' = x + i
+          /\ UNCHANGED <<s, f, r>>
+
+Push == /\ Len(s) < 2
+        /\ IF x > 1 THEN TRUE ELSE r.a = 0
+        /\ s' = Append(s, x)
+        /\ UNCHANGED <<x, f, r>>
+
+Set(i) == /\ Both(f[i] < 2, i \in {1, N})
+          /\ CASE x = 0 -> TRUE [] x = 1 -> f[1] = 0 [] OTHER -> x \notin {5, 6}
+          /\ f' = [f EXCEPT ![i] = @ + 1]
+          /\ UNCHANGED <<x, s, r>>
+
+\* The leading disjunction makes the interpreter branch, thus it is no guard.
+Branch == /\ x = 1 \/ x = 2
+          /\ r.a < 2
+          /\ r' = [r EXCEPT !.a = @ + 1]
+          /\ UNCHANGED <<x, s, f>>
+
+Let == LET y == x + 1
+       IN /\ y < 3
+          /\ r.a = 0
+          /\ r' = [r EXCEPT !.b = "c"]
+          /\ UNCHANGED <<x, s, f>>
+
+Next == \/ \E i \in 1..N : Inc(i)
+        \/ Push
+        \/ \E i \in 1..N : Set(i)
+        \/ Branch
+        \/ Let
+
+Inv1 == x \in 0..10 /\ Len(s) <= 2 /\ (x > 3 => f[1] >= 0)
+
+Inv2 == \A i \in DOMAIN f : f[i] \in 0..2 /\ ~(r.b = "d")
+
+Inv3 == LET m == Arr[1] IN m = 2 /\ <<x, r.a>> # <<N, N>> /\ \E e \in {x, 0} : e = 0
+
+Inv4 == IF x = 0 THEN s = <<>> \/ Len(s) > 0
+                 ELSE CASE r.a > 0 -> TRUE [] OTHER -> Cardinality({x, r.a}) > 0
+
+Inv5 == x < 4 \/ s # <<>>
+=============================================================================
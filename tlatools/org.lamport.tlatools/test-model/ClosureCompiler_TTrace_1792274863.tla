@@ -0,0 +1,150 @@
+---- MODULE ClosureCompiler_TTrace_1792274863 ----
+EXTENDS Sequences, TLCExt, Toolbox, ClosureCompiler, Naturals, TLC
+
+_expression ==
+    LET ClosureCompiler_TEExpression == INSTANCE ClosureCompiler_TEExpression
+    IN ClosureCompiler_TEExpression!expression
+----
+
+_trace ==
+    LET ClosureCompiler_TETrace == INSTANCE ClosureCompiler_TETrace
+    IN ClosureCompiler_TETrace!trace
+----
+
+_inv ==
+    ~(
+        TLCGet("level") = Len(_TETrace)
+        /\
+        r = ([a |-> 0, b |-> "b"])
+        /\
+        s = (<<>>)
+        /\
+        f = (<<0, 0, 0>>)
+        /\
+        x = (4)
+    )
+----
+
+_init ==
+    /\ f = _TETrace[1].f
+    /\ r = _TETrace[1].r
+    /\ s = _TETrace[1].s
+    /\ x = _TETrace[1].x
+----
+
+_next ==
+    /\ \E i,j \in DOMAIN _TETrace:
+        /\ \/ /\ j = i + 1
+              /\ i = TLCGet("level")
+        /\ f  = _TETrace[i].f
+        /\ f' = _TETrace[j].f
+        /\ r  = _TETrace[i].r
+        /\ r' = _TETrace[j].r
+        /\ s  = _TETrace[i].s
+        /\ s' = _TETrace[j].s
+        /\ x  = _TETrace[i].x
+        /\ x' = _TETrace[j].x
+
+\* Uncomment the ASSUME below to write the states of the error trace
+\* to the given file in Json format. Note that you can pass any tuple
+\* to `JsonSerialize`. For example, a sub-sequence of _TETrace.
+    \* ASSUME
+    \*     LET J == INSTANCE Json
+    \*         IN J!JsonSerialize("ClosureCompiler_TTrace_1792274863.json", _TETrace)
+
+=============================================================================
+
+ Note that you can extract this module `ClosureCompiler_TEExpression`
+  to a dedicated file to reuse `expression` (the module in the 
+  dedicated `ClosureCompiler_TEExpression.tla` file takes precedence 
+  over the module `ClosureCompiler_TEExpression` below).
+
+---- MODULE ClosureCompiler_TEExpression ----
+EXTENDS Sequences, TLCExt, Toolbox, ClosureCompiler, Naturals, TLC
+
+expression == 
+    [
+        \* To hide variables of the `ClosureCompiler` spec from the error trace,
+        \* remove the variables below.  The trace will be written in the order
+        \* of the fields of this record.
+        f |-> f
+        ,r |-> r
+        ,s |-> s
+        ,x |-> x
+        
+        \* Put additional constant-, state-, and action-level expressions here:
+        \* ,_stateNumber |-> _TEPosition
+        \* ,_fUnchanged |-> f = f'
+        
+        \* Format the `f` variable as Json value.
+        \* ,_fJson |->
+        \*     LET J == INSTANCE Json
+        \*     IN J!ToJson(f)
+        
+        \* Lastly, you may build expressions over arbitrary sets of states by
+        \* leveraging the _TETrace operator.  For example, this is how to
+        \* count the number of times a spec variable changed up to the current
+        \* state in the trace.
+        \* ,_fModCount |->
+        \*     LET F[s \in DOMAIN _TETrace] ==
+        \*         IF s = 1 THEN 0
+        \*         ELSE IF _TETrace[s].f # _TETrace[s-1].f
+        \*             THEN 1 + F[s-1] ELSE F[s-1]
+        \*     IN F[_TEPosition - 1]
+    ]
+
+=============================================================================
+
+
+
+Parsing and semantic processing can take forever if the trace below is long.
+ In this case, it is advised to uncomment the module below to deserialize the
+ trace from a generated binary file.
+
+\*
+\*---- MODULE ClosureCompiler_TETrace ----
+\*EXTENDS IOUtils, ClosureCompiler, TLC
+\*
+\*trace == IODeserialize("ClosureCompiler_TTrace_1792274863.bin", TRUE)
+\*
+\*=============================================================================
+\*
+
+---- MODULE ClosureCompiler_TETrace ----
+EXTENDS ClosureCompiler, TLC
+
+trace == 
+    <<
+    ([r |-> [a |-> 0, b |-> "b"],s |-> <<>>,f |-> <<0, 0, 0>>,x |-> 0]),
+    ([r |-> [a |-> 0, b |-> "b"],s |-> <<>>,f |-> <<0, 0, 0>>,x |-> 1]),
+    ([r |-> [a |-> 0, b |-> "b"],s |-> <<>>,f |-> <<0, 0, 0>>,x |-> 4])
+    >>
+----
+
+
+=============================================================================
+
+---- CONFIG ClosureCompiler_TTrace_1792274863 ----
+CONSTANTS
+    N = 3
+
+INVARIANT
+    _inv
+
+CHECK_DEADLOCK
+    \* CHECK_DEADLOCK off because of PROPERTY or INVARIANT above.
+    FALSE
+
+INIT
+    _init
+
+NEXT
+    _next
+
+CONSTANT
+    _TETrace <- _trace
+
+ALIAS
+    _expression
+=============================================================================
+\* Generated on Sat Oct 17 22:07:51 UTC 2026
\ No newline at end of file
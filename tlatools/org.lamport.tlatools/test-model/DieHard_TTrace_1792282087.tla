@@ -0,0 +1,152 @@
+---- MODULE DieHard_TTrace_1792282087 ----
+EXTENDS Sequences, TLCExt, Toolbox, Naturals, TLC, DieHard
+
+_expression ==
+    LET DieHard_TEExpression == INSTANCE DieHard_TEExpression
+    IN DieHard_TEExpression!expression
+----
+
+_trace ==
+    LET DieHard_TETrace == INSTANCE DieHard_TETrace
+    IN DieHard_TETrace!trace
+----
+
+_inv ==
+    ~(
+        TLCGet("level") = Len(_TETrace)
+        /\
+        bigBucket = (4)
+        /\
+        action = ("pour big to small")
+        /\
+        smallBucket = (3)
+        /\
+        water_to_pour = (1)
+    )
+----
+
+_init ==
+    /\ action = _TETrace[1].action
+    /\ smallBucket = _TETrace[1].smallBucket
+    /\ bigBucket = _TETrace[1].bigBucket
+    /\ water_to_pour = _TETrace[1].water_to_pour
+----
+
+_next ==
+    /\ \E i,j \in DOMAIN _TETrace:
+        /\ \/ /\ j = i + 1
+              /\ i = TLCGet("level")
+        /\ action  = _TETrace[i].action
+        /\ action' = _TETrace[j].action
+        /\ smallBucket  = _TETrace[i].smallBucket
+        /\ smallBucket' = _TETrace[j].smallBucket
+        /\ bigBucket  = _TETrace[i].bigBucket
+        /\ bigBucket' = _TETrace[j].bigBucket
+        /\ water_to_pour  = _TETrace[i].water_to_pour
+        /\ water_to_pour' = _TETrace[j].water_to_pour
+
+\* Uncomment the ASSUME below to write the states of the error trace
+\* to the given file in Json format. Note that you can pass any tuple
+\* to `JsonSerialize`. For example, a sub-sequence of _TETrace.
+    \* ASSUME
+    \*     LET J == INSTANCE Json
+    \*         IN J!JsonSerialize("DieHard_TTrace_1792282087.json", _TETrace)
+
+=============================================================================
+
+ Note that you can extract this module `DieHard_TEExpression`
+  to a dedicated file to reuse `expression` (the module in the 
+  dedicated `DieHard_TEExpression.tla` file takes precedence 
+  over the module `DieHard_TEExpression` below).
+
+---- MODULE DieHard_TEExpression ----
+EXTENDS Sequences, TLCExt, Toolbox, Naturals, TLC, DieHard
+
+expression == 
+    [
+        \* To hide variables of the `DieHard` spec from the error trace,
+        \* remove the variables below.  The trace will be written in the order
+        \* of the fields of this record.
+        action |-> action
+        ,smallBucket |-> smallBucket
+        ,bigBucket |-> bigBucket
+        ,water_to_pour |-> water_to_pour
+        
+        \* Put additional constant-, state-, and action-level expressions here:
+        \* ,_stateNumber |-> _TEPosition
+        \* ,_actionUnchanged |-> action = action'
+        
+        \* Format the `action` variable as Json value.
+        \* ,_actionJson |->
+        \*     LET J == INSTANCE Json
+        \*     IN J!ToJson(action)
+        
+        \* Lastly, you may build expressions over arbitrary sets of states by
+        \* leveraging the _TETrace operator.  For example, this is how to
+        \* count the number of times a spec variable changed up to the current
+        \* state in the trace.
+        \* ,_actionModCount |->
+        \*     LET F[s \in DOMAIN _TETrace] ==
+        \*         IF s = 1 THEN 0
+        \*         ELSE IF _TETrace[s].action # _TETrace[s-1].action
+        \*             THEN 1 + F[s-1] ELSE F[s-1]
+        \*     IN F[_TEPosition - 1]
+    ]
+
+=============================================================================
+
+
+
+Parsing and semantic processing can take forever if the trace below is long.
+ In this case, it is advised to uncomment the module below to deserialize the
+ trace from a generated binary file.
+
+\*
+\*---- MODULE DieHard_TETrace ----
+\*EXTENDS IOUtils, TLC, DieHard
+\*
+\*trace == IODeserialize("DieHard_TTrace_1792282087.bin", TRUE)
+\*
+\*=============================================================================
+\*
+
+---- MODULE DieHard_TETrace ----
+EXTENDS TLC, DieHard
+
+trace == 
+    <<
+    ([bigBucket |-> 0,action |-> "nondet",smallBucket |-> 0,water_to_pour |-> 0]),
+    ([bigBucket |-> 5,action |-> "fill big",smallBucket |-> 0,water_to_pour |-> 0]),
+    ([bigBucket |-> 2,action |-> "pour big to small",smallBucket |-> 3,water_to_pour |-> 3]),
+    ([bigBucket |-> 2,action |-> "empty small",smallBucket |-> 0,water_to_pour |-> 3]),
+    ([bigBucket |-> 0,action |-> "pour big to small",smallBucket |-> 2,water_to_pour |-> 2]),
+    ([bigBucket |-> 5,action |-> "fill big",smallBucket |-> 2,water_to_pour |-> 2]),
+    ([bigBucket |-> 4,action |-> "pour big to small",smallBucket |-> 3,water_to_pour |-> 1])
+    >>
+----
+
+
+=============================================================================
+
+---- CONFIG DieHard_TTrace_1792282087 ----
+
+INVARIANT
+    _inv
+
+CHECK_DEADLOCK
+    \* CHECK_DEADLOCK off because of PROPERTY or INVARIANT above.
+    FALSE
+
+INIT
+    _init
+
+NEXT
+    _next
+
+CONSTANT
+    _TETrace <- _trace
+
+ALIAS
+    _expression
+=============================================================================
+\* Generated on Sun Oct 18 00:08:12 UTC 2026
\ No newline at end of file
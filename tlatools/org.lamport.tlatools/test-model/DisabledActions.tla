@@ -0,0 +1,33 @@
+--------------------------- MODULE DisabledActions ---------------------------
+EXTENDS Naturals
+
+VARIABLES a, b, c
+
+vars == <<a, b, c>>
+
+Init == a = 0 /\ b = 0 /\ c = 0
+
+\* Disabled once a = 3, which none of the other actions changes.
+IncA == /\ a < 3
+        /\ a' = a + 1
+        /\ UNCHANGED <<b, c>>
+
+IncB == /\ b < 3
+        /\ b' = b + 1
+        /\ UNCHANGED <<a, c>>
+
+IncC == /\ c < a
+        /\ c' = c + 1
+        /\ UNCHANGED <<a, b>>
+
+ResetB == /\ a = 3
+          /\ b = 3
+          /\ b' = 0
+          /\ UNCHANGED <<a, c>>
+
+Next == IncA \/ IncB \/ IncC \/ ResetB
+
+TypeOK == /\ a \in 0..3
+          /\ b \in 0..3
+          /\ c \in 0..a
+=============================================================================
@@ -0,0 +1,138 @@
+---- MODULE DistributedTrace_TTrace_1792274917 ----
+EXTENDS DistributedTrace, Sequences, TLCExt, Toolbox, Naturals, TLC
+
+_expression ==
+    LET DistributedTrace_TEExpression == INSTANCE DistributedTrace_TEExpression
+    IN DistributedTrace_TEExpression!expression
+----
+
+_trace ==
+    LET DistributedTrace_TETrace == INSTANCE DistributedTrace_TETrace
+    IN DistributedTrace_TETrace!trace
+----
+
+_inv ==
+    ~(
+        TLCGet("level") = Len(_TETrace)
+        /\
+        x = (20)
+    )
+----
+
+_init ==
+    /\ x = _TETrace[1].x
+----
+
+_next ==
+    /\ \E i,j \in DOMAIN _TETrace:
+        /\ \/ /\ j = i + 1
+              /\ i = TLCGet("level")
+        /\ x  = _TETrace[i].x
+        /\ x' = _TETrace[j].x
+
+\* Uncomment the ASSUME below to write the states of the error trace
+\* to the given file in Json format. Note that you can pass any tuple
+\* to `JsonSerialize`. For example, a sub-sequence of _TETrace.
+    \* ASSUME
+    \*     LET J == INSTANCE Json
+    \*         IN J!JsonSerialize("DistributedTrace_TTrace_1792274917.json", _TETrace)
+
+=============================================================================
+
+ Note that you can extract this module `DistributedTrace_TEExpression`
+  to a dedicated file to reuse `expression` (the module in the 
+  dedicated `DistributedTrace_TEExpression.tla` file takes precedence 
+  over the module `DistributedTrace_TEExpression` below).
+
+---- MODULE DistributedTrace_TEExpression ----
+EXTENDS DistributedTrace, Sequences, TLCExt, Toolbox, Naturals, TLC
+
+expression == 
+    [
+        \* To hide variables of the `DistributedTrace` spec from the error trace,
+        \* remove the variables below.  The trace will be written in the order
+        \* of the fields of this record.
+        x |-> x
+        
+        \* Put additional constant-, state-, and action-level expressions here:
+        \* ,_stateNumber |-> _TEPosition
+        \* ,_xUnchanged |-> x = x'
+        
+        \* Format the `x` variable as Json value.
+        \* ,_xJson |->
+        \*     LET J == INSTANCE Json
+        \*     IN J!ToJson(x)
+        
+        \* Lastly, you may build expressions over arbitrary sets of states by
+        \* leveraging the _TETrace operator.  For example, this is how to
+        \* count the number of times a spec variable changed up to the current
+        \* state in the trace.
+        \* ,_xModCount |->
+        \*     LET F[s \in DOMAIN _TETrace] ==
+        \*         IF s = 1 THEN 0
+        \*         ELSE IF _TETrace[s].x # _TETrace[s-1].x
+        \*             THEN 1 + F[s-1] ELSE F[s-1]
+        \*     IN F[_TEPosition - 1]
+    ]
+
+=============================================================================
+
+
+
+Parsing and semantic processing can take forever if the trace below is long.
+ In this case, it is advised to uncomment the module below to deserialize the
+ trace from a generated binary file.
+
+\*
+\*---- MODULE DistributedTrace_TETrace ----
+\*EXTENDS DistributedTrace, IOUtils, TLC
+\*
+\*trace == IODeserialize("DistributedTrace_TTrace_1792274917.bin", TRUE)
+\*
+\*=============================================================================
+\*
+
+---- MODULE DistributedTrace_TETrace ----
+EXTENDS DistributedTrace, TLC
+
+trace == 
+    <<
+    ([x |-> 10]),
+    ([x |-> 11]),
+    ([x |-> 12]),
+    ([x |-> 13]),
+    ([x |-> 14]),
+    ([x |-> 15]),
+    ([x |-> 16]),
+    ([x |-> 17]),
+    ([x |-> 18]),
+    ([x |-> 19]),
+    ([x |-> 20])
+    >>
+----
+
+
+=============================================================================
+
+---- CONFIG DistributedTrace_TTrace_1792274917 ----
+
+INVARIANT
+    _inv
+
+CHECK_DEADLOCK
+    \* CHECK_DEADLOCK off because of PROPERTY or INVARIANT above.
+    FALSE
+
+INIT
+    _init
+
+NEXT
+    _next
+
+CONSTANT
+    _TETrace <- _trace
+
+ALIAS
+    _expression
+=============================================================================
+\* Generated on Sat Oct 17 22:08:45 UTC 2026
\ No newline at end of file
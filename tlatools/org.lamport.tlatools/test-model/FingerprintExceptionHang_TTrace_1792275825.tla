@@ -0,0 +1,140 @@
+---- MODULE FingerprintExceptionHang_TTrace_1792275825 ----
+EXTENDS Sequences, TLCExt, Toolbox, FingerprintExceptionHang, Naturals, TLC, FingerprintExceptionHang_TEConstants
+
+_expression ==
+    LET FingerprintExceptionHang_TEExpression == INSTANCE FingerprintExceptionHang_TEExpression
+    IN FingerprintExceptionHang_TEExpression!expression
+----
+
+_trace ==
+    LET FingerprintExceptionHang_TETrace == INSTANCE FingerprintExceptionHang_TETrace
+    IN FingerprintExceptionHang_TETrace!trace
+----
+
+_inv ==
+    ~(
+        TLCGet("level") = Len(_TETrace)
+        /\
+        node_state = ((A :> [set |-> 1] @@ B :> [set |-> {}]))
+    )
+----
+
+_init ==
+    /\ node_state = _TETrace[1].node_state
+----
+
+_next ==
+    /\ \E i,j \in DOMAIN _TETrace:
+        /\ \/ /\ j = i + 1
+              /\ i = TLCGet("level")
+        /\ node_state  = _TETrace[i].node_state
+        /\ node_state' = _TETrace[j].node_state
+
+\* Uncomment the ASSUME below to write the states of the error trace
+\* to the given file in Json format. Note that you can pass any tuple
+\* to `JsonSerialize`. For example, a sub-sequence of _TETrace.
+    \* ASSUME
+    \*     LET J == INSTANCE Json
+    \*         IN J!JsonSerialize("FingerprintExceptionHang_TTrace_1792275825.json", _TETrace)
+
+=============================================================================
+
+ Note that you can extract this module `FingerprintExceptionHang_TEExpression`
+  to a dedicated file to reuse `expression` (the module in the 
+  dedicated `FingerprintExceptionHang_TEExpression.tla` file takes precedence 
+  over the module `FingerprintExceptionHang_TEExpression` below).
+
+---- MODULE FingerprintExceptionHang_TEExpression ----
+EXTENDS Sequences, TLCExt, Toolbox, FingerprintExceptionHang, Naturals, TLC, FingerprintExceptionHang_TEConstants
+
+expression == 
+    [
+        \* To hide variables of the `FingerprintExceptionHang` spec from the error trace,
+        \* remove the variables below.  The trace will be written in the order
+        \* of the fields of this record.
+        node_state |-> node_state
+        
+        \* Put additional constant-, state-, and action-level expressions here:
+        \* ,_stateNumber |-> _TEPosition
+        \* ,_node_stateUnchanged |-> node_state = node_state'
+        
+        \* Format the `node_state` variable as Json value.
+        \* ,_node_stateJson |->
+        \*     LET J == INSTANCE Json
+        \*     IN J!ToJson(node_state)
+        
+        \* Lastly, you may build expressions over arbitrary sets of states by
+        \* leveraging the _TETrace operator.  For example, this is how to
+        \* count the number of times a spec variable changed up to the current
+        \* state in the trace.
+        \* ,_node_stateModCount |->
+        \*     LET F[s \in DOMAIN _TETrace] ==
+        \*         IF s = 1 THEN 0
+        \*         ELSE IF _TETrace[s].node_state # _TETrace[s-1].node_state
+        \*             THEN 1 + F[s-1] ELSE F[s-1]
+        \*     IN F[_TEPosition - 1]
+    ]
+
+=============================================================================
+
+
+
+Parsing and semantic processing can take forever if the trace below is long.
+ In this case, it is advised to uncomment the module below to deserialize the
+ trace from a generated binary file.
+
+\*
+\*---- MODULE FingerprintExceptionHang_TETrace ----
+\*EXTENDS IOUtils, FingerprintExceptionHang, TLC, FingerprintExceptionHang_TEConstants
+\*
+\*trace == IODeserialize("FingerprintExceptionHang_TTrace_1792275825.bin", TRUE)
+\*
+\*=============================================================================
+\*
+
+---- MODULE FingerprintExceptionHang_TETrace ----
+EXTENDS FingerprintExceptionHang, TLC, FingerprintExceptionHang_TEConstants
+
+trace == 
+    <<
+    ([node_state |-> (A :> [set |-> {}] @@ B :> [set |-> {}])]),
+    ([node_state |-> (A :> [set |-> 1] @@ B :> [set |-> {}])])
+    >>
+----
+
+
+=============================================================================
+
+---- MODULE FingerprintExceptionHang_TEConstants ----
+EXTENDS FingerprintExceptionHang
+
+CONSTANTS A, B
+
+=============================================================================
+
+---- CONFIG FingerprintExceptionHang_TTrace_1792275825 ----
+CONSTANTS
+    Nodes = { A , B }
+    B = B
+    A = A
+
+INVARIANT
+    _inv
+
+CHECK_DEADLOCK
+    \* CHECK_DEADLOCK off because of PROPERTY or INVARIANT above.
+    FALSE
+
+INIT
+    _init
+
+NEXT
+    _next
+
+CONSTANT
+    _TETrace <- _trace
+
+ALIAS
+    _expression
+=============================================================================
+\* Generated on Sat Oct 17 22:23:52 UTC 2026
\ No newline at end of file
@@ -0,0 +1,130 @@
+---- MODULE Github1147_TTrace_1792274965 ----
+EXTENDS Sequences, TLCExt, Github1147, Toolbox, Naturals, TLC
+
+_expression ==
+    LET Github1147_TEExpression == INSTANCE Github1147_TEExpression
+    IN Github1147_TEExpression!expression
+----
+
+_trace ==
+    LET Github1147_TETrace == INSTANCE Github1147_TETrace
+    IN Github1147_TETrace!trace
+----
+
+_inv ==
+    ~(
+        TLCGet("level") = Len(_TETrace)
+        /\
+        state = ({<<"d1", 1, (0 :> "a" @@ 1 :> "a" @@ 2 :> "a")>>, <<"d1", 1, (0 :> "a" @@ 1 :> "a" @@ 2 :> "b")>>})
+    )
+----
+
+_init ==
+    /\ state = _TETrace[1].state
+----
+
+_next ==
+    /\ \E i,j \in DOMAIN _TETrace:
+        /\ \/ /\ j = i + 1
+              /\ i = TLCGet("level")
+        /\ state  = _TETrace[i].state
+        /\ state' = _TETrace[j].state
+
+\* Uncomment the ASSUME below to write the states of the error trace
+\* to the given file in Json format. Note that you can pass any tuple
+\* to `JsonSerialize`. For example, a sub-sequence of _TETrace.
+    \* ASSUME
+    \*     LET J == INSTANCE Json
+    \*         IN J!JsonSerialize("Github1147_TTrace_1792274965.json", _TETrace)
+
+=============================================================================
+
+ Note that you can extract this module `Github1147_TEExpression`
+  to a dedicated file to reuse `expression` (the module in the 
+  dedicated `Github1147_TEExpression.tla` file takes precedence 
+  over the module `Github1147_TEExpression` below).
+
+---- MODULE Github1147_TEExpression ----
+EXTENDS Sequences, TLCExt, Github1147, Toolbox, Naturals, TLC
+
+expression == 
+    [
+        \* To hide variables of the `Github1147` spec from the error trace,
+        \* remove the variables below.  The trace will be written in the order
+        \* of the fields of this record.
+        state |-> state
+        
+        \* Put additional constant-, state-, and action-level expressions here:
+        \* ,_stateNumber |-> _TEPosition
+        \* ,_stateUnchanged |-> state = state'
+        
+        \* Format the `state` variable as Json value.
+        \* ,_stateJson |->
+        \*     LET J == INSTANCE Json
+        \*     IN J!ToJson(state)
+        
+        \* Lastly, you may build expressions over arbitrary sets of states by
+        \* leveraging the _TETrace operator.  For example, this is how to
+        \* count the number of times a spec variable changed up to the current
+        \* state in the trace.
+        \* ,_stateModCount |->
+        \*     LET F[s \in DOMAIN _TETrace] ==
+        \*         IF s = 1 THEN 0
+        \*         ELSE IF _TETrace[s].state # _TETrace[s-1].state
+        \*             THEN 1 + F[s-1] ELSE F[s-1]
+        \*     IN F[_TEPosition - 1]
+    ]
+
+=============================================================================
+
+
+
+Parsing and semantic processing can take forever if the trace below is long.
+ In this case, it is advised to uncomment the module below to deserialize the
+ trace from a generated binary file.
+
+\*
+\*---- MODULE Github1147_TETrace ----
+\*EXTENDS IOUtils, Github1147, TLC
+\*
+\*trace == IODeserialize("Github1147_TTrace_1792274965.bin", TRUE)
+\*
+\*=============================================================================
+\*
+
+---- MODULE Github1147_TETrace ----
+EXTENDS Github1147, TLC
+
+trace == 
+    <<
+    ([state |-> {}]),
+    ([state |-> {<<"d1", 1, (0 :> "a" @@ 1 :> "a" @@ 2 :> "a")>>}]),
+    ([state |-> {<<"d1", 1, (0 :> "a" @@ 1 :> "a" @@ 2 :> "a")>>, <<"d1", 1, (0 :> "a" @@ 1 :> "a" @@ 2 :> "b")>>}])
+    >>
+----
+
+
+=============================================================================
+
+---- CONFIG Github1147_TTrace_1792274965 ----
+
+INVARIANT
+    _inv
+
+CHECK_DEADLOCK
+    \* CHECK_DEADLOCK off because of PROPERTY or INVARIANT above.
+    FALSE
+
+INIT
+    _init
+
+NEXT
+    _next
+
+CONSTANT
+    _TETrace <- _trace
+
+ALIAS
+    _expression
+=============================================================================
+\* Generated on Sat Oct 17 22:09:32 UTC 2026
\ No newline at end of file
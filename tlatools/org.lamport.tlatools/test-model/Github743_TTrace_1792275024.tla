@@ -0,0 +1,137 @@
+---- MODULE Github743_TTrace_1792275024 ----
+EXTENDS Sequences, TLCExt, Toolbox, Naturals, TLC, Github743
+
+_expression ==
+    LET Github743_TEExpression == INSTANCE Github743_TEExpression
+    IN Github743_TEExpression!expression
+----
+
+_trace ==
+    LET Github743_TETrace == INSTANCE Github743_TETrace
+    IN Github743_TETrace!trace
+----
+
+_inv ==
+    ~(
+        TLCGet("level") = Len(_TETrace)
+        /\
+        x = (TRUE)
+        /\
+        y = (5)
+    )
+----
+
+_init ==
+    /\ x = _TETrace[1].x
+    /\ y = _TETrace[1].y
+----
+
+_next ==
+    /\ \E i,j \in DOMAIN _TETrace:
+        /\ \/ /\ j = i + 1
+              /\ i = TLCGet("level")
+        /\ x  = _TETrace[i].x
+        /\ x' = _TETrace[j].x
+        /\ y  = _TETrace[i].y
+        /\ y' = _TETrace[j].y
+
+\* Uncomment the ASSUME below to write the states of the error trace
+\* to the given file in Json format. Note that you can pass any tuple
+\* to `JsonSerialize`. For example, a sub-sequence of _TETrace.
+    \* ASSUME
+    \*     LET J == INSTANCE Json
+    \*         IN J!JsonSerialize("Github743_TTrace_1792275024.json", _TETrace)
+
+=============================================================================
+
+ Note that you can extract this module `Github743_TEExpression`
+  to a dedicated file to reuse `expression` (the module in the 
+  dedicated `Github743_TEExpression.tla` file takes precedence 
+  over the module `Github743_TEExpression` below).
+
+---- MODULE Github743_TEExpression ----
+EXTENDS Sequences, TLCExt, Toolbox, Naturals, TLC, Github743
+
+expression == 
+    [
+        \* To hide variables of the `Github743` spec from the error trace,
+        \* remove the variables below.  The trace will be written in the order
+        \* of the fields of this record.
+        x |-> x
+        ,y |-> y
+        
+        \* Put additional constant-, state-, and action-level expressions here:
+        \* ,_stateNumber |-> _TEPosition
+        \* ,_xUnchanged |-> x = x'
+        
+        \* Format the `x` variable as Json value.
+        \* ,_xJson |->
+        \*     LET J == INSTANCE Json
+        \*     IN J!ToJson(x)
+        
+        \* Lastly, you may build expressions over arbitrary sets of states by
+        \* leveraging the _TETrace operator.  For example, this is how to
+        \* count the number of times a spec variable changed up to the current
+        \* state in the trace.
+        \* ,_xModCount |->
+        \*     LET F[s \in DOMAIN _TETrace] ==
+        \*         IF s = 1 THEN 0
+        \*         ELSE IF _TETrace[s].x # _TETrace[s-1].x
+        \*             THEN 1 + F[s-1] ELSE F[s-1]
+        \*     IN F[_TEPosition - 1]
+    ]
+
+=============================================================================
+
+
+
+Parsing and semantic processing can take forever if the trace below is long.
+ In this case, it is advised to uncomment the module below to deserialize the
+ trace from a generated binary file.
+
+\*
+\*---- MODULE Github743_TETrace ----
+\*EXTENDS IOUtils, TLC, Github743
+\*
+\*trace == IODeserialize("Github743_TTrace_1792275024.bin", TRUE)
+\*
+\*=============================================================================
+\*
+
+---- MODULE Github743_TETrace ----
+EXTENDS TLC, Github743
+
+trace == 
+    <<
+    ([x |-> "foo",y |-> 0]),
+    ([x |-> "foo",y |-> 1]),
+    ([x |-> TRUE,y |-> 3]),
+    ([x |-> TRUE,y |-> 5])
+    >>
+----
+
+
+=============================================================================
+
+---- CONFIG Github743_TTrace_1792275024 ----
+
+INVARIANT
+    _inv
+
+CHECK_DEADLOCK
+    \* CHECK_DEADLOCK off because of PROPERTY or INVARIANT above.
+    FALSE
+
+INIT
+    _init
+
+NEXT
+    _next
+
+CONSTANT
+    _TETrace <- _trace
+
+ALIAS
+    _expression
+=============================================================================
+\* Generated on Sat Oct 17 22:10:31 UTC 2026
\ No newline at end of file
@@ -0,0 +1,32 @@
+------------------------ MODULE PartialOrderReduction ------------------------
+EXTENDS Naturals
+
+VARIABLES x, y, z, done
+
+vars == <<x, y, z, done>>
+
+Init == x = 0 /\ y = 0 /\ z = 0 /\ done = FALSE
+
+\* IncX, IncY, and IncZ are mutually independent and invisible, i.e. every
+\* interleaving of them reaches the same states.
+IncX == /\ x < 3
+        /\ x' = x + 1
+        /\ UNCHANGED <<y, z, done>>
+
+IncY == /\ y < 3
+        /\ y' = y + 1
+        /\ UNCHANGED <<x, z, done>>
+
+IncZ == /\ z < 3
+        /\ z' = z + 1
+        /\ UNCHANGED <<x, y, done>>
+
+\* Visible because the invariant reads done.
+Finish == /\ ~done
+          /\ done' = TRUE
+          /\ UNCHANGED <<x, y, z>>
+
+Next == IncX \/ IncY \/ IncZ \/ Finish
+
+Inv == done \in BOOLEAN
+=============================================================================
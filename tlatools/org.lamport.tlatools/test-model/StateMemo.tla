@@ -0,0 +1,65 @@
+------------------------------ MODULE StateMemo ------------------------------
+EXTENDS Naturals, FiniteSets, Sequences, TLC
+
+CONSTANT N
+
+VARIABLES votes, round
+
+Procs == 1..N
+
+\* State-level definitions that the actions and invariants below share.
+Voters == {p \in Procs : votes[p] # 0}
+
+Leader == IF Voters = {} THEN 0 ELSE CHOOSE p \in Voters : \A q \in Voters : p <= q
+
+VotesFor(v) == {p \in Procs : votes[p] = v}
+
+HasQuorum(v) == Cardinality(VotesFor(v)) * 2 > N
+
+\* Not memoized: the argument is not a scalar.
+Size(S) == Cardinality(S)
+
+\* Not memoizable: RandomElement is not a function of its argument.
+Someone == RandomElement(Procs)
+
+\* Not memoized: the arguments are not cheap, and Head(Ballots) fails in the
+\* states with round = 0 if it gets evaluated.
+Opt(b, e) == IF b THEN e ELSE 0
+
+Ballots == IF round = 0 THEN <<>> ELSE <<round>>
+
+Init == /\ votes = [p \in Procs |-> 0]
+        /\ round = 0
+
+Vote(p) == /\ votes[p] = 0
+           /\ ~HasQuorum(1)
+           /\ ~HasQuorum(2)
+           /\ \E v \in {1, 2} : votes' = [votes EXCEPT ![p] = v]
+           /\ UNCHANGED round
+
+Decide == /\ \E v \in {1, 2} : HasQuorum(v)
+          /\ Leader # 0
+          /\ round < 2
+          /\ round' = round + 1
+          /\ votes' = [p \in Procs |-> 0]
+
+Next == (\E p \in Procs : Vote(p)) \/ Decide
+
+TypeOK == /\ votes \in [Procs -> 0..2]
+          /\ round \in 0..2
+
+LeaderOK == Leader # 0 => (Leader \in Voters /\ votes[Leader] # 0)
+
+QuorumOK == ~(HasQuorum(1) /\ HasQuorum(2))
+
+SizeOK == Size(Voters) <= N /\ Someone \in Procs
+
+BallotOK == Opt(Len(Ballots) > 0, Head(Ballots)) <= 2
+
+\* Not memoizable: StateMemoCounter's Val reads the substitution for x.
+A == INSTANCE StateMemoCounter WITH x <- round
+
+B == INSTANCE StateMemoCounter WITH x <- votes[1]
+
+InstanceOK == A!Twice = 2 * round /\ B!Twice = 2 * votes[1]
+=============================================================================
@@ -0,0 +1,9 @@
+--------------------------- MODULE StateMemoCounter ---------------------------
+EXTENDS Naturals
+
+VARIABLE x
+
+Val == x + 0
+
+Twice == Val + Val
+=============================================================================
@@ -0,0 +1,144 @@
+---- MODULE StateMemo_TTrace_1792272894 ----
+EXTENDS StateMemo, Sequences, TLCExt, Toolbox, Naturals, TLC
+
+_expression ==
+    LET StateMemo_TEExpression == INSTANCE StateMemo_TEExpression
+    IN StateMemo_TEExpression!expression
+----
+
+_trace ==
+    LET StateMemo_TETrace == INSTANCE StateMemo_TETrace
+    IN StateMemo_TETrace!trace
+----
+
+_inv ==
+    ~(
+        TLCGet("level") = Len(_TETrace)
+        /\
+        round = (2)
+        /\
+        votes = (<<1, 1, 0>>)
+    )
+----
+
+_init ==
+    /\ round = _TETrace[1].round
+    /\ votes = _TETrace[1].votes
+----
+
+_next ==
+    /\ \E i,j \in DOMAIN _TETrace:
+        /\ \/ /\ j = i + 1
+              /\ i = TLCGet("level")
+        /\ round  = _TETrace[i].round
+        /\ round' = _TETrace[j].round
+        /\ votes  = _TETrace[i].votes
+        /\ votes' = _TETrace[j].votes
+
+\* Uncomment the ASSUME below to write the states of the error trace
+\* to the given file in Json format. Note that you can pass any tuple
+\* to `JsonSerialize`. For example, a sub-sequence of _TETrace.
+    \* ASSUME
+    \*     LET J == INSTANCE Json
+    \*         IN J!JsonSerialize("StateMemo_TTrace_1792272894.json", _TETrace)
+
+=============================================================================
+
+ Note that you can extract this module `StateMemo_TEExpression`
+  to a dedicated file to reuse `expression` (the module in the 
+  dedicated `StateMemo_TEExpression.tla` file takes precedence 
+  over the module `StateMemo_TEExpression` below).
+
+---- MODULE StateMemo_TEExpression ----
+EXTENDS StateMemo, Sequences, TLCExt, Toolbox, Naturals, TLC
+
+expression == 
+    [
+        \* To hide variables of the `StateMemo` spec from the error trace,
+        \* remove the variables below.  The trace will be written in the order
+        \* of the fields of this record.
+        round |-> round
+        ,votes |-> votes
+        
+        \* Put additional constant-, state-, and action-level expressions here:
+        \* ,_stateNumber |-> _TEPosition
+        \* ,_roundUnchanged |-> round = round'
+        
+        \* Format the `round` variable as Json value.
+        \* ,_roundJson |->
+        \*     LET J == INSTANCE Json
+        \*     IN J!ToJson(round)
+        
+        \* Lastly, you may build expressions over arbitrary sets of states by
+        \* leveraging the _TETrace operator.  For example, this is how to
+        \* count the number of times a spec variable changed up to the current
+        \* state in the trace.
+        \* ,_roundModCount |->
+        \*     LET F[s \in DOMAIN _TETrace] ==
+        \*         IF s = 1 THEN 0
+        \*         ELSE IF _TETrace[s].round # _TETrace[s-1].round
+        \*             THEN 1 + F[s-1] ELSE F[s-1]
+        \*     IN F[_TEPosition - 1]
+    ]
+
+=============================================================================
+
+
+
+Parsing and semantic processing can take forever if the trace below is long.
+ In this case, it is advised to uncomment the module below to deserialize the
+ trace from a generated binary file.
+
+\*
+\*---- MODULE StateMemo_TETrace ----
+\*EXTENDS StateMemo, IOUtils, TLC
+\*
+\*trace == IODeserialize("StateMemo_TTrace_1792272894.bin", TRUE)
+\*
+\*=============================================================================
+\*
+
+---- MODULE StateMemo_TETrace ----
+EXTENDS StateMemo, TLC
+
+trace == 
+    <<
+    ([round |-> 0,votes |-> <<0, 0, 0>>]),
+    ([round |-> 0,votes |-> <<1, 0, 0>>]),
+    ([round |-> 0,votes |-> <<1, 1, 0>>]),
+    ([round |-> 1,votes |-> <<0, 0, 0>>]),
+    ([round |-> 1,votes |-> <<1, 0, 0>>]),
+    ([round |-> 1,votes |-> <<1, 1, 0>>]),
+    ([round |-> 2,votes |-> <<0, 0, 0>>]),
+    ([round |-> 2,votes |-> <<1, 0, 0>>]),
+    ([round |-> 2,votes |-> <<1, 1, 0>>])
+    >>
+----
+
+
+=============================================================================
+
+---- CONFIG StateMemo_TTrace_1792272894 ----
+CONSTANTS
+    N = 3
+
+INVARIANT
+    _inv
+
+CHECK_DEADLOCK
+    \* CHECK_DEADLOCK off because of PROPERTY or INVARIANT above.
+    FALSE
+
+INIT
+    _init
+
+NEXT
+    _next
+
+CONSTANT
+    _TETrace <- _trace
+
+ALIAS
+    _expression
+=============================================================================
+\* Generated on Sat Oct 17 21:34:56 UTC 2026
\ No newline at end of file
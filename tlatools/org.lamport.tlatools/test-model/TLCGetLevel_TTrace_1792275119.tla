@@ -0,0 +1,147 @@
+---- MODULE TLCGetLevel_TTrace_1792275119 ----
+EXTENDS Sequences, TLCExt, TLCGetLevel, Toolbox, Naturals, TLC
+
+_expression ==
+    LET TLCGetLevel_TEExpression == INSTANCE TLCGetLevel_TEExpression
+    IN TLCGetLevel_TEExpression!expression
+----
+
+_trace ==
+    LET TLCGetLevel_TETrace == INSTANCE TLCGetLevel_TETrace
+    IN TLCGetLevel_TETrace!trace
+----
+
+_prop ==
+    ~<>[](
+        x = (3)
+        /\
+        yb = (3)
+        /\
+        y = (3)
+        /\
+        z = (4)
+    )
+----
+
+_init ==
+    /\ yb = _TETrace[1].yb
+    /\ x = _TETrace[1].x
+    /\ y = _TETrace[1].y
+    /\ z = _TETrace[1].z
+----
+
+_next ==
+    /\ \E i,j \in DOMAIN _TETrace:
+        /\ \/ /\ j = i + 1
+              /\ i = TLCGet("level")
+        /\ yb  = _TETrace[i].yb
+        /\ yb' = _TETrace[j].yb
+        /\ x  = _TETrace[i].x
+        /\ x' = _TETrace[j].x
+        /\ y  = _TETrace[i].y
+        /\ y' = _TETrace[j].y
+        /\ z  = _TETrace[i].z
+        /\ z' = _TETrace[j].z
+
+\* Uncomment the ASSUME below to write the states of the error trace
+\* to the given file in Json format. Note that you can pass any tuple
+\* to `JsonSerialize`. For example, a sub-sequence of _TETrace.
+    \* ASSUME
+    \*     LET J == INSTANCE Json
+    \*         IN J!JsonSerialize("TLCGetLevel_TTrace_1792275119.json", _TETrace)
+
+=============================================================================
+
+ Note that you can extract this module `TLCGetLevel_TEExpression`
+  to a dedicated file to reuse `expression` (the module in the 
+  dedicated `TLCGetLevel_TEExpression.tla` file takes precedence 
+  over the module `TLCGetLevel_TEExpression` below).
+
+---- MODULE TLCGetLevel_TEExpression ----
+EXTENDS Sequences, TLCExt, TLCGetLevel, Toolbox, Naturals, TLC
+
+expression == 
+    [
+        \* To hide variables of the `TLCGetLevel` spec from the error trace,
+        \* remove the variables below.  The trace will be written in the order
+        \* of the fields of this record.
+        yb |-> yb
+        ,x |-> x
+        ,y |-> y
+        ,z |-> z
+        
+        \* Put additional constant-, state-, and action-level expressions here:
+        \* ,_stateNumber |-> _TEPosition
+        \* ,_ybUnchanged |-> yb = yb'
+        
+        \* Format the `yb` variable as Json value.
+        \* ,_ybJson |->
+        \*     LET J == INSTANCE Json
+        \*     IN J!ToJson(yb)
+        
+        \* Lastly, you may build expressions over arbitrary sets of states by
+        \* leveraging the _TETrace operator.  For example, this is how to
+        \* count the number of times a spec variable changed up to the current
+        \* state in the trace.
+        \* ,_ybModCount |->
+        \*     LET F[s \in DOMAIN _TETrace] ==
+        \*         IF s = 1 THEN 0
+        \*         ELSE IF _TETrace[s].yb # _TETrace[s-1].yb
+        \*             THEN 1 + F[s-1] ELSE F[s-1]
+        \*     IN F[_TEPosition - 1]
+    ]
+
+=============================================================================
+
+
+
+Parsing and semantic processing can take forever if the trace below is long.
+ In this case, it is advised to uncomment the module below to deserialize the
+ trace from a generated binary file.
+
+\*
+\*---- MODULE TLCGetLevel_TETrace ----
+\*EXTENDS IOUtils, TLCGetLevel, TLC
+\*
+\*trace == IODeserialize("TLCGetLevel_TTrace_1792275119.bin", TRUE)
+\*
+\*=============================================================================
+\*
+
+---- MODULE TLCGetLevel_TETrace ----
+EXTENDS TLCGetLevel, TLC
+
+trace == 
+    <<
+    ([x |-> 0,yb |-> 0,y |-> 0,z |-> 1]),
+    ([x |-> 1,yb |-> 1,y |-> 1,z |-> 2]),
+    ([x |-> 2,yb |-> 2,y |-> 2,z |-> 3]),
+    ([x |-> 3,yb |-> 3,y |-> 3,z |-> 4])
+    >>
+----
+
+
+=============================================================================
+
+---- CONFIG TLCGetLevel_TTrace_1792275119 ----
+
+PROPERTY
+    _prop
+
+CHECK_DEADLOCK
+    \* CHECK_DEADLOCK off because of PROPERTY or INVARIANT above.
+    FALSE
+
+INIT
+    _init
+
+NEXT
+    _next
+
+CONSTANT
+    _TETrace <- _trace
+
+ALIAS
+    _expression
+=============================================================================
+\* Generated on Sat Oct 17 22:12:07 UTC 2026
\ No newline at end of file
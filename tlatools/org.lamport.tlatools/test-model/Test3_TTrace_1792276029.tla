@@ -0,0 +1,149 @@
+---- MODULE Test3_TTrace_1792276029 ----
+EXTENDS Sequences, TLCExt, Toolbox, Naturals, TLC, Test3_TEConstants, Test3
+
+_expression ==
+    LET Test3_TEExpression == INSTANCE Test3_TEExpression
+    IN Test3_TEExpression!expression
+----
+
+_trace ==
+    LET Test3_TETrace == INSTANCE Test3_TETrace
+    IN Test3_TETrace!trace
+----
+
+_prop ==
+    ~(([]<>(
+            x = (1)
+    ))/\([]<>(
+            x = (0)
+    )))
+----
+
+_init ==
+    /\ x = _TETrace[1].x
+----
+
+_next ==
+    /\ \E i,j \in DOMAIN _TETrace:
+        /\ \/ /\ j = i + 1
+              /\ i = TLCGet("level")
+           \/ /\ i = _TTraceLassoEnd
+              /\ j = _TTraceLassoStart
+        /\ x  = _TETrace[i].x
+        /\ x' = _TETrace[j].x
+
+\* Uncomment the ASSUME below to write the states of the error trace
+\* to the given file in Json format. Note that you can pass any tuple
+\* to `JsonSerialize`. For example, a sub-sequence of _TETrace.
+    \* ASSUME
+    \*     LET J == INSTANCE Json
+    \*         IN J!JsonSerialize("Test3_TTrace_1792276029.json", _TETrace)
+
+
+_view ==
+    <<x, IF TLCGet("level") = _TTraceLassoEnd + 1 THEN _TTraceLassoStart ELSE TLCGet("level")>>
+=============================================================================
+
+ Note that you can extract this module `Test3_TEExpression`
+  to a dedicated file to reuse `expression` (the module in the 
+  dedicated `Test3_TEExpression.tla` file takes precedence 
+  over the module `Test3_TEExpression` below).
+
+---- MODULE Test3_TEExpression ----
+EXTENDS Sequences, TLCExt, Toolbox, Naturals, TLC, Test3_TEConstants, Test3
+
+expression == 
+    [
+        \* To hide variables of the `Test3` spec from the error trace,
+        \* remove the variables below.  The trace will be written in the order
+        \* of the fields of this record.
+        x |-> x
+        
+        \* Put additional constant-, state-, and action-level expressions here:
+        \* ,_stateNumber |-> _TEPosition
+        \* ,_xUnchanged |-> x = x'
+        
+        \* Format the `x` variable as Json value.
+        \* ,_xJson |->
+        \*     LET J == INSTANCE Json
+        \*     IN J!ToJson(x)
+        
+        \* Lastly, you may build expressions over arbitrary sets of states by
+        \* leveraging the _TETrace operator.  For example, this is how to
+        \* count the number of times a spec variable changed up to the current
+        \* state in the trace.
+        \* ,_xModCount |->
+        \*     LET F[s \in DOMAIN _TETrace] ==
+        \*         IF s = 1 THEN 0
+        \*         ELSE IF _TETrace[s].x # _TETrace[s-1].x
+        \*             THEN 1 + F[s-1] ELSE F[s-1]
+        \*     IN F[_TEPosition - 1]
+    ]
+
+=============================================================================
+
+
+
+Parsing and semantic processing can take forever if the trace below is long.
+ In this case, it is advised to uncomment the module below to deserialize the
+ trace from a generated binary file.
+
+\*
+\*---- MODULE Test3_TETrace ----
+\*EXTENDS IOUtils, TLC, Test3_TEConstants, Test3
+\*
+\*trace == IODeserialize("Test3_TTrace_1792276029.bin", TRUE)
+\*
+\*=============================================================================
+\*
+
+---- MODULE Test3_TETrace ----
+EXTENDS TLC, Test3_TEConstants, Test3
+
+trace == 
+    <<
+    ([x |-> 0]),
+    ([x |-> 2]),
+    ([x |-> 0]),
+    ([x |-> 1])
+    >>
+----
+
+
+=============================================================================
+
+---- MODULE Test3_TEConstants ----
+EXTENDS Test3
+
+CONSTANTS _TTraceLassoStart, _TTraceLassoEnd
+
+=============================================================================
+
+---- CONFIG Test3_TTrace_1792276029 ----
+CONSTANTS
+_TTraceLassoStart = 1
+_TTraceLassoEnd = 4
+
+PROPERTY
+    _prop
+
+CHECK_DEADLOCK
+    \* CHECK_DEADLOCK off because of PROPERTY or INVARIANT above.
+    FALSE
+
+INIT
+    _init
+
+NEXT
+    _next
+
+VIEW
+    _view
+
+CONSTANT
+    _TETrace <- _trace
+
+ALIAS
+    _expression
+=============================================================================
+\* Generated on Sat Oct 17 22:27:16 UTC 2026
\ No newline at end of file
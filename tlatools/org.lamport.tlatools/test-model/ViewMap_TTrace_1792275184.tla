@@ -0,0 +1,157 @@
+---- MODULE ViewMap_TTrace_1792275184 ----
+EXTENDS Sequences, TLCExt, Toolbox, Naturals, TLC, ViewMap
+
+_expression ==
+    LET ViewMap_TEExpression == INSTANCE ViewMap_TEExpression
+    IN ViewMap_TEExpression!expression
+----
+
+_trace ==
+    LET ViewMap_TETrace == INSTANCE ViewMap_TETrace
+    IN ViewMap_TETrace!trace
+----
+
+_inv ==
+    ~(
+        TLCGet("level") = Len(_TETrace)
+        /\
+        pc = ((c1 :> "lbc" @@ c2 :> "lbc" @@ p1 :> "lbp"))
+        /\
+        waitset = ({c1, c2, p1})
+        /\
+        buffer = (<<>>)
+    )
+----
+
+_init ==
+    /\ buffer = _TETrace[1].buffer
+    /\ waitset = _TETrace[1].waitset
+    /\ pc = _TETrace[1].pc
+----
+
+_next ==
+    /\ \E i,j \in DOMAIN _TETrace:
+        /\ \/ /\ j = i + 1
+              /\ i = TLCGet("level")
+        /\ buffer  = _TETrace[i].buffer
+        /\ buffer' = _TETrace[j].buffer
+        /\ waitset  = _TETrace[i].waitset
+        /\ waitset' = _TETrace[j].waitset
+        /\ pc  = _TETrace[i].pc
+        /\ pc' = _TETrace[j].pc
+
+\* Uncomment the ASSUME below to write the states of the error trace
+\* to the given file in Json format. Note that you can pass any tuple
+\* to `JsonSerialize`. For example, a sub-sequence of _TETrace.
+    \* ASSUME
+    \*     LET J == INSTANCE Json
+    \*         IN J!JsonSerialize("ViewMap_TTrace_1792275184.json", _TETrace)
+
+=============================================================================
+
+ Note that you can extract this module `ViewMap_TEExpression`
+  to a dedicated file to reuse `expression` (the module in the 
+  dedicated `ViewMap_TEExpression.tla` file takes precedence 
+  over the module `ViewMap_TEExpression` below).
+
+---- MODULE ViewMap_TEExpression ----
+EXTENDS Sequences, TLCExt, Toolbox, Naturals, TLC, ViewMap
+
+expression == 
+    [
+        \* To hide variables of the `ViewMap` spec from the error trace,
+        \* remove the variables below.  The trace will be written in the order
+        \* of the fields of this record.
+        buffer |-> buffer
+        ,waitset |-> waitset
+        ,pc |-> pc
+        
+        \* Put additional constant-, state-, and action-level expressions here:
+        \* ,_stateNumber |-> _TEPosition
+        \* ,_bufferUnchanged |-> buffer = buffer'
+        
+        \* Format the `buffer` variable as Json value.
+        \* ,_bufferJson |->
+        \*     LET J == INSTANCE Json
+        \*     IN J!ToJson(buffer)
+        
+        \* Lastly, you may build expressions over arbitrary sets of states by
+        \* leveraging the _TETrace operator.  For example, this is how to
+        \* count the number of times a spec variable changed up to the current
+        \* state in the trace.
+        \* ,_bufferModCount |->
+        \*     LET F[s \in DOMAIN _TETrace] ==
+        \*         IF s = 1 THEN 0
+        \*         ELSE IF _TETrace[s].buffer # _TETrace[s-1].buffer
+        \*             THEN 1 + F[s-1] ELSE F[s-1]
+        \*     IN F[_TEPosition - 1]
+    ]
+
+=============================================================================
+
+
+
+Parsing and semantic processing can take forever if the trace below is long.
+ In this case, it is advised to uncomment the module below to deserialize the
+ trace from a generated binary file.
+
+\*
+\*---- MODULE ViewMap_TETrace ----
+\*EXTENDS IOUtils, TLC, ViewMap
+\*
+\*trace == IODeserialize("ViewMap_TTrace_1792275184.bin", TRUE)
+\*
+\*=============================================================================
+\*
+
+---- MODULE ViewMap_TETrace ----
+EXTENDS TLC, ViewMap
+
+trace == 
+    <<
+    ([pc |-> (c1 :> "lbc" @@ c2 :> "lbc" @@ p1 :> "lbp"),waitset |-> {},buffer |-> <<>>]),
+    ([pc |-> (c1 :> "lbc" @@ c2 :> "lbc" @@ p1 :> "lbp"),waitset |-> {c1},buffer |-> <<>>]),
+    ([pc |-> (c1 :> "lbc" @@ c2 :> "lbc" @@ p1 :> "lbp"),waitset |-> {c1, c2},buffer |-> <<>>]),
+    ([pc |-> (c1 :> "lbc" @@ c2 :> "lbc" @@ p1 :> "lbp"),waitset |-> {c2},buffer |-> <<"d">>]),
+    ([pc |-> (c1 :> "lbc" @@ c2 :> "lbc" @@ p1 :> "lbp"),waitset |-> {c2, p1},buffer |-> <<"d">>]),
+    ([pc |-> (c1 :> "lbc" @@ c2 :> "lbc" @@ p1 :> "lbp"),waitset |-> {p1},buffer |-> <<>>]),
+    ([pc |-> (c1 :> "lbc" @@ c2 :> "lbc" @@ p1 :> "lbp"),waitset |-> {c1, p1},buffer |-> <<>>]),
+    ([pc |-> (c1 :> "lbc" @@ c2 :> "lbc" @@ p1 :> "lbp"),waitset |-> {c1, c2, p1},buffer |-> <<>>])
+    >>
+----
+
+
+=============================================================================
+
+---- CONFIG ViewMap_TTrace_1792275184 ----
+CONSTANTS
+    c1 = c1
+    c2 = c2
+    p1 = p1
+    C = { c1 , c2 }
+    P = { p1 }
+    K = 1
+    c2 = c2
+    p1 = p1
+    c1 = c1
+
+INVARIANT
+    _inv
+
+CHECK_DEADLOCK
+    \* CHECK_DEADLOCK off because of PROPERTY or INVARIANT above.
+    FALSE
+
+INIT
+    _init
+
+NEXT
+    _next
+
+CONSTANT
+    _TETrace <- _trace
+
+ALIAS
+    _expression
+=============================================================================
+\* Generated on Sat Oct 17 22:13:11 UTC 2026
\ No newline at end of file
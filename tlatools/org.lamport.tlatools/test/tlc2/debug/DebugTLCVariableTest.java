@@ -26,6 +26,7 @@
 package tlc2.debug;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 import java.util.List;
 import java.util.Random;
@@ -33,10 +34,15 @@ import java.util.Random;
 import org.junit.Test;
 
 import tlc2.module.Strings;
+import tlc2.value.impl.FcnRcdValue;
+import tlc2.value.impl.IntFcnRcdValue;
+import tlc2.value.impl.IntTupleValue;
 import tlc2.value.impl.IntValue;
+import tlc2.value.impl.IntervalValue;
 import tlc2.value.impl.SetEnumValue;
 import tlc2.value.impl.TLCVariable;
 import tlc2.value.impl.TupleValue;
+import tlc2.value.impl.Value;
 
 public class DebugTLCVariableTest {
 	private static final Random rnd = new Random();
@@ -72,6 +78,27 @@ public class DebugTLCVariableTest {
 		}
 	}
 
+	@Test
+	public void testIntTupleValue() {
+		final Value tuple = IntTupleValue.create(new Value[] { IntValue.ValZero, IntValue.ValOne });
+		assertTrue(tuple instanceof IntTupleValue);
+
+		final DebugTLCVariable var = (DebugTLCVariable) new DebugTLCVariable("4711").newInstance(tuple, rnd);
+		assertTrue(var.getVariablesReference() > 0);
+		assertEquals(2, var.getNested(rnd).size());
+	}
+
+	@Test
+	public void testIntFcnRcdValue() {
+		final Value fcn = IntFcnRcdValue
+				.create(new FcnRcdValue(new IntervalValue(1, 2), new Value[] { IntValue.ValZero, IntValue.ValOne }));
+		assertTrue(fcn instanceof IntFcnRcdValue);
+
+		final DebugTLCVariable var = (DebugTLCVariable) new DebugTLCVariable("4711").newInstance(fcn, rnd);
+		assertTrue(var.getVariablesReference() > 0);
+		assertEquals(2, var.getNested(rnd).size());
+	}
+
 	@Test
 	public void testInfiniteValue() {
 		assertEquals(0, new DebugTLCVariable("4711").setInstance(Strings.STRING()).getNested(rnd).size());
@@ -0,0 +1,112 @@
+/*******************************************************************************
+ * Copyright (c) 2026 The Linux Foundation. All rights reserved.
+ *
+ * The MIT License (MIT)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ * of the Software, and to permit persons to whom the Software is furnished to do
+ * so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN
+ * AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ ******************************************************************************/
+package tlc2.tool;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Random;
+
+import org.junit.Test;
+
+import tlc2.util.BufferedRandomAccessFile;
+
+public class CompactTraceTest {
+
+	private static final int WORKERS = 3;
+
+	private static final int RECORDS = 10_000;
+
+	@Test
+	public void testFullFingerprints() throws IOException {
+		test(Long.BYTES);
+	}
+
+	@Test
+	public void testTruncatedFingerprints() throws IOException {
+		test(4);
+	}
+
+	private void test(final int fpBytes) throws IOException {
+		final File file = File.createTempFile("CompactTraceTest", TLCTrace.EXT);
+		file.deleteOnExit();
+
+		final Random rnd = new Random(fpBytes);
+		final long mask = fpBytes == Long.BYTES ? -1L : (1L << (Byte.SIZE * fpBytes)) - 1L;
+		final long[] ptrs = new long[RECORDS];
+		final long[] preds = new long[RECORDS];
+		final int[] workers = new int[RECORDS];
+		final long[] fps = new long[RECORDS];
+
+		final BufferedRandomAccessFile raf = new BufferedRandomAccessFile(file, "rw");
+		try {
+			CompactTrace compact = new CompactTrace(WORKERS, fpBytes);
+			for (int i = 0; i < RECORDS; i++) {
+				// A mix of initial states, small and large pointer differences.
+				preds[i] = i % 100 == 0 ? 1L
+						: rnd.nextBoolean() ? ptrs[Math.max(0, i - 1 - rnd.nextInt(8))] : rnd.nextLong() >>> 1;
+				workers[i] = rnd.nextInt(WORKERS);
+				fps[i] = rnd.nextLong();
+				ptrs[i] = compact.write(raf, preds[i], workers[i], fps[i]);
+				// A record never crosses a block boundary.
+				assertEquals(ptrs[i] / CompactTrace.BLOCK_SIZE, (raf.getFilePointer() - 1) / CompactTrace.BLOCK_SIZE);
+			}
+			final long len = raf.getFilePointer();
+			assertTrue(len > 2 * CompactTrace.BLOCK_SIZE);
+
+			for (int i = RECORDS - 1; i >= 0; i -= 7) {
+				assertRecord(compact.read(raf, ptrs[i]), preds[i], workers[i], preds[i] == 1L ? fps[i] : fps[i] & mask);
+			}
+
+			// A new instance continues where the previous one left off.
+			raf.seek(len);
+			compact = new CompactTrace(WORKERS, fpBytes);
+			compact.recover(raf);
+			assertEquals(len, raf.getFilePointer());
+			final long ptr = compact.write(raf, preds[RECORDS - 1], workers[RECORDS - 1], 42L);
+			assertRecord(compact.read(raf, ptr), preds[RECORDS - 1], workers[RECORDS - 1], 42L & mask);
+
+			if (fpBytes == Long.BYTES) {
+				raf.seek(0L);
+				for (int i = 0; i < RECORDS; i++) {
+					assertTrue(compact.hasNext(raf, len));
+					assertEquals(fps[i], compact.nextFP(raf));
+				}
+				assertFalse(compact.hasNext(raf, len));
+			}
+		} finally {
+			raf.close();
+		}
+	}
+
+	private static void assertRecord(final ConcurrentTLCTrace.Record record, final long pred, final int worker,
+			final long fp) {
+		assertEquals(pred == 1L, record.isInitial());
+		assertEquals(fp, record.getFP());
+		assertEquals("Record [ptr=" + pred + ", worker=" + worker + ", fp=" + fp + ", initial=" + (pred == 1L) + "]",
+				record.toString());
+	}
+}
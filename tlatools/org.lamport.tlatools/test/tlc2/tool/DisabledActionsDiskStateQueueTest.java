@@ -0,0 +1,77 @@
+/*******************************************************************************
+ * Copyright (c) 2026 The Linux Foundation. All rights reserved.
+ *
+ * The MIT License (MIT)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ * of the Software, and to permit persons to whom the Software is furnished to do
+ * so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN
+ * AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ ******************************************************************************/
+package tlc2.tool;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+
+import org.junit.AfterClass;
+import org.junit.Test;
+
+import tlc2.output.EC;
+import tlc2.output.EC.ExitStatus;
+import tlc2.tool.liveness.ModelCheckerTestCase;
+import tlc2.tool.queue.DiskStateQueue;
+
+/**
+ * Like {@link DisabledActionsTest} except that the DiskStateQueue swaps almost
+ * all states to disk, thus the hints have to be written with the states.
+ */
+public class DisabledActionsDiskStateQueueTest extends ModelCheckerTestCase {
+
+	public DisabledActionsDiskStateQueueTest() {
+		super("DisabledActions", "", ExitStatus.SUCCESS);
+		System.setProperty(DisabledActions.class.getName() + ".enabled", Boolean.TRUE.toString());
+		System.setProperty(DiskStateQueue.class.getName() + ".BufSize", "1");
+	}
+
+	@AfterClass
+	public static void clearProperties() {
+		System.clearProperty(DisabledActions.class.getName() + ".enabled");
+		System.clearProperty(DiskStateQueue.class.getName() + ".BufSize");
+	}
+
+	@Override
+	protected boolean runWithDebugger() {
+		// Workers evaluate all actions in debug mode.
+		return false;
+	}
+
+	@Test
+	public void testSpec() {
+		assertTrue(recorder.recorded(EC.TLC_FINISHED));
+		assertFalse(recorder.recorded(EC.GENERAL));
+		assertTrue(recorder.recordedWithStringValues(EC.TLC_STATS, "83", "40", "0"));
+
+		// As many skipped actions as with the states kept in memory. Without the
+		// hints written to disk, only 2 of the 160 evaluations are skipped.
+		final List<Object> records = recorder.getRecords(EC.TLC_COVERAGE_DISABLED_ACTIONS);
+		assertEquals(1, records.size());
+		final String[] stats = (String[]) records.get(0);
+		assertEquals("45", stats[0]);
+		assertEquals("160", stats[1]);
+	}
+}
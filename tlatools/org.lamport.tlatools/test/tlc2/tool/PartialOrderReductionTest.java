@@ -0,0 +1,80 @@
+/*******************************************************************************
+ * Copyright (c) 2026 The Linux Foundation. All rights reserved.
+ *
+ * The MIT License (MIT)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ * of the Software, and to permit persons to whom the Software is furnished to do
+ * so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN
+ * AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ ******************************************************************************/
+package tlc2.tool;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+
+import org.junit.AfterClass;
+import org.junit.Test;
+
+import tlc2.output.EC;
+import tlc2.output.EC.ExitStatus;
+import tlc2.tool.liveness.ModelCheckerTestCase;
+
+public class PartialOrderReductionTest extends ModelCheckerTestCase {
+
+	public PartialOrderReductionTest() {
+		super("PartialOrderReduction", "", ExitStatus.SUCCESS);
+		System.setProperty(PartialOrderReduction.class.getName() + ".enabled", Boolean.TRUE.toString());
+	}
+
+	@AfterClass
+	public static void clearProperties() {
+		System.clearProperty(PartialOrderReduction.class.getName() + ".enabled");
+	}
+
+	@Override
+	protected boolean runWithDebugger() {
+		// The reduction is turned off in debug mode.
+		return false;
+	}
+
+	@Test
+	public void testSpec() {
+		assertTrue(PartialOrderReduction.ENABLED);
+		assertTrue(recorder.recorded(EC.TLC_FINISHED));
+		assertFalse(recorder.recorded(EC.GENERAL));
+		assertFalse(recorder.recorded(EC.TLC_FEATURE_UNSUPPORTED));
+		// Without reduction, TLC generates 353 and finds 128 distinct states. With
+		// reduction, IncX, IncY, and IncZ are taken one after the other and the
+		// visible Finish only once none of them is enabled anymore.
+		assertTrue(recorder.recordedWithStringValues(EC.TLC_STATS, "11", "11", "0"));
+		// All states but <<3, 3, 3, FALSE>> and <<3, 3, 3, TRUE>> are expanded
+		// with an ample set.
+		final List<Object> records = recorder.getRecords(EC.TLC_STATS_REDUCTION);
+		assertEquals(1, records.size());
+		final String[] stats = (String[]) records.get(0);
+		assertEquals("9", stats[0]);
+		assertEquals("11", stats[1]);
+		// The clusters {IncX}, {IncY}, and {IncZ} are tried in this order. A state
+		// with x < 3 evaluates IncX only and saves 3 actions, a state with x = 3 and
+		// y < 3 evaluates IncX and IncY and saves 2, and a state with x = y = 3 and
+		// z < 3 evaluates all three Inc actions and saves Finish:
+		// 3 * 3 + 3 * 2 + 3 * 1 = 18.
+		assertEquals("18", stats[3]);
+	}
+}
@@ -0,0 +1,74 @@
+/*******************************************************************************
+ * Copyright (c) 2026 The Linux Foundation. All rights reserved.
+ *
+ * The MIT License (MIT)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ * of the Software, and to permit persons to whom the Software is furnished to do
+ * so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN
+ * AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ ******************************************************************************/
+package tlc2.tool;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+
+import org.junit.AfterClass;
+import org.junit.Test;
+
+import tlc2.output.EC;
+import tlc2.output.EC.ExitStatus;
+import tlc2.tool.liveness.ModelCheckerTestCase;
+
+public class StateMemoTest extends ModelCheckerTestCase {
+
+	public StateMemoTest() {
+		super("StateMemo", "", ExitStatus.SUCCESS);
+		System.setProperty(StateMemo.class.getName() + ".enabled", Boolean.TRUE.toString());
+	}
+
+	@AfterClass
+	public static void clearProperties() {
+		System.clearProperty(StateMemo.class.getName() + ".enabled");
+	}
+
+	@Override
+	protected boolean runWithDebugger() {
+		// Workers do not memoize in debug mode.
+		return false;
+	}
+
+	@Test
+	public void testSpec() {
+		assertTrue(StateMemo.ENABLED);
+		assertTrue(recorder.recorded(EC.TLC_FINISHED));
+		assertFalse(recorder.recorded(EC.GENERAL));
+		// Same state space as without memoization.
+		assertTrue(recorder.recordedWithStringValues(EC.TLC_STATS, "151", "75", "0"));
+
+		// HasQuorum(1), HasQuorum(2), Leader, and Voters are shared by the actions and
+		// invariants of a state.
+		final List<Object> records = recorder.getRecords(EC.TLC_COVERAGE_MEMO);
+		assertEquals(1, records.size());
+		final String[] stats = (String[]) records.get(0);
+		final long hits = Long.parseLong(stats[0]);
+		final long lookups = Long.parseLong(stats[1]);
+		assertTrue(hits > 0);
+		assertTrue(hits < lookups);
+	}
+}
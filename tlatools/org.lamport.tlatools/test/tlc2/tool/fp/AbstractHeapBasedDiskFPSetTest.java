@@ -2,6 +2,7 @@
 package tlc2.tool.fp;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
 import java.io.IOException;
@@ -151,6 +152,72 @@ public abstract class AbstractHeapBasedDiskFPSetTest {
 		fpSet.recoverFP(1);
 	}
 
+	@Test
+	public void testChkptRecovery() throws IOException {
+		final String metadir = System.getProperty("java.io.tmpdir");
+		final String filename = this.getClass().getCanonicalName() + "testChkptRecovery";
+
+		final DiskFPSet fpSet = getDiskFPSet(new FPSetConfiguration());
+		fpSet.init(1, metadir, filename);
+		for (long fp = 1; fp <= 1024; fp++) {
+			fpSet.put(fp);
+		}
+		fpSet.beginChkpt(filename);
+		fpSet.commitChkpt(filename);
+
+		// Flush fingerprints added after the checkpoint to disk. This must not change
+		// the checkpoint.
+		fpSet.forceFlush();
+		for (long fp = 1025; fp <= 2048; fp++) {
+			fpSet.put(fp);
+		}
+		assertEquals(2048, fpSet.size());
+
+		final DiskFPSet recovered = getDiskFPSet(new FPSetConfiguration());
+		recovered.init(1, metadir, filename);
+		recovered.recover(filename);
+		for (long fp = 1; fp <= 1024; fp++) {
+			assertTrue(recovered.contains(fp));
+		}
+		for (long fp = 1025; fp <= 2048; fp++) {
+			assertFalse(recovered.contains(fp));
+		}
+	}
+
+	@Test
+	public void testBloomFilter() throws IOException {
+		final String property = DiskFPSet.class.getName() + ".bloomFilterBits";
+		System.setProperty(property, "10");
+		try {
+			final String metadir = System.getProperty("java.io.tmpdir");
+			final String filename = this.getClass().getCanonicalName() + "testBloomFilter";
+
+			final DiskFPSet fpSet = getDiskFPSet(new FPSetConfiguration());
+			fpSet.init(1, metadir, filename);
+			assertEquals(0L, fpSet.getBloomFilterSize());
+
+			// Odd fingerprints go to disk, even ones are never added.
+			for (long fp = 1; fp < 4096; fp += 2) {
+				assertFalse(fpSet.put(fp));
+			}
+			fpSet.forceFlush();
+			assertFalse(fpSet.put(4097L));
+			assertTrue(fpSet.getFileCnt() > 0);
+			assertTrue(fpSet.getBloomFilterSize() > 0);
+
+			for (long fp = 1; fp < 4096; fp += 2) {
+				assertTrue(fpSet.contains(fp));
+			}
+			for (long fp = 2; fp < 4096; fp += 2) {
+				assertFalse(fpSet.contains(fp));
+			}
+			final double rate = fpSet.getBloomFilterFalsePositiveRate();
+			assertTrue(0d <= rate && rate < 0.1d);
+		} finally {
+			System.clearProperty(property);
+		}
+	}
+
 	/* Helper */
 
 	@SuppressWarnings("deprecation")
@@ -0,0 +1,93 @@
+/*******************************************************************************
+ * Copyright (c) 2026 The Linux Foundation. All rights reserved.
+ *
+ * The MIT License (MIT)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ * of the Software, and to permit persons to whom the Software is furnished to do
+ * so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN
+ * AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ ******************************************************************************/
+package tlc2.tool.fp;
+
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+public class BloomFilterTest {
+
+	@Test
+	public void testNoFalseNegatives() {
+		final BloomFilter filter = new BloomFilter(1 << 16, 10);
+		final Random random = new Random(1474536306841L);
+		for (int i = 0; i < 1 << 16; i++) {
+			filter.add(random.nextLong() & DiskFPSet.FLUSHED_MASK);
+		}
+		random.setSeed(1474536306841L);
+		for (int i = 0; i < 1 << 16; i++) {
+			assertTrue(filter.mightContain(random.nextLong() & DiskFPSet.FLUSHED_MASK));
+		}
+	}
+
+	@Test
+	public void testFalsePositiveRate() {
+		final int n = 1 << 16;
+		final BloomFilter filter = new BloomFilter(n, 10);
+		// Consecutive fingerprints are the worst case for the mixing of the bits.
+		for (long fp = 0; fp < n; fp++) {
+			filter.add(fp);
+		}
+		int falsePositives = 0;
+		for (long fp = n; fp < 2L * n; fp++) {
+			if (filter.mightContain(fp)) {
+				falsePositives++;
+			}
+		}
+		// ~1% in theory, a blocked filter is slightly worse.
+		assertTrue(falsePositives < n * 0.02d);
+	}
+
+	@Test
+	public void testConcurrentAdd() throws InterruptedException {
+		// Threads that add to the same filter must not lose each other's bits.
+		final int n = 1 << 16;
+		final int numThreads = 4;
+		final BloomFilter filter = new BloomFilter(n, 10);
+		final Thread[] threads = new Thread[numThreads];
+		for (int t = 0; t < numThreads; t++) {
+			final int offset = t;
+			threads[t] = new Thread(() -> {
+				for (long fp = offset; fp < n; fp += numThreads) {
+					filter.add(fp);
+				}
+			});
+			threads[t].start();
+		}
+		for (Thread thread : threads) {
+			thread.join();
+		}
+		for (long fp = 0; fp < n; fp++) {
+			assertTrue(filter.mightContain(fp));
+		}
+	}
+
+	@Test
+	public void testSize() {
+		assertTrue(new BloomFilter(0L, 10).sizeOf() >= 64L);
+		assertTrue(new BloomFilter(1L << 20, 8).sizeOf() >= (1L << 20));
+	}
+}
@@ -160,6 +160,29 @@ public class LongArrayTest {
 		}
 	}
 	
+	@Test
+	public void testZeroMemorySegments() throws IOException {
+		// 3 threads: each thread zeros one segment of elements / 3 positions except
+		// for the last one, which zeros the rest.
+		final int elements = 4 * 512 + 3;
+		final LongArray array = new LongArray(elements);
+		for (int i = 0; i < elements; i++) {
+			array.set(i, -1L);
+		}
+		array.zeroMemory(3);
+		for (int i = 0; i < elements; i++) {
+			assertEquals(0L, array.get(i));
+		}
+
+		// Fewer positions than threads.
+		final LongArray tiny = new LongArray(2);
+		tiny.set(0, -1L);
+		tiny.set(1, -1L);
+		tiny.zeroMemory(3);
+		assertEquals(0L, tiny.get(0));
+		assertEquals(0L, tiny.get(1));
+	}
+
 	@Test
 	public void testSwap() throws IOException {
 		final int elements = 10321;
@@ -57,7 +57,9 @@ import tlc2.TestMPRecorder;
 import tlc2.output.EC;
 import tlc2.output.MP;
 import tlc2.tool.fp.OffHeapDiskFPSet.Iterator;
+import tlc2.util.BitVector;
 import tlc2.util.BufferedRandomAccessFile;
+import tlc2.util.LongVec;
 import util.TLCRuntime;
 
 public class OffHeapDiskFPSetTest {
@@ -234,6 +236,69 @@ public class OffHeapDiskFPSetTest {
 		fpSet.close();
 	}
 	
+	@Test
+	public void testConcurrentFlush() throws IOException {
+		assertEquals(0L, doTestConcurrentFlush().getBloomFilterSize());
+	}
+
+	@Test
+	public void testConcurrentFlushBloomFilter() throws IOException {
+		final String property = DiskFPSet.class.getName() + ".bloomFilterBits";
+		System.setProperty(property, "10");
+		try {
+			// The merger adds the fingerprints to the filter of the new disk file. A
+			// missing one would fail the lookups of the fingerprints on disk.
+			assertTrue(doTestConcurrentFlush().getBloomFilterSize() > 0L);
+		} finally {
+			System.clearProperty(property);
+		}
+	}
+
+	private OffHeapDiskFPSet doTestConcurrentFlush() throws IOException {
+		final String property = OffHeapDiskFPSet.class.getName() + ".concurrentFlush";
+		System.setProperty(property, Boolean.TRUE.toString());
+		try {
+			final DummyFPSetConfiguration fpSetConfig = new DummyFPSetConfiguration();
+			fpSetConfig.setMemoryInFingerprintCnt(1024L);
+
+			final OffHeapDiskFPSet fpSet = new OffHeapDiskFPSet(fpSetConfig);
+			fpSet.init(1, createTmpFile(), filename);
+
+			// Insert more fingerprints than fit into the two tables, which evicts
+			// repeatedly while the previous table is still being merged into the disk file.
+			final long rgenseed = 1474536306841L;
+			final int n = 4096;
+			Random random = new Random(rgenseed);
+			for (int i = 0; i < n; i++) {
+				final long fp = getFingerprint(random);
+				assertFalse(fpSet.put(fp));
+				assertTrue(fpSet.contains(fp));
+			}
+			assertTrue(fpSet.getGrowDiskMark() > 1);
+			assertEquals(n, fpSet.size());
+
+			// Every fingerprint is either in one of the tables or on disk.
+			random = new Random(rgenseed);
+			for (int i = 0; i < n; i++) {
+				final long fp = getFingerprint(random);
+				assertTrue(fpSet.contains(fp));
+				assertTrue(fpSet.put(fp));
+			}
+			assertEquals(n, fpSet.size());
+
+			// checkInvariant waits for the merger before it flushes synchronously, after
+			// which the disk file has to be sorted.
+			assertTrue(fpSet.checkInvariant());
+			assertEquals(n, fpSet.size());
+			fpSet.checkFPs();
+			assertEquals(n, fpSet.size());
+			fpSet.close();
+			return fpSet;
+		} finally {
+			System.clearProperty(property);
+		}
+	}
+
 	@Test
 	public void testOffset1Page() throws IOException, NoSuchMethodException, SecurityException, IllegalAccessException, IllegalArgumentException, InvocationTargetException {
 		final long length = DiskFPSet.NumEntriesPerPage;
@@ -290,6 +355,35 @@ public class OffHeapDiskFPSetTest {
 		}
 	}
 	
+	@Test
+	public void testPutBlock() throws IOException {
+		final DummyFPSetConfiguration fpSetConfig = new DummyFPSetConfiguration();
+		fpSetConfig.setMemoryInFingerprintCnt(1024);
+		
+		final OffHeapDiskFPSet fpSet = new OffHeapDiskFPSet(fpSetConfig);
+		fpSet.init(1, createTmpFile(), filename);
+		
+		final Random random = new Random(1474536306841L);
+		final LongVec fpv = new LongVec();
+		for (int i = 0; i < 100; i++) {
+			fpv.addElement(getFingerprint(random));
+		}
+		// A duplicate within the block: only the first occurrence is new.
+		fpv.addElement(fpv.elementAt(42));
+		assertFalse(fpSet.put(fpv.elementAt(23)));
+
+		final BitVector bv = fpSet.putBlock(fpv);
+		for (int i = 0; i < 100; i++) {
+			assertEquals(i != 23, bv.get(i));
+			assertTrue(fpSet.contains(fpv.elementAt(i)));
+		}
+		assertFalse(bv.get(100));
+		assertEquals(100, fpSet.size());
+		
+		// Nothing is new the second time around.
+		assertEquals(0, fpSet.putBlock(fpv).trueCnt());
+	}
+	
 	private static String createTmpFile() {
 		final String tmpdir = System.getProperty("java.io.tmpdir") + File.separator + "OffHeapDiskFPSetTest"
 				+ System.currentTimeMillis();
@@ -0,0 +1,105 @@
+/*******************************************************************************
+ * Copyright (c) 2026 The Linux Foundation. All rights reserved.
+ *
+ * The MIT License (MIT)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ * of the Software, and to permit persons to whom the Software is furnished to do
+ * so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN
+ * AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ ******************************************************************************/
+package tlc2.tool.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import tlc2.tool.Action;
+import tlc2.tool.ActionFootprint;
+import tlc2.tool.CommonTestCase;
+import tlc2.util.FP64;
+import util.SimpleFilenameToStream;
+import util.ToolIO;
+import util.UniqueString;
+
+public class ActionFootprintsTest {
+
+	@BeforeClass
+	public static void setup() {
+		FP64.Init();
+	}
+
+	@Test
+	public void testFootprints() {
+		ToolIO.setUserDir(CommonTestCase.BASE_PATH);
+		final Tool tool = new FastTool("", "ActionFootprints", "ActionFootprints", new SimpleFilenameToStream());
+
+		final Action[] actions = tool.getActions();
+		assertEquals(5, actions.length);
+		final Map<String, ActionFootprint> footprints = new HashMap<>();
+		for (final Action action : actions) {
+			footprints.put(action.getName().toString(), ActionFootprints.analyze(tool, action));
+		}
+
+		final int x = UniqueString.uniqueStringOf("x").getVarLoc();
+		final int y = UniqueString.uniqueStringOf("y").getVarLoc();
+		final int z = UniqueString.uniqueStringOf("z").getVarLoc();
+
+		final ActionFootprint incX = footprints.get("IncX");
+		assertNotNull(incX);
+		assertTrue(incX.reads(x));
+		assertFalse(incX.reads(y));
+		assertFalse(incX.reads(z));
+		assertTrue(incX.writes(x));
+		assertFalse(incX.writes(y));
+		assertFalse(incX.writes(z));
+
+		final ActionFootprint copyX = footprints.get("CopyX");
+		assertNotNull(copyX);
+		assertTrue(copyX.reads(x));
+		assertFalse(copyX.reads(y));
+		assertFalse(copyX.reads(z));
+		assertFalse(copyX.writes(x));
+		assertTrue(copyX.writes(y));
+		assertFalse(copyX.writes(z));
+
+		final ActionFootprint setZ = footprints.get("SetZ");
+		assertNotNull(setZ);
+		assertFalse(setZ.reads(x));
+		assertFalse(setZ.reads(y));
+		assertTrue(setZ.reads(z));
+		assertFalse(setZ.writes(x));
+		assertFalse(setZ.writes(y));
+		assertTrue(setZ.writes(z));
+
+		final ActionFootprint letZ = footprints.get("LetZ");
+		assertNotNull(letZ);
+		assertFalse(letZ.reads(x));
+		assertTrue(letZ.reads(y));
+		assertFalse(letZ.reads(z));
+		assertTrue(letZ.writes(z));
+
+		assertTrue(footprints.containsKey("Level"));
+		assertNull(footprints.get("Level"));
+	}
+}
@@ -0,0 +1,125 @@
+/*******************************************************************************
+ * Copyright (c) 2026 The Linux Foundation. All rights reserved.
+ *
+ * The MIT License (MIT)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ * of the Software, and to permit persons to whom the Software is furnished to do
+ * so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN
+ * AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ ******************************************************************************/
+package tlc2.tool.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import tlc2.tool.Action;
+import tlc2.tool.CommonTestCase;
+import tlc2.tool.EvalControl;
+import tlc2.tool.StateVec;
+import tlc2.tool.TLCState;
+import tlc2.util.FP64;
+import tlc2.value.impl.BoolValue;
+import tlc2.value.impl.Value;
+import util.SimpleFilenameToStream;
+import util.ToolIO;
+
+public class ClosureCompilerTest {
+
+	@BeforeClass
+	public static void setup() {
+		FP64.Init();
+	}
+
+	@Test
+	public void testCompiledMatchesInterpreter() {
+		ToolIO.setUserDir(CommonTestCase.BASE_PATH);
+		final Tool tool = new FastTool("", "ClosureCompiler", "ClosureCompiler", new SimpleFilenameToStream());
+		final ClosureCompiler compiler = new ClosureCompiler(tool, Tool.toolId);
+
+		final Action[] invariants = tool.getInvariants();
+		assertEquals(5, invariants.length);
+		final ClosureCompiler.Closure[] invs = new ClosureCompiler.Closure[invariants.length];
+		for (int i = 0; i < invariants.length; i++) {
+			invs[i] = compiler.compileInvariant(invariants[i]);
+			assertNotNull(invs[i]);
+		}
+
+		// Inc(1..3), Push, Set(1..3), and Let start with a guard, Branch does not.
+		final Action[] actions = tool.getActions();
+		assertEquals(9, actions.length);
+		final ClosureCompiler.CompiledAction[] compiled = new ClosureCompiler.CompiledAction[actions.length];
+		for (int i = 0; i < actions.length; i++) {
+			compiled[i] = compiler.compileAction(actions[i]);
+			if ("Branch".equals(actions[i].getName().toString())) {
+				assertNull(compiled[i]);
+			} else {
+				assertNotNull(actions[i].getName().toString(), compiled[i]);
+			}
+		}
+
+		final Set<Long> seen = new HashSet<>();
+		final Deque<TLCState> queue = new ArrayDeque<>();
+		final StateVec inits = tool.getInitStates();
+		for (int i = 0; i < inits.size(); i++) {
+			if (seen.add(inits.elementAt(i).fingerPrint())) {
+				queue.add(inits.elementAt(i));
+			}
+		}
+
+		boolean violated = false;
+		int disabled = 0;
+		while (!queue.isEmpty()) {
+			final TLCState state = queue.poll();
+			for (int i = 0; i < invariants.length; i++) {
+				final Value val = invs[i].eval(invariants[i].con, state, TLCState.Empty, EvalControl.Clear,
+						invariants[i].cm);
+				final boolean expected = tool.isValid(invariants[i], state);
+				assertEquals(expected ? BoolValue.ValTrue : BoolValue.ValFalse, val);
+				violated |= !expected;
+			}
+			for (int i = 0; i < actions.length; i++) {
+				final StateVec nss = tool.getNextStates(actions[i], state);
+				if (compiled[i] != null) {
+					final Value guard = compiled[i].guard.eval(actions[i].con, state, TLCState.Empty,
+							EvalControl.Clear, actions[i].cm);
+					if (guard == BoolValue.ValFalse) {
+						assertTrue(nss.empty());
+						disabled++;
+					}
+				}
+				for (int j = 0; j < nss.size(); j++) {
+					if (seen.add(nss.elementAt(j).fingerPrint())) {
+						queue.add(nss.elementAt(j));
+					}
+				}
+			}
+		}
+		assertTrue(violated);
+		assertTrue(disabled > 0);
+		assertFalse(seen.isEmpty());
+	}
+}
@@ -34,6 +34,9 @@ import static org.junit.Assert.fail;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.Test;
 
@@ -319,4 +322,52 @@ public class DiskGraphTest {
 			assertEquals("Couldn't re-create liveness trace (path) starting at: 5 and tidx: " + tidx, e.getMessage());
 		}
 	}
+
+	/*
+	 * Test that concurrent DiskGraph#addNewNode calls neither lose nor corrupt
+	 * nodes and that a node is added at most once.
+	 */
+	@Test
+	public void testConcurrentAddNewNode() throws Exception {
+		final DiskGraph dg = new DiskGraph(createTempDirectory().getAbsolutePath(), NUMBER_OF_SOLUTIONS, GRAPH_STATS);
+		final int threads = 4;
+		final int nodes = 1000;
+		final AtomicInteger added = new AtomicInteger();
+
+		final List<Thread> workers = new ArrayList<>();
+		for (int t = 0; t < threads; t++) {
+			final long offset = (t + 1) * 10_000L;
+			workers.add(new Thread(() -> {
+				try {
+					for (long fp = offset; fp < offset + nodes; fp++) {
+						final GraphNode node = new GraphNode(fp, -1);
+						node.addTransition(fp + 1, -1, NUMBER_OF_SOLUTIONS, NUMBER_OF_ACTIONS, NO_ACTIONS,
+								NUMBER_OF_ACTIONS, 0);
+						assertTrue(dg.addNewNode(node));
+						// All threads compete for the same node.
+						if (dg.addNewNode(new GraphNode(1L, -1))) {
+							added.incrementAndGet();
+						}
+					}
+				} catch (IOException e) {
+					throw new RuntimeException(e);
+				}
+			}));
+		}
+		workers.forEach(Thread::start);
+		for (Thread worker : workers) {
+			worker.join();
+		}
+
+		assertEquals(1, added.get());
+		assertEquals(threads * nodes + 1, dg.size());
+		for (int t = 0; t < threads; t++) {
+			final long offset = (t + 1) * 10_000L;
+			for (long fp = offset; fp < offset + nodes; fp++) {
+				final GraphNode node = dg.getNode(fp);
+				assertEquals(1, node.succSize());
+				assertTrue(node.transExists(fp + 1, -1));
+			}
+		}
+	}
 }
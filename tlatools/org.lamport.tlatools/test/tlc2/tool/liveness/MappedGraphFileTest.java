@@ -0,0 +1,94 @@
+/*******************************************************************************
+ * Copyright (c) 2026 The Linux Foundation. All rights reserved.
+ *
+ * The MIT License (MIT)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ * of the Software, and to permit persons to whom the Software is furnished to do
+ * so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN
+ * AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ ******************************************************************************/
+package tlc2.tool.liveness;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Random;
+
+import org.junit.Test;
+
+import tlc2.util.BitVector;
+import tlc2.util.BufferedRandomAccessFile;
+import tlc2.util.statistics.DummyBucketStatistics;
+
+public class MappedGraphFileTest {
+
+	@Test
+	public void testReadNodes() throws IOException {
+		// Segments of 4 KiB make many nodes and values straddle segments.
+		for (int logSegment : new int[] { 12, 30 }) {
+			final File dir = Files.createTempDirectory("MappedGraphFileTest").toFile();
+			dir.deleteOnExit();
+			final DiskGraph dg = new DiskGraph(dir.getAbsolutePath(), 0, new DummyBucketStatistics());
+
+			final Random rnd = new Random(4711);
+			final long[] ptrs = new long[500];
+			for (int fp = 0; fp < ptrs.length; fp++) {
+				final GraphNode node = new GraphNode(fp, -1);
+				final int succs = rnd.nextInt(fp % 7 == 0 ? 2000 : 10);
+				final int alen = 3;
+				final BitVector actions = new BitVector(succs * alen);
+				for (int i = 0; i < succs * alen; i++) {
+					if (rnd.nextBoolean()) {
+						actions.set(i);
+					}
+				}
+				for (int i = 0; i < succs; i++) {
+					node.addTransition(rnd.nextLong(), -1, 2, alen, actions, i * alen, succs - i);
+				}
+				ptrs[fp] = dg.addNode(node);
+			}
+			dg.flushWritesToDiskFiles();
+
+			final File nodes = new File(dir, "nodes_0");
+			final MappedGraphFile mapped = new MappedGraphFile(nodes.getAbsolutePath(), nodes.length(), logSegment);
+			final BufferedRandomAccessFile raf = new BufferedRandomAccessFile(nodes, "r");
+			try {
+				for (int fp = 0; fp < ptrs.length; fp++) {
+					assertTrue(mapped.contains(ptrs[fp]));
+					final GraphNode expected = AbstractDiskGraph.readNode(raf, fp, -1, ptrs[fp]);
+					final GraphNode actual = mapped.readNode(fp, -1, ptrs[fp]);
+					assertEquals(expected, actual);
+					assertEquals(expected.succSize(), actual.succSize());
+					for (int i = 0; i < expected.succSize(); i++) {
+						assertEquals(expected.getStateFP(i), actual.getStateFP(i));
+						for (int a = 0; a < 3; a++) {
+							assertEquals(expected.getCheckAction(2, 3, i, a), actual.getCheckAction(2, 3, i, a));
+						}
+					}
+				}
+			} finally {
+				raf.close();
+			}
+			assertFalse(mapped.contains(nodes.length()));
+			assertFalse(mapped.contains(-1L));
+			dg.close();
+		}
+	}
+}
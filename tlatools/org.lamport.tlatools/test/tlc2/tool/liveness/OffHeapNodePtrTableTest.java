@@ -0,0 +1,135 @@
+/*******************************************************************************
+ * Copyright (c) 2026 The Linux Foundation. All rights reserved.
+ *
+ * The MIT License (MIT)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ * of the Software, and to permit persons to whom the Software is furnished to do
+ * so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN
+ * AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ ******************************************************************************/
+package tlc2.tool.liveness;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Random;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import tlc2.tool.fp.LongArray;
+
+public class OffHeapNodePtrTableTest {
+
+	@Before
+	public void setup() {
+		assumeTrue(LongArray.isSupported());
+	}
+
+	@Test
+	public void testEquivalentToNodePtrTable() {
+		final OffHeapNodePtrTable tbl = new OffHeapNodePtrTable(1, null, Long.MAX_VALUE);
+		try {
+			assertEquivalent(tbl);
+		} finally {
+			tbl.close();
+		}
+	}
+
+	@Test
+	public void testSpillToDisk() throws IOException {
+		final File dir = Files.createTempDirectory("OffHeapNodePtrTableTest").toFile();
+		dir.deleteOnExit();
+		// No direct memory at all forces all slots to disk.
+		final OffHeapNodePtrTable tbl = new OffHeapNodePtrTable(1, dir.getAbsolutePath(), 0L);
+		try {
+			assertEquivalent(tbl);
+			assertEquals(0L, tbl.getOffHeapBytes());
+			assertEquals(2L * tbl.getSize() * Long.BYTES, tbl.getDiskBytes());
+		} finally {
+			tbl.close();
+		}
+	}
+
+	@Test
+	public void testIncrementalResize() {
+		final OffHeapNodePtrTable tbl = new OffHeapNodePtrTable(1024, null, Long.MAX_VALUE);
+		try {
+			final int thresh = (int) (1024 * 0.75);
+			for (long k = 0; k < thresh; k++) {
+				tbl.put(k, k);
+			}
+			assertFalse(tbl.isResizing());
+			assertEquals(1024, tbl.getSize());
+
+			// Exceeding the threshold does not rehash all slots at once.
+			tbl.put(thresh, thresh);
+			assertTrue(tbl.isResizing());
+			assertEquals(2049, tbl.getSize());
+			assertEquals(thresh + 1, tbl.size());
+			// Old and new slots are both visible while migrating.
+			for (long k = 0; k <= thresh; k++) {
+				assertEquals(k, tbl.get(k));
+			}
+			// Updates of keys that have not been migrated yet are not lost.
+			tbl.put(thresh - 1, 42L);
+
+			// Locations are only handed out after the migration completed.
+			final int loc = tbl.getLoc(thresh - 1);
+			assertFalse(tbl.isResizing());
+			assertEquals(thresh - 1, tbl.getKeyByLoc(loc));
+			assertEquals(42L, tbl.getByLoc(loc));
+			assertEquals(-1, tbl.getLoc(4711L));
+			assertEquals(-1L, tbl.get(4711L));
+		} finally {
+			tbl.close();
+		}
+	}
+
+	private static void assertEquivalent(final INodePtrTable tbl) {
+		final NodePtrTable expected = new NodePtrTable(1);
+		final Random rnd = new Random(4711);
+		final long[] keys = new long[5000];
+		for (int i = 0; i < 25000; i++) {
+			final int idx = rnd.nextInt(keys.length);
+			if (keys[idx] == 0L) {
+				keys[idx] = rnd.nextLong();
+			}
+			final long elem = rnd.nextLong() & 0x7FFFFFFFFFFFFFFFL;
+			expected.put(keys[idx], elem);
+			tbl.put(keys[idx], elem);
+			final long probe = keys[rnd.nextInt(keys.length)];
+			assertEquals(expected.get(probe), tbl.get(probe));
+		}
+		assertEquals(expected.size(), tbl.size());
+		for (long key : keys) {
+			assertEquals(expected.get(key), tbl.get(key));
+			if (key == 0L) {
+				// Never added.
+				assertEquals(-1, tbl.getLoc(key));
+				continue;
+			}
+			final int loc = tbl.getLoc(key);
+			assertEquals(key, tbl.getKeyByLoc(loc));
+			assertEquals(expected.get(key), tbl.getByLoc(loc));
+		}
+	}
+}
@@ -0,0 +1,146 @@
+/*******************************************************************************
+ * Copyright (c) 2026 The Linux Foundation. All rights reserved.
+ *
+ * The MIT License (MIT)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ * of the Software, and to permit persons to whom the Software is furnished to do
+ * so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN
+ * AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ ******************************************************************************/
+package tlc2.tool.liveness;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Random;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import tlc2.tool.fp.LongArray;
+
+public class OffHeapTableauNodePtrTableTest {
+
+	@Before
+	public void setup() {
+		assumeTrue(LongArray.isSupported());
+	}
+
+	@Test
+	public void testEquivalentToTableauNodePtrTable() {
+		final OffHeapTableauNodePtrTable tbl = new OffHeapTableauNodePtrTable(1, null, Long.MAX_VALUE);
+		try {
+			assertEquivalent(tbl);
+		} finally {
+			tbl.close();
+		}
+	}
+
+	@Test
+	public void testSpillToDisk() throws IOException {
+		final File dir = Files.createTempDirectory("OffHeapTableauNodePtrTableTest").toFile();
+		dir.deleteOnExit();
+		// No direct memory at all forces all slots to disk.
+		final OffHeapTableauNodePtrTable tbl = new OffHeapTableauNodePtrTable(1, dir.getAbsolutePath(), 0L);
+		try {
+			assertEquivalent(tbl);
+			assertEquals(0L, tbl.getOffHeapBytes());
+			assertEquals(3L * tbl.getSize() * Long.BYTES, tbl.getDiskBytes());
+		} finally {
+			tbl.close();
+		}
+	}
+
+	@Test
+	public void testSetDoneBeforePut() {
+		// Mirrors TableauNodePtrTableTest#testSetDoneNoOrder.
+		final OffHeapTableauNodePtrTable tbl = new OffHeapTableauNodePtrTable(1, null, Long.MAX_VALUE);
+		try {
+			final int DONE = 4711;
+			final long fp = 42L;
+			final int t = 1;
+			final int u = 2;
+
+			final int loc = tbl.setDone(fp);
+			assertTrue(tbl.isDone(fp));
+			assertArrayEquals(new int[] { 0, 42 }, tbl.getNodesByLoc(loc));
+
+			tbl.put(fp, t);
+			assertTrue(tbl.isDone(fp));
+			tbl.put(fp, u, DONE);
+			assertTrue(tbl.isDone(fp));
+			assertEquals(1, tbl.size());
+			assertEquals(TableauNodePtrTable.DONE, tbl.get(fp, t));
+			assertEquals(DONE, tbl.get(fp, u));
+			assertEquals(-1L, tbl.get(fp, 3));
+
+			assertEquals(loc, tbl.setDone(fp));
+			assertArrayEquals(new int[] { 0, 42, t, -3, 0, u, 0, DONE }, tbl.getNodesByLoc(loc));
+		} finally {
+			tbl.close();
+		}
+	}
+
+	private static void assertEquivalent(final OffHeapTableauNodePtrTable tbl) {
+		final TableauNodePtrTable expected = new TableauNodePtrTable(1);
+		final Random rnd = new Random(4711);
+		final long[] keys = new long[2000];
+		for (int i = 0; i < 25000; i++) {
+			final int idx = rnd.nextInt(keys.length);
+			if (keys[idx] == 0L) {
+				keys[idx] = rnd.nextLong();
+			}
+			final long k = keys[idx];
+			final int tidx = rnd.nextInt(4);
+			switch (rnd.nextInt(4)) {
+			case 0:
+				expected.put(k, tidx);
+				tbl.put(k, tidx);
+				break;
+			case 1:
+				final long elem = rnd.nextLong() & 0x7FFFFFFFFFFFFFFFL;
+				expected.put(k, tidx, elem);
+				tbl.put(k, tidx, elem);
+				break;
+			case 2:
+				assertArrayEquals(expected.getNodesByLoc(expected.setDone(k)), tbl.getNodesByLoc(tbl.setDone(k)));
+				break;
+			default:
+				assertEquals(expected.isDone(k), tbl.isDone(k));
+				assertEquals(expected.get(k, tidx), tbl.get(k, tidx));
+			}
+		}
+		assertEquals(expected.size(), tbl.size());
+		for (long key : keys) {
+			assertEquals(expected.isDone(key), tbl.isDone(key));
+			for (int tidx = 0; tidx < 4; tidx++) {
+				assertEquals(expected.get(key, tidx), tbl.get(key, tidx));
+			}
+			if (key == 0L) {
+				// Never added.
+				assertFalse(tbl.isDone(key));
+				continue;
+			}
+			assertArrayEquals(expected.getNodesByLoc(expected.setDone(key)), tbl.getNodesByLoc(tbl.setDone(key)));
+		}
+	}
+}
@@ -0,0 +1,259 @@
+/*******************************************************************************
+ * Copyright (c) 2026 The Linux Foundation. All rights reserved.
+ *
+ * The MIT License (MIT)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ * of the Software, and to permit persons to whom the Software is furnished to do
+ * so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN
+ * AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ ******************************************************************************/
+package tlc2.tool.liveness;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.Test;
+
+import tlc2.util.BitVector;
+import tlc2.util.statistics.FixedSizedBucketStatistics;
+
+public class ParallelSccSearchTest {
+
+	private static final int TIDX = -1;
+	private static final int SLEN = 0;
+	private static final int ALEN = 1;
+	private static final int[] EA_ACTION = new int[] { 0 };
+	private static final BitVector EA = new BitVector(1);
+	static {
+		EA.set(0);
+	}
+	private static final BitVector NOT_EA = new BitVector(1);
+
+	private AbstractDiskGraph getDiskGraph() throws IOException {
+		final File dir = Files.createTempDirectory("ParallelSccSearchTest").toFile();
+		dir.deleteOnExit();
+		return new DiskGraph(dir.getAbsolutePath(), 1, new FixedSizedBucketStatistics("Test Dummy", 16));
+	}
+
+	private static void addNode(final AbstractDiskGraph dg, final long fp, final long... succs) throws IOException {
+		addNode(dg, fp, EA, succs);
+	}
+
+	private static void addNode(final AbstractDiskGraph dg, final long fp, final BitVector acts, final long... succs)
+			throws IOException {
+		final GraphNode node = new GraphNode(fp, TIDX);
+		for (long succ : succs) {
+			node.addTransition(succ, TIDX, SLEN, ALEN, acts, 0, succs.length);
+		}
+		dg.addNode(node);
+	}
+
+	private static Set<Set<Long>> search(final AbstractDiskGraph dg, final int parallelism) throws Exception {
+		return search(dg, parallelism, null);
+	}
+
+	private static Set<Set<Long>> search(final AbstractDiskGraph dg, final int parallelism,
+			final ParallelSccSearch.Frontier frontier) throws Exception {
+		dg.makeNodePtrTbl();
+		final Set<Set<Long>> sccs = Collections.synchronizedSet(new HashSet<>());
+		final boolean ok = new ParallelSccSearch(dg, SLEN, ALEN, EA_ACTION, parallelism, frontier, (state, tidx, com) -> {
+			final Set<Long> scc = new HashSet<>();
+			for (int i = 0; i < com.getSize(); i++) {
+				final int[] nodes = com.getNodesByLoc(i);
+				if (nodes != null) {
+					scc.add(TableauNodePtrTable.getKey(nodes));
+				}
+			}
+			assertTrue(scc.contains(state));
+			assertFalse("SCC reported twice", sccs.contains(scc));
+			sccs.add(scc);
+			return true;
+		}).run();
+		assertTrue(ok);
+		return sccs;
+	}
+
+	private static Set<Long> setOf(final long... fps) {
+		final Set<Long> set = new HashSet<>();
+		for (long fp : fps) {
+			set.add(fp);
+		}
+		return set;
+	}
+
+	/*
+	 * 1 -> 2 -> 3 -> 1, 3 -> 4, 4 -> 4, 4 -> 5, 5 -> 6, 6 -> 7, 7 -> 6 (not EA),
+	 * 2 -> 8 with 8 not done.
+	 */
+	@Test
+	public void testSmall() throws Exception {
+		final AbstractDiskGraph dg = getDiskGraph();
+		dg.addInitNode(1L, TIDX);
+		addNode(dg, 1L, 2L);
+		addNode(dg, 2L, 3L, 8L);
+		addNode(dg, 3L, 1L, 4L);
+		addNode(dg, 4L, 4L, 5L);
+		addNode(dg, 5L, 6L);
+		addNode(dg, 6L, 7L);
+		addNode(dg, 7L, NOT_EA, 6L);
+
+		final Set<Set<Long>> expected = new HashSet<>();
+		expected.add(setOf(1L, 2L, 3L));
+		expected.add(setOf(4L));
+		assertEquals(expected, search(dg, 2));
+	}
+
+	/*
+	 * Large enough to fork tasks: a chain of cycles of different lengths
+	 * interleaved with trivial nodes.
+	 */
+	@Test
+	public void testLarge() throws Exception {
+		final AbstractDiskGraph dg = getDiskGraph();
+		dg.addInitNode(1L, TIDX);
+
+		final Set<Set<Long>> expected = new HashSet<>();
+		final List<long[]> cycles = new ArrayList<>();
+		long fp = 1L;
+		for (int len = 1; len < 200; len++) {
+			final long[] cycle = new long[len];
+			for (int i = 0; i < len; i++) {
+				cycle[i] = fp++;
+			}
+			cycles.add(cycle);
+			// A trivial node between two cycles.
+			cycles.add(new long[] { -(fp++) });
+		}
+		for (int c = 0; c < cycles.size(); c++) {
+			final long[] cycle = cycles.get(c);
+			final long next = c + 1 < cycles.size() ? Math.abs(cycles.get(c + 1)[0]) : -1L;
+			if (cycle[0] < 0) {
+				addNode(dg, -cycle[0], next);
+				continue;
+			}
+			final Set<Long> scc = new HashSet<>();
+			for (int i = 0; i < cycle.length; i++) {
+				// Each node of the cycle also points back to the cycle's first node.
+				addNode(dg, cycle[i], cycle[(i + 1) % cycle.length], cycle[0], next);
+				scc.add(cycle[i]);
+			}
+			expected.add(scc);
+		}
+		assertTrue(dg.size() > 1 << 14);
+		assertEquals(expected, search(dg, 4));
+	}
+
+	/*
+	 * A TableauDiskGraph has more nodes (<<fp, tidx>>) than its size
+	 * (fingerprints): <<1,0>> -> <<2,0>> -> <<1,0>>, <<1,1>> -> <<1,1>> and
+	 * <<2,1>> -> <<1,0>>.
+	 */
+	@Test
+	public void testTableau() throws Exception {
+		final File dir = Files.createTempDirectory("ParallelSccSearchTest").toFile();
+		dir.deleteOnExit();
+		final AbstractDiskGraph dg = new TableauDiskGraph(dir.getAbsolutePath(), 1,
+				new FixedSizedBucketStatistics("Test Dummy", 16));
+		dg.addInitNode(1L, 0);
+		final long[][] transitions = new long[][] { { 1L, 0, 2L, 0 }, { 2L, 0, 1L, 0 }, { 1L, 1, 1L, 1 },
+				{ 2L, 1, 1L, 0 } };
+		for (long[] t : transitions) {
+			final GraphNode node = new GraphNode(t[0], (int) t[1]);
+			node.addTransition(t[2], (int) t[3], SLEN, ALEN, EA, 0, 1);
+			dg.addNode(node);
+		}
+		assertTrue(ParallelSccSearch.getMaxNodes(dg) >= 4);
+		dg.makeNodePtrTbl();
+
+		final Set<Set<String>> sccs = Collections.synchronizedSet(new HashSet<>());
+		assertTrue(new ParallelSccSearch(dg, SLEN, ALEN, EA_ACTION, 2, null, (state, tidx, com) -> {
+			final Set<String> scc = new HashSet<>();
+			for (int i = 0; i < com.getSize(); i++) {
+				final int[] nodes = com.getNodesByLoc(i);
+				if (nodes != null) {
+					for (int j = 2; j < nodes.length; j += com.getElemLength()) {
+						scc.add(TableauNodePtrTable.getKey(nodes) + "." + TableauNodePtrTable.getTidx(nodes, j));
+					}
+				}
+			}
+			sccs.add(scc);
+			return true;
+		}).run());
+
+		final Set<Set<String>> expected = new HashSet<>();
+		expected.add(new HashSet<>(Arrays.asList("1.0", "2.0")));
+		expected.add(new HashSet<>(Arrays.asList("1.1")));
+		assertEquals(expected, sccs);
+	}
+
+	/*
+	 * 1 -> 2 -> 1, 2 -> 3 with 3 not done, 1 -> 4 -> 4, 5 -> 5 (not EA), 5 -> 3.
+	 * Later 3 -> 1 and 3 -> 4.
+	 */
+	@Test
+	public void testIncremental() throws Exception {
+		final AbstractDiskGraph dg = getDiskGraph();
+		dg.addInitNode(1L, TIDX);
+		addNode(dg, 1L, 2L, 4L);
+		addNode(dg, 2L, 1L, 3L);
+		addNode(dg, 4L, 4L);
+		addNode(dg, 5L, NOT_EA, 5L, 3L);
+
+		final ParallelSccSearch.Frontier frontier = new ParallelSccSearch.Frontier();
+		assertEquals(ParallelSccSearch.getMaxNodes(dg), frontier.getMaxNodes(dg));
+		Set<Set<Long>> expected = new HashSet<>();
+		expected.add(setOf(1L, 2L));
+		expected.add(setOf(4L));
+		assertEquals(expected, search(dg, 2, frontier));
+		// 4 and 5 cannot reach 3, because 5 -> 3 does not satisfy the EAAction. Only
+		// the records of 1 and 2 remain to be searched.
+		assertEquals(2, frontier.getMaxNodes(dg));
+
+		// Node 3 is done now, which merges the SCC of 1 and 2 with 3. The SCC of 4 is
+		// not searched (and checked) again, and only the records of 1, 2, and the
+		// appended one of 3 are read.
+		addNode(dg, 3L, 1L, 4L);
+		assertEquals(3, frontier.getMaxNodes(dg));
+		expected = new HashSet<>();
+		expected.add(setOf(1L, 2L, 3L));
+		assertEquals(expected, search(dg, 2, frontier));
+		assertEquals(0, frontier.getMaxNodes(dg));
+		assertEquals(0, frontier.getRequiredMemory(dg));
+
+		assertEquals(new HashSet<>(), search(dg, 2, frontier));
+	}
+
+	@Test
+	public void testViolation() throws Exception {
+		final AbstractDiskGraph dg = getDiskGraph();
+		dg.addInitNode(1L, TIDX);
+		addNode(dg, 1L, 2L);
+		addNode(dg, 2L, 1L);
+		dg.makeNodePtrTbl();
+		assertFalse(new ParallelSccSearch(dg, SLEN, ALEN, EA_ACTION, 2, null, (state, tidx, com) -> false).run());
+	}
+}
@@ -0,0 +1,130 @@
+/*******************************************************************************
+ * Copyright (c) 2026 The Linux Foundation. All rights reserved.
+ *
+ * The MIT License (MIT)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ * of the Software, and to permit persons to whom the Software is furnished to do
+ * so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN
+ * AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ ******************************************************************************/
+package tlc2.tool.queue;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import tlc2.tool.TLCState;
+
+public class MappedStateQueueTest extends StateQueueTest {
+
+	private File dir;
+
+	@Before
+	public void setUp() throws Exception {
+		dir = Files.createTempDirectory("MappedStateQueueTest").toFile();
+		// Tiny segments to exercise the transition from one segment to the next.
+		sQueue = new MappedStateQueue(dir.getAbsolutePath(), 64);
+	}
+
+	@After
+	public void tearDown() throws IOException {
+		sQueue.delete();
+		final File[] listFiles = dir.listFiles();
+		if (listFiles != null) {
+			for (final File aFile : listFiles) {
+				aFile.delete();
+			}
+		}
+		dir.delete();
+	}
+
+	@Test
+	public void testFIFOAcrossSegments() {
+		final DummyTLCState state = new DummyTLCState();
+		for (long i = 0; i < 100; i++) {
+			state.uid = i;
+			sQueue.sEnqueue(state);
+		}
+		assertEquals(100, sQueue.size());
+		// More than one segment has been created.
+		assertTrue(new File(dir, "1.mmap").exists());
+
+		for (long i = 0; i < 100; i++) {
+			final TLCState actual = sQueue.sDequeue();
+			assertEquals(i, actual.uid);
+		}
+		assertEquals(0, sQueue.size());
+		// Consumed segments get deleted if no checkpoint refers to them.
+		assertTrue(!new File(dir, "0.mmap").exists());
+	}
+
+	@Test
+	public void testPeekAcrossSegments() {
+		final DummyTLCState state = new DummyTLCState();
+		for (long i = 0; i < 100; i++) {
+			state.uid = i;
+			sQueue.sEnqueue(state);
+		}
+		for (long i = 0; i < 100; i++) {
+			// Peeking does not consume anything, not even at the end of a segment whose
+			// file would be deleted when it is consumed.
+			final int files = dir.list().length;
+			assertEquals(i, sQueue.sPeek().uid);
+			assertEquals(i, sQueue.sPeek().uid);
+			assertEquals(files, dir.list().length);
+			assertEquals(i, sQueue.sDequeue().uid);
+		}
+		assertEquals(0, sQueue.size());
+		assertTrue(!new File(dir, "0.mmap").exists());
+	}
+
+	@Test
+	public void testCheckpointRecover() throws IOException {
+		final DummyTLCState state = new DummyTLCState();
+		for (long i = 0; i < 50; i++) {
+			state.uid = i;
+			sQueue.sEnqueue(state);
+		}
+		for (long i = 0; i < 10; i++) {
+			assertEquals(i, sQueue.sDequeue().uid);
+		}
+
+		sQueue.beginChkpt();
+		sQueue.commitChkpt();
+
+		// Modify the queue after the checkpoint has been taken.
+		for (long i = 10; i < 50; i++) {
+			assertEquals(i, sQueue.sDequeue().uid);
+		}
+		state.uid = 4711;
+		sQueue.sEnqueue(state);
+
+		final IStateQueue recovered = new MappedStateQueue(dir.getAbsolutePath(), 64);
+		recovered.recover();
+		assertEquals(40, recovered.size());
+		for (long i = 10; i < 50; i++) {
+			assertEquals(i, recovered.sDequeue().uid);
+		}
+		assertEquals(0, recovered.size());
+	}
+}
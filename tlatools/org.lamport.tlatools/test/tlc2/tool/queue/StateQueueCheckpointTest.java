@@ -0,0 +1,127 @@
+/*******************************************************************************
+ * Copyright (c) 2026 The Linux Foundation. All rights reserved.
+ *
+ * The MIT License (MIT)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ * of the Software, and to permit persons to whom the Software is furnished to do
+ * so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN
+ * AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ ******************************************************************************/
+package tlc2.tool.queue;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.function.Function;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import tlc2.tool.TLCState;
+
+/**
+ * DiskStateQueue and MemStateQueue serialize the states of a checkpoint in
+ * commitChkpt, i.e. after the workers have been resumed and have modified the
+ * queue (see ModelChecker#runTLCContinueDoing). The recovered queue has to
+ * contain the states at the time of beginChkpt.
+ */
+public class StateQueueCheckpointTest {
+
+	private File dir;
+
+	@Before
+	public void setUp() throws IOException {
+		dir = Files.createTempDirectory("StateQueueCheckpointTest").toFile();
+		// recover creates the states via TLCState.Empty.
+		TLCState.Empty = new CheckpointTLCState(0);
+	}
+
+	@After
+	public void tearDown() {
+		final File[] listFiles = dir.listFiles();
+		if (listFiles != null) {
+			for (final File aFile : listFiles) {
+				aFile.delete();
+			}
+		}
+		dir.delete();
+	}
+
+	@Test
+	public void testMemStateQueue() throws IOException {
+		// More states than MemStateQueue's initial capacity.
+		testCheckpointRecover(MemStateQueue::new, 10_000);
+	}
+
+	@Test
+	public void testDiskStateQueue() throws IOException {
+		// Several times the size of DiskStateQueue's buffers, thus most states are
+		// in pool files when the checkpoint is taken.
+		testCheckpointRecover(DiskStateQueue::new, 50_000);
+	}
+
+	private void testCheckpointRecover(final Function<String, IStateQueue> factory, final int n)
+			throws IOException {
+		final IStateQueue queue = factory.apply(dir.getAbsolutePath());
+		for (long i = 0; i < n; i++) {
+			queue.sEnqueue(new CheckpointTLCState(i));
+		}
+		for (long i = 0; i < 100; i++) {
+			assertEquals(i, queue.sDequeue().uid);
+		}
+
+		// ModelChecker calls beginChkpt while the workers are suspended.
+		queue.beginChkpt();
+		
+		// The workers continue while the checkpoint has not been committed yet.
+		for (long i = 100; i < n / 2; i++) {
+			assertEquals(i, queue.sDequeue().uid);
+		}
+		for (long i = n; i < 2L * n; i++) {
+			queue.sEnqueue(new CheckpointTLCState(i));
+		}
+		
+		queue.commitChkpt();
+		queue.finishAll();
+
+		final IStateQueue recovered = factory.apply(dir.getAbsolutePath());
+		recovered.recover();
+		assertEquals(n - 100, recovered.size());
+		for (long i = 100; i < n; i++) {
+			assertEquals(i, recovered.dequeue().uid);
+		}
+		assertNull(recovered.dequeue());
+		recovered.finishAll();
+	}
+
+	@SuppressWarnings("serial")
+	private static class CheckpointTLCState extends DummyTLCState {
+
+		CheckpointTLCState(final long uid) {
+			super(uid);
+			this.uid = uid;
+		}
+
+		@Override
+		public TLCState createEmpty() {
+			return new CheckpointTLCState(0);
+		}
+	}
+}
@@ -0,0 +1,51 @@
+package tlc2.tool.queue;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.file.Files;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import tlc2.tool.TLCState;
+import tlc2.util.IdThread;
+
+public class WorkStealingStateQueueTest extends StateQueueTest {
+
+	@Before
+	public void setUp() throws Exception {
+		sQueue = new WorkStealingStateQueue(Files.createTempDirectory("WorkStealingStateQueueTest").toFile().toString());
+	}
+
+	// A state enqueued by one worker is stolen by another worker whose own deque is empty.
+	@Test
+	public void testSteal() throws InterruptedException {
+		final TLCState expected = new DummyTLCState();
+		final IdThread producer = new IdThread(() -> sQueue.sEnqueue(expected), "producer", 0);
+		producer.start();
+		producer.join();
+		assertEquals(1, sQueue.size());
+
+		final TLCState[] actual = new TLCState[1];
+		final IdThread consumer = new IdThread(() -> actual[0] = sQueue.sDequeue(), "consumer", 1);
+		consumer.start();
+		consumer.join();
+		assertEquals(expected, actual[0]);
+		assertTrue(sQueue.isEmpty());
+		assertNull(sQueue.sDequeue());
+	}
+
+	// Each worker dequeues the states it enqueued in FIFO order.
+	@Test
+	public void testFIFO() {
+		final TLCState[] states = new TLCState[] { new DummyTLCState(), new DummyTLCState(), new DummyTLCState() };
+		sQueue.sEnqueue(states);
+		assertEquals(states.length, sQueue.size());
+		for (int i = 0; i < states.length; i++) {
+			assertEquals(states[i], sQueue.sDequeue());
+		}
+		assertEquals(0, sQueue.size());
+	}
+}
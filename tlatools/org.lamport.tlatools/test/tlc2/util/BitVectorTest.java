@@ -27,6 +27,8 @@
 package tlc2.util;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 import org.junit.Test;
 
@@ -64,4 +66,20 @@ public class BitVectorTest {
 		
 		assertEquals("[001]", bitVector.toString(4, 3));
 	}
+
+	@Test
+	public void testIntersects() {
+		final BitVector a = new BitVector(8);
+		a.set(3);
+		final BitVector b = new BitVector(130);
+		b.set(129);
+		assertFalse(a.intersects(b));
+		assertFalse(b.intersects(a));
+		
+		b.set(3);
+		assertTrue(a.intersects(b));
+		assertTrue(b.intersects(a));
+		
+		assertFalse(new BitVector(0).intersects(b));
+	}
 }
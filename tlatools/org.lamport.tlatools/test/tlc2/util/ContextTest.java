@@ -27,7 +27,9 @@
 package tlc2.util;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 
 import java.util.function.BiPredicate;
 
@@ -169,6 +171,64 @@ public class ContextTest {
 		assertEquals(value, lookup);
 	}
 	
+	@Test
+	public void testLookupFrame() {
+		final DummySymbolNode outer = new DummySymbolNode("outer");
+		final DummySymbolNode a = new DummySymbolNode("a");
+		final DummySymbolNode b = new DummySymbolNode("b");
+		final DummySymbolNode c = new DummySymbolNode("c");
+		a.setSlot(0);
+		b.setSlot(1);
+		c.setSlot(2);
+		final SymbolNode[] names = new SymbolNode[] { a, b, c };
+		assertTrue(Context.isFrame(names));
+		assertFalse(Context.isFrame(new SymbolNode[] { b, a }));
+
+		// Frame(a, c) -> Ctx b -> Ctx outer -> Ctx Empty
+		final Context base = Context.Empty.cons(outer, "outer").cons(b, "b0");
+		final Context frame = base.frame(names, new Object[] { "a1", null, "c1" });
+
+		assertEquals("a1", frame.lookup(a));
+		assertEquals("c1", frame.lookup(c, true));
+		// b is unbound in the frame and thus found further down the chain.
+		assertEquals("b0", frame.lookup(b));
+		assertEquals("outer", frame.lookup(outer));
+		assertNull(frame.lookup(new DummySymbolNode("a")));
+		assertEquals("c1", frame.lookup(s -> s.getName().toString().length() == 1));
+		assertEquals(c, frame.lookupName(s -> s.getName().toString().length() == 1));
+
+		// A frame shadows the names it binds.
+		assertEquals("a2", frame.frame(names, new Object[] { "a2", "b2", null }).lookup(a));
+		assertEquals("c1", frame.frame(names, new Object[] { "a2", "b2", null }).lookup(c));
+	}
+
+	@Test
+	public void testFrameEqualsChain() {
+		final DummySymbolNode outer = new DummySymbolNode("outer");
+		final DummySymbolNode a = new DummySymbolNode("a");
+		final DummySymbolNode b = new DummySymbolNode("b");
+		a.setSlot(0);
+		b.setSlot(1);
+
+		final Context base = Context.Empty.cons(outer, "outer");
+		final Context frame = base.frame(new SymbolNode[] { a, b }, new Object[] { "a1", "b1" });
+		final Context chain = base.cons(a, "a1").cons(b, "b1");
+
+		assertEquals(chain.toString(), frame.toString());
+		assertEquals(chain.depth(), frame.depth());
+
+		// A frame iterates like the chain it replaces (see TLCStackFrame).
+		Context f = frame, l = chain;
+		while (l.hasNext()) {
+			assertTrue(f.hasNext());
+			assertEquals(l.getName(), f.getName());
+			assertEquals(l.getValue(), f.getValue());
+			f = f.next();
+			l = l.next();
+		}
+		assertFalse(f.hasNext());
+	}
+
 	// Need a dummy for the instance identity checks in Context 
 	private static class DummySymbolNode extends SymbolNode {
 
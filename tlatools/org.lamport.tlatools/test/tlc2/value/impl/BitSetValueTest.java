@@ -0,0 +1,214 @@
+/*******************************************************************************
+ * Copyright (c) 2026 The Linux Foundation. All rights reserved.
+ *
+ * The MIT License (MIT)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ * of the Software, and to permit persons to whom the Software is furnished to do
+ * so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN
+ * AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ ******************************************************************************/
+package tlc2.value.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import tlc2.util.FP64;
+import tlc2.value.IValue;
+import tlc2.value.ValueInputStream;
+import tlc2.value.ValueOutputStream;
+
+public class BitSetValueTest {
+
+	@BeforeClass
+	public static void setup() {
+		FP64.Init();
+	}
+
+	private static ValueVec ints(final int... ints) {
+		final ValueVec vec = new ValueVec(ints.length);
+		for (int i : ints) {
+			vec.addElement(IntValue.gen(i));
+		}
+		return vec;
+	}
+
+	private static BitSetValue bitset(final int... ints) {
+		final Value v = BitSetValue.create(ints(ints), false);
+		assertTrue(v instanceof BitSetValue);
+		return (BitSetValue) v;
+	}
+
+	private static SetEnumValue setEnum(final int... ints) {
+		return (SetEnumValue) new SetEnumValue(ints(ints), false).normalize();
+	}
+
+	@Test
+	public void testCreate() {
+		assertTrue(BitSetValue.create(ints(3, 1, 2), false) instanceof BitSetValue);
+		assertTrue(BitSetValue.create(ints(-64, -1, 0, 63), false) instanceof BitSetValue);
+
+		// Empty, sparse, and non-integer sets remain SetEnumValues.
+		assertTrue(BitSetValue.create(ints(), false) instanceof SetEnumValue);
+		assertTrue(BitSetValue.create(ints(0, 1, 100000), false) instanceof SetEnumValue);
+		final ValueVec mixed = ints(1, 2);
+		mixed.addElement(new StringValue("a"));
+		assertTrue(BitSetValue.create(mixed, false) instanceof SetEnumValue);
+		assertNull(BitSetValue.of(mixed));
+	}
+
+	@Test
+	public void testFingerprint() {
+		final int[][] sets = new int[][] { { 0 }, { 1, 2, 3 }, { 5, 3, 1, 3 }, { -1, -64, -65, 0, 63, 64, 127, 128, 7, 8 },
+				{ Integer.MAX_VALUE, Integer.MAX_VALUE - 1 }, { Integer.MIN_VALUE } };
+		for (int[] set : sets) {
+			final Value bsv = bitset(set);
+			final SetEnumValue sev = setEnum(set);
+			assertEquals(sev.fingerPrint(FP64.New()), bsv.fingerPrint(FP64.New()));
+			assertEquals(sev.hashCode(), bsv.hashCode());
+			assertEquals(sev.toString(), bsv.toString());
+			assertEquals(sev.size(), bsv.size());
+		}
+	}
+
+	@Test
+	public void testEqualsCompareTo() {
+		final Value bsv = bitset(3, 1, 2);
+
+		assertTrue(bsv.equals(setEnum(1, 2, 3)));
+		assertTrue(setEnum(1, 2, 3).equals(bsv));
+		assertTrue(bsv.equals(new IntervalValue(1, 3)));
+		assertTrue(new IntervalValue(1, 3).equals(bsv));
+		assertTrue(bsv.equals(bitset(1, 2, 3)));
+		assertFalse(bsv.equals(bitset(1, 2, 4)));
+		assertFalse(bsv.equals(setEnum(1, 2)));
+
+		final int[][] sets = new int[][] { { 1, 2, 3 }, { 1, 2 }, { 2, 3 }, { 1, 2, 4 }, { 0, 1, 2 }, { 64 }, { -1 } };
+		for (int[] a : sets) {
+			for (int[] b : sets) {
+				assertEquals(Integer.signum(setEnum(a).compareTo(setEnum(b))),
+						Integer.signum(bitset(a).compareTo(bitset(b))));
+				assertEquals(Integer.signum(setEnum(a).compareTo(setEnum(b))),
+						Integer.signum(bitset(a).compareTo(setEnum(b))));
+				assertEquals(Integer.signum(setEnum(a).compareTo(setEnum(b))),
+						Integer.signum(setEnum(a).compareTo(bitset(b))));
+			}
+		}
+	}
+
+	@Test
+	public void testMember() {
+		final Value bsv = bitset(-65, -64, -3, 0, 1, 2, 3, 64);
+		assertTrue(bsv.member(IntValue.gen(-65)));
+		assertTrue(bsv.member(IntValue.gen(0)));
+		assertTrue(bsv.member(IntValue.gen(64)));
+		assertFalse(bsv.member(IntValue.gen(-1)));
+		assertFalse(bsv.member(IntValue.gen(4)));
+		assertFalse(bsv.member(IntValue.gen(1000)));
+		assertFalse(bsv.isEmpty());
+	}
+
+	@Test
+	public void testSetOperations() {
+		final BitSetValue a = bitset(1, 2, 3, 70);
+		final BitSetValue b = bitset(2, 3, 4);
+
+		assertEquals(setEnum(1, 2, 3, 4, 70), a.cup(b));
+		assertEquals(setEnum(2, 3), a.cap(b));
+		assertEquals(setEnum(1, 70), a.diff(b));
+		assertTrue(a.diff(bitset(1, 2, 3, 70)).isEmpty());
+		assertEquals(0, a.diff(a).size());
+
+		// Mixed with other set kinds.
+		assertEquals(setEnum(1, 2, 3, 4, 5, 70), a.cup(new IntervalValue(3, 5)));
+		assertEquals(setEnum(3), a.cap(new IntervalValue(3, 5)));
+		assertEquals(setEnum(1, 2, 70), a.diff(new IntervalValue(3, 5)));
+		assertEquals(setEnum(2, 3), ((Reducible) new IntervalValue(0, 3).cap(a)).cap(b));
+		assertEquals(setEnum(2, 3), setEnum(2, 3, 5).cap(a));
+
+		// Results are normalized and fingerprint like SetEnumValues.
+		assertEquals(setEnum(1, 2, 3, 4, 70).fingerPrint(FP64.New()), a.cup(b).fingerPrint(FP64.New()));
+		assertEquals(setEnum(1, 70).fingerPrint(FP64.New()), a.diff(b).fingerPrint(FP64.New()));
+
+		assertEquals(BoolValue.ValTrue, bitset(2, 3).isSubsetEq(a));
+		assertEquals(BoolValue.ValFalse, b.isSubsetEq(a));
+		assertEquals(BoolValue.ValTrue, bitset(2, 3).isSubsetEq(new IntervalValue(2, 3)));
+	}
+
+	@Test
+	public void testElements() {
+		final Value bsv = bitset(64, -1, 5, 0, 63, 10);
+		final List<Value> all = ((Enumerable) bsv).elements().all();
+		assertEquals(setEnum(-1, 0, 5, 10, 63, 64).elements().all(), all);
+		assertEquals(6, ((Enumerable) bsv).elements(Enumerable.Ordering.RANDOMIZED).all().size());
+	}
+
+	@Test
+	public void testSubset() {
+		// The elements of SUBSET S are BitSetValues if S is a set of integers.
+		final SubsetValue subset = new SubsetValue(new IntervalValue(1, 4));
+		final ValueEnumeration elements = subset.elements();
+		Value elem;
+		int cnt = 0;
+		while ((elem = elements.nextElement()) != null) {
+			cnt++;
+			if (elem.size() > 0) {
+				assertTrue(elem instanceof BitSetValue);
+			}
+		}
+		assertEquals(16, cnt);
+		assertEquals(subset.toSetEnum().fingerPrint(FP64.New()),
+				new SubsetValue(new IntervalValue(1, 4)).toSetEnum().fingerPrint(FP64.New()));
+	}
+
+	@Test
+	public void testUnion() {
+		// UNION {{1, 2, 3}, {3, 4}, {5}} with BitSetValue elements is enumerated
+		// eagerly like with SetEnumValue elements.
+		final Value union = UnionValue
+				.union(new SetEnumValue(new Value[] { bitset(1, 2, 3), bitset(3, 4), setEnum(5) }, false));
+		assertTrue(union instanceof SetEnumValue);
+		assertEquals(setEnum(1, 2, 3, 4, 5), union);
+	}
+
+	@Test
+	public void testWrite() throws IOException {
+		final File tempFile = File.createTempFile("BitSetValueTest-testWrite", ".vos");
+		tempFile.deleteOnExit();
+
+		final Value bsv = bitset(1, 2, 3, 100);
+		final ValueOutputStream out = new ValueOutputStream(tempFile);
+		bsv.write(out);
+		out.close();
+
+		final ValueInputStream in = new ValueInputStream(tempFile);
+		final IValue read = in.read();
+		in.close();
+
+		// BitSetValues are read back as SetEnumValues.
+		assertTrue(read instanceof SetEnumValue);
+		assertEquals(bsv, read);
+		assertEquals(bsv.fingerPrint(FP64.New()), read.fingerPrint(FP64.New()));
+	}
+}
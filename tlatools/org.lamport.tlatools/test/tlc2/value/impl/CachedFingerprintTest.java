@@ -0,0 +1,106 @@
+/*******************************************************************************
+ * Copyright (c) 2026 The Linux Foundation. All rights reserved.
+ *
+ * The MIT License (MIT)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ * of the Software, and to permit persons to whom the Software is furnished to do
+ * so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN
+ * AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ ******************************************************************************/
+package tlc2.value.impl;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.function.Supplier;
+
+import org.junit.After;
+import org.junit.Test;
+
+import tlc2.util.FP64;
+import util.UniqueString;
+
+public class CachedFingerprintTest {
+
+	private static Value[] ints(final int n) {
+		final Value[] vals = new Value[n];
+		for (int i = 0; i < n; i++) {
+			vals[i] = IntValue.gen(i * 7);
+		}
+		return vals;
+	}
+
+	private static Value nested() {
+		final UniqueString[] names = new UniqueString[] { UniqueString.of("a"), UniqueString.of("b"),
+				UniqueString.of("c"), UniqueString.of("d") };
+		final Value[] dom = new Value[] { new StringValue("x"), new StringValue("y"), new StringValue("z"),
+				new StringValue("zz") };
+		final Value fcn = new FcnRcdValue(dom, new Value[] { new TupleValue(ints(5)),
+				new SetEnumValue(ints(6), true), new TupleValue(ints(4)), IntValue.gen(42) }, true);
+		final Value intvFcn = new FcnRcdValue(new IntervalValue(1, 8), ints(8));
+		return new RecordValue(names,
+				new Value[] { fcn, intvFcn, new SetEnumValue(ints(9), false), new TupleValue(ints(2)) }, false);
+	}
+
+	private static void assertCached(final Supplier<Value> factory) {
+		final long[] fps = new long[] { FP64.New(), 0L, 4711L, -1L, FP64.New("foo") };
+
+		// Fingerprint one instance repeatedly to populate its cache and compare with
+		// fresh (uncached) instances.
+		final Value cached = factory.get();
+		for (int i = 0; i < 3; i++) {
+			for (long fp : fps) {
+				assertEquals(factory.get().fingerPrint(fp), cached.fingerPrint(fp));
+			}
+		}
+	}
+
+	@After
+	public void tearDown() {
+		FP64.Init();
+	}
+
+	@Test
+	public void testTuple() {
+		FP64.Init();
+		assertCached(() -> new TupleValue(ints(100)));
+	}
+
+	@Test
+	public void testSetEnum() {
+		FP64.Init();
+		assertCached(() -> new SetEnumValue(ints(100), false));
+	}
+
+	@Test
+	public void testNested() {
+		FP64.Init();
+		assertCached(CachedFingerprintTest::nested);
+	}
+
+	@Test
+	public void testReInit() {
+		FP64.Init(0);
+		final Value v = nested();
+		v.fingerPrint(FP64.New());
+		v.fingerPrint(FP64.New());
+		v.fingerPrint(FP64.New());
+
+		// The cached contribution is stale after FP64 switches polynomials.
+		FP64.Init(1);
+		assertEquals(nested().fingerPrint(FP64.New()), v.fingerPrint(FP64.New()));
+		assertEquals(nested().fingerPrint(FP64.New()), v.fingerPrint(FP64.New()));
+	}
+}
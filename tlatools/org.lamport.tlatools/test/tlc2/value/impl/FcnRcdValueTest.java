@@ -26,8 +26,11 @@
 package tlc2.value.impl;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
 import java.util.ArrayList;
@@ -193,4 +196,53 @@ public class FcnRcdValueTest {
 			assertEquals(IntValue.gen(i), val);
 		}
 	}
+
+	@Test
+	public void testTakeExcept() {
+		// Interval domain, normalized domain searched with binary search, and
+		// unnormalized domain searched linearly.
+		testTakeExcept(new FcnRcdValue(new IntervalValue(0, 63), getInts(0, 64, 1024)));
+		testTakeExcept((FcnRcdValue) new FcnRcdValue(getInts(0, 64, 0), getInts(0, 64, 1024), false).normalize());
+		testTakeExcept(new FcnRcdValue(getInts(0, 64, 0), getInts(0, 64, 1024), false));
+	}
+
+	private static ValueExcept except(final int arg, final int val) {
+		return new ValueExcept(new Value[] { IntValue.gen(arg) }, IntValue.gen(val));
+	}
+
+	private static void testTakeExcept(final FcnRcdValue fcn) {
+		final Value[] orig = fcn.values.clone();
+
+		// Not in the domain.
+		assertSame(fcn, fcn.takeExcept(except(64, 1)));
+		assertSame(fcn, fcn.takeExcept(new ValueExcept[] { except(-1, 1), except(64, 1) }));
+
+		final FcnRcdValue f1 = (FcnRcdValue) fcn.takeExcept(except(42, 1));
+		assertEquals(IntValue.gen(1), f1.select(IntValue.gen(42)));
+		assertEquals(IntValue.gen(1024 + 41), f1.select(IntValue.gen(41)));
+
+		// Several excepts at once (copying the values once) equal the excepts
+		// applied one after the other.
+		final ValueExcept[] exs = new ValueExcept[] { except(1, 1), except(64, 2), except(2, 3), except(1, 4) };
+		Value expected = fcn;
+		for (ValueExcept ex : new ValueExcept[] { except(1, 1), except(64, 2), except(2, 3), except(1, 4) }) {
+			expected = expected.takeExcept(ex);
+		}
+		final FcnRcdValue f2 = (FcnRcdValue) fcn.takeExcept(exs);
+		assertEquals(expected, f2);
+		assertEquals(IntValue.gen(4), f2.select(IntValue.gen(1)));
+		assertEquals(IntValue.gen(3), f2.select(IntValue.gen(2)));
+
+		// In place updates of a fresh function.
+		final FcnRcdValue f3 = (FcnRcdValue) fcn.takeExcept(except(1, 1));
+		assertTrue(f3.takeExceptInPlace(except(2, 3)));
+		assertFalse(f3.takeExceptInPlace(except(64, 2)));
+		assertTrue(f3.takeExceptInPlace(except(1, 4)));
+		assertEquals(expected, f3);
+
+		// The original function is unchanged.
+		for (int i = 0; i < orig.length; i++) {
+			assertSame(orig[i], fcn.values[i]);
+		}
+	}
 }
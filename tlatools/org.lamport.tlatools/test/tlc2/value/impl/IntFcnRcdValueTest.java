@@ -0,0 +1,180 @@
+/*******************************************************************************
+ * Copyright (c) 2026 The Linux Foundation. All rights reserved.
+ *
+ * The MIT License (MIT)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ * of the Software, and to permit persons to whom the Software is furnished to do
+ * so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN
+ * AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ ******************************************************************************/
+package tlc2.value.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import tlc2.util.FP64;
+import tlc2.value.IValue;
+import tlc2.value.ValueInputStream;
+import tlc2.value.ValueOutputStream;
+
+public class IntFcnRcdValueTest {
+
+	@BeforeClass
+	public static void setup() {
+		FP64.Init();
+	}
+
+	private static Value[] ints(final int... ints) {
+		final Value[] vals = new Value[ints.length];
+		for (int i = 0; i < ints.length; i++) {
+			vals[i] = IntValue.gen(ints[i]);
+		}
+		return vals;
+	}
+
+	private static Value[] strs(final String... strs) {
+		final Value[] vals = new Value[strs.length];
+		for (int i = 0; i < strs.length; i++) {
+			vals[i] = new StringValue(strs[i]);
+		}
+		return vals;
+	}
+
+	// [c |-> 3, a |-> 1, b |-> 2] (unnormalized)
+	private static FcnRcdValue rcd() {
+		return new FcnRcdValue(strs("c", "a", "b"), ints(3, 1, 2), false);
+	}
+
+	// [i \in 2..4 |-> ...]
+	private static FcnRcdValue intv() {
+		return new FcnRcdValue(new IntervalValue(2, 4), ints(3, 1, 2));
+	}
+
+	private static IntFcnRcdValue intFcn(final FcnRcdValue fcn) {
+		final Value v = IntFcnRcdValue.create(fcn);
+		assertTrue(v instanceof IntFcnRcdValue);
+		return (IntFcnRcdValue) v;
+	}
+
+	@Test
+	public void testCreate() {
+		intFcn(rcd());
+		intFcn(intv());
+		final FcnRcdValue mixed = new FcnRcdValue(strs("a", "b"), new Value[] { IntValue.gen(1), new StringValue("x") }, false);
+		assertSame(mixed, IntFcnRcdValue.create(mixed));
+		assertSame(FcnRcdValue.EmptyFcn, IntFcnRcdValue.create((FcnRcdValue) FcnRcdValue.EmptyFcn));
+	}
+
+	@Test
+	public void testEqualsCompareTo() {
+		for (FcnRcdValue fcn : new FcnRcdValue[] { rcd(), intv() }) {
+			final IntFcnRcdValue ifv = intFcn(fcn);
+			final FcnRcdValue other = fcn.intv == null ? rcd() : intv();
+			assertEquals(ifv, other);
+			assertEquals(other, ifv);
+			assertEquals(0, ifv.compareTo(other));
+			assertEquals(0, other.compareTo(ifv));
+			assertEquals(ifv, intFcn(other));
+			assertEquals(0, ifv.compareTo(intFcn(other)));
+		}
+		assertNotEquals(intFcn(rcd()), intFcn(new FcnRcdValue(strs("c", "a", "b"), ints(3, 1, 1), false)));
+		assertTrue(intFcn(intv()).compareTo(intFcn(new FcnRcdValue(new IntervalValue(2, 4), ints(3, 1, 3)))) < 0);
+		assertTrue(intFcn(intv()).compareTo(new FcnRcdValue(new IntervalValue(2, 4), ints(3, 1, 3))) < 0);
+
+		// A function with domain 1..N equals a tuple.
+		final IntFcnRcdValue tuple = intFcn(new FcnRcdValue(new IntervalValue(1, 2), ints(5, 6)));
+		assertEquals(new TupleValue(ints(5, 6)), tuple);
+		assertEquals(tuple, new TupleValue(ints(5, 6)));
+		assertEquals(IntTupleValue.create(ints(5, 6)), tuple);
+	}
+
+	@Test
+	public void testFingerprint() {
+		assertEquals(rcd().fingerPrint(FP64.New()), intFcn(rcd()).fingerPrint(FP64.New()));
+		assertEquals(intv().fingerPrint(FP64.New()), intFcn(intv()).fingerPrint(FP64.New()));
+	}
+
+	@Test
+	public void testApply() {
+		final IntFcnRcdValue ifv = intFcn(rcd());
+		assertEquals(IntValue.gen(3), ifv.apply(new StringValue("c"), 0));
+		assertNull(ifv.select(new StringValue("d")));
+		assertEquals(new SetEnumValue(strs("a", "b", "c"), false), ifv.getDomain());
+
+		final IntFcnRcdValue ifv2 = intFcn(intv());
+		assertEquals(IntValue.gen(3), ifv2.apply(IntValue.gen(2), 0));
+		assertNull(ifv2.select(IntValue.gen(5)));
+		assertEquals(new IntervalValue(2, 4), ifv2.getDomain());
+	}
+
+	@Test
+	public void testExcept() {
+		final IntFcnRcdValue ifv = intFcn(rcd());
+
+		final Value ints = ifv.takeExcept(new ValueExcept(strs("a"), IntValue.gen(42)));
+		assertTrue(ints instanceof IntFcnRcdValue);
+		assertEquals(new FcnRcdValue(strs("a", "b", "c"), ints(42, 2, 3), false), ints);
+		assertEquals(rcd(), ifv);
+
+		// Storing a non-integer falls back to a FcnRcdValue.
+		final Value str = ifv.takeExcept(new ValueExcept(strs("a"), new StringValue("x")));
+		assertTrue(str instanceof FcnRcdValue);
+		assertEquals(new FcnRcdValue(strs("a", "b", "c"),
+				new Value[] { new StringValue("x"), IntValue.gen(2), IntValue.gen(3) }, false), str);
+
+		// Out of domain.
+		assertSame(ifv, ifv.takeExcept(new ValueExcept(strs("d"), IntValue.gen(42))));
+
+		final Value multi = ifv.takeExcept(new ValueExcept[] {
+				new ValueExcept(strs("a"), IntValue.gen(7)),
+				new ValueExcept(strs("d"), IntValue.gen(7)),
+				new ValueExcept(strs("c"), IntValue.gen(8)) });
+		assertTrue(multi instanceof IntFcnRcdValue);
+		assertEquals(new FcnRcdValue(strs("a", "b", "c"), ints(7, 2, 8), false), multi);
+		assertEquals(rcd(), ifv);
+	}
+
+	@Test
+	public void testWrite() throws IOException {
+		for (FcnRcdValue fcn : new FcnRcdValue[] { rcd(), intv() }) {
+			final File tempFile = File.createTempFile("IntFcnRcdValueTest-testWrite", ".vos");
+			tempFile.deleteOnExit();
+
+			final IntFcnRcdValue ifv = intFcn(fcn);
+			final ValueOutputStream out = new ValueOutputStream(tempFile);
+			ifv.write(out);
+			out.close();
+
+			final ValueInputStream in = new ValueInputStream(tempFile);
+			final IValue read = in.read();
+			in.close();
+
+			// IntFcnRcdValues are read back as FcnRcdValues.
+			assertTrue(read instanceof FcnRcdValue);
+			assertEquals(ifv, read);
+			assertEquals(ifv.fingerPrint(FP64.New()), read.fingerPrint(FP64.New()));
+		}
+	}
+}
@@ -0,0 +1,174 @@
+/*******************************************************************************
+ * Copyright (c) 2026 The Linux Foundation. All rights reserved.
+ *
+ * The MIT License (MIT)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ * of the Software, and to permit persons to whom the Software is furnished to do
+ * so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN
+ * AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ ******************************************************************************/
+package tlc2.value.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import tlc2.module.Sequences;
+import tlc2.util.FP64;
+import tlc2.value.IValue;
+import tlc2.value.ValueInputStream;
+import tlc2.value.ValueOutputStream;
+
+public class IntTupleValueTest {
+
+	@BeforeClass
+	public static void setup() {
+		FP64.Init();
+	}
+
+	private static Value[] ints(final int... ints) {
+		final Value[] vals = new Value[ints.length];
+		for (int i = 0; i < ints.length; i++) {
+			vals[i] = IntValue.gen(ints[i]);
+		}
+		return vals;
+	}
+
+	private static IntTupleValue intTuple(final int... ints) {
+		final Value v = IntTupleValue.create(ints(ints));
+		assertTrue(v instanceof IntTupleValue);
+		return (IntTupleValue) v;
+	}
+
+	@Test
+	public void testCreate() {
+		assertTrue(IntTupleValue.create(ints(1, -2, 3)) instanceof IntTupleValue);
+
+		// Empty and non-integer tuples remain TupleValues.
+		assertTrue(IntTupleValue.create(ints()) instanceof TupleValue);
+		assertTrue(IntTupleValue.create(new Value[] { IntValue.gen(1), new StringValue("a") }) instanceof TupleValue);
+	}
+
+	@Test
+	public void testEqualsCompareTo() {
+		final IntTupleValue itv = intTuple(3, 1, 2);
+		final TupleValue tv = new TupleValue(ints(3, 1, 2));
+
+		assertEquals(itv, tv);
+		assertEquals(tv, itv);
+		assertEquals(0, itv.compareTo(tv));
+		assertEquals(0, tv.compareTo(itv));
+		assertEquals(itv, tv.toFcnRcd());
+		assertEquals(tv.toFcnRcd(), itv);
+
+		assertNotEquals(itv, intTuple(3, 1));
+		assertNotEquals(itv, new TupleValue(ints(3, 1, 1)));
+		assertTrue(itv.compareTo(intTuple(3, 1, 3)) < 0);
+		assertTrue(itv.compareTo(new TupleValue(ints(3, 1, 3))) < 0);
+		assertTrue(new TupleValue(ints(3, 1, 3)).compareTo(itv) > 0);
+		assertTrue(itv.compareTo(intTuple(3, 1)) > 0);
+	}
+
+	@Test
+	public void testFingerprint() {
+		final IntTupleValue itv = intTuple(3, 1, 2, -4);
+		final TupleValue tv = new TupleValue(ints(3, 1, 2, -4));
+		assertEquals(tv.fingerPrint(FP64.New()), itv.fingerPrint(FP64.New()));
+		assertEquals(tv.toFcnRcd().fingerPrint(FP64.New()), itv.fingerPrint(FP64.New()));
+	}
+
+	@Test
+	public void testApply() {
+		final IntTupleValue itv = intTuple(3, 1, 2);
+		assertEquals(IntValue.gen(3), itv.apply(IntValue.gen(1), 0));
+		assertEquals(IntValue.gen(2), itv.select(IntValue.gen(3)));
+		assertNull(itv.select(IntValue.gen(4)));
+		assertEquals(new IntervalValue(1, 3), itv.getDomain());
+	}
+
+	@Test
+	public void testExcept() {
+		final IntTupleValue itv = intTuple(3, 1, 2);
+
+		final Value ints = itv.takeExcept(new ValueExcept(new Value[] { IntValue.gen(2) }, IntValue.gen(42)));
+		assertTrue(ints instanceof IntTupleValue);
+		assertEquals(new TupleValue(ints(3, 42, 2)), ints);
+		// The original tuple is unchanged.
+		assertEquals(new TupleValue(ints(3, 1, 2)), itv);
+
+		// Storing a non-integer falls back to a TupleValue.
+		final Value str = itv.takeExcept(new ValueExcept(new Value[] { IntValue.gen(2) }, new StringValue("a")));
+		assertTrue(str instanceof TupleValue);
+		assertEquals(new TupleValue(new Value[] { IntValue.gen(3), new StringValue("a"), IntValue.gen(2) }), str);
+
+		// Out of domain.
+		assertSame(itv, itv.takeExcept(new ValueExcept(new Value[] { IntValue.gen(4) }, IntValue.gen(42))));
+
+		final Value multi = itv.takeExcept(new ValueExcept[] {
+				new ValueExcept(new Value[] { IntValue.gen(1) }, IntValue.gen(7)),
+				new ValueExcept(new Value[] { IntValue.gen(3) }, IntValue.gen(8)),
+				new ValueExcept(new Value[] { IntValue.gen(2) }, new StringValue("a")) });
+		assertTrue(multi instanceof TupleValue);
+		assertEquals(new TupleValue(new Value[] { IntValue.gen(7), new StringValue("a"), IntValue.gen(8) }), multi);
+		assertEquals(new TupleValue(ints(3, 1, 2)), itv);
+	}
+
+	@Test
+	public void testSequences() {
+		final IntTupleValue itv = intTuple(3, 1, 2);
+		assertEquals(IntValue.gen(3), Sequences.Len(itv));
+		assertEquals(IntValue.gen(3), Sequences.Head(itv));
+		assertEquals(new TupleValue(ints(1, 2)), Sequences.Tail(itv));
+		assertEquals(TupleValue.EmptyTuple, Sequences.Tail(intTuple(1)));
+		assertEquals(new TupleValue(ints(3, 1, 2, 4)), Sequences.Append(itv, IntValue.gen(4)));
+		assertEquals(new TupleValue(ints(0, 3, 1, 2)), Sequences.Cons(IntValue.gen(0), itv));
+		assertEquals(new TupleValue(ints(3, 1, 2, 3, 1, 2)), Sequences.Concat(itv, itv));
+		assertEquals(new TupleValue(ints(1, 2)), Sequences.SubSeq(itv, IntValue.gen(2), IntValue.gen(3)));
+
+		assertTrue(Sequences.Append(TupleValue.EmptyTuple, IntValue.gen(1)) instanceof IntTupleValue);
+		final Value mixed = Sequences.Append(itv, new StringValue("a"));
+		assertTrue(mixed instanceof TupleValue);
+		assertEquals(4, ((TupleValue) mixed).size());
+	}
+
+	@Test
+	public void testWrite() throws IOException {
+		final File tempFile = File.createTempFile("IntTupleValueTest-testWrite", ".vos");
+		tempFile.deleteOnExit();
+
+		final IntTupleValue itv = intTuple(1, -2, 3, 100000);
+		final ValueOutputStream out = new ValueOutputStream(tempFile);
+		itv.write(out);
+		out.close();
+
+		final ValueInputStream in = new ValueInputStream(tempFile);
+		final IValue read = in.read();
+		in.close();
+
+		// IntTupleValues are read back as TupleValues.
+		assertTrue(read instanceof TupleValue);
+		assertEquals(itv, read);
+		assertEquals(itv.fingerPrint(FP64.New()), read.fingerPrint(FP64.New()));
+	}
+}
@@ -24,6 +24,8 @@
 package tlc2.value.impl;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 import org.junit.Test;
@@ -70,4 +72,29 @@ public class TupleValueTest {
             assertTrue(ex.getMessage().contains("Attempted to access tuple with 2 arguments when it expects 1."));
         }
     }
+
+    private static ValueExcept except(final int idx, final String val) {
+        return new ValueExcept(new Value[] { IntValue.gen(idx) }, new StringValue(val));
+    }
+
+    @Test
+    public void testTakeExcept() {
+        final TupleValue tup = new TupleValue(new Value[] { new StringValue("A"), new StringValue("B"), new StringValue("C") });
+
+        // Out of bounds.
+        assertSame(tup, tup.takeExcept(except(4, "D")));
+
+        final TupleValue t1 = (TupleValue) tup.takeExcept(
+                new ValueExcept[] { except(1, "X"), except(4, "D"), except(3, "Z"), except(1, "Y") });
+        assertEquals(new TupleValue(new Value[] { new StringValue("Y"), new StringValue("B"), new StringValue("Z") }), t1);
+
+        final TupleValue t2 = (TupleValue) tup.takeExcept(except(1, "X"));
+        assertTrue(t2.takeExceptInPlace(except(3, "Z")));
+        assertFalse(t2.takeExceptInPlace(except(0, "Z")));
+        assertTrue(t2.takeExceptInPlace(except(1, "Y")));
+        assertEquals(t1, t2);
+
+        // The original tuple is unchanged.
+        assertEquals(new TupleValue(new Value[] { new StringValue("A"), new StringValue("B"), new StringValue("C") }), tup);
+    }
 }
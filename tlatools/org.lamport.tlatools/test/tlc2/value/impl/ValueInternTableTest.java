@@ -0,0 +1,110 @@
+/*******************************************************************************
+ * Copyright (c) 2026 The Linux Foundation. All rights reserved.
+ *
+ * The MIT License (MIT)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ * of the Software, and to permit persons to whom the Software is furnished to do
+ * so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN
+ * AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ ******************************************************************************/
+package tlc2.value.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import tlc2.util.FP64;
+import util.UniqueString;
+
+public class ValueInternTableTest {
+
+	@BeforeClass
+	public static void setup() {
+		FP64.Init();
+	}
+
+	private static TupleValue tuple(final int... ints) {
+		final Value[] elems = new Value[ints.length];
+		for (int i = 0; i < ints.length; i++) {
+			elems[i] = IntValue.gen(ints[i]);
+		}
+		return new TupleValue(elems);
+	}
+
+	@Test
+	public void testInternEqualValues() {
+		final ValueInternTable table = new ValueInternTable(10);
+
+		final TupleValue t1 = tuple(1, 2, 3);
+		final TupleValue t2 = tuple(1, 2, 3);
+		assertNotSame(t1, t2);
+
+		assertSame(t1, table.intern(t1));
+		assertSame(t1, table.intern(t2));
+		assertSame(t1, table.intern(t1));
+		assertEquals(2, table.getHits());
+		assertEquals(1, table.getMisses());
+
+		// An unequal value is not replaced.
+		final TupleValue t3 = tuple(3, 2, 1);
+		assertSame(t3, table.intern(t3));
+	}
+
+	@Test
+	public void testInternSubValues() {
+		final ValueInternTable table = new ValueInternTable(10);
+
+		final TupleValue t1 = tuple(1, 2);
+		table.intern(t1);
+
+		final UniqueString a = UniqueString.of("a");
+		final UniqueString b = UniqueString.of("b");
+		final RecordValue rcd = new RecordValue(new UniqueString[] { a, b },
+				new Value[] { tuple(1, 2), new SetEnumValue(new Value[] { tuple(1, 2) }, true) }, true);
+		assertSame(rcd, table.intern(rcd));
+
+		// The record's sub-values now refer to the canonical tuple.
+		assertSame(t1, rcd.values[0]);
+		assertSame(t1, ((SetEnumValue) rcd.values[1]).elems.elementAt(0));
+
+		final FcnRcdValue fcn = new FcnRcdValue(new Value[] { tuple(1, 2) }, new Value[] { tuple(1, 2) }, true);
+		assertSame(fcn, table.intern(fcn));
+		assertSame(t1, fcn.domain[0]);
+		assertSame(t1, fcn.values[0]);
+	}
+
+	@Test
+	public void testNotNormalized() {
+		final ValueInternTable table = new ValueInternTable(10);
+
+		final SetEnumValue s1 = new SetEnumValue(new Value[] { IntValue.gen(2), IntValue.gen(1) }, false);
+		final SetEnumValue s2 = new SetEnumValue(new Value[] { IntValue.gen(1), IntValue.gen(2) }, true);
+		assertSame(s1, table.intern(s1));
+		assertSame(s2, table.intern(s2));
+		assertSame(s2, table.intern((SetEnumValue) s1.normalize()));
+	}
+
+	@Test
+	public void testNonComposite() {
+		final ValueInternTable table = new ValueInternTable(1);
+		final Value i = IntValue.gen(4711);
+		assertSame(i, table.intern(i));
+		assertEquals(0, table.getHits() + table.getMisses());
+	}
+}